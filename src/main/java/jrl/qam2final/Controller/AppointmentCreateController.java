@@ -3,13 +3,14 @@ package jrl.qam2final.Controller;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import jrl.qam2final.DAO.*;
-import jrl.qam2final.Helper.JDBCHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.Parent;
 import jrl.qam2final.Helper.TranslationManagerHelper;
 import javafx.scene.Scene;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.stream.Collectors;
 import javafx.scene.control.*;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -19,6 +20,7 @@ import jrl.qam2final.Model.AppointmentModel;
 import jrl.qam2final.Model.ContactModel;
 import jrl.qam2final.Model.CustomerModel;
 import jrl.qam2final.Model.UserModel;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import jrl.qam2final.Helper.TimeConversionHelper;
 import java.io.IOException;
 import java.net.URL;
@@ -103,6 +105,8 @@ public class AppointmentCreateController implements Initializable {
     public LocalDateTime staDT_LDT;
     public LocalDateTime endDT_LDT;
 
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeACC();
+
     /**
      * Helper method that displays error messages for methods in the AppointmentCreateController class. It takes
      * customMessage strings as a parameter and displays the specifics of the error to the user.
@@ -155,7 +159,6 @@ public class AppointmentCreateController implements Initializable {
             stage.setScene(new Scene(root));
             System.out.println("Loaded FXML: " + fxmlFileName);
             stage.show();
-            JDBCHelper.endDBConnection();
         } catch (IOException e) {
             displayErrorACC("Failed to load FXML");
         }
@@ -215,9 +218,19 @@ public class AppointmentCreateController implements Initializable {
                 } else if (!newAppointmentDAO.checkAppointmentStartAppDAO(staDT_LDT) || !newAppointmentDAO.checkAppointmentEndAppDAO(endDT_LDT)) {
                     errorMessageBuilder.append("Appointments cannot be scheduled outside of regular business hours.");
                     invalidInput = true;
-                } else if (newAppointmentDAO.createdAppointmentOverlapCheckAppDAO(custID_IN, staD_LD, endD_LD, staT_LT, endT_LT)) {
-                    errorMessageBuilder.append("Customer cannot have appointments that overlap. Please select a different time to schedule.");
-                    invalidInput = true;
+                } else {
+                    List<Integer> customerOverlapIds = newAppointmentDAO.readOverlappingAppointmentIdsAppDAO(custID_IN, staDT_LDT, endDT_LDT, AppointmentDAO.NO_APPOINTMENT_ID);
+                    if (!customerOverlapIds.isEmpty()) {
+                        errorMessageBuilder.append("Customer cannot have appointments that overlap. This time overlaps ").append(describeOverlapIdsACC(customerOverlapIds))
+                                .append(". Please select a different time to schedule.");
+                        invalidInput = true;
+                    } else if (newAppointmentDAO.contactOverlapCheckAppDAO(contID_IN, staDT_LDT, endDT_LDT, AppointmentDAO.NO_APPOINTMENT_ID)) {
+                        errorMessageBuilder.append("Contact already has an appointment at this time. Please select a different time or contact.");
+                        invalidInput = true;
+                    } else if (newAppointmentDAO.userOverlapCheckAppDAO(userID_IN, staDT_LDT, endDT_LDT, AppointmentDAO.NO_APPOINTMENT_ID)) {
+                        errorMessageBuilder.append("User already has an appointment at this time. Please select a different time or user.");
+                        invalidInput = true;
+                    }
                 }
             }
         }
@@ -227,6 +240,17 @@ public class AppointmentCreateController implements Initializable {
         return !invalidInput;
     }
 
+    /**
+     * Helper method that names the appointments an appointment overlaps, for the overlap error message.
+     *
+     * @param overlappingIds IDs of the overlapping appointments, ordered by start.
+     * @return The IDs as "appointment ID 4" or "appointment IDs 4, 7".
+     */
+    private String describeOverlapIdsACC(List<Integer> overlappingIds) {
+        return (overlappingIds.size() == 1 ? "appointment ID " : "appointment IDs ")
+                + overlappingIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
     /**
      * Saves the new appointment to the database with user initiated inputs.
      */
@@ -269,7 +293,6 @@ public class AppointmentCreateController implements Initializable {
                 Parent root = loader.load();
                 Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
                 stage.setScene(new Scene(root));
-                JDBCHelper.endDBConnection();
                 System.out.println("Loaded FXML: " + fxmlFileName);
             }
         } catch (Exception e) {
@@ -278,51 +301,53 @@ public class AppointmentCreateController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of AppointmentDAOIMPL.
+     * @return Shared AppointmentDAOIMPL from DAORegistry.
      */
     private AppointmentDAO createAppointmentDAOACC() {
-        return new AppointmentDAOIMPL();
+        return DAORegistry.getAppointmentDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of ContactDAOIMPL.
+     * @return Shared ContactDAOIMPL from DAORegistry.
      */
     private ContactDAO createContactDAOACC() {
-        return new ContactDAOIMPL();
+        return DAORegistry.getContactDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared asynchronous data access object.
      *
-     * @return New instance of CustomerDAOIMPL.
+     * @return Shared AsyncDAOFacade from DAORegistry.
      */
-    private CustomerDAO createCustomerDAOACC() {
-        return new CustomerDAOIMPL();
+    private AsyncDAOFacade createAsyncDAOFacadeACC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of UserDAOIMPL.
+     * @return Shared UserDAOIMPL from DAORegistry.
      */
     private UserDAO createUserDAOACC() {
-        return new UserDAOIMPL();
+        return DAORegistry.getUserDAODR();
     }
 
     /**
-     * Initialize Combo Boxes.
+     * Initialize Combo Boxes. Customers are read in the background, since the first read loads the customer cache,
+     * and the first customer is selected once they arrive.
      */
     private void initComboBoxesInitACC() {
-        JDBCHelper.startDBConnection();
         ContactDAO newContactDAO = createContactDAOACC();
-        CustomerDAO newCustomerDAO = createCustomerDAOACC();
         UserDAO newUserDAO = createUserDAOACC();
-        newAppointmentCustomerComboBox.setItems(newCustomerDAO.readCustomerAllCusDAO());
-        newAppointmentCustomerComboBox.getSelectionModel().select(0);
+        AsyncTaskHelper.thenOnFxThreadATH(asyncDAOFacade.readCustomerAllADF(), customers -> {
+                    newAppointmentCustomerComboBox.setItems(customers);
+                    newAppointmentCustomerComboBox.getSelectionModel().select(0);
+                },
+                failure -> displayErrorACC("Failed to load customers."));
         newAppointmentUserComboBox.setItems(newUserDAO.readUserAllUserDAO());
         newAppointmentUserComboBox.getSelectionModel().select(0);
         newAppointmentContactComboBox.setItems(newContactDAO.readContactAllConDAO());
@@ -1,28 +1,43 @@
 package jrl.qam2final.Controller;
 
 import jrl.qam2final.DAO.AppointmentDAO;
-import jrl.qam2final.DAO.AppointmentDAOIMPL;
-import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.DAO.AsyncDAOFacade;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Helper.AppointmentExportHelper;
+import jrl.qam2final.Helper.AppointmentImportHelper;
+import jrl.qam2final.Helper.AsyncTaskHelper;
+import jrl.qam2final.Helper.KeysetPageLoader;
 import jrl.qam2final.Helper.LogInTimeCheckHelper;
+import java.io.File;
 import java.io.IOException;
+import java.sql.SQLException;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import jrl.qam2final.Helper.TranslationManagerHelper;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.FXML;
-import javafx.collections.ObservableList;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert;
 import java.net.URL;
 import java.time.LocalDate;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import jrl.qam2final.Model.AppointmentFilterModel;
 import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.ImportProgressModel;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -84,49 +99,64 @@ public class AppointmentMainController implements Initializable {
     public Button onActionExitButton;
     @FXML
     public ToggleGroup appointmentRadioToggleGroup;
+    @FXML
+    public Label appointmentMainPageLabel;
+    @FXML
+    public Button onActionAppointmentLoadMoreButton;
+    @FXML
+    public Button onActionAppointmentImportButton;
+    @FXML
+    public Button onActionAppointmentExportButton;
+
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeAMC();
+    private CompletableFuture<Integer> pendingLoadAMC;
+    private KeysetPageLoader<AppointmentModel> appointmentPagesAMC;
+    private Map<TableColumn<AppointmentModel, ?>, AppointmentDAO.AppointmentSortColumn> sortColumnsAMC;
 
     /**
      * LAMBDA EXPRESSION # 2
-     * Method to delete selected appointment when the "Delete Appointment" button is pushed. An error dialogue is
-     * displayed if the user has not selected an appointment. When the button is pressed with an appointment selected,
-     * the user is prompted, via a confirmation dialog, to confirm deletion. If the user confirms deletion, the
-     * selected appointment is removed from the database and the table updates to reflect this change.
-     * LAMBDA EXPRESSION # 2: The lambda expression for the delete method defines the behavior depending on whether
-     * selectedAppointment is null. ifPresentOrElse takes two arguments, a consumer if an appointment is selected
-     * or a runnable if null. If null, an error message is displayed. If not null, deletion occurs. This lambda is
-     * beneficial because it is concise and easy to read. The logic is clear whether the value is present or null. This
-     * is a good approach for this method, especially if a developer wants to include further functionality later. For
-     * example, future functionality might require multiple appointments to be deleted at once. In this case, of course,
-     * present or null would no longer work for three or more behaviors, so additional changes to the logic would be
-     * required.
+     * Method to delete the selected appointments when the "Delete Appointment" button is pushed. Several appointments
+     * can be selected with Shift or Ctrl, such as a contact's whole day. An error dialogue is displayed if the user has
+     * not selected an appointment. When the button is pressed with appointments selected, the user is prompted once,
+     * via a confirmation dialog, to confirm deletion. If the user confirms deletion, the selected appointments are
+     * removed from the database in one transaction in the background. The deleted rows are then removed from the table
+     * without reading it again, and one message summarizes the deletion.
+     * LAMBDA EXPRESSION # 2: The lambda expression passed to thenOnFxThreadATH defines what happens once the deletion
+     * finishes, and runs on the JavaFX application thread. It receives the number of appointments deleted, so the
+     * rows, the row count, and the summary are all updated in one place. This lambda is beneficial because it keeps
+     * the follow-up next to the request that triggers it, and it is concise and easy to read.
      *
      * @param actionEvent Action Event triggered by the delete button.
      */
     public void onActionDeleteAppointmentAMC(ActionEvent actionEvent) {
-        Optional<AppointmentModel> selectedAppointment = Optional.ofNullable(appointmentMainTableView.getSelectionModel().getSelectedItem());
-        selectedAppointment.ifPresentOrElse(
-                appointment -> {
-                    int appointmentId = appointment.getAppID_IN();
-                    String type = appointment.getType_ST();
-                    try {
-                        JDBCHelper.startDBConnection();
-                        AppointmentDAO newAppointmentDAO = createAppointmentDAOAMC();
-
-                        if (displayConfirmationAMC("Delete Appointment", "This appointment will be deleted forever. Do you wish to delete the appointment?")) {
-                            if (newAppointmentDAO.deleteAppointmentAppDAO(appointmentId, type)) {
-                                appointmentMainTableView.setItems(newAppointmentDAO.readAppointmentAllAppDAO());
-                            } else {
-                                displayErrorAMC("Failed to delete appointment.");
-                            }
-                        }
-                    } catch (Exception e) {
-                        displayErrorAMC("Failed to delete appointment.");
-                    } finally {
-                        JDBCHelper.endDBConnection();
+        List<AppointmentModel> selectedAppointments = new ArrayList<>(appointmentMainTableView.getSelectionModel().getSelectedItems());
+        if (selectedAppointments.isEmpty()) {
+            displayErrorAMC("No appointment selected. Appointments can only be deleted when selected.");
+            return;
+        }
+        String contentText = selectedAppointments.size() == 1
+                ? "This appointment will be deleted forever. Do you wish to delete the appointment?"
+                : selectedAppointments.size() + " appointments will be deleted forever. Do you wish to delete the appointments?";
+        if (!displayConfirmationAMC("Delete Appointment", contentText)) {
+            return;
+        }
+        List<Integer> appointmentIds = new ArrayList<>(selectedAppointments.size());
+        for (AppointmentModel appointment : selectedAppointments) {
+            appointmentIds.add(appointment.getAppID_IN());
+        }
+        AsyncTaskHelper.thenOnFxThreadATH(asyncDAOFacade.deleteAppointmentsADF(appointmentIds),
+                deletedCount -> {
+                    if (deletedCount == AppointmentDAO.DELETE_FAILED) {
+                        return;
                     }
+                    appointmentMainTableView.getSelectionModel().clearSelection();
+                    AsyncTaskHelper.removeRowsATH(appointmentMainTableView, selectedAppointments);
+                    updateRowCountAMC();
+                    int alreadyDeletedCount = selectedAppointments.size() - deletedCount;
+                    displayInfoAMC("Delete Appointment", deletedCount + " of " + selectedAppointments.size() + " selected appointments deleted successfully."
+                            + (alreadyDeletedCount > 0 ? " " + alreadyDeletedCount + " had already been deleted." : ""));
                 },
-                () -> displayErrorAMC("No appointment selected. Appointments can only be deleted when selected.")
-        );
+                failure -> displayErrorAMC("Failed to delete appointments."));
     }
 
     /**
@@ -143,7 +173,8 @@ public class AppointmentMainController implements Initializable {
      */
     @FXML
     public void onActionRadioWeekAMC(ActionEvent actionEvent) {
-        handleRadioAppointmentChange(appointmentDao -> appointmentDao.radioAppointmentsWeekAppDAO(LocalDate.from(LogInTimeCheckHelper.readUserTimeLITCH())));
+        handleRadioAppointmentChange((appointmentDao, appointmentSink) -> appointmentDao.radioAppointmentsWeekAppDAO(LocalDate.from(LogInTimeCheckHelper.readUserTimeLITCH()),
+                appointmentSink));
     }
 
     /**
@@ -160,20 +191,113 @@ public class AppointmentMainController implements Initializable {
      */
     @FXML
     public void onActionRadioMonthAMC(ActionEvent actionEvent) {
-        handleRadioAppointmentChange(appointmentDao -> appointmentDao.radioAppointmentsMonthAppDAO(LocalDate.from(LogInTimeCheckHelper.readUserTimeLITCH())));
+        handleRadioAppointmentChange((appointmentDao, appointmentSink) -> appointmentDao.radioAppointmentsMonthAppDAO(LocalDate.from(LogInTimeCheckHelper.readUserTimeLITCH()),
+                appointmentSink));
     }
 
     /**
-     * Displays all appointments by default when the radio button is selected. Like the other two radio button methods,
-     * this method calls handleRadioAppointmentChange. This method does not use a lambda expression, however, because
-     * it references a method for returning all appointments in the AppointmentDAO class. For this reason it does not
-     * require any additional logic like the week and month radio button methods.
+     * Displays all appointments by default when the radio button is selected. Unlike the other two radio button
+     * methods, this method does not read every matching appointment at once. Appointments are read one keyset page at
+     * a time in the table's sort order, so the cost of showing the screen does not grow with the appointments table.
      *
      * @param actionEvent Action Event triggered by user selecting "All Appointments" radio button.
      */
     @FXML
     public void onActionRadioDefaultAMC(ActionEvent actionEvent) {
-        handleRadioAppointmentChange(AppointmentDAO::readAppointmentAllAppDAO);
+        startAppointmentPagesAMC();
+    }
+
+    /**
+     * Shows the next page of appointments when the "Load More" button is pushed. The page has normally been read in
+     * the background already, so it is shown at once.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Load More" button.
+     */
+    @FXML
+    public void onActionLoadMoreAppointmentsAMC(ActionEvent actionEvent) {
+        appointmentPagesAMC.loadNextPageKPL();
+    }
+
+    /**
+     * Imports appointments from a CSV or iCalendar file chosen by the user when the "Import Appointments" button is
+     * pushed. The import runs in the background with the AppointmentImportHelper class, and the button is disabled
+     * until it finishes. Progress and throughput are shown below the table after each chunk is saved. When the import
+     * finishes, the selected view is reloaded and one message summarizes the import, including the first rejected
+     * records.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Import Appointments" button.
+     */
+    @FXML
+    public void onActionImportAppointmentsAMC(ActionEvent actionEvent) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Appointments");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV and iCalendar files", "*.csv", "*.ics"));
+        File importFile = fileChooser.showOpenDialog(((Button) actionEvent.getSource()).getScene().getWindow());
+        if (importFile == null) {
+            return;
+        }
+        onActionAppointmentImportButton.setDisable(true);
+        AsyncTaskHelper.thenOnFxThreadATH(AsyncTaskHelper.supplyAsyncATH(() -> {
+            try {
+                return AppointmentImportHelper.importAppointmentsAIH(importFile.toPath(),
+                        progress -> AsyncTaskHelper.runOnFxThreadATH(() -> appointmentMainPageLabel.setText(describeImportProgressAMC(progress))));
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }), finalProgress -> {
+            onActionAppointmentImportButton.setDisable(false);
+            reloadSelectedViewAMC();
+            StringBuilder importSummary = new StringBuilder(describeImportProgressAMC(finalProgress));
+            for (String rejection : finalProgress.getRejections_LS()) {
+                importSummary.append("\n").append(rejection);
+            }
+            if (finalProgress.getRowsRejected_IN() > finalProgress.getRejections_LS().size()) {
+                importSummary.append("\n...");
+            }
+            displayInfoAMC("Import Appointments", importSummary.toString());
+        }, failure -> {
+            onActionAppointmentImportButton.setDisable(false);
+            displayErrorAMC("Import failed: " + failure.getMessage());
+        });
+    }
+
+    /**
+     * Exports the appointments of the selected view to a CSV or iCalendar file chosen by the user when the "Export
+     * Appointments" button is pushed. The week and month views export every appointment starting in that range, not
+     * only the loaded pages, and the default view exports every appointment. The export streams rows to the file in
+     * the background with the AppointmentExportHelper class, and the button is disabled until it finishes.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Export Appointments" button.
+     */
+    @FXML
+    public void onActionExportAppointmentsAMC(ActionEvent actionEvent) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Appointments");
+        fileChooser.setInitialFileName("appointments.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("iCalendar files", "*.ics"));
+        File exportFile = fileChooser.showSaveDialog(((Button) actionEvent.getSource()).getScene().getWindow());
+        if (exportFile == null) {
+            return;
+        }
+        AppointmentFilterModel appointmentFilter = selectedViewFilterAMC();
+        onActionAppointmentExportButton.setDisable(true);
+        AsyncTaskHelper.thenOnFxThreadATH(AsyncTaskHelper.supplyAsyncATH(() -> {
+            try {
+                return AppointmentExportHelper.exportAppointmentsAEH(exportFile.toPath(), appointmentFilter,
+                        writtenRowCount -> AsyncTaskHelper.runOnFxThreadATH(() -> appointmentMainPageLabel.setText("Exported " + writtenRowCount + " appointments...")));
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }), exportedRowCount -> {
+            onActionAppointmentExportButton.setDisable(false);
+            updateRowCountAMC();
+            displayInfoAMC("Export Appointments", exportedRowCount + " appointments exported to " + exportFile.getName() + ".");
+        }, failure -> {
+            onActionAppointmentExportButton.setDisable(false);
+            updateRowCountAMC();
+            displayErrorAMC("Export failed: " + failure.getMessage());
+        });
     }
 
     /**
@@ -201,6 +325,7 @@ public class AppointmentMainController implements Initializable {
             }
             AUC.updateAppointmentPopulateAUC(selectedAppointment);
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            cancelPendingLoadAMC();
             stage.setScene(new Scene(scene));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -213,14 +338,118 @@ public class AppointmentMainController implements Initializable {
      * Method for retrieving appointments based on specific radio button selection. The appointmentProvider parameter
      * handles lambda expressions passed from the methods onActionRadioMonthAMC and onActionRadioWeekAMC. Because this
      * method effectively handles lambda expressions it can easily be reused if more radio buttons are added in the
-     * future.
+     * future. The provider streams appointments to the sink it is given in the background, and switching radio buttons
+     * again cancels a load still in progress.
      *
      * @param appointmentProvider Allows dynamic appointment retrieval based on provider.
      */
-    private void handleRadioAppointmentChange(Function<AppointmentDAO, ObservableList<AppointmentModel>> appointmentProvider) {
-        JDBCHelper.startDBConnection();
-        AppointmentDAO newAppointmentDAO = createAppointmentDAOAMC();
-        appointmentMainTableView.setItems(appointmentProvider.apply(newAppointmentDAO));
+    private void handleRadioAppointmentChange(BiFunction<AppointmentDAO, Consumer<AppointmentModel>, Integer> appointmentProvider) {
+        loadAppointmentsAMC(appointmentSink -> asyncDAOFacade.withAppointmentDAOADF(appointmentDao -> appointmentProvider.apply(appointmentDao, appointmentSink)),
+                "Failed to load appointments.");
+    }
+
+    /**
+     * Streams appointments into the table without blocking the GUI. A progress indicator is shown in the table until
+     * the read finishes, and appointments appear in batches as they are read. Any load still in progress is cancelled
+     * so its results never replace newer ones.
+     *
+     * @param appointmentStreamer Starts the background read with the given appointment sink.
+     * @param failureMessage Error message displayed to user if loading fails.
+     */
+    private void loadAppointmentsAMC(Function<Consumer<AppointmentModel>, CompletableFuture<Integer>> appointmentStreamer, String failureMessage) {
+        cancelPendingLoadAMC();
+        onActionAppointmentLoadMoreButton.setDisable(true);
+        pendingLoadAMC = AsyncTaskHelper.streamTableATH(appointmentMainTableView, appointmentStreamer, AsyncTaskHelper.STREAM_BATCH_SIZE,
+                appointmentCount -> appointmentMainPageLabel.setText("Showing " + appointmentCount + " appointments"),
+                failure -> displayErrorAMC(failureMessage));
+    }
+
+    /**
+     * Starts showing all appointments one page at a time, in the order of the first sorted column. Only columns backed
+     * by an index can be sorted, so the database never sorts the whole table. Appointments are shown in start order
+     * when no column is sorted.
+     */
+    private void startAppointmentPagesAMC() {
+        cancelPendingLoadAMC();
+        AppointmentDAO.AppointmentSortColumn sortColumn = AppointmentDAO.AppointmentSortColumn.START;
+        boolean descending = false;
+        if (!appointmentMainTableView.getSortOrder().isEmpty()) {
+            TableColumn<AppointmentModel, ?> sortedColumn = appointmentMainTableView.getSortOrder().get(0);
+            sortColumn = sortColumnsAMC.getOrDefault(sortedColumn, sortColumn);
+            descending = sortedColumn.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        AppointmentDAO.AppointmentSortColumn pageSortColumn = sortColumn;
+        boolean pageDescending = descending;
+        appointmentPagesAMC.startKPL((afterAppointment, limit) -> asyncDAOFacade.readAppointmentPageADF(pageSortColumn, pageDescending, afterAppointment, limit));
+    }
+
+    /**
+     * Updates the row count and the "Load More" button after a page of appointments is shown.
+     */
+    private void updatePageControlsAMC() {
+        appointmentMainPageLabel.setText("Showing " + appointmentPagesAMC.loadedRowCountKPL() + " appointments" + (appointmentPagesAMC.hasMoreRowsKPL() ? ", more available" : ""));
+        onActionAppointmentLoadMoreButton.setDisable(!appointmentPagesAMC.hasMoreRowsKPL());
+    }
+
+    /**
+     * Reloads the view selected with the radio buttons, such as after appointments are imported.
+     */
+    private void reloadSelectedViewAMC() {
+        if (appointmentWeekRadioButton.isSelected()) {
+            onActionRadioWeekAMC(null);
+        } else if (appointmentMonthRadioButton.isSelected()) {
+            onActionRadioMonthAMC(null);
+        } else {
+            startAppointmentPagesAMC();
+        }
+    }
+
+    /**
+     * Builds the filter matching the view selected with the radio buttons, using the same ranges as the week and month
+     * views.
+     *
+     * @return Filter for the selected view.
+     */
+    private AppointmentFilterModel selectedViewFilterAMC() {
+        LocalDate logInDate = LocalDate.from(LogInTimeCheckHelper.readUserTimeLITCH());
+        if (appointmentWeekRadioButton.isSelected()) {
+            return new AppointmentFilterModel(logInDate.atStartOfDay(), logInDate.plusDays(7).atStartOfDay(), AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID);
+        } else if (appointmentMonthRadioButton.isSelected()) {
+            return new AppointmentFilterModel(logInDate.atStartOfDay(), logInDate.withDayOfMonth(1).plusMonths(1).atStartOfDay(), AppointmentFilterModel.ANY_ID,
+                    AppointmentFilterModel.ANY_ID);
+        }
+        return new AppointmentFilterModel(null, null, AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID);
+    }
+
+    /**
+     * Helper method that describes the progress of an appointment import.
+     *
+     * @param progress Progress of the import.
+     * @return Records imported and rejected so far, and the throughput.
+     */
+    private static String describeImportProgressAMC(ImportProgressModel progress) {
+        return String.format("Imported %d of %d appointments read, %d rejected, %.0f appointments per second", progress.getRowsImported_IN(),
+                progress.getRowsRead_IN(), progress.getRowsRejected_IN(), progress.getRowsPerSecond());
+    }
+
+    /**
+     * Updates the row count after rows are removed from the table, such as after appointments are deleted.
+     */
+    private void updateRowCountAMC() {
+        if (appointmentDefaultRadioButton.isSelected()) {
+            updatePageControlsAMC();
+        } else {
+            appointmentMainPageLabel.setText("Showing " + appointmentMainTableView.getItems().size() + " appointments");
+        }
+    }
+
+    /**
+     * Cancels an appointment load still in progress, including a page being read or prefetched. Called before
+     * navigating away from the Appointment Main Screen and before another view is loaded.
+     */
+    private void cancelPendingLoadAMC() {
+        AsyncTaskHelper.cancelATH(pendingLoadAMC);
+        appointmentPagesAMC.cancelKPL();
     }
 
     /**
@@ -237,6 +466,20 @@ public class AppointmentMainController implements Initializable {
         alert.showAndWait();
     }
 
+    /**
+     * Helper method that displays information messages for methods in the AppointmentMainController class. It takes
+     * title strings and customMessage strings as parameters.
+     *
+     * @param title Title for information dialog.
+     * @param customMessage Custom information message displayed to user.
+     */
+    private void displayInfoAMC(String title, String customMessage) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setContentText(customMessage);
+        alert.showAndWait();
+    }
+
     /**
      * Method to handle navigation to the New Appointment Screen. An error is displayed if the FXML fails to load.
      *
@@ -252,6 +495,7 @@ public class AppointmentMainController implements Initializable {
             }
             Stage stage = (Stage)((Button)actionEvent.getSource()).getScene().getWindow();
             Parent scene = FXMLLoader.load(fxmlURL);
+            cancelPendingLoadAMC();
             stage.setScene(new Scene(scene));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -275,6 +519,7 @@ public class AppointmentMainController implements Initializable {
             }
             Stage stage = (Stage)((Button)actionEvent.getSource()).getScene().getWindow();
             Parent scene = FXMLLoader.load(fxmlURL);
+            cancelPendingLoadAMC();
             stage.setScene(new Scene(scene));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -298,6 +543,7 @@ public class AppointmentMainController implements Initializable {
             }
             Stage stage = (Stage)((Button)actionEvent.getSource()).getScene().getWindow();
             Parent scene = FXMLLoader.load(fxmlURL);
+            cancelPendingLoadAMC();
             stage.setScene(new Scene(scene));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -335,26 +581,47 @@ public class AppointmentMainController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared asynchronous data access object.
      *
-     * @return New instance of AppointmentDAOIMPL.
+     * @return Shared AsyncDAOFacade from DAORegistry.
      */
-    private AppointmentDAO createAppointmentDAOAMC() {
-        return new AppointmentDAOIMPL();
+    private AsyncDAOFacade createAsyncDAOFacadeAMC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
     }
 
     /**
      * Initialization for the AppointmentMainController. Populates the table with appointments from the database, so
-     * they can be viewed, searched, filtered, updated, or deleted. System time zone label is set for display.
+     * they can be viewed, searched, filtered, updated, or deleted. Appointments load in the background, one page at a
+     * time, while the screen is shown. When all appointments are shown, sorting by a column reads the first page again
+     * in the new order from the database; the week and month views are sorted in memory. Columns without an index
+     * cannot be sorted. Setting the sort policy runs it once, which reads the first page. System time zone label is set
+     * for display.
      *
      * @param url            URL
      * @param resourceBundle Resource Bundle
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        JDBCHelper.startDBConnection();
-        AppointmentDAO newAppointmentDAO = createAppointmentDAOAMC();
-        appointmentMainTableView.setItems(newAppointmentDAO.readAppointmentAllAppDAO());
+        appointmentPagesAMC = new KeysetPageLoader<>(appointmentMainTableView, KeysetPageLoader.DEFAULT_PAGE_SIZE, this::updatePageControlsAMC,
+                failure -> displayErrorAMC("Failed to load appointments."));
+        sortColumnsAMC = Map.of(
+                appointmentMainIdColumn, AppointmentDAO.AppointmentSortColumn.APPOINTMENT_ID,
+                appointmentMainStartDateColumn, AppointmentDAO.AppointmentSortColumn.START,
+                appointmentMainStartTimeColumn, AppointmentDAO.AppointmentSortColumn.START,
+                appointmentMainCustomerIdColumn, AppointmentDAO.AppointmentSortColumn.CUSTOMER_ID,
+                appointmentMainUserIdColumn, AppointmentDAO.AppointmentSortColumn.USER_ID,
+                appointmentMainContactColumn, AppointmentDAO.AppointmentSortColumn.CONTACT_ID);
+        appointmentMainTableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        for (TableColumn<AppointmentModel, ?> column : appointmentMainTableView.getColumns()) {
+            column.setSortable(sortColumnsAMC.containsKey(column));
+        }
+        appointmentMainTableView.setSortPolicy(table -> {
+            if (!appointmentDefaultRadioButton.isSelected()) {
+                return TableView.DEFAULT_SORT_POLICY.call(table);
+            }
+            startAppointmentPagesAMC();
+            return true;
+        });
         appointmentMainIdColumn.setCellValueFactory(new PropertyValueFactory<>("appID_IN"));
         appointmentMainTitleColumn.setCellValueFactory(new PropertyValueFactory<>("titl_ST"));
         appointmentMainDescriptionColumn.setCellValueFactory(new PropertyValueFactory<>("desc_ST"));
@@ -2,7 +2,6 @@ package jrl.qam2final.Controller;
 
 import javafx.fxml.FXML;
 import jrl.qam2final.DAO.*;
-import jrl.qam2final.Helper.JDBCHelper;
 import javafx.scene.Parent;
 import javafx.fxml.Initializable;
 import java.time.LocalDate;
@@ -13,15 +12,18 @@ import javafx.fxml.FXMLLoader;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.*;
+import java.util.List;
 import java.util.Optional;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import jrl.qam2final.Model.*;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import jrl.qam2final.Helper.TimeConversionHelper;
 import java.io.IOException;
 import java.net.URL;
 import javafx.scene.control.*;
 import java.util.ResourceBundle;
+import java.util.stream.Collectors;
 
 /**
  * Controller class for Update Appointment Screen. I paid close attention to setting up all FXML elements with clear IDs
@@ -103,6 +105,8 @@ public class AppointmentUpdateController implements Initializable {
     public Label appointmentUpdateHeaderLabel;
     AppointmentModel selectedAppointment = null;
 
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeAUC();
+
     /**
      * This method triggers when the "save" button is clicked. It validates the user's input by calling
      * validateAppointmentUpdateAUC to ensure the user's input is valid. If all validation checks are passed, it saves
@@ -140,7 +144,6 @@ public class AppointmentUpdateController implements Initializable {
             stage.setScene(new Scene(root));
             System.out.println("Loaded FXML: " + fxmlFileName);
             stage.show();
-            JDBCHelper.endDBConnection();
         } catch (IOException e) {
             displayErrorAUC("Failed to load FXML");
         }
@@ -201,9 +204,19 @@ public class AppointmentUpdateController implements Initializable {
                 } else if (!newAppointmentDAO.checkAppointmentStartAppDAO(staDT_LDT) || !newAppointmentDAO.checkAppointmentEndAppDAO(endDT_LDT)) {
                     errorMessageBuilder.append("Appointments cannot be scheduled outside of regular business hours.");
                     invalidInput = true;
-                } else if (newAppointmentDAO.updatedAppointmentOverlapCheckAppDAO(custID_IN, staD_LD, endD_LD, staT_LT, endT_LT, appointmentId)) {
-                    errorMessageBuilder.append("Customer cannot have appointments that overlap. Please select a different time to schedule.");
-                    invalidInput = true;
+                } else {
+                    List<Integer> customerOverlapIds = newAppointmentDAO.readOverlappingAppointmentIdsAppDAO(custID_IN, staDT_LDT, endDT_LDT, appointmentId);
+                    if (!customerOverlapIds.isEmpty()) {
+                        errorMessageBuilder.append("Customer cannot have appointments that overlap. This time overlaps ").append(describeOverlapIdsAUC(customerOverlapIds))
+                                .append(". Please select a different time to schedule.");
+                        invalidInput = true;
+                    } else if (newAppointmentDAO.contactOverlapCheckAppDAO(contID_IN, staDT_LDT, endDT_LDT, appointmentId)) {
+                        errorMessageBuilder.append("Contact already has an appointment at this time. Please select a different time or contact.");
+                        invalidInput = true;
+                    } else if (newAppointmentDAO.userOverlapCheckAppDAO(userID_IN, staDT_LDT, endDT_LDT, appointmentId)) {
+                        errorMessageBuilder.append("User already has an appointment at this time. Please select a different time or user.");
+                        invalidInput = true;
+                    }
                 }
             }
         }
@@ -213,6 +226,17 @@ public class AppointmentUpdateController implements Initializable {
         return !invalidInput;
     }
 
+    /**
+     * Helper method that names the appointments an appointment overlaps, for the overlap error message.
+     *
+     * @param overlappingIds IDs of the overlapping appointments, ordered by start.
+     * @return The IDs as "appointment ID 4" or "appointment IDs 4, 7".
+     */
+    private String describeOverlapIdsAUC(List<Integer> overlappingIds) {
+        return (overlappingIds.size() == 1 ? "appointment ID " : "appointment IDs ")
+                + overlappingIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
     /**
      * Saves the updated appointment to the database with user initiated changes.
      */
@@ -276,39 +300,39 @@ public class AppointmentUpdateController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of AppointmentDAOIMPL.
+     * @return Shared AppointmentDAOIMPL from DAORegistry.
      */
     private AppointmentDAO createAppointmentDAOAUC() {
-        return new AppointmentDAOIMPL();
+        return DAORegistry.getAppointmentDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of ContactDAOIMPL.
+     * @return Shared ContactDAOIMPL from DAORegistry.
      */
     private ContactDAO createContactDAOAUC() {
-        return new ContactDAOIMPL();
+        return DAORegistry.getContactDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared asynchronous data access object.
      *
-     * @return New instance of CustomerIMPL.
+     * @return Shared AsyncDAOFacade from DAORegistry.
      */
-    private CustomerDAO createCustomerDAOAUC() {
-        return new CustomerDAOIMPL();
+    private AsyncDAOFacade createAsyncDAOFacadeAUC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of UserDAOIMPL.
+     * @return Shared UserDAOIMPL from DAORegistry.
      */
     private UserDAO createUserDAOAUC() {
-        return new UserDAOIMPL();
+        return DAORegistry.getUserDAODR();
     }
 
 
@@ -319,7 +343,6 @@ public class AppointmentUpdateController implements Initializable {
      * @param selection AppointmentModel for the appointment selected for update.
      */
     public void updateAppointmentPopulateAUC(AppointmentModel selection) {
-        JDBCHelper.startDBConnection();
         selectedAppointment = selection;
         populateDatePickersAUC();
         populateComboBoxesAUC();
@@ -340,16 +363,9 @@ public class AppointmentUpdateController implements Initializable {
      * Populates Combo Boxes.
      */
     private void populateComboBoxesAUC() {
-        CustomerDAO newCustomerDAO = createCustomerDAOAUC();
         UserDAO newUserDAO = createUserDAOAUC();
         ContactDAO newContactDAO = createContactDAOAUC();
-        appointmentUpdateCustomerComboBox.getSelectionModel().select(
-                newCustomerDAO.readCustomerAllCusDAO()
-                        .stream()
-                        .filter(customer -> customer.getCustID_IN() == selectedAppointment.getCustID_IN())
-                        .findFirst()
-                        .orElse(null)
-        );
+        selectCustomerAUC();
         appointmentUpdateUserComboBox.getSelectionModel().select(
                 newUserDAO.readUserAllUserDAO()
                         .stream()
@@ -366,6 +382,23 @@ public class AppointmentUpdateController implements Initializable {
         );
     }
 
+    /**
+     * Selects the customer of the appointment selected for update. Customers are read in the background, so this runs
+     * both when the appointment is chosen and when the customers arrive; whichever runs first finds no match.
+     */
+    private void selectCustomerAUC() {
+        if (selectedAppointment == null) {
+            return;
+        }
+        appointmentUpdateCustomerComboBox.getSelectionModel().select(
+                appointmentUpdateCustomerComboBox.getItems()
+                        .stream()
+                        .filter(customer -> customer.getCustID_IN() == selectedAppointment.getCustID_IN())
+                        .findFirst()
+                        .orElse(null)
+        );
+    }
+
     /**
      * Populates Text Fields.
      */
@@ -377,16 +410,18 @@ public class AppointmentUpdateController implements Initializable {
     }
 
     /**
-     * Initialize Combo Boxes.
+     * Initialize Combo Boxes. Customers are read in the background, since the first read loads the customer cache.
      */
     private void initComboBoxesAUC(ZoneId systemTimeZone, ZoneId businessTimeZone, LocalTime businessOpen, int businessHours) {
-        JDBCHelper.startDBConnection();
         ContactDAO newContactDAO = createContactDAOAUC();
-        CustomerDAO newCustomerDAO = createCustomerDAOAUC();
         UserDAO newUserDAO = createUserDAOAUC();
         appointmentUpdateStartComboBox.setItems(TimeConversionHelper.listBusinessHours(systemTimeZone, businessTimeZone, businessOpen, businessHours));
         appointmentUpdateEndComboBox.setItems(TimeConversionHelper.listBusinessHours(systemTimeZone, businessTimeZone, LocalTime.of(9, 0), businessHours));
-        appointmentUpdateCustomerComboBox.setItems(newCustomerDAO.readCustomerAllCusDAO());
+        AsyncTaskHelper.thenOnFxThreadATH(asyncDAOFacade.readCustomerAllADF(), customers -> {
+                    appointmentUpdateCustomerComboBox.setItems(customers);
+                    selectCustomerAUC();
+                },
+                failure -> displayErrorAUC("Failed to load customers."));
         appointmentUpdateUserComboBox.setItems(newUserDAO.readUserAllUserDAO());
         appointmentUpdateContactComboBox.setItems(newContactDAO.readContactAllConDAO());
     }
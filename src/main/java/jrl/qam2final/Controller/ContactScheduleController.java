@@ -2,18 +2,19 @@ package jrl.qam2final.Controller;
 
 import javafx.collections.ObservableList;
 import jrl.qam2final.DAO.*;
-import jrl.qam2final.Helper.JDBCHelper;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import jrl.qam2final.Helper.TranslationManagerHelper;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.AppointmentRowView;
 import jrl.qam2final.Model.ContactModel;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.Parent;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
@@ -35,50 +36,53 @@ public class ContactScheduleController implements Initializable {
     @FXML
     public ComboBox<ContactModel> contactScheduleComboBox;
     @FXML
-    public TableView<AppointmentModel> contactScheduleTableView;
+    public TableView<AppointmentRowView> contactScheduleTableView;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleAppointmentIdColumn;
+    public TableColumn<AppointmentRowView, String> scheduleAppointmentIdColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleTitleColumn;
+    public TableColumn<AppointmentRowView, String> scheduleTitleColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleDescriptionColumn;
+    public TableColumn<AppointmentRowView, String> scheduleDescriptionColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleTypeColumn;
+    public TableColumn<AppointmentRowView, String> scheduleTypeColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleLocationColumn;
+    public TableColumn<AppointmentRowView, String> scheduleLocationColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleStartDateColumn;
+    public TableColumn<AppointmentRowView, String> scheduleStartDateColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleEndDateColumn;
+    public TableColumn<AppointmentRowView, String> scheduleEndDateColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleStartTimeColumn;
+    public TableColumn<AppointmentRowView, String> scheduleStartTimeColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleCustomerColumn;
+    public TableColumn<AppointmentRowView, String> scheduleCustomerColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleEndTimeColumn;
+    public TableColumn<AppointmentRowView, String> scheduleEndTimeColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleUserIdColumn;
+    public TableColumn<AppointmentRowView, String> scheduleUserIdColumn;
     @FXML
-    public TableColumn<AppointmentModel, String> scheduleContactColumn;
+    public TableColumn<AppointmentRowView, String> scheduleContactColumn;
     @FXML
     public Button onActionCSCToRMC;
 
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeCSC();
+    private CompletableFuture<ObservableList<AppointmentRowView>> pendingLoadCSC;
+
     /**
      * Method to populate the table view when a contact is selected. When a contact is selected, the table view is
      * populated with all appointments associated with the contact. This generates a schedule of appointments for a
-     * contact. A count of appointments is displayed for the selected contact, along with their schedule.
+     * contact. A count of appointments is displayed for the selected contact, along with their schedule. The schedule
+     * loads in the background into a column-oriented AppointmentStore, and the table reads rows through flyweight
+     * views. Choosing another contact cancels a load still in progress.
      *
      * @param actionEvent Action Event triggered by user choosing a contact to generate a schedule for.
      */
     @FXML
     public void onActionPopulateScheduleTableCSC(ActionEvent actionEvent) {
-        JDBCHelper.startDBConnection();
-        AppointmentDAO newAppointmentDAO = createAppointmentDAOCSC();
         int ContID_IN = contactScheduleComboBox.getSelectionModel().getSelectedItem().getContID_IN();
-        ObservableList<AppointmentModel> appointmentsC = newAppointmentDAO.readAppointmentByContactAppDAO(ContID_IN);
-        int appointmentCount = appointmentsC.size();
-        contactScheduleTableView.setItems(appointmentsC);
-        displayInfoCSC("Contact Appointments", "Contact with ID: " + ContID_IN + " has " + appointmentCount + " appointments scheduled with customers.");
+        AsyncTaskHelper.cancelATH(pendingLoadCSC);
+        pendingLoadCSC = AsyncTaskHelper.populateTableATH(contactScheduleTableView, asyncDAOFacade.readAppointmentRowsByContactADF(ContID_IN),
+                appointmentsC -> displayInfoCSC("Contact Appointments", "Contact with ID: " + ContID_IN + " has " + appointmentsC.size() + " appointments scheduled with customers."),
+                failure -> displayErrorCSC("Failed to load contact schedule."));
     }
 
     /**
@@ -97,6 +101,7 @@ public class ContactScheduleController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingLoadCSC);
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -134,21 +139,21 @@ public class ContactScheduleController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared asynchronous data access object.
      *
-     * @return New instance of AppointmentDAOIMPL.
+     * @return Shared AsyncDAOFacade from DAORegistry.
      */
-    private AppointmentDAO createAppointmentDAOCSC() {
-        return new AppointmentDAOIMPL();
+    private AsyncDAOFacade createAsyncDAOFacadeCSC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of ContactDAOIMPL.
+     * @return Shared ContactDAOIMPL from DAORegistry.
      */
     private ContactDAO createContactDAOCSC() {
-        return new ContactDAOIMPL();
+        return DAORegistry.getContactDAODR();
     }
 
     /**
@@ -159,7 +164,6 @@ public class ContactScheduleController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        JDBCHelper.startDBConnection();
         ContactDAO newContactDAO = createContactDAOCSC();
         contactScheduleComboBox.setItems(newContactDAO.readContactAllConDAO());
         scheduleAppointmentIdColumn.setCellValueFactory(new PropertyValueFactory<>("appID_IN"));
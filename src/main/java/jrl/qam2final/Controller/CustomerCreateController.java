@@ -2,7 +2,6 @@ package jrl.qam2final.Controller;
 
 import javafx.fxml.FXML;
 import jrl.qam2final.DAO.*;
-import jrl.qam2final.Helper.JDBCHelper;
 import jrl.qam2final.Helper.DivisionByCountryHelper;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
@@ -92,7 +91,6 @@ public class CustomerCreateController implements Initializable {
                 Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
                 stage.setScene(new Scene(root));
                 System.out.println("Loaded FXML: " + fxmlFileName);
-                JDBCHelper.endDBConnection();
             }
         } catch (Exception e) {
             displayErrorCCC("Failed to load FXML");
@@ -230,21 +228,21 @@ public class CustomerCreateController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of CountryDAOIMPL.
+     * @return Shared CountryDAOIMPL from DAORegistry.
      */
     private CountryDAO createCountryDAOCCC() {
-        return new CountryDAOIMPL();
+        return DAORegistry.getCountryDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of CustomerDAOIMPL.
+     * @return Shared CustomerDAOIMPL from DAORegistry.
      */
     private CustomerDAO createCustomerDAOCCC() {
-        return new CustomerDAOIMPL();
+        return DAORegistry.getCustomerDAODR();
     }
 
     /**
@@ -258,7 +256,6 @@ public class CustomerCreateController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         try {
-            JDBCHelper.startDBConnection();
             CountryDAO newCountryDAO = createCountryDAOCCC();
             newCustomerCountryComboBox.setItems(newCountryDAO.readCountryAllCouDAO());
             newCustomerCountryComboBox.getSelectionModel().select(0);
@@ -1,11 +1,14 @@
 package jrl.qam2final.Controller;
 
+import jrl.qam2final.DAO.AsyncDAOFacade;
 import jrl.qam2final.DAO.CustomerDAO;
-import jrl.qam2final.DAO.CustomerDAOIMPL;
-import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Helper.AsyncTaskHelper;
+import jrl.qam2final.Helper.KeysetPageLoader;
 import javafx.fxml.FXML;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import jrl.qam2final.Helper.TranslationManagerHelper;
@@ -59,13 +62,22 @@ public class CustomerMainController implements Initializable {
     public TableColumn<CustomerModel, String> customerMainDivisionColumn;
     @FXML
     public Label customerMainTitleLabel;
+    @FXML
+    public Label customerMainPageLabel;
+    @FXML
+    public Button onActionCustomerLoadMoreButton;
+
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeCMC();
+    private KeysetPageLoader<CustomerModel> customerPagesCMC;
+    private Map<TableColumn<CustomerModel, ?>, CustomerDAO.CustomerSortColumn> sortColumnsCMC;
 
     /**
      * LAMBDA EXPRESSION # 2.1
      * Method to delete selected customer when the "Delete Customer" button is pushed. An error dialogue is displayed
      * if the user has not selected a customer. When the button is pressed with a customer selected, the user is
      * prompted, via a confirmation dialog, to confirm deletion. If the user confirms deletion, the selected customer is
-     * removed from the database and the table is updated to reflect this change.
+     * removed from the database and the table is updated to reflect this change. The deletion and the table refresh run
+     * in the background, and the first page of customers is read again once the customer is deleted.
      * LAMBDA EXPRESSION # 2.1: The lambda expression for the delete method defines the behavior depending on whether
      * selectedCustomer is null. ifPresentOrElse takes two arguments, a consumer if a customer is selected or a runnable
      * if null. If null, an error message is displayed. If not null, deletion occurs. This lambda is beneficial because
@@ -81,21 +93,19 @@ public class CustomerMainController implements Initializable {
         selectedCustomer.ifPresentOrElse(
                 customer -> {
                     try {
-                        JDBCHelper.startDBConnection();
-                        CustomerDAO newCustomerDAO = createCustomerDAOCMC();
                         int customerId = customer.getCustID_IN();
                         String customerName = customer.getCustN_ST();
                         if (displayConfirmationCMC("Delete Customer", "This customer and any scheduled appointments for the customer will be deleted forever. Do you wish to delete the customer?")) {
-                            if (newCustomerDAO.deleteCustomerCusDAO(customerId, customerName)) {
-                                customerMainTableView.setItems(newCustomerDAO.readCustomerAllCusDAO());
-                            } else {
-                                displayErrorCMC("Failed to delete customer.");
-                            }
+                            AsyncTaskHelper.thenOnFxThreadATH(asyncDAOFacade.deleteCustomerADF(customerId, customerName),
+                                    deleted -> {
+                                        if (deleted) {
+                                            startCustomerPagesCMC();
+                                        }
+                                    },
+                                    failure -> displayErrorCMC("Failed to delete customer."));
                         }
                     } catch (Exception e) {
                         displayErrorCMC("Failed to delete customer.");
-                    } finally {
-                        JDBCHelper.endDBConnection();
                     }
                 },
                 () -> displayErrorCMC("No customer selected. Customers can only be deleted when selected.")
@@ -117,6 +127,7 @@ public class CustomerMainController implements Initializable {
             }
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
             Parent root = FXMLLoader.load(fxmlURL);
+            cancelPendingLoadCMC();
             stage.setScene(new Scene(root));
             System.out.println("Loaded FXML: " + fxmlFileName);
             stage.show();
@@ -149,6 +160,7 @@ public class CustomerMainController implements Initializable {
             }
             updateCustomerController.updateCustomerPopulateCUC(selectedCustomer);
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            cancelPendingLoadCMC();
             stage.setScene(new Scene(root));
             System.out.println("Loaded FXML: " + fxmlFileName);
             stage.show();
@@ -199,6 +211,7 @@ public class CustomerMainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            cancelPendingLoadCMC();
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -223,6 +236,7 @@ public class CustomerMainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            cancelPendingLoadCMC();
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -248,26 +262,83 @@ public class CustomerMainController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * Shows the next page of customers when the "Load More" button is pushed. The page has normally been read in the
+     * background already, so it is shown at once.
      *
-     * @return New instance of CustomerDAOIMPL.
+     * @param actionEvent Action Event triggered by the user pressing the "Load More" button.
+     */
+    @FXML
+    public void onActionLoadMoreCustomersCMC(ActionEvent actionEvent) {
+        customerPagesCMC.loadNextPageKPL();
+    }
+
+    /**
+     * Loads customers into the table one page at a time without blocking the GUI, in the order of the first sorted
+     * column. A progress indicator is shown in the table while the first page loads. Any load still in progress is
+     * cancelled so its results never replace newer ones. Customers are shown in Customer ID order when no column is
+     * sorted.
      */
-    private CustomerDAO createCustomerDAOCMC() {
-        return new CustomerDAOIMPL();
+    private void startCustomerPagesCMC() {
+        CustomerDAO.CustomerSortColumn sortColumn = CustomerDAO.CustomerSortColumn.CUSTOMER_ID;
+        boolean descending = false;
+        if (!customerMainTableView.getSortOrder().isEmpty()) {
+            TableColumn<CustomerModel, ?> sortedColumn = customerMainTableView.getSortOrder().get(0);
+            sortColumn = sortColumnsCMC.getOrDefault(sortedColumn, sortColumn);
+            descending = sortedColumn.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        CustomerDAO.CustomerSortColumn pageSortColumn = sortColumn;
+        boolean pageDescending = descending;
+        customerPagesCMC.startKPL((afterCustomer, limit) -> asyncDAOFacade.readCustomerPageADF(pageSortColumn, pageDescending, afterCustomer, limit));
+    }
+
+    /**
+     * Updates the row count and the "Load More" button after a page of customers is shown.
+     */
+    private void updatePageControlsCMC() {
+        customerMainPageLabel.setText("Showing " + customerPagesCMC.loadedRowCountKPL() + " customers" + (customerPagesCMC.hasMoreRowsKPL() ? ", more available" : ""));
+        onActionCustomerLoadMoreButton.setDisable(!customerPagesCMC.hasMoreRowsKPL());
+    }
+
+    /**
+     * Cancels a customer load still in progress, including a page being read or prefetched. Called before navigating
+     * away from the Customer Main Screen.
+     */
+    private void cancelPendingLoadCMC() {
+        customerPagesCMC.cancelKPL();
+    }
+
+    /**
+     * This method is used to obtain the shared asynchronous data access object.
+     *
+     * @return Shared AsyncDAOFacade from DAORegistry.
+     */
+    private AsyncDAOFacade createAsyncDAOFacadeCMC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
     }
 
     /**
      * Initialization for the CustomerMainController. Populates the table with customers from the database, so they can
-     * be viewed, searched, updated, or deleted.
+     * be viewed, searched, updated, or deleted. Customers load in the background, one page at a time, while the screen
+     * is shown. Sorting by a column reads the first page again in the new order from the database, so only the indexed
+     * ID and name columns can be sorted. Setting the sort policy runs it once, which reads the first page.
      *
      * @param url            URL
      * @param resourceBundle Resource Bundle
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        JDBCHelper.startDBConnection();
-        CustomerDAO newCustomerDAO = createCustomerDAOCMC();
-        customerMainTableView.setItems(newCustomerDAO.readCustomerAllCusDAO());
+        customerPagesCMC = new KeysetPageLoader<>(customerMainTableView, KeysetPageLoader.DEFAULT_PAGE_SIZE, this::updatePageControlsCMC,
+                failure -> displayErrorCMC("Failed to load customers."));
+        sortColumnsCMC = Map.of(
+                customerMainIdColumn, CustomerDAO.CustomerSortColumn.CUSTOMER_ID,
+                customerMainNameColumn, CustomerDAO.CustomerSortColumn.CUSTOMER_NAME);
+        for (TableColumn<CustomerModel, ?> column : customerMainTableView.getColumns()) {
+            column.setSortable(sortColumnsCMC.containsKey(column));
+        }
+        customerMainTableView.setSortPolicy(table -> {
+            startCustomerPagesCMC();
+            return true;
+        });
         customerMainIdColumn.setCellValueFactory(new PropertyValueFactory<>("custID_IN"));
         customerMainNameColumn.setCellValueFactory(new PropertyValueFactory<>("custN_ST"));
         customerMainAddressColumn.setCellValueFactory(new PropertyValueFactory<>("addr_ST"));
@@ -5,7 +5,6 @@ import java.util.ResourceBundle;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import jrl.qam2final.DAO.*;
-import jrl.qam2final.Helper.JDBCHelper;
 import jrl.qam2final.Helper.DivisionByCountryHelper;
 import javafx.event.ActionEvent;
 import java.io.IOException;
@@ -96,7 +95,6 @@ public class CustomerUpdateController implements Initializable {
                 Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
                 stage.setScene(new Scene(root));
                 System.out.println("Loaded FXML: " + fxmlFileName);
-                JDBCHelper.endDBConnection();
             }
         } catch (Exception e) {
             displayErrorCUC("Failed to load FXML");
@@ -224,21 +222,21 @@ public class CustomerUpdateController implements Initializable {
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of CountryDAOIMPL.
+     * @return Shared CountryDAOIMPL from DAORegistry.
      */
     private CountryDAO createCountryDAOCUC() {
-        return new CountryDAOIMPL();
+        return DAORegistry.getCountryDAODR();
     }
 
     /**
-     * This method is used to create new data access objects.
+     * This method is used to obtain the shared data access object.
      *
-     * @return New instance of CustomerDAOIMPL.
+     * @return Shared CustomerDAOIMPL from DAORegistry.
      */
     private CustomerDAO createCustomerDAOCUC() {
-        return new CustomerDAOIMPL();
+        return DAORegistry.getCustomerDAODR();
     }
 
     /**
@@ -261,7 +259,6 @@ public class CustomerUpdateController implements Initializable {
      * @param selection CustomerModel for the customer selected for update.
      */
     public void updateCustomerPopulateCUC(CustomerModel selection) {
-        JDBCHelper.startDBConnection();
         selectCustomer = selection;
         populateTextFieldsCUC(selection);
         populateComboBoxesCUC(selection);
@@ -304,7 +301,6 @@ public class CustomerUpdateController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        JDBCHelper.startDBConnection();
         CountryDAO newCountryDAO = createCountryDAOCUC();
         updateCustomerCountryComboBox.setItems(newCountryDAO.readCountryAllCouDAO());
     }
@@ -1,8 +1,9 @@
 package jrl.qam2final.Controller;
 
 import javafx.scene.text.Text;
-import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.Helper.AppointmentReminderHelper;
 import jrl.qam2final.Helper.LogInTimeCheckHelper;
+import jrl.qam2final.Helper.ReferenceDataCacheHelper;
 import jrl.qam2final.Helper.TranslationManagerHelper;
 import javafx.event.ActionEvent;
 import java.time.ZoneId;
@@ -156,29 +157,28 @@ public class LogInController implements Initializable {
     }
 
     /**
-     * Method for navigating to the Appointment Main Screen after a successful log-in attempt. Opens a connection to the
-     * database and uses a method in the AppointmentDAO to check whether there are any appointments within 15 minutes of
-     * log on. Displays an error message to the user if the FXML file fails to load.
+     * Method for navigating to the Appointment Main Screen after a successful log-in attempt. Uses a method in the
+     * AppointmentDAO, backed by the connection pool, to check whether there are any appointments within 15 minutes of
+     * log on, then starts the AppointmentReminderHelper service so later appointments are reminded for the rest of the
+     * session, and preloads the reference data cache. Displays an error message to the user if the FXML file fails to
+     * load.
      *
      * @param actionEvent Action Event triggered by a successful user log-in.
      */
     @FXML
     private void successLogInNavigateAppointmentMainLIC(ActionEvent actionEvent) throws IOException {
-        try {
-            String fxmlFileName = "/jrl/qam2final/AppointmentMainFXML.fxml";
-            URL fxmlURL = getClass().getResource(fxmlFileName);
-            FXMLLoader loader = new FXMLLoader(fxmlURL);
-            Parent root = loader.load();
-            Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.show();
-            System.out.println("Loaded FXML: " + fxmlFileName);
-            JDBCHelper.startDBConnection();
-            LocalDateTime logInTS = LogInTimeCheckHelper.readUserTimeLITCH();
-            LogInTimeCheckHelper.checkImminentAppointmentLITCH(logInTS);
-        } finally {
-            JDBCHelper.endDBConnection();
-        }
+        String fxmlFileName = "/jrl/qam2final/AppointmentMainFXML.fxml";
+        URL fxmlURL = getClass().getResource(fxmlFileName);
+        FXMLLoader loader = new FXMLLoader(fxmlURL);
+        Parent root = loader.load();
+        Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.show();
+        System.out.println("Loaded FXML: " + fxmlFileName);
+        LocalDateTime logInTS = LogInTimeCheckHelper.readUserTimeLITCH();
+        LogInTimeCheckHelper.checkImminentAppointmentLITCH(logInTS);
+        AppointmentReminderHelper.startARH(logInTS);
+        ReferenceDataCacheHelper.preloadRDCH();
     }
 
     /**
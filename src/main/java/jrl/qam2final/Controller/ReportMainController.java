@@ -4,13 +4,26 @@ import javafx.fxml.FXMLLoader;
 import java.util.Optional;
 import javafx.event.ActionEvent;
 import javafx.fxml.Initializable;
+import jrl.qam2final.Helper.AsyncTaskHelper;
+import jrl.qam2final.Helper.ReportCacheHelper;
+import jrl.qam2final.Helper.ReportDimension;
+import jrl.qam2final.Helper.ReportTimeGrain;
+import jrl.qam2final.Helper.ScheduleConflictAuditHelper;
 import jrl.qam2final.Helper.TranslationManagerHelper;
+import jrl.qam2final.Model.ScheduleConflictModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.ResourceBundle;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
 import javafx.scene.Scene;
 import javafx.fxml.FXML;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 
@@ -59,6 +72,26 @@ public class ReportMainController implements Initializable {
     public Label contactScheduleScrollPaneLabel;
     @FXML
     public ScrollPane contactScheduleScrollPane;
+    @FXML
+    public Button onActionRMCAuditConflictsButton;
+    @FXML
+    public Label conflictAuditScrollPaneLabel;
+    @FXML
+    public Button onActionRMCToPivotReportButton;
+    @FXML
+    public Label pivotReportScrollPaneLabel;
+    @FXML
+    public ScrollPane pivotReportScrollPane;
+    @FXML
+    public ScrollPane conflictAuditScrollPane;
+    @FXML
+    public Button onActionRMCSaveConflictReportButton;
+    @FXML
+    public Label conflictReportScrollPaneLabel;
+    @FXML
+    public ScrollPane conflictReportScrollPane;
+    private static final int CONFLICT_SAMPLE_LIMIT = 20;
+    private CompletableFuture<String> pendingAuditRMC;
 
     /**
      * Helper method that displays error messages for methods in the ReportMainController class. It takes
@@ -90,6 +123,7 @@ public class ReportMainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingAuditRMC);
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -99,69 +133,71 @@ public class ReportMainController implements Initializable {
     }
 
     /**
-     * Method to handle navigation to the Contact and Month Screen. An error is displayed if the FXML fails to load.
+     * Method to handle navigation to the Pivot Report Screen, showing appointments by contact and month. An error is
+     * displayed if the FXML fails to load.
      *
      * @param actionEvent Action Event triggered by the user pressing the "Contact and Month" button.
      */
     @FXML
     private void onActionNavigateReportContactMonthlyRMC(ActionEvent actionEvent) {
-        try {
-            String fxmlFileName = "/jrl/qam2final/ReportContactMonthlyFXML.fxml";
-            URL fxmlURL = getClass().getResource(fxmlFileName);
-            if (fxmlURL == null) {
-                throw new IOException("FXML file not found: " + fxmlFileName);
-            }
-            FXMLLoader loader = new FXMLLoader(fxmlURL);
-            Parent root = loader.load();
-            Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.show();
-            System.out.println("Loaded FXML: " + fxmlFileName);
-        } catch (Exception e) {
-            displayErrorRMC("Failed to load FXML");
-        }
+        navigateReportPivotRMC(actionEvent, ReportDimension.CONTACT);
     }
 
     /**
-     * Method to handle navigation to the Customer and Month Screen. An error is displayed if the FXML fails to load.
+     * Method to handle navigation to the Pivot Report Screen, showing appointments by customer and month. An error is
+     * displayed if the FXML fails to load.
      *
      * @param actionEvent Action Event triggered by the user pressing the "Customer and Month" button.
      */
     @FXML
     private void onActionNavigateReportCustomerMonthlyRMC(ActionEvent actionEvent) {
-        try {
-            String fxmlFileName = "/jrl/qam2final/ReportCustomerMonthlyFXML.fxml";
-            URL fxmlURL = getClass().getResource(fxmlFileName);
-            if (fxmlURL == null) {
-                throw new IOException("FXML file not found: " + fxmlFileName);
-            }
-            FXMLLoader loader = new FXMLLoader(fxmlURL);
-            Parent root = loader.load();
-            Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.show();
-            System.out.println("Loaded FXML: " + fxmlFileName);
-        } catch (Exception e) {
-            displayErrorRMC("Failed to load FXML");
-        }
+        navigateReportPivotRMC(actionEvent, ReportDimension.CUSTOMER);
     }
 
     /**
-     * Method to handle navigation to the Type and Month Screen. An error is displayed if the FXML fails to load.
+     * Method to handle navigation to the Pivot Report Screen, showing appointments by type and month. An error is
+     * displayed if the FXML fails to load.
      *
      * @param actionEvent Action Event triggered by the user pressing the "Type and Month" button.
      */
     @FXML
     private void onActionNavigateReportTypeMonthlyRMC(ActionEvent actionEvent) {
+        navigateReportPivotRMC(actionEvent, ReportDimension.TYPE);
+    }
+
+    /**
+     * Method to handle navigation to the Pivot Report Screen without choosing a report, so the user can choose any
+     * dimensions and period.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Pivot Report" button.
+     */
+    @FXML
+    private void onActionNavigateReportPivotRMC(ActionEvent actionEvent) {
+        navigateReportPivotRMC(actionEvent, null);
+    }
+
+    /**
+     * Helper method that loads the Pivot Report Screen and, if a dimension is given, runs the report of appointments by
+     * that dimension and month. An error is displayed if the FXML fails to load.
+     *
+     * @param actionEvent Action Event of the button pressed.
+     * @param presetDimension Dimension to report by month, or null to let the user choose.
+     */
+    private void navigateReportPivotRMC(ActionEvent actionEvent, ReportDimension presetDimension) {
         try {
-            String fxmlFileName = "/jrl/qam2final/ReportTypeMonthlyFXML.fxml";
+            String fxmlFileName = "/jrl/qam2final/ReportPivotFXML.fxml";
             URL fxmlURL = getClass().getResource(fxmlFileName);
             if (fxmlURL == null) {
                 throw new IOException("FXML file not found: " + fxmlFileName);
             }
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
+            if (presetDimension != null) {
+                ReportPivotController reportPivotController = loader.getController();
+                reportPivotController.presetReportRPC(presetDimension, ReportTimeGrain.MONTH);
+            }
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingAuditRMC);
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -186,6 +222,7 @@ public class ReportMainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingAuditRMC);
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -210,6 +247,7 @@ public class ReportMainController implements Initializable {
             FXMLLoader loader = new FXMLLoader(fxmlURL);
             Parent root = loader.load();
             Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingAuditRMC);
             stage.setScene(new Scene(root));
             stage.show();
             System.out.println("Loaded FXML: " + fxmlFileName);
@@ -218,6 +256,101 @@ public class ReportMainController implements Initializable {
         }
     }
 
+    /**
+     * Method to audit the whole schedule for double-booked customers, contacts, and users. The audit runs in the
+     * background with the ScheduleConflictAuditHelper class and the button is disabled until it finishes. The number of
+     * conflicts and the first CONFLICT_SAMPLE_LIMIT conflicts are then displayed to the user.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Schedule Conflicts" button.
+     */
+    @FXML
+    private void onActionAuditScheduleConflictsRMC(ActionEvent actionEvent) {
+        onActionRMCAuditConflictsButton.setDisable(true);
+        pendingAuditRMC = AsyncTaskHelper.thenOnFxThreadATH(AsyncTaskHelper.supplyAsyncATH(() -> {
+            List<ScheduleConflictModel> sampledConflicts = new ArrayList<>();
+            try {
+                int conflictCount = ScheduleConflictAuditHelper.auditScheduleSampleSCAH(CONFLICT_SAMPLE_LIMIT, sampledConflicts);
+                return describeConflictsRMC(conflictCount, sampledConflicts);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }), conflictSummary -> {
+            onActionRMCAuditConflictsButton.setDisable(false);
+            displayInfoRMC("Schedule Conflicts", conflictSummary);
+        }, failure -> {
+            onActionRMCAuditConflictsButton.setDisable(false);
+            displayErrorRMC("Schedule conflict audit failed: " + failure.getMessage());
+        });
+    }
+
+    /**
+     * Method to save every schedule conflict to a CSV file chosen by the user, for when the sample shown by the
+     * "Schedule Conflicts" button is not enough. The audit runs in the background with the ScheduleConflictAuditHelper
+     * class, which writes each conflict to the file as it is found, and the button is disabled until it finishes.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Save Conflict Report..." button.
+     */
+    @FXML
+    private void onActionSaveConflictReportRMC(ActionEvent actionEvent) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Conflict Report");
+        fileChooser.setInitialFileName("schedule_conflicts.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File reportFile = fileChooser.showSaveDialog(((Button) actionEvent.getSource()).getScene().getWindow());
+        if (reportFile == null) {
+            return;
+        }
+        onActionRMCSaveConflictReportButton.setDisable(true);
+        AsyncTaskHelper.thenOnFxThreadATH(AsyncTaskHelper.supplyAsyncATH(() -> {
+            try {
+                return ScheduleConflictAuditHelper.writeConflictReportSCAH(reportFile.toPath());
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }), conflictCount -> {
+            onActionRMCSaveConflictReportButton.setDisable(false);
+            displayInfoRMC("Save Conflict Report", conflictCount + " overlapping appointment pairs saved to " + reportFile.getName() + ".");
+        }, failure -> {
+            onActionRMCSaveConflictReportButton.setDisable(false);
+            displayErrorRMC("Saving the conflict report failed: " + failure.getMessage());
+        });
+    }
+
+    /**
+     * Helper method that builds the message describing the result of a schedule conflict audit.
+     *
+     * @param conflictCount Number of conflicts found.
+     * @param sampledConflicts First conflicts found.
+     * @return Message for the user.
+     */
+    private static String describeConflictsRMC(int conflictCount, List<ScheduleConflictModel> sampledConflicts) {
+        if (conflictCount == 0) {
+            return "No overlapping appointments were found.";
+        }
+        StringBuilder conflictSummary = new StringBuilder(conflictCount + " overlapping appointment pairs found.");
+        for (ScheduleConflictModel conflict : sampledConflicts) {
+            conflictSummary.append("\n").append(conflict);
+        }
+        if (conflictCount > sampledConflicts.size()) {
+            conflictSummary.append("\n...");
+        }
+        return conflictSummary.toString();
+    }
+
+    /**
+     * Helper method that displays informational messages for methods in the ReportMainController class.
+     *
+     * @param title Title for the message.
+     * @param customMessage Message displayed to user.
+     */
+    private void displayInfoRMC(String title, String customMessage) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(customMessage);
+        alert.showAndWait();
+    }
+
     /**
      * Method for exiting the application via a button press. With the aid of a helper method, a confirmation dialog to
      * is displayed to the user to confirm exit.
@@ -247,12 +380,14 @@ public class ReportMainController implements Initializable {
     }
 
     /**
-     * Initialization for the ReportMainController class.
+     * Initialization for the ReportMainController class. Starts building the Type and Month, Contact and Month, and
+     * Customer and Month reports in the background with the ReportCacheHelper class, so each opens from the cache.
      *
      * @param url            URL
      * @param resourceBundle Resource Bundle
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        ReportCacheHelper.prefetchMonthlyReportsRCH();
     }
 }
\ No newline at end of file
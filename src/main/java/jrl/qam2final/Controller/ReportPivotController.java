@@ -0,0 +1,356 @@
+package jrl.qam2final.Controller;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.*;
+import jrl.qam2final.DAO.AsyncDAOFacade;
+import jrl.qam2final.DAO.ContactDAO;
+import jrl.qam2final.DAO.CustomerDAO;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Helper.AsyncTaskHelper;
+import jrl.qam2final.Helper.ReportDimension;
+import jrl.qam2final.Helper.ReportTimeGrain;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import java.io.IOException;
+import java.net.URL;
+import java.time.LocalDate;
+import javafx.scene.Parent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.ContactModel;
+import jrl.qam2final.Model.CustomerModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import jrl.qam2final.Model.ReportPivotRowModel;
+import javafx.event.ActionEvent;
+
+/**
+ * Controller class for the Pivot Report Screen, which replaces the separate Type and Month, Contact and Month, and
+ * Customer and Month screens. The user chooses up to three dimensions to group appointments by, a period to count them
+ * by, and whether to show subtotals. The table columns are rebuilt from each report, one per label column followed by
+ * the count, and subtotal rows are shown in bold. The user can also limit the report to a range of start dates and to
+ * one contact, customer, or type; the filter is applied by the report query rather than to the rows shown. The "This
+ * Quarter" button runs the report for the current quarter. The Reports Main Screen opens this screen with
+ * presetReportRPC to show one of the former monthly reports over all appointments.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ReportPivotController implements Initializable {
+
+    private static final String NO_DIMENSION = "None";
+    private static final String COUNT_COLUMN_NAME = "Count";
+
+    @FXML
+    public Button onActionRPCToRMCButton;
+    @FXML
+    public Button onActionRPCRunReportButton;
+    @FXML
+    public Label reportPivotTitleLabel;
+    @FXML
+    public ComboBox<String> firstDimensionComboBox;
+    @FXML
+    public ComboBox<String> secondDimensionComboBox;
+    @FXML
+    public ComboBox<String> thirdDimensionComboBox;
+    @FXML
+    public ComboBox<ReportTimeGrain> timeGrainComboBox;
+    @FXML
+    public CheckBox subtotalsCheckBox;
+    @FXML
+    public Button onActionRPCThisQuarterButton;
+    @FXML
+    public Button onActionRPCClearFiltersButton;
+    @FXML
+    public DatePicker filterFromDatePicker;
+    @FXML
+    public DatePicker filterToDatePicker;
+    @FXML
+    public ComboBox<ContactModel> filterContactComboBox;
+    @FXML
+    public ComboBox<CustomerModel> filterCustomerComboBox;
+    @FXML
+    public TextField filterTypeTextField;
+    @FXML
+    private TableView<ReportPivotRowModel> reportPivotTableView;
+
+    private final AsyncDAOFacade asyncDAOFacade = createAsyncDAOFacadeRPC();
+    private CompletableFuture<ReportPivotModel> pendingLoadRPC;
+
+    /**
+     * Method to handle navigation to the Reports Main Screen. An error is displayed if the FXML fails to load.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Reports Main" button.
+     */
+    @FXML
+    private void onActionNavigateReportMainRPC(ActionEvent actionEvent) {
+        try {
+            String fxmlFileName = "/jrl/qam2final/ReportMainFXML.fxml";
+            URL fxmlURL = getClass().getResource(fxmlFileName);
+            if (fxmlURL == null) {
+                throw new IOException("FXML file not found: " + fxmlFileName);
+            }
+            FXMLLoader loader = new FXMLLoader(fxmlURL);
+            Parent root = loader.load();
+            Stage stage = (Stage) ((Button) actionEvent.getSource()).getScene().getWindow();
+            AsyncTaskHelper.cancelATH(pendingLoadRPC);
+            stage.setScene(new Scene(root));
+            stage.show();
+            System.out.println("Loaded FXML: " + fxmlFileName);
+        } catch (Exception e) {
+            displayErrorRPC("Failed to load FXML");
+        }
+    }
+
+    /**
+     * Method to run the report chosen on screen.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Run Report" button.
+     */
+    @FXML
+    private void onActionRunReportRPC(ActionEvent actionEvent) {
+        runSelectedReportRPC();
+    }
+
+    /**
+     * Method to run the report chosen on screen for the appointments starting in the current quarter. The From and To
+     * dates are set to the first and last day of the quarter.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "This Quarter" button.
+     */
+    @FXML
+    private void onActionThisQuarterRPC(ActionEvent actionEvent) {
+        LocalDate quarterStart = ReportTimeGrain.QUARTER.periodStartRTG(LocalDate.now());
+        filterFromDatePicker.setValue(quarterStart);
+        filterToDatePicker.setValue(quarterStart.plusMonths(3).minusDays(1));
+        runSelectedReportRPC();
+    }
+
+    /**
+     * Method to clear the date range, contact, customer, and type filters. The report shown is not changed until the
+     * report is run again.
+     *
+     * @param actionEvent Action Event triggered by the user pressing the "Clear Filters" button.
+     */
+    @FXML
+    private void onActionClearFiltersRPC(ActionEvent actionEvent) {
+        clearFiltersRPC();
+    }
+
+    /**
+     * Helper method that runs the report chosen on screen. An error is displayed if a dimension is chosen more than
+     * once or the From date is after the To date.
+     */
+    private void runSelectedReportRPC() {
+        List<ReportDimension> dimensions = selectedDimensionsRPC();
+        if (dimensions == null) {
+            displayErrorRPC("Each dimension can only be chosen once.");
+            return;
+        }
+        AppointmentFilterModel appointmentFilter = selectedFilterRPC();
+        if (appointmentFilter == null) {
+            displayErrorRPC("The From date must not be after the To date.");
+            return;
+        }
+        loadReportRPC(dimensions, timeGrainComboBox.getValue(), subtotalsCheckBox.isSelected(), appointmentFilter);
+    }
+
+    /**
+     * Chooses a report over all appointments and runs it. Called by the Reports Main Screen after loading this screen,
+     * so a button there can open a report directly.
+     *
+     * @param dimension Dimension to group by.
+     * @param timeGrain Period to count by.
+     */
+    public void presetReportRPC(ReportDimension dimension, ReportTimeGrain timeGrain) {
+        firstDimensionComboBox.setValue(dimension.getColumnName());
+        secondDimensionComboBox.setValue(NO_DIMENSION);
+        thirdDimensionComboBox.setValue(NO_DIMENSION);
+        timeGrainComboBox.setValue(timeGrain);
+        subtotalsCheckBox.setSelected(false);
+        clearFiltersRPC();
+        loadReportRPC(List.of(dimension), timeGrain, false, AppointmentFilterModel.ALL_APPOINTMENTS);
+    }
+
+    /**
+     * Helper method that reads a report in the background and shows it in the table. A report still loading is
+     * cancelled first, and the Run Report button is disabled until the new report arrives.
+     *
+     * @param dimensions Dimensions to group by, in column order.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count.
+     */
+    private void loadReportRPC(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals, AppointmentFilterModel appointmentFilter) {
+        AsyncTaskHelper.cancelATH(pendingLoadRPC);
+        onActionRPCRunReportButton.setDisable(true);
+        reportPivotTableView.getItems().clear();
+        reportPivotTableView.setPlaceholder(new ProgressIndicator());
+        pendingLoadRPC = AsyncTaskHelper.thenOnFxThreadATH(asyncDAOFacade.readReportPivotADF(dimensions, timeGrain, includeSubtotals, appointmentFilter), pivotReport -> {
+            onActionRPCRunReportButton.setDisable(false);
+            reportPivotTableView.setPlaceholder(new Label("No appointments to report."));
+            showReportRPC(pivotReport);
+        }, failure -> {
+            onActionRPCRunReportButton.setDisable(false);
+            reportPivotTableView.setPlaceholder(new Label("No report loaded."));
+            displayErrorRPC("Failed to load report.");
+        });
+    }
+
+    /**
+     * Helper method that rebuilds the table columns for a report and shows its rows. The rows are copied into the
+     * table, since the report may be cached and shared, and sorting the table reorders its items.
+     *
+     * @param pivotReport Report to show.
+     */
+    private void showReportRPC(ReportPivotModel pivotReport) {
+        List<TableColumn<ReportPivotRowModel, ?>> reportColumns = new ArrayList<>();
+        List<String> columnNames = pivotReport.getColumnNames_LS();
+        for (int columnIndex = 0; columnIndex < columnNames.size(); columnIndex++) {
+            int labelIndex = columnIndex;
+            TableColumn<ReportPivotRowModel, String> labelColumn = new TableColumn<>(columnNames.get(columnIndex));
+            labelColumn.setCellValueFactory(cellData -> new ReadOnlyStringWrapper(cellData.getValue().getLabels_LS().get(labelIndex)));
+            labelColumn.setPrefWidth(120);
+            reportColumns.add(labelColumn);
+        }
+        TableColumn<ReportPivotRowModel, Integer> countColumn = new TableColumn<>(COUNT_COLUMN_NAME);
+        countColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getCount_IN()));
+        countColumn.setPrefWidth(100);
+        reportColumns.add(countColumn);
+        reportPivotTableView.getColumns().setAll(reportColumns);
+        reportPivotTableView.setItems(FXCollections.observableArrayList(pivotReport.getRows_LS()));
+    }
+
+    /**
+     * Helper method that reads the chosen dimensions in column order, skipping any left as None.
+     *
+     * @return Chosen dimensions, or null if a dimension is chosen more than once.
+     */
+    private List<ReportDimension> selectedDimensionsRPC() {
+        List<ReportDimension> dimensions = new ArrayList<>(3);
+        for (ComboBox<String> dimensionComboBox : List.of(firstDimensionComboBox, secondDimensionComboBox, thirdDimensionComboBox)) {
+            for (ReportDimension dimension : ReportDimension.values()) {
+                if (dimension.getColumnName().equals(dimensionComboBox.getValue())) {
+                    if (dimensions.contains(dimension)) {
+                        return null;
+                    }
+                    dimensions.add(dimension);
+                }
+            }
+        }
+        return dimensions;
+    }
+
+    /**
+     * Helper method that builds the filter chosen on screen. The To date is inclusive, so the range ends at the start
+     * of the following day. A blank type matches every type.
+     *
+     * @return Chosen filter, or null if the From date is after the To date.
+     */
+    private AppointmentFilterModel selectedFilterRPC() {
+        LocalDate fromDate = filterFromDatePicker.getValue();
+        LocalDate toDate = filterToDatePicker.getValue();
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            return null;
+        }
+        ContactModel contact = filterContactComboBox.getValue();
+        CustomerModel customer = filterCustomerComboBox.getValue();
+        String type = filterTypeTextField.getText() == null ? "" : filterTypeTextField.getText().trim();
+        return new AppointmentFilterModel(fromDate == null ? null : fromDate.atStartOfDay(), toDate == null ? null : toDate.plusDays(1).atStartOfDay(),
+                customer == null ? AppointmentFilterModel.ANY_ID : customer.getCustID_IN(), contact == null ? AppointmentFilterModel.ANY_ID : contact.getContID_IN(),
+                type.isEmpty() ? null : type);
+    }
+
+    /**
+     * Helper method that clears the date range, contact, customer, and type filters.
+     */
+    private void clearFiltersRPC() {
+        filterFromDatePicker.setValue(null);
+        filterToDatePicker.setValue(null);
+        filterContactComboBox.setValue(null);
+        filterCustomerComboBox.setValue(null);
+        filterTypeTextField.clear();
+    }
+
+    /**
+     * Helper method that displays error messages for methods in the ReportPivotController class. It takes
+     * customMessage strings as a parameter and displays the specifics of the error to the user.
+     *
+     * @param customMessage Custom error message displayed to user
+     */
+    private void displayErrorRPC(String customMessage) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error Alert");
+        alert.setHeaderText("Error Encountered");
+        alert.setContentText(customMessage);
+        alert.showAndWait();
+    }
+
+    /**
+     * This method is used to obtain the shared asynchronous data access object.
+     *
+     * @return Shared AsyncDAOFacade from DAORegistry.
+     */
+    private AsyncDAOFacade createAsyncDAOFacadeRPC() {
+        return DAORegistry.getAsyncDAOFacadeDR();
+    }
+
+    /**
+     * This method is used to obtain the shared contact data access object.
+     *
+     * @return Shared ContactDAOIMPL from DAORegistry.
+     */
+    private ContactDAO createContactDAORPC() {
+        return DAORegistry.getContactDAODR();
+    }
+
+    /**
+     * This method is used to obtain the shared customer data access object.
+     *
+     * @return Shared CustomerDAOIMPL from DAORegistry.
+     */
+    private CustomerDAO createCustomerDAORPC() {
+        return DAORegistry.getCustomerDAODR();
+    }
+
+    /**
+     * Initialization for the ReportPivotController class. Fills the dimension, period, contact, and customer choices,
+     * defaulting to appointments by type and month with no filter, and makes subtotal rows bold. No report is read
+     * until one is run or preset.
+     *
+     * @param url            URL
+     * @param resourceBundle Resource Bundle
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
+        ObservableList<String> dimensionChoices = FXCollections.observableArrayList(NO_DIMENSION);
+        for (ReportDimension dimension : ReportDimension.values()) {
+            dimensionChoices.add(dimension.getColumnName());
+        }
+        firstDimensionComboBox.setItems(dimensionChoices);
+        secondDimensionComboBox.setItems(dimensionChoices);
+        thirdDimensionComboBox.setItems(dimensionChoices);
+        firstDimensionComboBox.setValue(ReportDimension.TYPE.getColumnName());
+        secondDimensionComboBox.setValue(NO_DIMENSION);
+        thirdDimensionComboBox.setValue(NO_DIMENSION);
+        timeGrainComboBox.setItems(FXCollections.observableArrayList(ReportTimeGrain.values()));
+        timeGrainComboBox.setValue(ReportTimeGrain.MONTH);
+        filterContactComboBox.setItems(createContactDAORPC().readContactAllConDAO());
+        filterCustomerComboBox.setItems(createCustomerDAORPC().readCustomerAllCusDAO());
+        reportPivotTableView.setPlaceholder(new Label("Choose dimensions and a period, then run the report."));
+        reportPivotTableView.setRowFactory(tableView -> new TableRow<>() {
+            @Override
+            protected void updateItem(ReportPivotRowModel pivotRow, boolean empty) {
+                super.updateItem(pivotRow, empty);
+                setStyle(!empty && pivotRow != null && pivotRow.isSubtotal_BO() ? "-fx-font-weight: bold;" : "");
+            }
+        });
+    }
+}
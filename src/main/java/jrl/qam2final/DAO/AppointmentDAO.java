@@ -2,9 +2,12 @@ package jrl.qam2final.DAO;
 
 import javafx.collections.ObservableList;
 import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.AppointmentStore;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * AppointmentDAO interface defines methods for interacting with appointment data in the database.
@@ -13,6 +16,49 @@ import java.time.LocalTime;
  */
 public interface AppointmentDAO {
 
+    /**
+     * Appointment ID passed to the overlap checks for an appointment that has not been created yet. The database
+     * assigns IDs starting at 1, so no stored appointment is excluded.
+     */
+    int NO_APPOINTMENT_ID = 0;
+
+    /**
+     * Returned by deleteAppointmentsAppDAO when the deletion failed and was rolled back.
+     */
+    int DELETE_FAILED = -1;
+
+    /**
+     * Indexed columns the appointment grid can be sorted by in the database. Ties are broken on Appointment_ID, so
+     * every order is total and a page can resume after the last row of the previous page.
+     */
+    enum AppointmentSortColumn {
+        START("Start"),
+        APPOINTMENT_ID("Appointment_ID"),
+        CUSTOMER_ID("Customer_ID"),
+        USER_ID("User_ID"),
+        CONTACT_ID("Contact_ID");
+
+        private final String columnName;
+
+        /**
+         * Constructor for AppointmentSortColumn constants.
+         *
+         * @param columnName Name of the column in the appointments table.
+         */
+        AppointmentSortColumn(String columnName) {
+            this.columnName = columnName;
+        }
+
+        /**
+         * Getter for the column name.
+         *
+         * @return columnName Name of the column in the appointments table.
+         */
+        public String getColumnName() {
+            return columnName;
+        }
+    }
+
     /**
      * Reads all appointments by contact from the database. Returns an ObservableList of AppointmentModel objects.
      * Executes a SQL query that selects all appointments by contact ID from the database. Each row from the appointment
@@ -24,6 +70,17 @@ public interface AppointmentDAO {
      */
     ObservableList<AppointmentModel> readAppointmentByContactAppDAO(int contactID_ApDB);
 
+    /**
+     * Reads all appointments by contact from the database into a column-oriented AppointmentStore. Rows are added to
+     * the store as they are read, so no AppointmentModel objects are created. If a SQLException occurs, it is handled
+     * by a helper method named handleSQLExceptionAppDAO and an empty store is returned. Used to generate contact
+     * schedules.
+     *
+     * @param contactID_ApDB Contact ID
+     * @return appointmentStore AppointmentStore of the contact's appointments.
+     */
+    AppointmentStore readAppointmentStoreByContactAppDAO(int contactID_ApDB);
+
     /**
      * Reads all appointments by customer from the database. Returns an ObservableList of AppointmentModel objects.
      * Executes a SQL query that selects all appointments by customer ID from the database. Each row from the
@@ -45,6 +102,31 @@ public interface AppointmentDAO {
      */
     ObservableList<AppointmentModel> readAppointmentAllAppDAO();
 
+    /**
+     * Reads one page of appointments in start order, resuming after a given appointment. The page is found with a
+     * keyset condition on Start and Appointment_ID instead of an OFFSET, so every page costs the same however deep it
+     * is. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param afterStart Start of the last appointment on the previous page, or null for the first page.
+     * @param afterId Appointment ID of the last appointment on the previous page, ignored for the first page.
+     * @param limit Maximum number of appointments on the page.
+     * @return appointmentPage ObservableList of at most limit AppointmentModel objects.
+     */
+    ObservableList<AppointmentModel> readAppointmentPageAppDAO(LocalDateTime afterStart, int afterId, int limit);
+
+    /**
+     * Reads one page of appointments sorted by an indexed column, resuming after a given appointment. The sort and
+     * the keyset condition are applied by the database, so only the rows of the page are transferred. If a
+     * SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterAppointment Last appointment on the previous page, or null for the first page.
+     * @param limit Maximum number of appointments on the page.
+     * @return appointmentPage ObservableList of at most limit AppointmentModel objects.
+     */
+    ObservableList<AppointmentModel> readAppointmentPageAppDAO(AppointmentSortColumn sortColumn, boolean descending, AppointmentModel afterAppointment, int limit);
+
     /**
      * Updates the information for an appointment in the database. If a SQLException occurs, it is handled by a helper
      * method named handleSQLExceptionAppDAO. If the update is successful, a message is displayed to the user using the
@@ -66,20 +148,19 @@ public interface AppointmentDAO {
     boolean updateAppointmentAppDAO(int appointmentID_ToDB, int customerID_ToDB, int userID_ToDB, int contactID_ToDB, String title_ToDB, String description_ToDB, String location_ToDB, String type_ToDB, LocalDateTime startDT_ToDB, LocalDateTime endDT_ToDB);
 
     /**
-     * When called by the onActionDeleteAppointmentAMC controller method, this method deletes an appointment from the
-     * database. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO. If the
-     * deletion is successful, a message is displayed to the user using the helper method displayInfoAppDAO. If the
-     * deletion is not successful, an error message is displayed to the user using the helper method displayErrorAppDAO.
+     * When called by the onActionDeleteAppointmentAMC controller method, this method deletes the selected appointments
+     * from the database as one transaction. If a SQLException occurs, it is handled by a helper method named
+     * handleSQLExceptionAppDAO and no appointment is deleted. No message is displayed on success, so the caller can
+     * summarize the whole deletion in one message.
      *
-     * @param appointmentID_DelDB Appointment ID
-     * @param type_DelDB Type
-     * @return True if deletion succeeds, otherwise false.
+     * @param appointmentIDs_DelDB Appointment IDs
+     * @return Number of appointments deleted, or DELETE_FAILED if the deletion was rolled back.
      */
-    boolean deleteAppointmentAppDAO(int appointmentID_DelDB, String type_DelDB);
+    int deleteAppointmentsAppDAO(List<Integer> appointmentIDs_DelDB);
 
      /**
      * Performs a check to determine if an updated appointment will cause an overlapping appointment situation for a
-     * customer. It calls a helper method, updatedAppointmentOverlapHelperAppDAO, that assists with the overlap check.
+     * customer. The appointment being updated is excluded from the check.
      *
      * @param custID Customer ID for appointment being checked for overlap.
      * @param userAppDayStart Start Date for the appointment being checked for overlap.
@@ -111,16 +192,15 @@ public interface AppointmentDAO {
     boolean createAppointmentAppDAO(int customerID_ToDB, int userID_ToDB, int contactID_ToDB, String title_ToDB, String description_ToDB, String location_ToDB, String type_ToDB, LocalDateTime startDT_ToDB, LocalDateTime endDT_ToDB);
 
     /**
-     * When called by the deleteCustomerCusDAO method, this method deletes a customer's appointments by customer ID
-     * before the customer itself is deleted by deleteCustomerCusDAO method. If a SQLException occurs, it is handled by
-     * a helper method named handleSQLExceptionAppDAO. If appointments are deleted, a message is displayed to the user
-     * using the helper method displayInfoAppDAO. If the customer had no appointments to delete, a message is displayed
-     * to the user using the helper method displayInfoAppDAO.
+     * Creates appointments in the database as one transaction with a single batched INSERT. Used by the appointment
+     * import, which validates the appointments first. The generated appointment IDs are set on the appointments passed
+     * in. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO and no appointment
+     * is created. No message is displayed on success, so the import can report its own progress.
      *
-     * @param customerID_DelDB Customer ID
-     * @return True if deletion succeeds, false otherwise.
+     * @param appointments_ToDB Appointments to create, with ID NO_APPOINTMENT_ID.
+     * @return True if every appointment was created, false if the transaction was rolled back.
      */
-    boolean deleteAppointmentsByCustomerIdAppDAO(int customerID_DelDB);
+    boolean createAppointmentsAppDAO(List<AppointmentModel> appointments_ToDB);
 
     /**
      * Performs a check to determine if a scheduled appointment violates defined business hours.
@@ -131,22 +211,48 @@ public interface AppointmentDAO {
     boolean checkAppointmentStartAppDAO(LocalDateTime appointmentStart);
 
     /**
-     * Filters appointments by only displaying appointments scheduled for the upcoming week. Corresponds to the "by Week
-     * " radio button on the Appointment Main Screen.
+     * Streams the appointments scheduled for the upcoming week to a sink. Corresponds to the "by Week" radio button on
+     * the Appointment Main Screen.
      *
      * @param logInDS Log-in date
-     * @return FilteredList of appointments scheduled for the upcoming week
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return Number of appointments streamed.
      */
-    ObservableList<AppointmentModel> radioAppointmentsWeekAppDAO(LocalDate logInDS);
+    int radioAppointmentsWeekAppDAO(LocalDate logInDS, Consumer<AppointmentModel> appointmentSink);
 
     /**
-     * Filters appointments by only displaying appointments scheduled for the current calendar month. Corresponds to the
-     * "by Month" radio button on the Appointment Main Screen.
+     * Streams the appointments scheduled for the current calendar month to a sink. Corresponds to the "by Month" radio
+     * button on the Appointment Main Screen.
      *
      * @param logInDS Log-in date
-     * @return FilteredList of appointments scheduled for the current calendar month
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return Number of appointments streamed.
+     */
+    int radioAppointmentsMonthAppDAO(LocalDate logInDS, Consumer<AppointmentModel> appointmentSink);
+
+    /**
+     * Reads the appointments that start within a date and time range. Returns an ObservableList of AppointmentModel
+     * objects ordered by start. The range is filtered by the database, so only the matching appointments are
+     * transferred. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param rangeStart Start of the range, inclusive.
+     * @param rangeEnd End of the range, exclusive.
+     * @return appointmentsInRange ObservableList of AppointmentModel objects that start within the range.
+     */
+    ObservableList<AppointmentModel> readAppointmentsBetweenAppDAO(LocalDateTime rangeStart, LocalDateTime rangeEnd);
+
+    /**
+     * Streams the appointments that start within a date and time range to a sink, in start order, instead of returning
+     * a list. Each appointment is passed to the sink as soon as it is read, so a caller can show the first appointments
+     * before the last ones arrive. If a SQLException occurs, it is handled by a helper method named
+     * handleSQLExceptionAppDAO.
+     *
+     * @param rangeStart Start of the range, inclusive.
+     * @param rangeEnd End of the range, exclusive.
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return Number of appointments streamed.
      */
-    ObservableList<AppointmentModel> radioAppointmentsMonthAppDAO(LocalDate logInDS);
+    int streamAppointmentsBetweenAppDAO(LocalDateTime rangeStart, LocalDateTime rangeEnd, Consumer<AppointmentModel> appointmentSink);
 
     /**
      * Performs a check to determine if a scheduled appointment violates defined business hours.
@@ -169,4 +275,39 @@ public interface AppointmentDAO {
      */
     boolean createdAppointmentOverlapCheckAppDAO(int custID, LocalDate userAppDayStart, LocalDate userAppDayEnd, LocalTime userAppClockStart, LocalTime userAppClockEnd);
 
-}
\ No newline at end of file
+    /**
+     * Reads the IDs of a customer's appointments that overlap a date and time range. Two appointments overlap when each
+     * starts before the other ends. If a SQLException occurs, it is handled by a helper method named
+     * handleSQLExceptionAppDAO.
+     *
+     * @param custID Customer ID for appointment being checked for overlap.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore, or 0 when checking a new appointment.
+     * @return overlappingIds List of conflicting appointment IDs ordered by start and ID, empty if there is no overlap.
+     */
+    List<Integer> readOverlappingAppointmentIdsAppDAO(int custID, LocalDateTime rangeStart, LocalDateTime rangeEnd, int excludedAppID);
+
+    /**
+     * Performs a check to determine if an appointment will double-book a contact.
+     *
+     * @param contID Contact ID for appointment being checked for overlap.
+     * @param startDT Start Date Time for the appointment being checked for overlap.
+     * @param endDT End Date Time for the appointment being checked for overlap.
+     * @param appID Appointment ID to ignore, or NO_APPOINTMENT_ID when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
+     */
+    boolean contactOverlapCheckAppDAO(int contID, LocalDateTime startDT, LocalDateTime endDT, int appID);
+
+    /**
+     * Performs a check to determine if an appointment will double-book a user.
+     *
+     * @param userID User ID for appointment being checked for overlap.
+     * @param startDT Start Date Time for the appointment being checked for overlap.
+     * @param endDT End Date Time for the appointment being checked for overlap.
+     * @param appID Appointment ID to ignore, or NO_APPOINTMENT_ID when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
+     */
+    boolean userOverlapCheckAppDAO(int userID, LocalDateTime startDT, LocalDateTime endDT, int appID);
+
+}
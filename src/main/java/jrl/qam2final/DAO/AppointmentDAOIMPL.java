@@ -1,22 +1,27 @@
 package jrl.qam2final.DAO;
 
 import javafx.scene.control.Alert;
+import jrl.qam2final.Helper.AppointmentReminderHelper;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import jrl.qam2final.Model.AppointmentModel;
-import javafx.collections.transformation.FilteredList;
-import java.sql.PreparedStatement;
+import jrl.qam2final.Model.AppointmentStore;
 import jrl.qam2final.Helper.TranslationManagerHelper;
-import java.sql.ResultSet;
+import jrl.qam2final.Helper.QueryExecutorHelper;
+import jrl.qam2final.Helper.ReportAggregateHelper;
+import jrl.qam2final.Helper.ReportCacheHelper;
+import jrl.qam2final.Helper.RowMapper;
+import jrl.qam2final.Helper.ScheduleConflictIndexHelper;
+import jrl.qam2final.Helper.StatementBinder;
 import java.sql.SQLException;
 import java.time.*;
 import javafx.collections.FXCollections;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import javafx.collections.ObservableList;
 
-import static jrl.qam2final.Helper.JDBCHelper.connectDB;
-
 /**
  * Implementation class for the AppointmentDAO interface. Provides methods to interact with appointment data in the
  * database.
@@ -25,11 +30,64 @@ import static jrl.qam2final.Helper.JDBCHelper.connectDB;
  */
 public class AppointmentDAOIMPL implements AppointmentDAO {
 
+    /**
+     * Constructor for AppointmentDAOIMPL. The class is stateless, so a single instance is shared through
+     * DAORegistry.getAppointmentDAODR.
+     */
+    AppointmentDAOIMPL() {
+    }
+
+    /**
+     * Column list shared by every appointment query, including the export in AppointmentExportHelper.
+     * APPOINTMENT_ROW_MAPPER reads these columns by index, so the order here must match the mapper.
+     */
+    public static final String APPOINTMENT_COLUMNS = "Appointment_ID, Customer_ID, User_ID, Contact_ID, Title, Description, Location, Type, Start, End";
+
+    /**
+     * Maps a row selected with APPOINTMENT_COLUMNS to an AppointmentModel object by column index.
+     */
+    public static final RowMapper<AppointmentModel> APPOINTMENT_ROW_MAPPER = queryReturn -> new AppointmentModel(
+            queryReturn.getInt(1),
+            queryReturn.getString(5),
+            queryReturn.getString(6),
+            queryReturn.getString(7),
+            queryReturn.getString(8),
+            queryReturn.getTimestamp(9).toLocalDateTime(),
+            queryReturn.getTimestamp(10).toLocalDateTime(),
+            queryReturn.getInt(2),
+            queryReturn.getInt(3),
+            queryReturn.getInt(4));
+
+    /**
+     * Selects the appointments that start within a range, bound as the range start and end, in start order.
+     */
+    private static final String APPOINTMENTS_BETWEEN_SQL = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
+            "FROM \n" +
+            "    appointments \n" +
+            "WHERE \n" +
+            "    Start >= ? \n" +
+            "    AND Start < ? \n" +
+            "ORDER BY \n" +
+            "    Start, Appointment_ID";
+
+    /**
+     * Appointment IDs deleted by each statement of deleteAppointmentsAppDAO.
+     */
+    private static final int DELETE_CHUNK_SIZE = 100;
+
+    /**
+     * Deletes up to DELETE_CHUNK_SIZE appointments by primary key.
+     */
+    private static final String DELETE_APPOINTMENTS_SQL = "DELETE FROM appointments \n" +
+            "WHERE Appointment_ID IN (" + String.join(", ", Collections.nCopies(DELETE_CHUNK_SIZE, "?")) + ")";
+
     /**
      * Creates a new appointment entry in the database with values provided by the onActionSaveCreatedAppointmentACC
-     * controller method. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO. If
-     * the insert is successful, a message is displayed to the user using the helper method displayInfoAppDAO. If the
-     * insert is not successful an error message is displayed to the user using the helper method displayErrorAppDAO.
+     * controller method. The insert and the report aggregate counts are updated as one transaction, and the report
+     * cache is discarded after the commit. If a SQLException occurs, it is handled by a helper method named
+     * handleSQLExceptionAppDAO. If the insert is successful, a message is displayed to the user using the helper method
+     * displayInfoAppDAO. If the insert is not successful an error message is displayed to the user using the helper
+     * method displayErrorAppDAO.
      *
      * @param customerID_ToDB Customer ID for new appointment.
      * @param userID_ToDB User ID for new appointment.
@@ -57,20 +115,29 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
                     "Type = ?,\n" +
                     "Start = ?,\n" +
                     "End = ?";
-            PreparedStatement createAppointmentStatement = connectDB.prepareStatement(sql);
-            createAppointmentStatement.setInt(1, customerID_ToDB);
-            createAppointmentStatement.setInt(2, userID_ToDB);
-            createAppointmentStatement.setInt(3, contactID_ToDB);
-            createAppointmentStatement.setString(4, title_ToDB);
-            createAppointmentStatement.setString(5, description_ToDB);
-            createAppointmentStatement.setString(6, location_ToDB);
-            createAppointmentStatement.setString(7, type_ToDB);
-            createAppointmentStatement.setTimestamp(8, Timestamp.valueOf(startDT_ToDB));
-            createAppointmentStatement.setTimestamp(9, Timestamp.valueOf(endDT_ToDB));
-            int modifiedRowCount = createAppointmentStatement.executeUpdate();
-            if (modifiedRowCount > 0) {
+            int createdAppointmentID = QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                int generatedKey = QueryExecutorHelper.insertReturningKeyQEH(pooledConnection, "createAppointmentAppDAO", sql, createAppointmentStatement -> {
+                    createAppointmentStatement.setInt(1, customerID_ToDB);
+                    createAppointmentStatement.setInt(2, userID_ToDB);
+                    createAppointmentStatement.setInt(3, contactID_ToDB);
+                    createAppointmentStatement.setString(4, title_ToDB);
+                    createAppointmentStatement.setString(5, description_ToDB);
+                    createAppointmentStatement.setString(6, location_ToDB);
+                    createAppointmentStatement.setString(7, type_ToDB);
+                    createAppointmentStatement.setTimestamp(8, Timestamp.valueOf(startDT_ToDB));
+                    createAppointmentStatement.setTimestamp(9, Timestamp.valueOf(endDT_ToDB));
+                });
+                if (generatedKey != QueryExecutorHelper.NO_GENERATED_KEY) {
+                    ReportAggregateHelper.addAppointmentsRAH(pooledConnection, List.of(generatedKey));
+                }
+                return generatedKey;
+            });
+            if (createdAppointmentID != QueryExecutorHelper.NO_GENERATED_KEY) {
                 createSuccessful = true;
-                updatedAppointmentsCount = modifiedRowCount;
+                updatedAppointmentsCount = 1;
+                ReportCacheHelper.invalidateRCH();
+                AppointmentReminderHelper.recordAppointmentARH(new AppointmentModel(createdAppointmentID, title_ToDB, description_ToDB, location_ToDB, type_ToDB,
+                        startDT_ToDB, endDT_ToDB, customerID_ToDB, userID_ToDB, contactID_ToDB));
                 displayInfoAppDAO("Create Appointment", updatedAppointmentsCount + " Appointment created.");
             } else {
                 displayErrorAppDAO("Create Appointment", "Failed Insert operation.");
@@ -81,9 +148,61 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
         return createSuccessful;
     }
 
+    /**
+     * Creates appointments in the database as one transaction with a single batched INSERT. The INSERT uses a VALUES
+     * list, so with rewriteBatchedStatements MySQL Connector/J sends the batch as multi-row INSERT statements. The
+     * report aggregate counts are updated in the same transaction. The generated appointment IDs are set on the
+     * appointments passed in, and the report cache, the schedule conflict index, and the reminder queue are updated
+     * after the commit. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO and
+     * no appointment is created.
+     *
+     * @param appointments_ToDB Appointments to create, with ID NO_APPOINTMENT_ID.
+     * @return True if every appointment was created, false if the transaction was rolled back.
+     */
+    @Override
+    public boolean createAppointmentsAppDAO(List<AppointmentModel> appointments_ToDB) {
+        boolean createSuccessful = false;
+        try {
+            String sql = "INSERT INTO appointments (Customer_ID, User_ID, Contact_ID, Title, Description, Location, Type, Start, End) \n" +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            List<StatementBinder> rowBinders = new ArrayList<>(appointments_ToDB.size());
+            for (AppointmentModel appointment : appointments_ToDB) {
+                rowBinders.add(createAppointmentStatement -> {
+                    createAppointmentStatement.setInt(1, appointment.getCustID_IN());
+                    createAppointmentStatement.setInt(2, appointment.getUserID_IN());
+                    createAppointmentStatement.setInt(3, appointment.getContID_IN());
+                    createAppointmentStatement.setString(4, appointment.getTitl_ST());
+                    createAppointmentStatement.setString(5, appointment.getDesc_ST());
+                    createAppointmentStatement.setString(6, appointment.getLoca_ST());
+                    createAppointmentStatement.setString(7, appointment.getType_ST());
+                    createAppointmentStatement.setTimestamp(8, Timestamp.valueOf(appointment.getStaDT_LDT()));
+                    createAppointmentStatement.setTimestamp(9, Timestamp.valueOf(appointment.getEndDT_LDT()));
+                });
+            }
+            List<Integer> createdAppointmentIDs = QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                List<Integer> generatedKeys = QueryExecutorHelper.batchInsertReturningKeysQEH(pooledConnection, "createAppointmentsAppDAO", sql, rowBinders);
+                if (generatedKeys.size() != appointments_ToDB.size()) {
+                    throw new SQLException("Expected " + appointments_ToDB.size() + " generated keys but received " + generatedKeys.size() + ".");
+                }
+                ReportAggregateHelper.addAppointmentsRAH(pooledConnection, generatedKeys);
+                return generatedKeys;
+            });
+            ReportCacheHelper.invalidateRCH();
+            for (int appointmentIndex = 0; appointmentIndex < appointments_ToDB.size(); appointmentIndex++) {
+                AppointmentModel appointment = appointments_ToDB.get(appointmentIndex);
+                appointment.setAppID_IN(createdAppointmentIDs.get(appointmentIndex));
+                AppointmentReminderHelper.recordAppointmentARH(appointment);
+            }
+            createSuccessful = true;
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
+        }
+        return createSuccessful;
+    }
+
     /**
      * Performs a check to determine if a created appointment will cause an overlapping appointment situation for a
-     * customer.
+     * customer. The check is a single EXISTS query, see resourceOverlapExistsAppDAO.
      *
      * @param custID Customer ID for appointment being checked for overlap.
      * @param userAppDayStart Start Date for the appointment being checked for overlap.
@@ -94,17 +213,8 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     @Override
     public boolean createdAppointmentOverlapCheckAppDAO(int custID, LocalDate userAppDayStart, LocalDate userAppDayEnd, LocalTime userAppClockStart, LocalTime userAppClockEnd) {
-        AppointmentDAO newAppointmentDAO = createAppointmentDAOIMPLAppDAO();
-        ObservableList<AppointmentModel> appointmentFromCustomer = newAppointmentDAO.readAppointmentByCustomerAppDAO(custID);
-        for (AppointmentModel appointment : appointmentFromCustomer) {
-            if ((appointment.getStaD_LD().isEqual(userAppDayStart) || appointment.getEndD_LD().isEqual(userAppDayEnd))
-                    && ((appointment.getStaT_LT().equals(userAppClockStart))
-                    || (appointment.getStaT_LT().isAfter(userAppClockStart) && appointment.getStaT_LT().isBefore(userAppClockEnd))
-                    || (userAppClockStart.isBefore(appointment.getStaT_LT()) && userAppClockEnd.isAfter(appointment.getStaT_LT())))) {
-                return true;
-            }
-        }
-        return false;
+        return resourceOverlapExistsAppDAO(ScheduleConflictIndexHelper.ResourceKind.CUSTOMER, custID, LocalDateTime.of(userAppDayStart, userAppClockStart),
+                LocalDateTime.of(userAppDayEnd, userAppClockEnd), NO_APPOINTMENT_ID);
     }
 
     /**
@@ -118,44 +228,15 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     @Override
     public ObservableList<AppointmentModel> readAppointmentByCustomerAppDAO(int customerID_ApDB) {
-        ObservableList<AppointmentModel> appointmentFromCustomer = FXCollections.observableArrayList();
+        ObservableList<AppointmentModel> appointmentFromCustomer = FXCollections.emptyObservableList();
         try {
-            String sql = "SELECT \n" +
-                    "    Appointment_ID, \n" +
-                    "    Customer_ID, \n" +
-                    "    User_ID, \n" +
-                    "    Contact_ID, \n" +
-                    "    Title, \n" +
-                    "    Description, \n" +
-                    "    Location, \n" +
-                    "    Type, \n" +
-                    "    Start, \n" +
-                    "    End \n" +
+            String sql = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
                     "FROM \n" +
                     "    appointments \n" +
                     "WHERE \n" +
                     "    Customer_ID=?";
-            PreparedStatement readAppointmentCustomer = connectDB.prepareStatement(sql);
-            readAppointmentCustomer.setInt(1, customerID_ApDB);
-            ResultSet queryReturn = readAppointmentCustomer.executeQuery();
-            for (; queryReturn.next();) {
-                int appointmentID_ApDB = queryReturn.getInt("Appointment_ID");
-                customerID_ApDB = queryReturn.getInt("Customer_ID");
-                int userID_ApDB = queryReturn.getInt("User_ID");
-                int contactID_ApDB = queryReturn.getInt("Contact_ID");
-                String title_ApDB = queryReturn.getString("Title");
-                String description_ApDB = queryReturn.getString("Description");
-                String location_ApDB = queryReturn.getString("Location");
-                String type_ApDB = queryReturn.getString("Type");
-                LocalDateTime appStartDT_ApDB = queryReturn.getTimestamp("Start").toLocalDateTime();
-                LocalDateTime appEndDT_ApDB = queryReturn.getTimestamp("End").toLocalDateTime();
-                LocalDate appStartD_ApDB = appStartDT_ApDB.toLocalDate();
-                LocalTime appStartT_ApDB = appStartDT_ApDB.toLocalTime();
-                LocalDate appEndD_ApDB = appEndDT_ApDB.toLocalDate();
-                LocalTime appEndT_ApDB = appEndDT_ApDB.toLocalTime();
-                AppointmentModel appointmentDB = new AppointmentModel(appointmentID_ApDB, title_ApDB, description_ApDB, location_ApDB, type_ApDB, appStartDT_ApDB, appEndDT_ApDB, appStartD_ApDB, appEndD_ApDB, appStartT_ApDB, appEndT_ApDB, customerID_ApDB, userID_ApDB, contactID_ApDB);
-                appointmentFromCustomer.add(appointmentDB);
-            }
+            appointmentFromCustomer = FXCollections.unmodifiableObservableList(FXCollections.observableList(QueryExecutorHelper.queryListQEH("readAppointmentByCustomerAppDAO", sql,
+                    readAppointmentCustomer -> readAppointmentCustomer.setInt(1, customerID_ApDB), APPOINTMENT_ROW_MAPPER)));
         } catch (SQLException e) {
             handleSQLExceptionAppDAO(e);
         }
@@ -173,44 +254,15 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     @Override
     public ObservableList<AppointmentModel> readAppointmentByContactAppDAO(int contactID_ApDB) {
-        ObservableList<AppointmentModel> appointmentFromContact = FXCollections.observableArrayList();
+        ObservableList<AppointmentModel> appointmentFromContact = FXCollections.emptyObservableList();
         try {
-            String sql = "SELECT \n" +
-                    "    Appointment_ID, \n" +
-                    "    Customer_ID, \n" +
-                    "    User_ID, \n" +
-                    "    Contact_ID, \n" +
-                    "    Title, \n" +
-                    "    Description, \n" +
-                    "    Location, \n" +
-                    "    Type, \n" +
-                    "    Start, \n" +
-                    "    End \n" +
+            String sql = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
                     "FROM \n" +
                     "    appointments \n" +
                     "WHERE \n" +
                     "    Contact_ID=?";
-            PreparedStatement readAppointmentContact = connectDB.prepareStatement(sql);
-            readAppointmentContact.setInt(1, contactID_ApDB);
-            ResultSet queryReturn = readAppointmentContact.executeQuery();
-            for (; queryReturn.next();) {
-                int appointmentID_ApDB = queryReturn.getInt("Appointment_ID");
-                int customerID_ApDB = queryReturn.getInt("Customer_ID");
-                int userID_ApDB = queryReturn.getInt("User_ID");
-                contactID_ApDB = queryReturn.getInt("Contact_ID");
-                String title_ApDB = queryReturn.getString("Title");
-                String description_ApDB = queryReturn.getString("Description");
-                String location_ApDB = queryReturn.getString("Location");
-                String type_ApDB = queryReturn.getString("Type");
-                LocalDateTime appStartDT_ApDB = queryReturn.getTimestamp("Start").toLocalDateTime();
-                LocalDateTime appEndDT_ApDB = queryReturn.getTimestamp("End").toLocalDateTime();
-                LocalDate appStartD_ApDB = appStartDT_ApDB.toLocalDate();
-                LocalTime appStartT_ApDB = appStartDT_ApDB.toLocalTime();
-                LocalDate appEndD_ApDB = appEndDT_ApDB.toLocalDate();
-                LocalTime appEndT_ApDB = appEndDT_ApDB.toLocalTime();
-                AppointmentModel appointmentDB = new AppointmentModel(appointmentID_ApDB, title_ApDB, description_ApDB, location_ApDB, type_ApDB, appStartDT_ApDB, appEndDT_ApDB, appStartD_ApDB, appEndD_ApDB, appStartT_ApDB, appEndT_ApDB, customerID_ApDB, userID_ApDB, contactID_ApDB);
-                appointmentFromContact.add(appointmentDB);
-            }
+            appointmentFromContact = FXCollections.unmodifiableObservableList(FXCollections.observableList(QueryExecutorHelper.queryListQEH("readAppointmentByContactAppDAO", sql,
+                    readAppointmentContact -> readAppointmentContact.setInt(1, contactID_ApDB), APPOINTMENT_ROW_MAPPER)));
         } catch (SQLException e) {
             handleSQLExceptionAppDAO(e);
         }
@@ -218,7 +270,49 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
     }
 
     /**
-     * Updates the information for an appointment in the database. If a SQLException occurs, it is handled by a helper
+     * Reads all appointments by contact from the database into a column-oriented AppointmentStore. Rows are added to
+     * the store as they are read, so no AppointmentModel objects are created. The query uses the streaming fetch size,
+     * so the driver holds one row at a time instead of buffering the whole result next to the store. If a SQLException
+     * occurs, it is handled by a helper method named handleSQLExceptionAppDAO and an empty store is returned. Used to
+     * generate contact schedules.
+     *
+     * @param contactID_ApDB Contact ID
+     * @return appointmentStore AppointmentStore of the contact's appointments.
+     */
+    @Override
+    public AppointmentStore readAppointmentStoreByContactAppDAO(int contactID_ApDB) {
+        AppointmentStore appointmentStore = new AppointmentStore();
+        try {
+            String sql = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
+                    "FROM \n" +
+                    "    appointments \n" +
+                    "WHERE \n" +
+                    "    Contact_ID=?";
+            QueryExecutorHelper.queryForEachQEH("readAppointmentStoreByContactAppDAO", sql,
+                    readAppointmentContact -> readAppointmentContact.setInt(1, contactID_ApDB),
+                    queryReturn -> appointmentStore.addAPS(
+                            queryReturn.getInt(1),
+                            queryReturn.getString(5),
+                            queryReturn.getString(6),
+                            queryReturn.getString(7),
+                            queryReturn.getString(8),
+                            queryReturn.getTimestamp(9).toLocalDateTime(),
+                            queryReturn.getTimestamp(10).toLocalDateTime(),
+                            queryReturn.getInt(2),
+                            queryReturn.getInt(3),
+                            queryReturn.getInt(4)),
+                    QueryExecutorHelper.STREAMING_FETCH_SIZE);
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
+            return new AppointmentStore();
+        }
+        return appointmentStore;
+    }
+
+    /**
+     * Updates the information for an appointment in the database. The appointment is subtracted from the report
+     * aggregate counts as it was before the update and added back as it is after, in the same transaction as the
+     * update, and the report cache is discarded after the commit. If a SQLException occurs, it is handled by a helper
      * method named handleSQLExceptionAppDAO. If the update is successful, a message is displayed to the user using the
      * helper method displayInfoAppDAO. If the update is not successful an error message is displayed to the user using
      * the helper method displayErrorAppDAO.
@@ -253,21 +347,29 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
                     "    End = ?\n" +
                     "WHERE\n" +
                     "    Appointment_ID = ?";
-            PreparedStatement updateAppointmentStatement = connectDB.prepareStatement(sql);
-            updateAppointmentStatement.setInt(1, customerID_ToDB);
-            updateAppointmentStatement.setInt(2, userID_ToDB);
-            updateAppointmentStatement.setInt(3, contactID_ToDB);
-            updateAppointmentStatement.setString(4, title_ToDB);
-            updateAppointmentStatement.setString(5, description_ToDB);
-            updateAppointmentStatement.setString(6, location_ToDB);
-            updateAppointmentStatement.setString(7, type_ToDB);
-            updateAppointmentStatement.setTimestamp(8, Timestamp.valueOf(startDT_ToDB));
-            updateAppointmentStatement.setTimestamp(9, Timestamp.valueOf(endDT_ToDB));
-            updateAppointmentStatement.setInt(10, appointmentID_ToDB);
-            int modifiedRowCount = updateAppointmentStatement.executeUpdate();
+            int modifiedRowCount = QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                ReportAggregateHelper.subtractAppointmentsRAH(pooledConnection, List.of(appointmentID_ToDB));
+                int updatedRowCount = QueryExecutorHelper.updateQEH(pooledConnection, "updateAppointmentAppDAO", sql, updateAppointmentStatement -> {
+                    updateAppointmentStatement.setInt(1, customerID_ToDB);
+                    updateAppointmentStatement.setInt(2, userID_ToDB);
+                    updateAppointmentStatement.setInt(3, contactID_ToDB);
+                    updateAppointmentStatement.setString(4, title_ToDB);
+                    updateAppointmentStatement.setString(5, description_ToDB);
+                    updateAppointmentStatement.setString(6, location_ToDB);
+                    updateAppointmentStatement.setString(7, type_ToDB);
+                    updateAppointmentStatement.setTimestamp(8, Timestamp.valueOf(startDT_ToDB));
+                    updateAppointmentStatement.setTimestamp(9, Timestamp.valueOf(endDT_ToDB));
+                    updateAppointmentStatement.setInt(10, appointmentID_ToDB);
+                });
+                ReportAggregateHelper.addAppointmentsRAH(pooledConnection, List.of(appointmentID_ToDB));
+                return updatedRowCount;
+            });
             if (modifiedRowCount > 0) {
                 updateSuccessful = true;
                 updatedAppointmentsCount = modifiedRowCount;
+                ReportCacheHelper.invalidateRCH();
+                AppointmentReminderHelper.recordAppointmentARH(new AppointmentModel(appointmentID_ToDB, title_ToDB, description_ToDB, location_ToDB, type_ToDB,
+                        startDT_ToDB, endDT_ToDB, customerID_ToDB, userID_ToDB, contactID_ToDB));
                 displayInfoAppDAO("Update Appointment", updatedAppointmentsCount + " Appointment with Appointment ID: " + appointmentID_ToDB + " updated.");
             } else {
                 displayErrorAppDAO("Update Appointment", "Failed Update operation.");
@@ -288,42 +390,13 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     @Override
     public ObservableList<AppointmentModel> readAppointmentAllAppDAO() {
-        ObservableList<AppointmentModel> appointmentFromDB = FXCollections.observableArrayList();
+        ObservableList<AppointmentModel> appointmentFromDB = FXCollections.emptyObservableList();
         try {
-            String sql = "SELECT \n" +
-                    "    Appointment_ID, \n" +
-                    "    Customer_ID, \n" +
-                    "    User_ID, \n" +
-                    "    Contact_ID, \n" +
-                    "    Title, \n" +
-                    "    Description, \n" +
-                    "    Location, \n" +
-                    "    Type, \n" +
-                    "    Start, \n" +
-                    "    End \n" +
+            String sql = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
                     "FROM \n" +
                     "    appointments";
-            PreparedStatement readAppointmentAllStatement = connectDB.prepareStatement(sql);
-            ResultSet queryReturn = readAppointmentAllStatement.executeQuery();
-            for (; queryReturn.next();) {
-                int appointmentID_ApDB = queryReturn.getInt("Appointment_ID");
-                int customerID_ApDB = queryReturn.getInt("Customer_ID");
-                int userID_ApDB = queryReturn.getInt("User_ID");
-                int contactID_ApDB = queryReturn.getInt("Contact_ID");
-                String title_ApDB = queryReturn.getString("Title");
-                String description_ApDB = queryReturn.getString("Description");
-                String location = queryReturn.getString("Location");
-                String type_ApDB = queryReturn.getString("Type");
-                LocalDateTime appStartDT_ApDB = queryReturn.getTimestamp("Start").toLocalDateTime();
-                LocalDateTime appEndDT_ApDB = queryReturn.getTimestamp("End").toLocalDateTime();
-                LocalDate appStartD_ApDB = appStartDT_ApDB.toLocalDate();
-                LocalTime appStartT_ApDB = appStartDT_ApDB.toLocalTime();
-                LocalDate appEndD_ApDB = appEndDT_ApDB.toLocalDate();
-                LocalTime appEndT_ApDB = appEndDT_ApDB.toLocalTime();
-                AppointmentModel appointmentDB = new AppointmentModel(appointmentID_ApDB, title_ApDB, description_ApDB,
-                        location, type_ApDB, appStartDT_ApDB, appEndDT_ApDB, appStartD_ApDB, appEndD_ApDB, appStartT_ApDB, appEndT_ApDB, customerID_ApDB, userID_ApDB, contactID_ApDB);
-                appointmentFromDB.add(appointmentDB);
-            }
+            appointmentFromDB = FXCollections.unmodifiableObservableList(FXCollections.observableList(QueryExecutorHelper.queryListQEH("readAppointmentAllAppDAO", sql,
+                    StatementBinder.NO_PARAMETERS, APPOINTMENT_ROW_MAPPER)));
         } catch (SQLException e) {
             handleSQLExceptionAppDAO(e);
         }
@@ -331,114 +404,242 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
     }
 
     /**
-     * When called by the onActionDeleteAppointmentAMC controller method, this method deletes an appointment from the
-     * database. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO. If the
-     * deletion is successful, a message is displayed to the user using the helper method displayInfoAppDAO. If the
-     * deletion is not successful, an error message is displayed to the user using the helper method displayErrorAppDAO.
+     * Reads one page of appointments in start order, resuming after a given appointment. The page is found with a
+     * keyset condition on Start and Appointment_ID instead of an OFFSET, so every page costs the same however deep it
+     * is. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
      *
-     * @param appointmentID_DelDB Appointment ID
-     * @param type_DelDB Type
-     * @return True if deletion succeeds, otherwise false.
+     * @param afterStart Start of the last appointment on the previous page, or null for the first page.
+     * @param afterId Appointment ID of the last appointment on the previous page, ignored for the first page.
+     * @param limit Maximum number of appointments on the page.
+     * @return appointmentPage ObservableList of at most limit AppointmentModel objects.
      */
     @Override
-    public boolean deleteAppointmentAppDAO(int appointmentID_DelDB, String type_DelDB) {
-        boolean deleteSuccessful = false;
-        int deletedAppointmentsCount = 0;
+    public ObservableList<AppointmentModel> readAppointmentPageAppDAO(LocalDateTime afterStart, int afterId, int limit) {
+        return readAppointmentKeysetAppDAO(AppointmentSortColumn.START, false, afterStart == null ? null : Timestamp.valueOf(afterStart), afterId, limit);
+    }
+
+    /**
+     * Reads one page of appointments sorted by an indexed column, resuming after a given appointment. The sort and
+     * the keyset condition are applied by the database, so only the rows of the page are transferred. If a
+     * SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterAppointment Last appointment on the previous page, or null for the first page.
+     * @param limit Maximum number of appointments on the page.
+     * @return appointmentPage ObservableList of at most limit AppointmentModel objects.
+     */
+    @Override
+    public ObservableList<AppointmentModel> readAppointmentPageAppDAO(AppointmentSortColumn sortColumn, boolean descending, AppointmentModel afterAppointment, int limit) {
+        if (afterAppointment == null) {
+            return readAppointmentKeysetAppDAO(sortColumn, descending, null, NO_APPOINTMENT_ID, limit);
+        }
+        return readAppointmentKeysetAppDAO(sortColumn, descending, sortKeyAppDAO(sortColumn, afterAppointment), afterAppointment.getAppID_IN(), limit);
+    }
+
+    /**
+     * Reads one page of appointments ordered by a sort column and then Appointment_ID. Rows after the previous page
+     * are selected with "column &gt; ? OR (column = ? AND Appointment_ID &gt; ?)", with the comparisons reversed for
+     * a descending sort, which MySQL answers as a range scan of the index on the sort column. InnoDB secondary indexes
+     * end with the primary key, so the index is already in the order of the ORDER BY and no sort is needed.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterKey Sort column value of the last row of the previous page, or null for the first page.
+     * @param afterId Appointment ID of the last row of the previous page.
+     * @param limit Maximum number of rows on the page.
+     * @return appointmentPage ObservableList of at most limit AppointmentModel objects.
+     */
+    private ObservableList<AppointmentModel> readAppointmentKeysetAppDAO(AppointmentSortColumn sortColumn, boolean descending, Object afterKey, int afterId, int limit) {
+        ObservableList<AppointmentModel> appointmentPage = FXCollections.emptyObservableList();
+        String column = sortColumn.getColumnName();
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? " DESC" : "";
+        boolean idOnly = sortColumn == AppointmentSortColumn.APPOINTMENT_ID;
+        String keysetCondition = "";
+        if (afterKey != null) {
+            keysetCondition = idOnly
+                    ? "WHERE \n    Appointment_ID " + comparison + " ? \n"
+                    : "WHERE \n    (" + column + " " + comparison + " ? OR (" + column + " = ? AND Appointment_ID " + comparison + " ?)) \n";
+        }
         try {
-            String sql = "DELETE FROM appointments\n" +
-                    "WHERE \n" +
-                    "    Appointment_ID = ?\n" +
-                    "    AND Type = ?";
-            PreparedStatement deleteAppointmentStatement = connectDB.prepareStatement(sql);
-            deleteAppointmentStatement.setInt(1, appointmentID_DelDB);
-            deleteAppointmentStatement.setString(2, type_DelDB);
-            int modifiedRowCount  = deleteAppointmentStatement.executeUpdate();
-            if (modifiedRowCount  > 0) {
-                deleteSuccessful = true;
-                deletedAppointmentsCount = modifiedRowCount;
-                displayInfoAppDAO("Delete Appointment", deletedAppointmentsCount + " Appointment with ID: " + appointmentID_DelDB + " and Type: " + type_DelDB + " deleted successfully.");
-            } else {
-                displayErrorAppDAO("Delete Appointment", "Appointment with ID: " + appointmentID_DelDB + " and Type: " + type_DelDB + " failed deletion.");
-            }
+            String sql = "SELECT " + APPOINTMENT_COLUMNS + " \n" +
+                    "FROM \n" +
+                    "    appointments \n" +
+                    keysetCondition +
+                    "ORDER BY \n" +
+                    "    " + (idOnly ? "" : column + direction + ", ") + "Appointment_ID" + direction + " \n" +
+                    "LIMIT ?";
+            appointmentPage = FXCollections.unmodifiableObservableList(FXCollections.observableList(QueryExecutorHelper.queryListQEH("readAppointmentPageAppDAO", sql,
+                    readAppointmentPage -> {
+                        int parameterIndex = 1;
+                        if (afterKey != null) {
+                            if (!idOnly) {
+                                readAppointmentPage.setObject(parameterIndex++, afterKey);
+                                readAppointmentPage.setObject(parameterIndex++, afterKey);
+                            }
+                            readAppointmentPage.setInt(parameterIndex++, afterId);
+                        }
+                        readAppointmentPage.setInt(parameterIndex, limit);
+                    }, APPOINTMENT_ROW_MAPPER)));
         } catch (SQLException e) {
             handleSQLExceptionAppDAO(e);
         }
-        return deleteSuccessful;
+        return appointmentPage;
+    }
+
+    /**
+     * Returns the value of a sort column for an appointment, in the type bound to the query.
+     *
+     * @param sortColumn Column to sort by.
+     * @param appointment Appointment
+     * @return Value of the sort column.
+     */
+    private Object sortKeyAppDAO(AppointmentSortColumn sortColumn, AppointmentModel appointment) {
+        switch (sortColumn) {
+            case START:
+                return Timestamp.valueOf(appointment.getStaDT_LDT());
+            case CUSTOMER_ID:
+                return appointment.getCustID_IN();
+            case USER_ID:
+                return appointment.getUserID_IN();
+            case CONTACT_ID:
+                return appointment.getContID_IN();
+            default:
+                return appointment.getAppID_IN();
+        }
     }
 
     /**
-     * When called by the deleteCustomerCusDAO method, this method deletes a customer's appointments by customer ID
-     * before the customer itself is deleted by deleteCustomerCusDAO method. If a SQLException occurs, it is handled by
-     * a helper method named handleSQLExceptionAppDAO. If appointments are deleted, a message displays the customer ID
-     * of the customer and the number of appointments deleted. If the customer had no appointments to delete, a message
-     * confirms no appointments were found to delete.
+     * When called by the onActionDeleteAppointmentAMC controller method, this method deletes the selected appointments
+     * from the database as one transaction. IDs are deleted DELETE_CHUNK_SIZE at a time with one indexed
+     * "Appointment_ID IN (...)" statement per chunk, so deleting a contact's day of appointments takes one round trip
+     * instead of one per appointment. The last chunk is padded by repeating its final ID, so every chunk uses the same
+     * cached statement. The appointments are subtracted from the report aggregate counts in the same transaction,
+     * before they are deleted. The report cache, the schedule conflict index, and the reminder queue are updated after
+     * the commit. If a
+     * SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO and every chunk is rolled
+     * back. No message is displayed on success, so the caller can summarize the whole deletion in one message.
      *
-     * @param customerID_DelDB Customer ID
-     * @return True if deletion succeeds, false otherwise.
+     * @param appointmentIDs_DelDB Appointment IDs
+     * @return Number of appointments deleted, or DELETE_FAILED if the deletion was rolled back.
      */
-    public boolean deleteAppointmentsByCustomerIdAppDAO(int customerID_DelDB) {
-        boolean deletionSuccess = false;
-        int deletedAppointmentsCount = 0;
+    @Override
+    public int deleteAppointmentsAppDAO(List<Integer> appointmentIDs_DelDB) {
+        int deletedAppointmentsCount = DELETE_FAILED;
         try {
-            String sql = "DELETE FROM appointments " +
-                    "WHERE Customer_ID=?";
-            PreparedStatement deleteAppointmentCustomerIdStatement = connectDB.prepareStatement(sql);
-            deleteAppointmentCustomerIdStatement.setInt(1, customerID_DelDB);
-            int modifiedRowCount = deleteAppointmentCustomerIdStatement.executeUpdate();
-            if (modifiedRowCount > 0) {
-                deletionSuccess = true;
-                deletedAppointmentsCount = modifiedRowCount;
-                displayInfoAppDAO("Delete Customer Appointments", "A total of " + deletedAppointmentsCount + " appointments for Customer ID: " + customerID_DelDB + " have been deleted.");
-            } else {
-                displayInfoAppDAO("Delete Customer Appointments", "No scheduled appointments found for Customer ID: " + customerID_DelDB);
+            deletedAppointmentsCount = QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                ReportAggregateHelper.subtractAppointmentsRAH(pooledConnection, appointmentIDs_DelDB);
+                int deletedCount = 0;
+                for (int chunkStart = 0; chunkStart < appointmentIDs_DelDB.size(); chunkStart += DELETE_CHUNK_SIZE) {
+                    List<Integer> chunk = appointmentIDs_DelDB.subList(chunkStart, Math.min(chunkStart + DELETE_CHUNK_SIZE, appointmentIDs_DelDB.size()));
+                    deletedCount += QueryExecutorHelper.updateQEH(pooledConnection, "deleteAppointmentsAppDAO", DELETE_APPOINTMENTS_SQL, deleteAppointmentsStatement -> {
+                        for (int parameterIndex = 1; parameterIndex <= DELETE_CHUNK_SIZE; parameterIndex++) {
+                            deleteAppointmentsStatement.setInt(parameterIndex, chunk.get(Math.min(parameterIndex, chunk.size()) - 1));
+                        }
+                    });
+                }
+                return deletedCount;
+            });
+            ReportCacheHelper.invalidateRCH();
+            for (int appointmentID : appointmentIDs_DelDB) {
+                AppointmentReminderHelper.removeAppointmentARH(appointmentID);
             }
         } catch (SQLException e) {
             handleSQLExceptionAppDAO(e);
         }
-        return deletionSuccess;
+        return deletedAppointmentsCount;
     }
 
     /**
-     * Filters appointments by only displaying appointments scheduled for the upcoming week. Corresponds to the "by Week
-     * " radio button on the Appointment Main Screen.
+     * Streams the appointments scheduled for the upcoming week to a sink. Corresponds to the "by Week" radio button on
+     * the Appointment Main Screen. The week runs from the start of the log-in date up to, but not including, the same
+     * date one week later, and is filtered by the database using streamAppointmentsBetweenAppDAO.
      *
      * @param logInDS Log-In date
-     * @return FilteredList of appointments scheduled for the upcoming week
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return Number of appointments streamed.
      */
     @Override
-    public FilteredList<AppointmentModel> radioAppointmentsWeekAppDAO(LocalDate logInDS) {
-        ObservableList<AppointmentModel> appointmentsToCheck;
-        appointmentsToCheck = readAppointmentAllAppDAO();
-        Predicate<AppointmentModel> filterCon = appointment -> {
-            LocalDate appointmentStart = appointment.getStaD_LD();
-            LocalDate endWeek = logInDS.plusDays(7);
-            return appointmentStart.equals(logInDS) || (appointmentStart.isAfter(logInDS) && appointmentStart.isBefore(endWeek));
-        };
-        List<AppointmentModel> AppointmentsWeek = appointmentsToCheck.stream()
-                .filter(filterCon)
-                .collect(Collectors.toList());
-        return new FilteredList<>(FXCollections.observableArrayList(AppointmentsWeek));
+    public int radioAppointmentsWeekAppDAO(LocalDate logInDS, Consumer<AppointmentModel> appointmentSink) {
+        return streamAppointmentsBetweenAppDAO(logInDS.atStartOfDay(), logInDS.plusDays(7).atStartOfDay(), appointmentSink);
     }
 
     /**
-     * Filters appointments by only displaying appointments scheduled for the current calendar month. Corresponds to the
-     * "by Month" radio button on the Appointment Main Screen.
+     * Streams the appointments scheduled for the current calendar month to a sink. Corresponds to the "by Month" radio
+     * button on the Appointment Main Screen. The range runs from the start of the log-in date up to, but not including,
+     * the first day of the following month, and is filtered by the database using streamAppointmentsBetweenAppDAO.
      *
      * @param logInDS Log-In date
-     * @return FilteredList of appointments scheduled for the current calendar month
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return Number of appointments streamed.
      */
     @Override
-    public FilteredList<AppointmentModel> radioAppointmentsMonthAppDAO(LocalDate logInDS) {
-        ObservableList<AppointmentModel> appointmentsToCheck;
-        appointmentsToCheck = readAppointmentAllAppDAO();
-        Predicate<AppointmentModel> filterCon = appointment -> {
-            LocalDate appointmentStart = appointment.getStaD_LD();
-            return appointmentStart.isAfter(logInDS.minusDays(1)) && appointmentStart.getMonth().equals(logInDS.getMonth());
-        };
-        List<AppointmentModel> appointmentsMonth = appointmentsToCheck.stream()
-                .filter(filterCon)
-                .collect(Collectors.toList());
-        return new FilteredList<>(FXCollections.observableArrayList(appointmentsMonth));
+    public int radioAppointmentsMonthAppDAO(LocalDate logInDS, Consumer<AppointmentModel> appointmentSink) {
+        return streamAppointmentsBetweenAppDAO(logInDS.atStartOfDay(), logInDS.withDayOfMonth(1).plusMonths(1).atStartOfDay(), appointmentSink);
+    }
+
+    /**
+     * Reads the appointments that start within a date and time range. Returns an ObservableList of AppointmentModel
+     * objects ordered by start. The range is pushed down to the database as "Start &gt;= ? AND Start &lt; ?" on the
+     * bare Start column, so an index on Start can be used and only the matching rows are transferred. If a
+     * SQLException occurs, it is handled by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param rangeStart Start of the range, inclusive.
+     * @param rangeEnd End of the range, exclusive.
+     * @return appointmentsInRange ObservableList of AppointmentModel objects that start within the range.
+     */
+    @Override
+    public ObservableList<AppointmentModel> readAppointmentsBetweenAppDAO(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        ObservableList<AppointmentModel> appointmentsInRange = FXCollections.emptyObservableList();
+        try {
+            appointmentsInRange = FXCollections.unmodifiableObservableList(FXCollections.observableList(queryAppointmentsBetweenAppDAO(rangeStart, rangeEnd)));
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
+        }
+        return appointmentsInRange;
+    }
+
+    /**
+     * Reads the appointments that start within a date and time range, ordered by start, and lets a SQLException
+     * propagate. Used by readAppointmentsBetweenAppDAO and by background work that must tell a failed read from an
+     * empty range, such as the reminder refresh in AppointmentReminderHelper.
+     *
+     * @param rangeStart Start of the range, inclusive.
+     * @param rangeEnd End of the range, exclusive.
+     * @return List of AppointmentModel objects that start within the range.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    public static List<AppointmentModel> queryAppointmentsBetweenAppDAO(LocalDateTime rangeStart, LocalDateTime rangeEnd) throws SQLException {
+        return QueryExecutorHelper.queryListQEH("readAppointmentsBetweenAppDAO", APPOINTMENTS_BETWEEN_SQL, readAppointmentsRange -> {
+            readAppointmentsRange.setTimestamp(1, Timestamp.valueOf(rangeStart));
+            readAppointmentsRange.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+        }, APPOINTMENT_ROW_MAPPER);
+    }
+
+    /**
+     * Streams the appointments that start within a date and time range to a sink instead of returning a list. The
+     * query is read with the streaming fetch size, so the driver holds one row at a time and each appointment is passed
+     * to the sink, in start order, as soon as it is read. If a SQLException occurs, it is handled by a helper method
+     * named handleSQLExceptionAppDAO.
+     *
+     * @param rangeStart Start of the range, inclusive.
+     * @param rangeEnd End of the range, exclusive.
+     * @param appointmentSink Receives each appointment on the calling thread.
+     * @return streamedCount Number of appointments streamed.
+     */
+    @Override
+    public int streamAppointmentsBetweenAppDAO(LocalDateTime rangeStart, LocalDateTime rangeEnd, Consumer<AppointmentModel> appointmentSink) {
+        int streamedCount = 0;
+        try {
+            streamedCount = QueryExecutorHelper.queryForEachQEH("streamAppointmentsBetweenAppDAO", APPOINTMENTS_BETWEEN_SQL, readAppointmentsRange -> {
+                readAppointmentsRange.setTimestamp(1, Timestamp.valueOf(rangeStart));
+                readAppointmentsRange.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+            }, queryReturn -> appointmentSink.accept(APPOINTMENT_ROW_MAPPER.mapRow(queryReturn)), QueryExecutorHelper.STREAMING_FETCH_SIZE);
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
+        }
+        return streamedCount;
     }
 
     /**
@@ -477,7 +678,8 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
 
     /**
      * Performs a check to determine if an updated appointment will cause an overlapping appointment situation for a
-     * customer. It calls a helper method, updatedAppointmentOverlapHelperAppDAO, that assists with the overlap check.
+     * customer. The appointment being updated is excluded, so an appointment never overlaps with its own original time.
+     * The check is a single EXISTS query, see resourceOverlapExistsAppDAO.
      *
      * @param custID  Customer ID for appointment being checked for overlap.
      * @param userAppDayStart Start Date for the appointment being checked for overlap.
@@ -489,55 +691,85 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     @Override
     public boolean updatedAppointmentOverlapCheckAppDAO(int custID, LocalDate userAppDayStart, LocalDate userAppDayEnd, LocalTime userAppClockStart, LocalTime userAppClockEnd, int appID) {
-        AppointmentDAO newAppointmentDAO = createAppointmentDAOIMPLAppDAO();
-        ObservableList<AppointmentModel> appointmentFromCustomer = newAppointmentDAO.readAppointmentByCustomerAppDAO(custID);
-        for (AppointmentModel appointment : appointmentFromCustomer) {
-            if (appointment.getAppID_IN() != appID) {
-                if (updatedAppointmentOverlapHelperAppDAO(userAppDayStart, userAppDayEnd, userAppClockStart, userAppClockEnd ,
-                        appointment.getStaD_LD(), appointment.getEndD_LD(), appointment.getStaT_LT(), appointment.getEndT_LT())) {
-                    return true;
-                }
-            }
+        return resourceOverlapExistsAppDAO(ScheduleConflictIndexHelper.ResourceKind.CUSTOMER, custID, LocalDateTime.of(userAppDayStart, userAppClockStart),
+                LocalDateTime.of(userAppDayEnd, userAppClockEnd), appID);
+    }
+
+    /**
+     * Reads the IDs of a customer's appointments that overlap a date and time range. Two appointments overlap when each
+     * starts before the other ends, so appointments that only touch end to start do not overlap. The predicate
+     * "Customer_ID = ? AND Start &lt; ? AND End &gt; ?" is answered by the composite index on (Customer_ID, Start,
+     * End), so the cost does not grow with the customer's appointment history. If a SQLException occurs, it is handled
+     * by a helper method named handleSQLExceptionAppDAO.
+     *
+     * @param custID Customer ID for appointment being checked for overlap.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore, or 0 when checking a new appointment.
+     * @return overlappingIds List of conflicting appointment IDs ordered by start and ID, empty if there is no overlap.
+     */
+    @Override
+    public List<Integer> readOverlappingAppointmentIdsAppDAO(int custID, LocalDateTime rangeStart, LocalDateTime rangeEnd, int excludedAppID) {
+        List<Integer> overlappingIds = new ArrayList<>();
+        try {
+            overlappingIds = ScheduleConflictIndexHelper.findConflictsSCIH(ScheduleConflictIndexHelper.ResourceKind.CUSTOMER, custID, rangeStart, rangeEnd, excludedAppID);
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
         }
-        return false;
+        return overlappingIds;
     }
 
     /**
-     * Helper method for updatedAppointmentOverlapCheckAppDAO. I created this helper method because my original method
-     * was incorrectly giving an appointment overlap error if an updated appointment was scheduled for the same time and
-     * date as the original appointment. Contains print statements.
+     * Performs a check to determine if an appointment will double-book a contact. The check is a single EXISTS query
+     * answered by the composite index on (Contact_ID, Start, End), see resourceOverlapExistsAppDAO.
      *
-     * @param startDateX Start Date for appointment 1
-     * @param endDateX End Date for appointment 1
-     * @param startTimeX Start Time for appointment 1
-     * @param endTimeX End Time for appointment 1
-     * @param startDateY Start Date for appointment 2
-     * @param endDateY End Date for appointment 2
-     * @param startTimeY Start Time for appointment 2
-     * @param endTimeY End Time for appointment 2
-     * @return True if and overlap exists between the two appointments, otherwise false
-     */
-    private boolean updatedAppointmentOverlapHelperAppDAO(LocalDate startDateX, LocalDate endDateX, LocalTime startTimeX, LocalTime endTimeX, LocalDate startDateY, LocalDate endDateY, LocalTime startTimeY, LocalTime endTimeY) {
-        System.out.println("StartDateTimeX: " + LocalDateTime.of(startDateX, startTimeX));
-        System.out.println("EndDateTimeX: " + LocalDateTime.of(endDateX, endTimeX));
-        System.out.println("StartDateTimeY: " + LocalDateTime.of(startDateY, startTimeY));
-        System.out.println("EndDateTimeY: " + LocalDateTime.of(endDateY, endTimeY));
-        LocalDateTime startDateTime1 = LocalDateTime.of(startDateX, startTimeX);
-        LocalDateTime endDateTime1 = LocalDateTime.of(endDateX, endTimeX);
-        LocalDateTime startDateTime2 = LocalDateTime.of(startDateY, startTimeY);
-        LocalDateTime endDateTime2 = LocalDateTime.of(endDateY, endTimeY);
-        boolean scheduleOverlap = (startDateTime1.isBefore(endDateTime2) && endDateTime1.isAfter(startDateTime2)) ||
-                (startDateTime2.isBefore(endDateTime1) && endDateTime2.isAfter(startDateTime1));
-        return scheduleOverlap;
+     * @param contID Contact ID for appointment being checked for overlap.
+     * @param startDT Start Date Time for the appointment being checked for overlap.
+     * @param endDT End Date Time for the appointment being checked for overlap.
+     * @param appID Appointment ID to ignore, or NO_APPOINTMENT_ID when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
+     */
+    @Override
+    public boolean contactOverlapCheckAppDAO(int contID, LocalDateTime startDT, LocalDateTime endDT, int appID) {
+        return resourceOverlapExistsAppDAO(ScheduleConflictIndexHelper.ResourceKind.CONTACT, contID, startDT, endDT, appID);
     }
 
     /**
-     * This method is used to create new data access objects.
+     * Performs a check to determine if an appointment will double-book a user. The check is a single EXISTS query
+     * answered by the composite index on (User_ID, Start, End), see resourceOverlapExistsAppDAO.
      *
-     * @return New instance of AppointmentDAOIMPL.
+     * @param userID User ID for appointment being checked for overlap.
+     * @param startDT Start Date Time for the appointment being checked for overlap.
+     * @param endDT End Date Time for the appointment being checked for overlap.
+     * @param appID Appointment ID to ignore, or NO_APPOINTMENT_ID when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
      */
-    private AppointmentDAO createAppointmentDAOIMPLAppDAO() {
-        return new AppointmentDAOIMPL();
+    @Override
+    public boolean userOverlapCheckAppDAO(int userID, LocalDateTime startDT, LocalDateTime endDT, int appID) {
+        return resourceOverlapExistsAppDAO(ScheduleConflictIndexHelper.ResourceKind.USER, userID, startDT, endDT, appID);
+    }
+
+    /**
+     * Helper method for the overlap checks. Asks the database whether any appointment of the customer, contact, or
+     * user, other than the excluded one, overlaps the range. EXISTS stops at the first conflicting row found in the
+     * resource's composite index, and only one boolean crosses the network. If a SQLException occurs, it is handled by
+     * a helper method named handleSQLExceptionAppDAO and no overlap is reported.
+     *
+     * @param resourceKind Kind of resource being checked.
+     * @param resourceID ID of the customer, contact, or user.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore, or 0 when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
+     */
+    private boolean resourceOverlapExistsAppDAO(ScheduleConflictIndexHelper.ResourceKind resourceKind, int resourceID, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                int excludedAppID) {
+        try {
+            return ScheduleConflictIndexHelper.overlapExistsSCIH(resourceKind, resourceID, rangeStart, rangeEnd, excludedAppID);
+        } catch (SQLException e) {
+            handleSQLExceptionAppDAO(e);
+            return false;
+        }
     }
 
     /**
@@ -548,11 +780,13 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      */
     private void handleSQLExceptionAppDAO(SQLException e) {
         System.out.println("SQL Error: " + e.getMessage());
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle("SQL Error");
-        alert.setHeaderText("An error occurred");
-        alert.setContentText("SQL Error: " + e.getMessage());
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("SQL Error");
+            alert.setHeaderText("An error occurred");
+            alert.setContentText("SQL Error: " + e.getMessage());
+            alert.showAndWait();
+        });
     }
 
     /**
@@ -562,11 +796,13 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      * @param message Message shown to the user.
      */
     private void displayInfoAppDAO(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle(title);
+            alert.setHeaderText(null);
+            alert.setContentText(message);
+            alert.showAndWait();
+        });
     }
 
     /**
@@ -576,10 +812,12 @@ public class AppointmentDAOIMPL implements AppointmentDAO {
      * @param message Message displayed to user.
      */
     private void displayErrorAppDAO(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle(title);
+            alert.setHeaderText(null);
+            alert.setContentText(message);
+            alert.showAndWait();
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package jrl.qam2final.DAO;
+
+import javafx.collections.ObservableList;
+import jrl.qam2final.Helper.AsyncTaskHelper;
+import jrl.qam2final.Helper.ReportDimension;
+import jrl.qam2final.Helper.ReportTimeGrain;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.AppointmentRowView;
+import jrl.qam2final.Model.CustomerModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over the AppointmentDAO, CustomerDAO, and ReportDAO interfaces. Every method runs the DAO call
+ * on the AsyncTaskHelper executor and returns a CompletableFuture, so controllers never block the JavaFX application
+ * thread on JDBC. Results should be applied to the GUI with AsyncTaskHelper.thenOnFxThreadATH or
+ * AsyncTaskHelper.populateTableATH.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AsyncDAOFacade {
+
+    private final AppointmentDAO appointmentDAO;
+    private final CustomerDAO customerDAO;
+    private final ReportDAO reportDAO;
+
+    /**
+     * Constructor for an AsyncDAOFacade backed by the given DAO implementations.
+     *
+     * @param appointmentDAO AppointmentDAO used for appointment calls.
+     * @param customerDAO CustomerDAO used for customer calls.
+     * @param reportDAO ReportDAO used for report calls.
+     */
+    public AsyncDAOFacade(AppointmentDAO appointmentDAO, CustomerDAO customerDAO, ReportDAO reportDAO) {
+        this.appointmentDAO = appointmentDAO;
+        this.customerDAO = customerDAO;
+        this.reportDAO = reportDAO;
+    }
+
+    /**
+     * Runs any AppointmentDAO call in the background. Used when a controller passes the call as a lambda expression.
+     *
+     * @param appointmentCall Call to run against the AppointmentDAO.
+     * @param <T> Result type.
+     * @return CompletableFuture completed with the call's result.
+     */
+    public <T> CompletableFuture<T> withAppointmentDAOADF(Function<AppointmentDAO, T> appointmentCall) {
+        return AsyncTaskHelper.supplyAsyncATH(() -> appointmentCall.apply(appointmentDAO));
+    }
+
+    /**
+     * Runs any CustomerDAO call in the background.
+     *
+     * @param customerCall Call to run against the CustomerDAO.
+     * @param <T> Result type.
+     * @return CompletableFuture completed with the call's result.
+     */
+    public <T> CompletableFuture<T> withCustomerDAOADF(Function<CustomerDAO, T> customerCall) {
+        return AsyncTaskHelper.supplyAsyncATH(() -> customerCall.apply(customerDAO));
+    }
+
+    /**
+     * Reads a contact's appointments in the background.
+     *
+     * @param contactID_ApDB Contact ID
+     * @return CompletableFuture completed with the contact's appointments.
+     */
+    public CompletableFuture<ObservableList<AppointmentModel>> readAppointmentByContactADF(int contactID_ApDB) {
+        return withAppointmentDAOADF(appointmentDao -> appointmentDao.readAppointmentByContactAppDAO(contactID_ApDB));
+    }
+
+    /**
+     * Reads a contact's appointments into an AppointmentStore in the background and returns the store's row views
+     * for binding to a TableView.
+     *
+     * @param contactID_ApDB Contact ID
+     * @return CompletableFuture completed with views of the contact's appointments.
+     */
+    public CompletableFuture<ObservableList<AppointmentRowView>> readAppointmentRowsByContactADF(int contactID_ApDB) {
+        return withAppointmentDAOADF(appointmentDao -> appointmentDao.readAppointmentStoreByContactAppDAO(contactID_ApDB).asObservableListAPS());
+    }
+
+    /**
+     * Reads one page of appointments in the background.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterAppointment Last appointment on the previous page, or null for the first page.
+     * @param limit Maximum number of appointments on the page.
+     * @return CompletableFuture completed with the page.
+     */
+    public CompletableFuture<ObservableList<AppointmentModel>> readAppointmentPageADF(AppointmentDAO.AppointmentSortColumn sortColumn, boolean descending,
+                                                                                      AppointmentModel afterAppointment, int limit) {
+        return withAppointmentDAOADF(appointmentDao -> appointmentDao.readAppointmentPageAppDAO(sortColumn, descending, afterAppointment, limit));
+    }
+
+    /**
+     * Deletes appointments in the background as one transaction.
+     *
+     * @param appointmentIDs_DelDB Appointment IDs
+     * @return CompletableFuture completed with the number of appointments deleted, or AppointmentDAO.DELETE_FAILED.
+     */
+    public CompletableFuture<Integer> deleteAppointmentsADF(List<Integer> appointmentIDs_DelDB) {
+        return withAppointmentDAOADF(appointmentDao -> appointmentDao.deleteAppointmentsAppDAO(appointmentIDs_DelDB));
+    }
+
+    /**
+     * Reads all customers in the background. The first call loads the customer cache, so combo boxes are filled
+     * without waiting for it on the JavaFX application thread.
+     *
+     * @return CompletableFuture completed with every customer in Customer_ID order.
+     */
+    public CompletableFuture<ObservableList<CustomerModel>> readCustomerAllADF() {
+        return withCustomerDAOADF(CustomerDAO::readCustomerAllCusDAO);
+    }
+
+    /**
+     * Reads one page of customers in the background.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterCustomer Last customer on the previous page, or null for the first page.
+     * @param limit Maximum number of customers on the page.
+     * @return CompletableFuture completed with the page.
+     */
+    public CompletableFuture<ObservableList<CustomerModel>> readCustomerPageADF(CustomerDAO.CustomerSortColumn sortColumn, boolean descending,
+                                                                                CustomerModel afterCustomer, int limit) {
+        return withCustomerDAOADF(customerDao -> customerDao.readCustomerPageCusDAO(sortColumn, descending, afterCustomer, limit));
+    }
+
+    /**
+     * Deletes a customer and its appointments in the background.
+     *
+     * @param customerID_DelDB Customer ID
+     * @param customerN_DelDB Customer Name
+     * @return CompletableFuture completed with true if the customer was deleted, otherwise false.
+     */
+    public CompletableFuture<Boolean> deleteCustomerADF(int customerID_DelDB, String customerN_DelDB) {
+        return withCustomerDAOADF(customerDao -> customerDao.deleteCustomerCusDAO(customerID_DelDB, customerN_DelDB));
+    }
+
+    /**
+     * Builds a pivot report in the background.
+     *
+     * @param dimensions Dimensions to group by, in column order.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count, or AppointmentFilterModel.ALL_APPOINTMENTS.
+     * @return CompletableFuture completed with the report.
+     */
+    public CompletableFuture<ReportPivotModel> readReportPivotADF(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals,
+                                                                  AppointmentFilterModel appointmentFilter) {
+        return AsyncTaskHelper.supplyAsyncATH(() -> reportDAO.readReportPivotRepDAO(dimensions, timeGrain, includeSubtotals, appointmentFilter));
+    }
+}
\ No newline at end of file
@@ -4,12 +4,10 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import jrl.qam2final.Model.CountryModel;
 import javafx.scene.control.Alert;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import jrl.qam2final.Helper.TranslationManagerHelper;
 import java.sql.SQLException;
-
-import static jrl.qam2final.Helper.JDBCHelper.connectDB;
+import jrl.qam2final.Helper.ReferenceDataCacheHelper;
 
 /**
  * Implementation of the CountryDAO interface. Provides methods to interact with country data in the database.
@@ -18,7 +16,12 @@ import static jrl.qam2final.Helper.JDBCHelper.connectDB;
  */
 public class CountryDAOIMPL implements CountryDAO{
 
-    ObservableList<CountryModel> countries_CouDB = FXCollections.observableArrayList();
+    /**
+     * Constructor for CountryDAOIMPL. The class is stateless, so a single instance is shared through
+     * DAORegistry.getCountryDAODR.
+     */
+    CountryDAOIMPL() {
+    }
 
     /**
      * Helper method for the CountryDAOIMPL class that displays SQL errors to the user and prints them to the console.
@@ -27,36 +30,30 @@ public class CountryDAOIMPL implements CountryDAO{
      */
     private void handleSQLExceptionCouDAO(SQLException e) {
         System.out.println("SQL Error: " + e.getMessage());
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle("SQL Error");
-        alert.setHeaderText("An error occurred");
-        alert.setContentText("SQL Error: " + e.getMessage());
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("SQL Error");
+            alert.setHeaderText("An error occurred");
+            alert.setContentText("SQL Error: " + e.getMessage());
+            alert.showAndWait();
+        });
     }
 
     /**
-     * Reads all country data from the database, returning an ObservableList of CountryModel objects. Executes a SQL
-     * query that selects all countries from the database. Each row from the country table is converted to a
-     * CountryModel object and added to the list. If a SQLException occurs, it is handled by a helper method named
-     * handleSQLExceptionCouDAO. Used to populate GUI combo boxes.
+     * Reads all country data, returning a read-only ObservableList of CountryModel objects. Countries are served from
+     * the ReferenceDataCacheHelper class, which reads them from the database only when its snapshot is missing or
+     * expired. If a SQLException occurs, it is handled by a helper method named handleSQLExceptionCouDAO and an empty
+     * list is returned. Used to populate GUI combo boxes.
      *
      * @return countries_CouDB ObservableList of CountryModel objects representing countries in the database.
      */
     @Override
     public ObservableList<CountryModel> readCountryAllCouDAO() {
         try {
-            String sql = "SELECT Country_ID, Country FROM countries";
-            PreparedStatement readCountryAllStatement = connectDB.prepareStatement(sql);
-            ResultSet queryReturn = readCountryAllStatement.executeQuery();
-            for (; queryReturn.next();) {
-                int countryID_CouDB = queryReturn.getInt("Country_ID");
-                String countryN_CouDB = queryReturn.getString("Country");
-                CountryModel countryDB = new CountryModel(countryID_CouDB, countryN_CouDB);
-                countries_CouDB.add(countryDB);
-            }
+            return ReferenceDataCacheHelper.readCountriesRDCH();
         } catch (SQLException e) {
             handleSQLExceptionCouDAO(e);
+            return FXCollections.emptyObservableList();
         }
-        return countries_CouDB;
     }
 }
\ No newline at end of file
@@ -10,6 +10,35 @@ import jrl.qam2final.Model.CustomerModel;
  */
 public interface CustomerDAO {
 
+    /**
+     * Indexed columns the customer grid can be sorted by in the database. Ties are broken on Customer_ID, so every
+     * order is total and a page can resume after the last row of the previous page.
+     */
+    enum CustomerSortColumn {
+        CUSTOMER_ID("Customer_ID"),
+        CUSTOMER_NAME("Customer_Name");
+
+        private final String columnName;
+
+        /**
+         * Constructor for CustomerSortColumn constants.
+         *
+         * @param columnName Name of the column in the customers table.
+         */
+        CustomerSortColumn(String columnName) {
+            this.columnName = columnName;
+        }
+
+        /**
+         * Getter for the column name.
+         *
+         * @return columnName Name of the column in the customers table.
+         */
+        public String getColumnName() {
+            return columnName;
+        }
+    }
+
     /**
      * Updates the information for a customer in the database. If a SQLException occurs, it is handled by a helper
      * method named handleSQLExceptionCusDAO. If the update is successful, a message is displayed to the user using the
@@ -63,4 +92,17 @@ public interface CustomerDAO {
      * @return customerToTable ObservableList of CustomerModel objects representing customers.
      */
     ObservableList<CustomerModel> readCustomerAllCusDAO();
+
+    /**
+     * Reads one page of customers sorted by an indexed column, resuming after a given customer. The sort and the
+     * keyset condition are applied by the database, so only the rows of the page are transferred. If a SQLException
+     * occurs, it is handled by a helper method named handleSQLExceptionCusDAO.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterCustomer Last customer on the previous page, or null for the first page.
+     * @param limit Maximum number of customers on the page.
+     * @return customerPage ObservableList of at most limit CustomerModel objects.
+     */
+    ObservableList<CustomerModel> readCustomerPageCusDAO(CustomerSortColumn sortColumn, boolean descending, CustomerModel afterCustomer, int limit);
 }
\ No newline at end of file
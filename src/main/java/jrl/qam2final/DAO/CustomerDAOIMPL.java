@@ -2,14 +2,17 @@ package jrl.qam2final.DAO;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import java.sql.ResultSet;
 import jrl.qam2final.Helper.TranslationManagerHelper;
 import java.sql.SQLException;
 import javafx.scene.control.Alert;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import jrl.qam2final.Model.CustomerModel;
-import java.sql.PreparedStatement;
-
-import static jrl.qam2final.Helper.JDBCHelper.connectDB;
+import jrl.qam2final.Helper.AppointmentReminderHelper;
+import jrl.qam2final.Helper.CustomerCacheHelper;
+import jrl.qam2final.Helper.QueryExecutorHelper;
+import jrl.qam2final.Helper.ReportAggregateHelper;
+import jrl.qam2final.Helper.ReportCacheHelper;
+import jrl.qam2final.Helper.StatementBinder;
 
 /**
  * Implementation class for the CustomerDAO interface. Provides methods to interact with customer data in the database.
@@ -18,7 +21,12 @@ import static jrl.qam2final.Helper.JDBCHelper.connectDB;
  */
 public class CustomerDAOIMPL implements CustomerDAO{
 
-    ObservableList<CustomerModel> customerToTable = FXCollections.observableArrayList();
+    /**
+     * Constructor for CustomerDAOIMPL. The class is stateless, so a single instance is shared through
+     * DAORegistry.getCustomerDAODR.
+     */
+    CustomerDAOIMPL() {
+    }
 
     /**
      * Helper method for the CustomerDAOIMPL class that displays SQL errors to the user and prints them to the console.
@@ -27,16 +35,18 @@ public class CustomerDAOIMPL implements CustomerDAO{
      */
     private void handleSQLExceptionCusDAO(SQLException e) {
         System.out.println("SQL Error: " + e.getMessage());
-
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle("SQL Error");
-        alert.setHeaderText("An error occurred");
-        alert.setContentText("SQL Error: " + e.getMessage());
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("SQL Error");
+            alert.setHeaderText("An error occurred");
+            alert.setContentText("SQL Error: " + e.getMessage());
+            alert.showAndWait();
+        });
     }
 
     /**
-     * Updates the information for a customer in the database. If a SQLException occurs, it is handled by a helper
+     * Updates the information for a customer in the database. The report cache is discarded after the update, since
+     * reports show customer names and divisions. If a SQLException occurs, it is handled by a helper
      * method named handleSQLExceptionCusDAO. If the update is successful, a message is displayed to the user using the
      * helper method displayInfoCusDAO. If the update is not successful an error message is displayed to the user using
      * the helper method displayErrorCusDAO.
@@ -63,17 +73,19 @@ public class CustomerDAOIMPL implements CustomerDAO{
                     "    Division_ID = ?\n" +
                     "WHERE\n" +
                     "    Customer_ID = ?";
-            PreparedStatement updateCustomerStatement = connectDB.prepareStatement(sql);
-            updateCustomerStatement.setString(1, customerN_TODB);
-            updateCustomerStatement.setString(2, address_TODB);
-            updateCustomerStatement.setString(3, postalC_TODB);
-            updateCustomerStatement.setString(4, phone_TODB);
-            updateCustomerStatement.setInt(5, divisionID_TODB);
-            updateCustomerStatement.setInt(6, customerID_TODB);
-            int modifiedRowCount = updateCustomerStatement.executeUpdate();
+            int modifiedRowCount = QueryExecutorHelper.updateQEH("updateCustomerCusDAO", sql, updateCustomerStatement -> {
+                updateCustomerStatement.setString(1, customerN_TODB);
+                updateCustomerStatement.setString(2, address_TODB);
+                updateCustomerStatement.setString(3, postalC_TODB);
+                updateCustomerStatement.setString(4, phone_TODB);
+                updateCustomerStatement.setInt(5, divisionID_TODB);
+                updateCustomerStatement.setInt(6, customerID_TODB);
+            });
             if (modifiedRowCount > 0) {
                 updateSuccessful = true;
                 updatedCustomerCount = modifiedRowCount;
+                CustomerCacheHelper.recordCustomerCCH(customerID_TODB, customerN_TODB, address_TODB, postalC_TODB, phone_TODB, divisionID_TODB);
+                ReportCacheHelper.invalidateRCH();
                 displayInfoCusDAO("Update Customer", updatedCustomerCount + " Customer with Customer ID: " + customerID_TODB + " was updated successfully");
             } else {
                 displayErrorCusDAO("Update Customer", "Customer with Customer ID: " + customerID_TODB + " failed to update.");
@@ -85,43 +97,74 @@ public class CustomerDAOIMPL implements CustomerDAO{
     }
 
     /**
-     * Reads all customers from the database, returning an ObservableList of CustomerModel objects. Executes a SQL query
-     * that selects all customers from the database. Each row from the customer table is converted to a CustomerModel
-     * object and added to the list. If a SQLException occurs, it is handled by a helper method named
-     * handleSQLExceptionCustomerDAO. Use to populate GUI with customers.
+     * Reads all customers, returning a read-only ObservableList of CustomerModel objects in Customer ID order.
+     * Customers are served from the CustomerCacheHelper class, which joins each customer to its division and country
+     * in memory and is kept current by the create, update, and delete methods of this class. If a SQLException occurs,
+     * it is handled by a helper method named handleSQLExceptionCusDAO and an empty list is returned. Use to populate
+     * GUI with customers.
      *
      * @return customerToTable ObservableList of CustomerModel objects representing customers.
      */
     @Override
     public ObservableList<CustomerModel> readCustomerAllCusDAO() {
         try {
-            String sql = "SELECT c.Customer_ID, c.Customer_Name, c.Address, c.Postal_Code, c.Phone, c.Division_ID,\n" +
-                    "       fld.Division_ID, fld.Division, fld.Country_ID,\n" +
-                    "       co.Country_ID, co.Country\n" +
-                    "FROM customers AS c\n" +
-                    "INNER JOIN first_level_divisions AS fld ON c.Division_ID = fld.Division_ID\n" +
-                    "INNER JOIN countries AS co ON fld.Country_ID = co.Country_ID";
-            PreparedStatement readCustomerAllStatement = connectDB.prepareStatement(sql);
-            ResultSet queryReturn = readCustomerAllStatement.executeQuery();
+            return CustomerCacheHelper.readCustomersCCH();
+        } catch (SQLException e) {
+            handleSQLExceptionCusDAO(e);
+            return FXCollections.emptyObservableList();
+        }
+    }
 
-            for (; queryReturn.next();) {
-                int customerID_CusDB = queryReturn.getInt("Customer_ID");
-                int divisionID_CusDB = queryReturn.getInt("Division_ID");;
-                int countryID_CusDB = queryReturn.getInt("Country_ID");
-                String customerN_CusDB = queryReturn.getString("Customer_Name");
-                String address_CusDB = queryReturn.getString("Address");
-                String postalC_CusDB = queryReturn.getString("Postal_Code");
-                String phone_CusDB = queryReturn.getString("Phone");
-                String countryN_CusDB = queryReturn.getString("Country");
-                String divisionN_CusDB = queryReturn.getString("Division");
-                CustomerModel customerDB = new CustomerModel(customerID_CusDB, divisionID_CusDB, countryID_CusDB, customerN_CusDB, address_CusDB, postalC_CusDB,
-                        phone_CusDB, countryN_CusDB, divisionN_CusDB);
-                customerToTable.add(customerDB);
-            }
+    /**
+     * Reads one page of customers ordered by a sort column and then Customer_ID. Rows after the previous page are
+     * selected with "column &gt; ? OR (column = ? AND Customer_ID &gt; ?)", with the comparisons reversed for a
+     * descending sort, so each page is a range scan of the index on the sort column instead of a read of the whole
+     * table. Divisions and countries are joined in memory by CustomerCacheHelper.queryCustomersCCH. If a SQLException
+     * occurs, it is handled by a helper method named handleSQLExceptionCusDAO and an empty list is returned.
+     *
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @param afterCustomer Last customer on the previous page, or null for the first page.
+     * @param limit Maximum number of customers on the page.
+     * @return customerPage ObservableList of at most limit CustomerModel objects.
+     */
+    @Override
+    public ObservableList<CustomerModel> readCustomerPageCusDAO(CustomerSortColumn sortColumn, boolean descending, CustomerModel afterCustomer, int limit) {
+        ObservableList<CustomerModel> customerPage = FXCollections.emptyObservableList();
+        String column = sortColumn.getColumnName();
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? " DESC" : "";
+        boolean idOnly = sortColumn == CustomerSortColumn.CUSTOMER_ID;
+        String keysetCondition = "";
+        if (afterCustomer != null) {
+            keysetCondition = idOnly
+                    ? "WHERE \n    Customer_ID " + comparison + " ? \n"
+                    : "WHERE \n    (" + column + " " + comparison + " ? OR (" + column + " = ? AND Customer_ID " + comparison + " ?)) \n";
+        }
+        try {
+            String sql = "SELECT " + CustomerCacheHelper.CUSTOMER_COLUMNS + " \n" +
+                    "FROM \n" +
+                    "    customers \n" +
+                    keysetCondition +
+                    "ORDER BY \n" +
+                    "    " + (idOnly ? "" : column + direction + ", ") + "Customer_ID" + direction + " \n" +
+                    "LIMIT ?";
+            customerPage = FXCollections.unmodifiableObservableList(FXCollections.observableList(CustomerCacheHelper.queryCustomersCCH("readCustomerPageCusDAO", sql,
+                    readCustomerPage -> {
+                        int parameterIndex = 1;
+                        if (afterCustomer != null) {
+                            if (!idOnly) {
+                                readCustomerPage.setString(parameterIndex++, afterCustomer.getCustN_ST());
+                                readCustomerPage.setString(parameterIndex++, afterCustomer.getCustN_ST());
+                            }
+                            readCustomerPage.setInt(parameterIndex++, afterCustomer.getCustID_IN());
+                        }
+                        readCustomerPage.setInt(parameterIndex, limit);
+                    })));
         } catch (SQLException e) {
             handleSQLExceptionCusDAO(e);
         }
-        return customerToTable;
+        return customerPage;
     }
 
     /**
@@ -131,11 +174,13 @@ public class CustomerDAOIMPL implements CustomerDAO{
      * @param message Message displayed to user.
      */
     private void displayErrorCusDAO(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle(title);
+            alert.setHeaderText(null);
+            alert.setContentText(message);
+            alert.showAndWait();
+        });
     }
 
     /**
@@ -162,16 +207,17 @@ public class CustomerDAOIMPL implements CustomerDAO{
                     "Postal_Code = ?,\n" +
                     "Phone = ?,\n" +
                     "Division_ID = ?";
-            PreparedStatement createCustomerStatement = connectDB.prepareStatement(sql);
-            createCustomerStatement.setString(1, customerN_TODB);
-            createCustomerStatement.setString(2, address_TODB);
-            createCustomerStatement.setString(3, postalC_TODB);
-            createCustomerStatement.setString(4, phone_TODB);
-            createCustomerStatement.setInt(5, divisionID_TODB);
-            int modifiedRowCount = createCustomerStatement.executeUpdate();
-            if (modifiedRowCount > 0) {
+            int createdCustomerID = QueryExecutorHelper.insertReturningKeyQEH("createCustomerCusDAO", sql, createCustomerStatement -> {
+                createCustomerStatement.setString(1, customerN_TODB);
+                createCustomerStatement.setString(2, address_TODB);
+                createCustomerStatement.setString(3, postalC_TODB);
+                createCustomerStatement.setString(4, phone_TODB);
+                createCustomerStatement.setInt(5, divisionID_TODB);
+            });
+            if (createdCustomerID != QueryExecutorHelper.NO_GENERATED_KEY) {
                 createSuccessful = true;
-                createdCustomerCount = modifiedRowCount;
+                createdCustomerCount = 1;
+                CustomerCacheHelper.recordCustomerCCH(createdCustomerID, customerN_TODB, address_TODB, postalC_TODB, phone_TODB, divisionID_TODB);
                 displayInfoCusDAO("Create Customer", createdCustomerCount + " Customer with Name: " + customerN_TODB + " created.");
             } else {
                 displayErrorCusDAO("Create Customer", "Customer Insert operation failed.");
@@ -189,28 +235,27 @@ public class CustomerDAOIMPL implements CustomerDAO{
      * @param message Message shown to the user.
      */
     private void displayInfoCusDAO(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle(title);
-        alert.setHeaderText("Successful Database Operation");
-        alert.setContentText(message);
-        alert.showAndWait();
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle(title);
+            alert.setHeaderText("Successful Database Operation");
+            alert.setContentText(message);
+            alert.showAndWait();
+        });
     }
 
     /**
-     * This method is used to create new data access objects.
-     *
-     * @return New instance of AppointmentDAOIMPL.
-     */
-    private AppointmentDAO createAppointmentDAOIMPLCusDAO() {
-        return new AppointmentDAOIMPL();
-    }
-
-    /**
-     * Deletes a customer from the database by customer ID and customer ame. It calls a method to ensure a customer's
-     * appointments are deleted before the customer is deleted. If a SQLException occurs, it is handled by a helper
-     * method named handleSQLExceptionCusDAO. If the delete operation is successful, a message is displayed to the user
-     * using the helper method displayInfoCusDAO. If the delete operation is not successful an error message is
-     * displayed to the user using the helper method displayErrorCusDAO.
+     * Deletes a customer and all of the customer's appointments from the database as one transaction. The customer's
+     * appointments are deleted first, since they reference the customer, and then the customer is deleted by its
+     * primary key. Both deletes match on Customer_ID alone, so each can use its index. Before them, the customer row
+     * is read once with SELECT ... FOR UPDATE, which locks it until the commit; if the customer is gone or its name no
+     * longer matches the name shown to the user, nothing is deleted. The appointments are subtracted from the report
+     * aggregate counts in the same transaction, before they are deleted. If any statement fails, all are rolled back and no appointments are left
+     * without their customer. The caches and the reminder queue are updated, and a single message is displayed, only
+     * after the transaction has committed, so row locks are held for the statements alone. If a SQLException
+     * occurs, it is handled by a helper method named handleSQLExceptionCusDAO. If the delete operation is successful,
+     * a message is displayed to the user using the helper method displayInfoCusDAO. If the delete operation is not
+     * successful an error message is displayed to the user using the helper method displayErrorCusDAO.
      *
      * @param customerID_DelDB Customer ID for customer deleted from database.
      * @param customerN_DelDB Customer Name for customer deleted from database.
@@ -219,22 +264,34 @@ public class CustomerDAOIMPL implements CustomerDAO{
     @Override
     public boolean deleteCustomerCusDAO(int customerID_DelDB, String customerN_DelDB) {
         boolean deletionSuccess = false;
-        int deletedCustomerCount = 0;
         try {
-            AppointmentDAO newAppointmentDAO = createAppointmentDAOIMPLCusDAO();
-            newAppointmentDAO.deleteAppointmentsByCustomerIdAppDAO(customerID_DelDB);
-            String sql = "DELETE FROM customers\n" +
-                    "WHERE (Customer_ID, Customer_Name) IN (\n" +
-                    "    SELECT ? AS Customer_ID, ? AS Customer_Name\n" +
-                    ")";
-            PreparedStatement deleteCustomerStatement = connectDB.prepareStatement(sql);
-            deleteCustomerStatement.setInt(1, customerID_DelDB);
-            deleteCustomerStatement.setString(2, customerN_DelDB);
-            int modifiedRowCount = deleteCustomerStatement.executeUpdate();
-            if (modifiedRowCount > 0) {
+            String lockSql = "SELECT Customer_Name FROM customers \n" +
+                    "WHERE Customer_ID = ? \n" +
+                    "FOR UPDATE";
+            String appointmentsCondition = "Customer_ID = ?";
+            String appointmentsSql = "DELETE FROM appointments \n" +
+                    "WHERE " + appointmentsCondition;
+            String customerSql = "DELETE FROM customers \n" +
+                    "WHERE Customer_ID = ?";
+            StatementBinder customerIdBinder = deleteStatement -> deleteStatement.setInt(1, customerID_DelDB);
+            int[] deletedRowCounts = QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                String lockedCustomerName = QueryExecutorHelper.queryFirstQEH(pooledConnection, "lockCustomerCusDAO", lockSql, customerIdBinder,
+                        queryReturn -> queryReturn.getString("Customer_Name"));
+                if (!customerN_DelDB.equals(lockedCustomerName)) {
+                    return new int[]{0, 0};
+                }
+                ReportAggregateHelper.applyDeltaRAH(pooledConnection, appointmentsCondition, customerIdBinder, false);
+                int deletedAppointmentCount = QueryExecutorHelper.updateQEH(pooledConnection, "deleteCustomerAppointmentsCusDAO", appointmentsSql, customerIdBinder);
+                int deletedCustomerCount = QueryExecutorHelper.updateQEH(pooledConnection, "deleteCustomerCusDAO", customerSql, customerIdBinder);
+                return new int[]{deletedAppointmentCount, deletedCustomerCount};
+            });
+            if (deletedRowCounts[1] > 0) {
                 deletionSuccess = true;
-                deletedCustomerCount = modifiedRowCount;
-                displayInfoCusDAO("Delete Customer", deletedCustomerCount + " Customer with Customer ID: " + customerID_DelDB + " and Customer Name: " + customerN_DelDB  + " successfully deleted.");
+                CustomerCacheHelper.removeCustomerCCH(customerID_DelDB);
+                ReportCacheHelper.invalidateRCH();
+                AppointmentReminderHelper.removeCustomerAppointmentsARH(customerID_DelDB);
+                displayInfoCusDAO("Delete Customer", deletedRowCounts[1] + " Customer with Customer ID: " + customerID_DelDB + " and Customer Name: " + customerN_DelDB
+                        + " successfully deleted, along with " + deletedRowCounts[0] + " scheduled appointments.");
             } else {
                 displayErrorCusDAO("Delete Customer", "Customer with Customer ID: " + customerID_DelDB + " and Customer Name: " + customerN_DelDB + " failed deletion.");
             }
@@ -0,0 +1,93 @@
+package jrl.qam2final.DAO;
+
+/**
+ * Registry of the single shared instance of each DAO implementation. Every DAO implementation is stateless: it holds
+ * no fields, borrows a pooled connection for each call, and returns a new result each time. One instance of each can
+ * therefore be shared by the JavaFX application thread and the background executors without any locking. Controllers
+ * and helpers obtain their DAOs here instead of constructing them.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class DAORegistry {
+
+    private static final AppointmentDAO appointmentDAO = new AppointmentDAOIMPL();
+    private static final ContactDAO contactDAO = new ContactDAOIMPL();
+    private static final CountryDAO countryDAO = new CountryDAOIMPL();
+    private static final CustomerDAO customerDAO = new CustomerDAOIMPL();
+    private static final DivisionDAO divisionDAO = new DivisionDAOIMPL();
+    private static final ReportDAO reportDAO = new ReportDAOIMPL();
+    private static final UserDAO userDAO = new UserDAOIMPL();
+    private static final AsyncDAOFacade asyncDAOFacade = new AsyncDAOFacade(appointmentDAO, customerDAO, reportDAO);
+
+    /**
+     * Returns the shared AppointmentDAO.
+     *
+     * @return AppointmentDAO
+     */
+    public static AppointmentDAO getAppointmentDAODR() {
+        return appointmentDAO;
+    }
+
+    /**
+     * Returns the shared ContactDAO.
+     *
+     * @return ContactDAO
+     */
+    public static ContactDAO getContactDAODR() {
+        return contactDAO;
+    }
+
+    /**
+     * Returns the shared CountryDAO.
+     *
+     * @return CountryDAO
+     */
+    public static CountryDAO getCountryDAODR() {
+        return countryDAO;
+    }
+
+    /**
+     * Returns the shared CustomerDAO.
+     *
+     * @return CustomerDAO
+     */
+    public static CustomerDAO getCustomerDAODR() {
+        return customerDAO;
+    }
+
+    /**
+     * Returns the shared DivisionDAO.
+     *
+     * @return DivisionDAO
+     */
+    public static DivisionDAO getDivisionDAODR() {
+        return divisionDAO;
+    }
+
+    /**
+     * Returns the shared ReportDAO.
+     *
+     * @return ReportDAO
+     */
+    public static ReportDAO getReportDAODR() {
+        return reportDAO;
+    }
+
+    /**
+     * Returns the shared UserDAO.
+     *
+     * @return UserDAO
+     */
+    public static UserDAO getUserDAODR() {
+        return userDAO;
+    }
+
+    /**
+     * Returns the shared AsyncDAOFacade, backed by the shared AppointmentDAO, CustomerDAO, and ReportDAO.
+     *
+     * @return AsyncDAOFacade
+     */
+    public static AsyncDAOFacade getAsyncDAOFacadeDR() {
+        return asyncDAOFacade;
+    }
+}
@@ -1,9 +1,10 @@
 package jrl.qam2final.DAO;
 
-import javafx.collections.ObservableList;
-import jrl.qam2final.Model.ReportTypeMonthlyModel;
-import jrl.qam2final.Model.ReportContactMonthlyModel;
-import jrl.qam2final.Model.ReportCustomerMonthlyModel;
+import jrl.qam2final.Helper.ReportDimension;
+import jrl.qam2final.Helper.ReportTimeGrain;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import java.util.List;
 
 /**
  * ReportDAO interface defines methods for the ReportDAOIMPL used to generate reports from database data.
@@ -13,38 +14,18 @@ import jrl.qam2final.Model.ReportCustomerMonthlyModel;
 public interface ReportDAO {
 
     /**
-     * Reads values from the appointment database table to return an ObservableList of ReportTypeMonthlyModel objects.
-     * Executes a SQL query to group by year, month, type, and count the number of appointments for each type from the
-     * appointment table. This data is used to generate a report of each appointment type's monthly popularity. Each row
-     * is converted to a ReportTypeMonthlyModel object and added to the list. If a SQLException occurs, it is handled
-     * by a helper method named handleSQLExceptionRepDAO.
+     * Reads a pivot report of appointment counts from the database. Appointments are grouped by any list of dimensions,
+     * such as type, contact, or country, and counted per day, week, month, quarter, or year. The former Type and
+     * Month, Contact and Month, and Customer and Month reports are this report with a single dimension by month. Only
+     * appointments in the filter's start range, and of its customer, contact, and type when given, are counted; the
+     * filter is applied by the report query, so a short range reads only the appointments in it. If a SQLException
+     * occurs, it is handled by a helper method named handleSQLExceptionRepDAO.
      *
-     * @return appByTypeMonth ObservableList of ReportTypeMonthlyModel objects representing a report on monthly
-     * appointment type popularity.
+     * @param dimensions Dimensions to group by, in column order.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count, or AppointmentFilterModel.ALL_APPOINTMENTS.
+     * @return The report, or a report without rows if it could not be read.
      */
-    ObservableList<ReportTypeMonthlyModel> readReportTypeMonthlyRepDAO();
-
-    /**
-     * Reads values from the database to return an ObservableList of ReportContactMonthlyModel objects. Executes a SQL
-     * query to join year, month, contact name, and count the number of appointments for each from the database. This
-     * data is used to generate a report of each contact's monthly appointment data. Each row is converted to a
-     * ReportContactMonthlyModel object and added to the list. If a SQLException occurs, it is handled by a helper
-     * method named handleSQLExceptionRepDAO.
-     *
-     * @return appByContactMonth ObservableList of ReportContactMonthlyModel objects representing a report on monthly
-     * contact popularity.
-     */
-    ObservableList<ReportContactMonthlyModel> readReportContactMonthlyRepDAO();
-
-    /**
-     * Reads values from the database to return an ObservableList of ReportCustomerMonthlyModel objects. Executes a SQL
-     * query to join year, month, customer ID, customer Name, and count the number of appointments for each from the
-     * database. This data is used to generate a report of each customer's monthly appointment data. Each row is
-     * converted to a ReportCustomerMonthlyModel object and added to the list. If a SQLException occurs, it is handled
-     * by a helper method named handleSQLExceptionRepDAO.
-     *
-     * @return appByCustomerMonth ObservableList of ReportCustomerMonthlyModel objects representing a report on monthly
-     * customer activity.
-     */
-    ObservableList<ReportCustomerMonthlyModel> readReportCustomerMonthlyRepDAO();
-}
\ No newline at end of file
+    ReportPivotModel readReportPivotRepDAO(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals, AppointmentFilterModel appointmentFilter);
+}
@@ -0,0 +1,151 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAOIMPL;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * A helper class that exports appointments to CSV and iCalendar files. The filter is pushed down to the database, and
+ * the rows are read from a forward-only ResultSet with the streaming fetch size and written by the
+ * AppointmentRecordWriter class as they arrive, so memory stays the same whatever the number of rows. The file is
+ * written next to its destination and moved into place only when the export succeeds, so a failed or cancelled export
+ * never leaves a partial file behind. The helper does not use JavaFX, so it also runs headless from the ExportMain
+ * class.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class AppointmentExportHelper {
+
+    /**
+     * Rows written between progress reports.
+     */
+    public static final int EXPORT_PROGRESS_ROWS = 10_000;
+
+    /**
+     * Exports the appointments matching a filter, ordered by start. Runs on the calling thread, which should be a
+     * background thread. The pooled connection is held until the last row is written, since a streamed ResultSet must
+     * be read to the end before the connection can run another statement.
+     *
+     * @param file CSV or iCalendar file to create or replace.
+     * @param appointmentFilter Appointments to export.
+     * @param progressHandler Receives the number of rows written every EXPORT_PROGRESS_ROWS rows, on the calling thread.
+     * @return Number of appointments exported.
+     * @throws IOException If the extension is not recognized or the file cannot be written.
+     * @throws SQLException If the appointments cannot be read.
+     * @throws CancellationException If the calling thread is interrupted.
+     */
+    public static int exportAppointmentsAEH(Path file, AppointmentFilterModel appointmentFilter, IntConsumer progressHandler) throws IOException, SQLException {
+        AppointmentFileFormat fileFormat = AppointmentFileFormat.fromPathAFF(file);
+        if (fileFormat == null) {
+            throw new IOException("Unsupported file type: " + file.getFileName() + ". Choose a .csv or .ics file.");
+        }
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        int exportedRowCount;
+        try {
+            try (AppointmentRecordWriter recordWriter = AppointmentRecordWriter.openARW(partFile, fileFormat)) {
+                exportedRowCount = streamAppointmentsAEH(recordWriter, appointmentFilter, progressHandler);
+            }
+            moveIntoPlaceAEH(partFile, file);
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(partFile);
+            throw e;
+        }
+        return exportedRowCount;
+    }
+
+    /**
+     * Streams the matching appointments into a writer.
+     *
+     * @param recordWriter Writer for the file.
+     * @param appointmentFilter Appointments to export.
+     * @param progressHandler Receives the number of rows written every EXPORT_PROGRESS_ROWS rows.
+     * @return Number of appointments written.
+     * @throws IOException If the file cannot be written.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    private static int streamAppointmentsAEH(AppointmentRecordWriter recordWriter, AppointmentFilterModel appointmentFilter, IntConsumer progressHandler)
+            throws IOException, SQLException {
+        List<String> conditions = new ArrayList<>();
+        if (appointmentFilter.getRangeStart_LDT() != null) {
+            conditions.add("Start >= ?");
+        }
+        if (appointmentFilter.getRangeEnd_LDT() != null) {
+            conditions.add("Start < ?");
+        }
+        if (appointmentFilter.getCustomerID_IN() != AppointmentFilterModel.ANY_ID) {
+            conditions.add("Customer_ID = ?");
+        }
+        if (appointmentFilter.getContactID_IN() != AppointmentFilterModel.ANY_ID) {
+            conditions.add("Contact_ID = ?");
+        }
+        if (appointmentFilter.getType_ST() != null) {
+            conditions.add("Type = ?");
+        }
+        String sql = "SELECT " + AppointmentDAOIMPL.APPOINTMENT_COLUMNS + " \n" +
+                "FROM \n" +
+                "    appointments \n" +
+                (conditions.isEmpty() ? "" : "WHERE \n    " + String.join(" \n    AND ", conditions) + " \n") +
+                "ORDER BY Start, Appointment_ID";
+        int[] writtenRowCount = {0};
+        try {
+            return QueryExecutorHelper.queryForEachQEH("exportAppointmentsAEH", sql, exportStatement -> {
+                int parameterIndex = 1;
+                if (appointmentFilter.getRangeStart_LDT() != null) {
+                    exportStatement.setTimestamp(parameterIndex++, Timestamp.valueOf(appointmentFilter.getRangeStart_LDT()));
+                }
+                if (appointmentFilter.getRangeEnd_LDT() != null) {
+                    exportStatement.setTimestamp(parameterIndex++, Timestamp.valueOf(appointmentFilter.getRangeEnd_LDT()));
+                }
+                if (appointmentFilter.getCustomerID_IN() != AppointmentFilterModel.ANY_ID) {
+                    exportStatement.setInt(parameterIndex++, appointmentFilter.getCustomerID_IN());
+                }
+                if (appointmentFilter.getContactID_IN() != AppointmentFilterModel.ANY_ID) {
+                    exportStatement.setInt(parameterIndex++, appointmentFilter.getContactID_IN());
+                }
+                if (appointmentFilter.getType_ST() != null) {
+                    exportStatement.setString(parameterIndex, appointmentFilter.getType_ST());
+                }
+            }, queryReturn -> {
+                try {
+                    recordWriter.writeAppointmentARW(AppointmentDAOIMPL.APPOINTMENT_ROW_MAPPER.mapRow(queryReturn));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++writtenRowCount[0] % EXPORT_PROGRESS_ROWS == 0) {
+                    progressHandler.accept(writtenRowCount[0]);
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Export cancelled.");
+                    }
+                }
+            }, QueryExecutorHelper.STREAMING_FETCH_SIZE);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Moves the finished file over its destination, atomically when the file system allows it.
+     *
+     * @param partFile Finished file.
+     * @param file Destination.
+     * @throws IOException If the file cannot be moved.
+     */
+    private static void moveIntoPlaceAEH(Path partFile, Path file) throws IOException {
+        try {
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package jrl.qam2final.Helper;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The file formats appointments can be imported from and exported to, chosen by file extension. CSV files hold one
+ * appointment per record under a header row naming the columns in CSV_COLUMNS. iCalendar files hold one VEVENT per
+ * appointment, with the customer, user, and contact IDs carried in X- properties.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public enum AppointmentFileFormat {
+    CSV(".csv"),
+    ICALENDAR(".ics");
+
+    /**
+     * Header row columns of a CSV file, named after the appointments table columns. Files may list them in any order.
+     */
+    public static final String[] CSV_COLUMNS = {"Title", "Description", "Location", "Type", "Start", "End", "Customer_ID", "User_ID", "Contact_ID"};
+
+    /**
+     * iCalendar property holding the customer ID of an appointment.
+     */
+    public static final String ICALENDAR_CUSTOMER_ID = "X-CUSTOMER-ID";
+
+    /**
+     * iCalendar property holding the user ID of an appointment.
+     */
+    public static final String ICALENDAR_USER_ID = "X-USER-ID";
+
+    /**
+     * iCalendar property holding the contact ID of an appointment.
+     */
+    public static final String ICALENDAR_CONTACT_ID = "X-CONTACT-ID";
+
+    private final String extension;
+
+    /**
+     * Constructor for AppointmentFileFormat constants.
+     *
+     * @param extension File extension of the format, including the dot.
+     */
+    AppointmentFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Getter for the file extension.
+     *
+     * @return extension File extension of the format, including the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the format of a file from its extension.
+     *
+     * @param file File to import or export.
+     * @return The format, or null if the extension is not recognized.
+     */
+    public static AppointmentFileFormat fromPathAFF(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (AppointmentFileFormat format : values()) {
+            if (fileName.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
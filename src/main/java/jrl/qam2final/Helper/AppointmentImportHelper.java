@@ -0,0 +1,392 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.ContactModel;
+import jrl.qam2final.Model.CustomerModel;
+import jrl.qam2final.Model.ImportProgressModel;
+import jrl.qam2final.Model.UserModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A helper class that imports appointments in bulk from CSV and iCalendar files. The import is a pipeline of three
+ * stages over chunks of IMPORT_CHUNK_SIZE records. First, the file is parsed one record at a time by
+ * AppointmentRecordReader, so memory does not grow with the file. Second, each chunk is validated in parallel against
+ * the same rules as the Create Appointment Screen: required fields, start before end, business hours, known customer,
+ * user, and contact, and no overlap with a stored appointment, checked with the indexed queries of the
+ * ScheduleConflictIndexHelper class. Third, valid appointments are checked in file order for overlaps with appointments
+ * accepted earlier in the same file, then inserted with one batched INSERT per chunk, each chunk in its own
+ * transaction. The next chunk is parsed and validated in the background while the current chunk is inserted, on a
+ * reader executor of its own rather than the DAO executor of the AsyncTaskHelper class: the import itself runs on the
+ * DAO executor and waits for each chunk, so imports sharing that executor with their own readers could take every
+ * thread and wait forever. A failed chunk is rolled back and stops the import, leaving earlier chunks committed.
+ * Progress, including throughput, is reported after every chunk.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class AppointmentImportHelper {
+
+    /**
+     * Records per chunk. Each chunk is validated together and committed in one transaction.
+     */
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final int MAX_TEXT_LENGTH = 50;
+    private static final int READER_THREADS = 2;
+    private static final AtomicInteger readerWorkerCount = new AtomicInteger();
+    private static final ExecutorService readerExecutor = Executors.newFixedThreadPool(READER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "import-reader-" + readerWorkerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A chunk of records and the rejection, if any, of each record from the parallel validation.
+     */
+    private static final class ValidatedChunk {
+        private final List<AppointmentRecordReader.ReadRecord> records;
+        private final List<String> rejections;
+
+        /**
+         * Constructor for ValidatedChunk objects.
+         *
+         * @param records Records in file order.
+         * @param rejections Rejection of each record, or null for a valid record.
+         */
+        private ValidatedChunk(List<AppointmentRecordReader.ReadRecord> records, List<String> rejections) {
+            this.records = records;
+            this.rejections = rejections;
+        }
+    }
+
+    /**
+     * The running totals of an import.
+     */
+    private static final class ImportTally {
+        private final long startNanos = System.nanoTime();
+        private final List<String> rejections = new ArrayList<>();
+        private int rowsRead;
+        private int rowsImported;
+        private int rowsRejected;
+
+        /**
+         * Counts a rejected record, keeping its reason if fewer than MAX_REPORTED_REJECTIONS have been kept.
+         *
+         * @param lineNumber Line the record starts on.
+         * @param reason Reason the record was rejected.
+         */
+        private void rejectAIH(int lineNumber, String reason) {
+            rejectAIH(lineNumber, reason, 1);
+        }
+
+        /**
+         * Counts rejected records that share one reason, keeping the reason once if fewer than MAX_REPORTED_REJECTIONS
+         * have been kept.
+         *
+         * @param lineNumber Line the first record starts on.
+         * @param reason Reason the records were rejected.
+         * @param recordCount Number of records rejected.
+         */
+        private void rejectAIH(int lineNumber, String reason, int recordCount) {
+            rowsRejected += recordCount;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add("Line " + lineNumber + ": " + reason);
+            }
+        }
+
+        /**
+         * Returns the totals so far.
+         *
+         * @return Progress of the import.
+         */
+        private ImportProgressModel snapshotAIH() {
+            return new ImportProgressModel(rowsRead, rowsImported, rowsRejected, (System.nanoTime() - startNanos) / 1_000_000, rejections);
+        }
+    }
+
+    /**
+     * Imports every appointment in a file. Runs on the calling thread, which should be a background thread; only the
+     * parsing and validation of the next chunk run on another thread. Interrupting the calling thread stops the import
+     * after the chunk being inserted, leaving the chunks already committed in the database. However the import ends,
+     * the file is closed only after the chunk being read in the background has stopped.
+     *
+     * @param file CSV or iCalendar file.
+     * @param progressHandler Receives the progress after each chunk, on the calling thread.
+     * @return Progress of the finished import, including the first rejected records.
+     * @throws IOException If the file cannot be opened or read.
+     * @throws SQLException If the customers or reference data cannot be read.
+     * @throws CancellationException If the calling thread is interrupted.
+     */
+    public static ImportProgressModel importAppointmentsAIH(Path file, Consumer<ImportProgressModel> progressHandler) throws IOException, SQLException {
+        ImportTally importTally = new ImportTally();
+        AppointmentDAO appointmentDAO = DAORegistry.getAppointmentDAODR();
+        Set<Integer> customerIds = CustomerCacheHelper.readCustomersCCH().stream().map(CustomerModel::getCustID_IN).collect(Collectors.toSet());
+        Set<Integer> userIds = ReferenceDataCacheHelper.readUsersRDCH().stream().map(UserModel::getUserID_IN).collect(Collectors.toSet());
+        Set<Integer> contactIds = ReferenceDataCacheHelper.readContactsRDCH().stream().map(ContactModel::getContID_IN).collect(Collectors.toSet());
+        Map<ScheduleConflictIndexHelper.ResourceKind, Map<Integer, AppointmentIntervalTree>> importedTrees = new EnumMap<>(ScheduleConflictIndexHelper.ResourceKind.class);
+        for (ScheduleConflictIndexHelper.ResourceKind resourceKind : ScheduleConflictIndexHelper.ResourceKind.values()) {
+            importedTrees.put(resourceKind, new HashMap<>());
+        }
+        AtomicBoolean readerStopped = new AtomicBoolean();
+        try (AppointmentRecordReader recordReader = AppointmentRecordReader.openARR(file)) {
+            CompletableFuture<ValidatedChunk> nextChunk = readNextChunkAIH(recordReader, readerStopped, appointmentDAO, customerIds, userIds, contactIds);
+            try {
+                ValidatedChunk validatedChunk = awaitChunkAIH(nextChunk);
+                while (!validatedChunk.records.isEmpty()) {
+                    nextChunk = readNextChunkAIH(recordReader, readerStopped, appointmentDAO, customerIds, userIds, contactIds);
+                    List<AppointmentModel> acceptedAppointments = acceptChunkAIH(validatedChunk, importedTrees, importTally);
+                    if (!acceptedAppointments.isEmpty() && !appointmentDAO.createAppointmentsAppDAO(acceptedAppointments)) {
+                        importTally.rejectAIH(validatedChunk.records.get(0).getLineNumber(),
+                                "Import stopped: the database rejected the chunk starting here. Earlier chunks were saved.", acceptedAppointments.size());
+                        break;
+                    }
+                    importTally.rowsImported += acceptedAppointments.size();
+                    progressHandler.accept(importTally.snapshotAIH());
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Import cancelled.");
+                    }
+                    validatedChunk = awaitChunkAIH(nextChunk);
+                }
+            } finally {
+                readerStopped.set(true);
+                nextChunk.handle((unusedChunk, unusedFailure) -> null).join();
+            }
+        }
+        return importTally.snapshotAIH();
+    }
+
+    /**
+     * Starts parsing and validating the next chunk on the reader executor. Records are parsed in order on one thread,
+     * so the reader is never used by two threads at once, and then validated in parallel. Once the import stops, the
+     * chunk stops reading and skips validation, so the import's wait for it before closing the reader is short.
+     * Cancelling the future would not do: a cancelled CompletableFuture leaves its task running, and the task could
+     * still be reading when the reader is closed.
+     *
+     * @param recordReader Reader over the file.
+     * @param readerStopped Set when the import stops.
+     * @param appointmentDAO DAO providing the business hours checks.
+     * @param customerIds IDs of every customer.
+     * @param userIds IDs of every user.
+     * @param contactIds IDs of every contact.
+     * @return Future completed with the chunk, which is empty at the end of the file.
+     */
+    private static CompletableFuture<ValidatedChunk> readNextChunkAIH(AppointmentRecordReader recordReader, AtomicBoolean readerStopped, AppointmentDAO appointmentDAO,
+                                                                      Set<Integer> customerIds, Set<Integer> userIds, Set<Integer> contactIds) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<AppointmentRecordReader.ReadRecord> records = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            try {
+                AppointmentRecordReader.ReadRecord readRecord;
+                while (records.size() < IMPORT_CHUNK_SIZE && !readerStopped.get() && (readRecord = recordReader.readNextARR()) != null) {
+                    records.add(readRecord);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (readerStopped.get()) {
+                return new ValidatedChunk(List.of(), List.of());
+            }
+            List<String> rejections = IntStream.range(0, records.size()).parallel()
+                    .mapToObj(recordIndex -> validateRecordAIH(records.get(recordIndex), appointmentDAO, customerIds, userIds, contactIds))
+                    .collect(Collectors.toList());
+            return new ValidatedChunk(records, rejections);
+        }, readerExecutor);
+    }
+
+    /**
+     * Waits for a chunk being parsed and validated in the background.
+     *
+     * @param chunkFuture Future of the chunk.
+     * @return The chunk.
+     * @throws IOException If the file could not be read.
+     * @throws CancellationException If the calling thread is interrupted while waiting.
+     */
+    private static ValidatedChunk awaitChunkAIH(CompletableFuture<ValidatedChunk> chunkFuture) throws IOException {
+        try {
+            return chunkFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import cancelled.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("Appointment validation failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Checks one record against every rule that does not depend on the other records of the file. Runs in parallel,
+     * so it only reads shared state.
+     *
+     * @param readRecord Record to check.
+     * @param appointmentDAO DAO providing the business hours checks.
+     * @param customerIds IDs of every customer.
+     * @param userIds IDs of every user.
+     * @param contactIds IDs of every contact.
+     * @return Reason the record is rejected, or null if it is valid.
+     */
+    private static String validateRecordAIH(AppointmentRecordReader.ReadRecord readRecord, AppointmentDAO appointmentDAO, Set<Integer> customerIds,
+                                            Set<Integer> userIds, Set<Integer> contactIds) {
+        AppointmentModel appointment = readRecord.getAppointment();
+        if (appointment == null) {
+            return readRecord.getRejection();
+        }
+        String textProblem = checkTextAIH("Title", appointment.getTitl_ST());
+        if (textProblem == null) {
+            textProblem = checkTextAIH("Description", appointment.getDesc_ST());
+        }
+        if (textProblem == null) {
+            textProblem = checkTextAIH("Location", appointment.getLoca_ST());
+        }
+        if (textProblem == null) {
+            textProblem = checkTextAIH("Type", appointment.getType_ST());
+        }
+        if (textProblem != null) {
+            return textProblem;
+        }
+        if (appointment.getStaDT_LDT().isAfter(appointment.getEndDT_LDT())) {
+            return "Start is after End.";
+        }
+        if (!appointmentDAO.checkAppointmentStartAppDAO(appointment.getStaDT_LDT()) || !appointmentDAO.checkAppointmentEndAppDAO(appointment.getEndDT_LDT())) {
+            return "Appointment is outside business hours, 8:00 a.m. to 10:00 p.m. ET.";
+        }
+        if (!customerIds.contains(appointment.getCustID_IN())) {
+            return "Customer ID " + appointment.getCustID_IN() + " does not exist.";
+        }
+        if (!userIds.contains(appointment.getUserID_IN())) {
+            return "User ID " + appointment.getUserID_IN() + " does not exist.";
+        }
+        if (!contactIds.contains(appointment.getContID_IN())) {
+            return "Contact ID " + appointment.getContID_IN() + " does not exist.";
+        }
+        try {
+            for (ScheduleConflictIndexHelper.ResourceKind resourceKind : ScheduleConflictIndexHelper.ResourceKind.values()) {
+                List<Integer> overlappingIds = ScheduleConflictIndexHelper.findConflictsSCIH(resourceKind, resourceIdAIH(resourceKind, appointment),
+                        appointment.getStaDT_LDT(), appointment.getEndDT_LDT(), AppointmentDAO.NO_APPOINTMENT_ID);
+                if (!overlappingIds.isEmpty()) {
+                    return "Overlaps appointment ID " + overlappingIds.get(0) + " of the same " + resourceKind.name().toLowerCase(Locale.ROOT) + ".";
+                }
+            }
+        } catch (SQLException e) {
+            return "Overlaps could not be checked: " + e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Checks a required text field.
+     *
+     * @param fieldName Name of the field for the message.
+     * @param value Field value.
+     * @return Reason the field is rejected, or null if it is valid.
+     */
+    private static String checkTextAIH(String fieldName, String value) {
+        if (value == null || value.isBlank()) {
+            return fieldName + " is required.";
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            return fieldName + " is longer than " + MAX_TEXT_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    /**
+     * Counts the records of a validated chunk and returns the appointments to insert. Valid records are checked in
+     * file order against the appointments accepted earlier in the file, which are not in the database until their
+     * chunk is committed. Each accepted appointment is added to the import's own trees, keyed by line number.
+     *
+     * @param validatedChunk Chunk to accept.
+     * @param importedTrees Trees of the appointments accepted so far, per resource kind and resource ID.
+     * @param importTally Running totals of the import.
+     * @return Appointments to insert, in file order.
+     */
+    private static List<AppointmentModel> acceptChunkAIH(ValidatedChunk validatedChunk, Map<ScheduleConflictIndexHelper.ResourceKind, Map<Integer, AppointmentIntervalTree>> importedTrees,
+                                                         ImportTally importTally) {
+        List<AppointmentModel> acceptedAppointments = new ArrayList<>(validatedChunk.records.size());
+        List<Integer> overlappingLines = new ArrayList<>();
+        for (int recordIndex = 0; recordIndex < validatedChunk.records.size(); recordIndex++) {
+            AppointmentRecordReader.ReadRecord readRecord = validatedChunk.records.get(recordIndex);
+            importTally.rowsRead++;
+            String rejection = validatedChunk.rejections.get(recordIndex);
+            if (rejection != null) {
+                importTally.rejectAIH(readRecord.getLineNumber(), rejection);
+                continue;
+            }
+            AppointmentModel appointment = readRecord.getAppointment();
+            long start = toEpochSecondsAIH(appointment.getStaDT_LDT());
+            long end = toEpochSecondsAIH(appointment.getEndDT_LDT());
+            Set<Integer> conflictingLines = new HashSet<>();
+            for (Map.Entry<ScheduleConflictIndexHelper.ResourceKind, Map<Integer, AppointmentIntervalTree>> resourceTrees : importedTrees.entrySet()) {
+                AppointmentIntervalTree resourceTree = resourceTrees.getValue().get(resourceIdAIH(resourceTrees.getKey(), appointment));
+                if (resourceTree != null) {
+                    overlappingLines.clear();
+                    resourceTree.collectOverlaps(start, end, AppointmentDAO.NO_APPOINTMENT_ID, overlappingLines);
+                    conflictingLines.addAll(overlappingLines);
+                }
+            }
+            if (!conflictingLines.isEmpty()) {
+                importTally.rejectAIH(readRecord.getLineNumber(), "Overlaps the appointment on line " + conflictingLines.iterator().next() + " of the file.");
+                continue;
+            }
+            for (Map.Entry<ScheduleConflictIndexHelper.ResourceKind, Map<Integer, AppointmentIntervalTree>> resourceTrees : importedTrees.entrySet()) {
+                resourceTrees.getValue().computeIfAbsent(resourceIdAIH(resourceTrees.getKey(), appointment), id -> new AppointmentIntervalTree())
+                        .insert(readRecord.getLineNumber(), start, end);
+            }
+            acceptedAppointments.add(appointment);
+        }
+        return acceptedAppointments;
+    }
+
+    /**
+     * Returns the ID of the customer, contact, or user an appointment books.
+     *
+     * @param resourceKind Kind of resource.
+     * @param appointment Appointment
+     * @return Customer, contact, or user ID.
+     */
+    private static int resourceIdAIH(ScheduleConflictIndexHelper.ResourceKind resourceKind, AppointmentModel appointment) {
+        switch (resourceKind) {
+            case CONTACT:
+                return appointment.getContID_IN();
+            case USER:
+                return appointment.getUserID_IN();
+            default:
+                return appointment.getCustID_IN();
+        }
+    }
+
+    /**
+     * Converts a date and time to the seconds used as tree keys. Only the ordering matters, so UTC is used as a fixed
+     * offset.
+     *
+     * @param dateTime Date and time to convert.
+     * @return Epoch seconds.
+     */
+    private static long toEpochSecondsAIH(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
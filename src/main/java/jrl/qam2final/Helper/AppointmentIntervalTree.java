@@ -0,0 +1,331 @@
+package jrl.qam2final.Helper;
+
+import java.util.List;
+
+/**
+ * An augmented interval tree of appointment time ranges for one customer, contact, or user. The tree is a balanced
+ * AVL tree ordered by appointment start and then appointment ID, and every node also stores the latest end time in
+ * its subtree. Subtrees that end before a queried range, or start after it, are skipped, so inserts and removals take
+ * O(log n) and an overlap query takes O(log n + k) for k overlapping appointments. Times are stored as epoch seconds.
+ * The tree is not thread-safe. The AppointmentImportHelper class uses it, on one thread, to find overlaps between
+ * the appointments of one import file, which are not in the database until their chunk is committed.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentIntervalTree {
+
+    /**
+     * A node of the tree holding one appointment's range and the latest end time in its subtree.
+     */
+    private static final class IntervalNode {
+        private final int appID;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private IntervalNode left;
+        private IntervalNode right;
+
+        /**
+         * Constructor for IntervalNode objects.
+         *
+         * @param appID Appointment ID
+         * @param start Appointment start in epoch seconds.
+         * @param end Appointment end in epoch seconds.
+         */
+        private IntervalNode(int appID, long start, long end) {
+            this.appID = appID;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    private IntervalNode root;
+    private int size;
+
+    /**
+     * Adds an appointment's range to the tree.
+     *
+     * @param appID Appointment ID
+     * @param start Appointment start in epoch seconds.
+     * @param end Appointment end in epoch seconds.
+     */
+    public void insert(int appID, long start, long end) {
+        root = insert(root, new IntervalNode(appID, start, end));
+        size++;
+    }
+
+    /**
+     * Removes an appointment's range from the tree. The start must match the start the appointment was inserted with.
+     *
+     * @param appID Appointment ID
+     * @param start Appointment start in epoch seconds.
+     * @return True if the appointment was found and removed, otherwise false.
+     */
+    public boolean remove(int appID, long start) {
+        int sizeBefore = size;
+        root = remove(root, appID, start);
+        return size < sizeBefore;
+    }
+
+    /**
+     * Collects the IDs of appointments that overlap a range, in start order. Two ranges overlap when each starts before
+     * the other ends, so ranges that only touch end to start do not overlap.
+     *
+     * @param rangeStart Start of the range in epoch seconds.
+     * @param rangeEnd End of the range in epoch seconds.
+     * @param excludedAppID Appointment ID to ignore.
+     * @param overlappingIds List the overlapping appointment IDs are added to.
+     */
+    public void collectOverlaps(long rangeStart, long rangeEnd, int excludedAppID, List<Integer> overlappingIds) {
+        collectOverlaps(root, rangeStart, rangeEnd, excludedAppID, overlappingIds);
+    }
+
+    /**
+     * Returns the number of appointments in the tree.
+     *
+     * @return size Appointment count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the tree holds no appointments.
+     *
+     * @return True if empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks that every node is in start and ID order, is AVL balanced, and has the right height and latest end. Used
+     * by the tests after inserts and removals.
+     *
+     * @return Height of the tree.
+     * @throws IllegalStateException If a node breaks one of the invariants.
+     */
+    int checkInvariants() {
+        return checkInvariants(root, null, null);
+    }
+
+    /**
+     * Recursive invariant check.
+     *
+     * @param node Subtree root.
+     * @param lowerBound Node every node of the subtree must sort after, or null.
+     * @param upperBound Node every node of the subtree must sort before, or null.
+     * @return Height of the subtree.
+     * @throws IllegalStateException If a node breaks one of the invariants.
+     */
+    private static int checkInvariants(IntervalNode node, IntervalNode lowerBound, IntervalNode upperBound) {
+        if (node == null) {
+            return 0;
+        }
+        if (lowerBound != null && compare(node.appID, node.start, lowerBound) <= 0 || upperBound != null && compare(node.appID, node.start, upperBound) >= 0) {
+            throw new IllegalStateException("Appointment ID " + node.appID + " is out of order.");
+        }
+        int leftHeight = checkInvariants(node.left, lowerBound, node);
+        int rightHeight = checkInvariants(node.right, node, upperBound);
+        if (Math.abs(leftHeight - rightHeight) > 1) {
+            throw new IllegalStateException("Appointment ID " + node.appID + " is unbalanced.");
+        }
+        if (node.height != 1 + Math.max(leftHeight, rightHeight)) {
+            throw new IllegalStateException("Appointment ID " + node.appID + " has a stale height.");
+        }
+        long maxEnd = Math.max(node.end, Math.max(node.left == null ? Long.MIN_VALUE : node.left.maxEnd, node.right == null ? Long.MIN_VALUE : node.right.maxEnd));
+        if (node.maxEnd != maxEnd) {
+            throw new IllegalStateException("Appointment ID " + node.appID + " has a stale latest end.");
+        }
+        return node.height;
+    }
+
+    /**
+     * Recursive overlap search. A subtree is skipped when its latest end is not after the range start, and the right
+     * subtree is skipped when the node starts at or after the range end, since every start to its right is later.
+     *
+     * @param node Subtree root.
+     * @param rangeStart Start of the range in epoch seconds.
+     * @param rangeEnd End of the range in epoch seconds.
+     * @param excludedAppID Appointment ID to ignore.
+     * @param overlappingIds List the overlapping appointment IDs are added to.
+     */
+    private static void collectOverlaps(IntervalNode node, long rangeStart, long rangeEnd, int excludedAppID, List<Integer> overlappingIds) {
+        if (node == null || node.maxEnd <= rangeStart) {
+            return;
+        }
+        collectOverlaps(node.left, rangeStart, rangeEnd, excludedAppID, overlappingIds);
+        if (node.start >= rangeEnd) {
+            return;
+        }
+        if (node.end > rangeStart && node.appID != excludedAppID) {
+            overlappingIds.add(node.appID);
+        }
+        collectOverlaps(node.right, rangeStart, rangeEnd, excludedAppID, overlappingIds);
+    }
+
+    /**
+     * Orders nodes by start and then appointment ID, so appointments with the same start are kept apart.
+     *
+     * @param appID Appointment ID of the first node.
+     * @param start Start of the first node.
+     * @param node Second node.
+     * @return Negative, zero, or positive as the first node sorts before, equal to, or after the second.
+     */
+    private static int compare(int appID, long start, IntervalNode node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : Integer.compare(appID, node.appID);
+    }
+
+    /**
+     * Recursive AVL insert.
+     *
+     * @param node Subtree root.
+     * @param added Node being inserted.
+     * @return New subtree root.
+     */
+    private static IntervalNode insert(IntervalNode node, IntervalNode added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.appID, added.start, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Recursive AVL removal.
+     *
+     * @param node Subtree root.
+     * @param appID Appointment ID being removed.
+     * @param start Start of the appointment being removed.
+     * @return New subtree root.
+     */
+    private IntervalNode remove(IntervalNode node, int appID, long start) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(appID, start, node);
+        if (order < 0) {
+            node.left = remove(node.left, appID, start);
+        } else if (order > 0) {
+            node.right = remove(node.right, appID, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            IntervalNode successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeFirst(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Detaches the node with the earliest start from a subtree.
+     *
+     * @param node Subtree root.
+     * @return New subtree root without its earliest node.
+     */
+    private static IntervalNode removeFirst(IntervalNode node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return rebalance(node);
+    }
+
+    /**
+     * Restores the AVL balance of a node after an insert or removal below it and refreshes its height and latest end.
+     *
+     * @param node Node to rebalance.
+     * @return New subtree root.
+     */
+    private static IntervalNode rebalance(IntervalNode node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the right.
+     *
+     * @param node Subtree root.
+     * @return New subtree root.
+     */
+    private static IntervalNode rotateRight(IntervalNode node) {
+        IntervalNode pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates a subtree to the left.
+     *
+     * @param node Subtree root.
+     * @return New subtree root.
+     */
+    private static IntervalNode rotateLeft(IntervalNode node) {
+        IntervalNode pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Recomputes a node's height and latest end from its children.
+     *
+     * @param node Node to update.
+     */
+    private static void update(IntervalNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    /**
+     * Returns the height of a subtree.
+     *
+     * @param node Subtree root, may be null.
+     * @return Height, zero for an empty subtree.
+     */
+    private static int height(IntervalNode node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,453 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.Model.AppointmentModel;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads appointments from a CSV or iCalendar file one record at a time, so a file of any size is read in constant
+ * memory. Each record is returned as soon as it is read, either as an AppointmentModel without an appointment ID or as
+ * a rejection naming the line and the problem, so one malformed record never stops the rest of the file. Times in CSV
+ * files and floating iCalendar times are local times; iCalendar times in UTC or with a TZID are converted to the
+ * system time zone. A reader is used by a single thread and closed with try-with-resources.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentRecordReader implements AutoCloseable {
+
+    /**
+     * One record read from the file: an appointment, or the reason the record was rejected.
+     */
+    public static final class ReadRecord {
+        private final int lineNumber;
+        private final AppointmentModel appointment;
+        private final String rejection;
+
+        /**
+         * Constructor for ReadRecord objects.
+         *
+         * @param lineNumber Line the record starts on.
+         * @param appointment Appointment read, or null if the record was rejected.
+         * @param rejection Reason the record was rejected, or null if it was read.
+         */
+        private ReadRecord(int lineNumber, AppointmentModel appointment, String rejection) {
+            this.lineNumber = lineNumber;
+            this.appointment = appointment;
+            this.rejection = rejection;
+        }
+
+        /**
+         * Getter for lineNumber.
+         *
+         * @return lineNumber Line the record starts on.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Getter for appointment.
+         *
+         * @return appointment Appointment read, or null if the record was rejected.
+         */
+        public AppointmentModel getAppointment() {
+            return appointment;
+        }
+
+        /**
+         * Getter for rejection.
+         *
+         * @return rejection Reason the record was rejected, or null if it was read.
+         */
+        public String getRejection() {
+            return rejection;
+        }
+    }
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final DateTimeFormatter CSV_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd['T'][' ']HH:mm[:ss]");
+    private static final DateTimeFormatter ICALENDAR_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final BufferedReader fileReader;
+    private final AppointmentFileFormat fileFormat;
+    private final Map<String, Integer> csvColumnIndexes = new HashMap<>();
+    private int lineNumber = 1;
+    private String lookaheadLine;
+
+    /**
+     * Constructor for AppointmentRecordReader objects.
+     *
+     * @param fileReader Reader over the file.
+     * @param fileFormat Format of the file.
+     */
+    private AppointmentRecordReader(BufferedReader fileReader, AppointmentFileFormat fileFormat) {
+        this.fileReader = fileReader;
+        this.fileFormat = fileFormat;
+    }
+
+    /**
+     * Opens a file for reading, choosing the format from its extension. The header row of a CSV file is read and
+     * checked here, so a file that cannot be imported fails before any record is read.
+     *
+     * @param file CSV or iCalendar file.
+     * @return Reader positioned on the first record.
+     * @throws IOException If the file cannot be opened, its extension is not recognized, or its CSV header lacks a
+     *                     column.
+     */
+    public static AppointmentRecordReader openARR(Path file) throws IOException {
+        AppointmentFileFormat fileFormat = AppointmentFileFormat.fromPathAFF(file);
+        if (fileFormat == null) {
+            throw new IOException("Unsupported file type: " + file.getFileName() + ". Choose a .csv or .ics file.");
+        }
+        AppointmentRecordReader recordReader = new AppointmentRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), fileFormat);
+        if (fileFormat == AppointmentFileFormat.CSV) {
+            try {
+                recordReader.readCsvHeaderARR();
+            } catch (IOException e) {
+                recordReader.close();
+                throw e;
+            }
+        }
+        return recordReader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The next record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public ReadRecord readNextARR() throws IOException {
+        return fileFormat == AppointmentFileFormat.CSV ? readCsvRecordARR() : readICalendarEventARR();
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+
+    /**
+     * Reads the CSV header row and records the position of each column. A byte order mark before the first column
+     * name, as written by spreadsheet programs that save UTF-8 CSV files, is removed.
+     *
+     * @throws IOException If the file cannot be read or a column is missing.
+     */
+    private void readCsvHeaderARR() throws IOException {
+        List<String> headerFields = readCsvFieldsARR();
+        if (headerFields == null) {
+            throw new IOException("The file is empty.");
+        }
+        if (!headerFields.isEmpty() && !headerFields.get(0).isEmpty() && headerFields.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            headerFields.set(0, headerFields.get(0).substring(1));
+        }
+        for (int columnIndex = 0; columnIndex < headerFields.size(); columnIndex++) {
+            csvColumnIndexes.put(headerFields.get(columnIndex).trim().toLowerCase(Locale.ROOT), columnIndex);
+        }
+        for (String column : AppointmentFileFormat.CSV_COLUMNS) {
+            if (!csvColumnIndexes.containsKey(column.toLowerCase(Locale.ROOT))) {
+                throw new IOException("The CSV header is missing the " + column + " column.");
+            }
+        }
+    }
+
+    /**
+     * Reads the next CSV record, skipping blank lines.
+     *
+     * @return The next record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private ReadRecord readCsvRecordARR() throws IOException {
+        List<String> fields;
+        int recordLine;
+        do {
+            recordLine = lineNumber;
+            fields = readCsvFieldsARR();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        try {
+            return new ReadRecord(recordLine, buildAppointmentARR(csvFieldARR(fields, "Title"), csvFieldARR(fields, "Description"), csvFieldARR(fields, "Location"),
+                    csvFieldARR(fields, "Type"), parseCsvDateTimeARR(csvFieldARR(fields, "Start"), "Start"), parseCsvDateTimeARR(csvFieldARR(fields, "End"), "End"),
+                    csvFieldARR(fields, "Customer_ID"), csvFieldARR(fields, "User_ID"), csvFieldARR(fields, "Contact_ID")), null);
+        } catch (IllegalArgumentException e) {
+            return new ReadRecord(recordLine, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the fields of one CSV record. Fields may be quoted, and quoted fields may contain commas, line breaks, and
+     * doubled quotes.
+     *
+     * @return Fields of the record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private List<String> readCsvFieldsARR() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean recordStarted = false;
+        int readChar;
+        while ((readChar = fileReader.read()) != -1) {
+            recordStarted = true;
+            char fileChar = (char) readChar;
+            if (quoted) {
+                if (fileChar == '"') {
+                    fileReader.mark(1);
+                    if (fileReader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        fileReader.reset();
+                    }
+                } else {
+                    if (fileChar == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(fileChar);
+                }
+            } else if (fileChar == '"') {
+                quoted = true;
+            } else if (fileChar == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (fileChar == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else if (fileChar != '\r') {
+                field.append(fileChar);
+            }
+        }
+        if (!recordStarted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns a field of a CSV record by column name.
+     *
+     * @param fields Fields of the record.
+     * @param column Column name from CSV_COLUMNS.
+     * @return Trimmed field value, or an empty string if the record is short.
+     */
+    private String csvFieldARR(List<String> fields, String column) {
+        int columnIndex = csvColumnIndexes.get(column.toLowerCase(Locale.ROOT));
+        return columnIndex < fields.size() ? fields.get(columnIndex).trim() : "";
+    }
+
+    /**
+     * Parses a CSV date and time such as "2024-01-05 14:30" or "2024-01-05T14:30:00".
+     *
+     * @param value Field value.
+     * @param column Column name for the error message.
+     * @return Local date and time.
+     * @throws IllegalArgumentException If the value is not a date and time.
+     */
+    private static LocalDateTime parseCsvDateTimeARR(String value, String column) {
+        try {
+            return LocalDateTime.parse(value, CSV_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " \"" + value + "\" is not a date and time such as 2024-01-05 14:30.");
+        }
+    }
+
+    /**
+     * Reads the next VEVENT, skipping every other component.
+     *
+     * @return The next record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private ReadRecord readICalendarEventARR() throws IOException {
+        String contentLine;
+        while ((contentLine = readUnfoldedLineARR()) != null) {
+            if (contentLine.equalsIgnoreCase("BEGIN:VEVENT")) {
+                int eventLine = lineNumber - 1;
+                Map<String, String> eventValues = new HashMap<>();
+                Map<String, String> eventZones = new HashMap<>();
+                while ((contentLine = readUnfoldedLineARR()) != null && !contentLine.equalsIgnoreCase("END:VEVENT")) {
+                    readICalendarPropertyARR(contentLine, eventValues, eventZones);
+                }
+                try {
+                    return new ReadRecord(eventLine, buildAppointmentARR(eventValues.getOrDefault("SUMMARY", ""), eventValues.getOrDefault("DESCRIPTION", ""),
+                            eventValues.getOrDefault("LOCATION", ""), eventValues.getOrDefault("CATEGORIES", ""),
+                            parseICalendarDateTimeARR(eventValues.get("DTSTART"), eventZones.get("DTSTART"), "DTSTART"),
+                            parseICalendarDateTimeARR(eventValues.get("DTEND"), eventZones.get("DTEND"), "DTEND"),
+                            eventValues.getOrDefault(AppointmentFileFormat.ICALENDAR_CUSTOMER_ID, ""), eventValues.getOrDefault(AppointmentFileFormat.ICALENDAR_USER_ID, ""),
+                            eventValues.getOrDefault(AppointmentFileFormat.ICALENDAR_CONTACT_ID, "")), null);
+                } catch (IllegalArgumentException e) {
+                    return new ReadRecord(eventLine, null, e.getMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits an iCalendar content line into its name, TZID parameter, and value, and stores the unescaped value.
+     *
+     * @param contentLine Unfolded content line.
+     * @param eventValues Property values keyed by upper-case property name.
+     * @param eventZones TZID parameters keyed by upper-case property name.
+     */
+    private static void readICalendarPropertyARR(String contentLine, Map<String, String> eventValues, Map<String, String> eventZones) {
+        boolean inQuotes = false;
+        int valueStart = -1;
+        for (int charIndex = 0; charIndex < contentLine.length() && valueStart < 0; charIndex++) {
+            char lineChar = contentLine.charAt(charIndex);
+            if (lineChar == '"') {
+                inQuotes = !inQuotes;
+            } else if (lineChar == ':' && !inQuotes) {
+                valueStart = charIndex;
+            }
+        }
+        if (valueStart < 0) {
+            return;
+        }
+        String[] nameAndParameters = contentLine.substring(0, valueStart).split(";");
+        String propertyName = nameAndParameters[0].trim().toUpperCase(Locale.ROOT);
+        for (int parameterIndex = 1; parameterIndex < nameAndParameters.length; parameterIndex++) {
+            String parameter = nameAndParameters[parameterIndex];
+            if (parameter.toUpperCase(Locale.ROOT).startsWith("TZID=")) {
+                eventZones.put(propertyName, parameter.substring(5).replace("\"", ""));
+            }
+        }
+        eventValues.put(propertyName, unescapeICalendarTextARR(contentLine.substring(valueStart + 1)).trim());
+    }
+
+    /**
+     * Reads one logical iCalendar line, joining the folded continuation lines that start with a space or tab.
+     *
+     * @return Unfolded line, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private String readUnfoldedLineARR() throws IOException {
+        String unfoldedLine = lookaheadLine != null ? lookaheadLine : fileReader.readLine();
+        lookaheadLine = null;
+        if (unfoldedLine == null) {
+            return null;
+        }
+        lineNumber++;
+        StringBuilder lineBuilder = new StringBuilder(unfoldedLine);
+        String nextLine;
+        while ((nextLine = fileReader.readLine()) != null && !nextLine.isEmpty() && (nextLine.charAt(0) == ' ' || nextLine.charAt(0) == '\t')) {
+            lineBuilder.append(nextLine, 1, nextLine.length());
+            lineNumber++;
+        }
+        lookaheadLine = nextLine;
+        return lineBuilder.toString();
+    }
+
+    /**
+     * Parses an iCalendar DATE-TIME. UTC times and times with a TZID are converted to the system time zone; floating
+     * times are taken as local times.
+     *
+     * @param value Property value such as "20240105T143000Z".
+     * @param timeZoneId TZID parameter, or null.
+     * @param property Property name for the error message.
+     * @return Local date and time in the system time zone.
+     * @throws IllegalArgumentException If the value is missing, is a date without a time, or cannot be parsed.
+     */
+    private static LocalDateTime parseICalendarDateTimeARR(String value, String timeZoneId, String property) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + property + ".");
+        }
+        try {
+            if (value.endsWith("Z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), ICALENDAR_DATE_TIME).atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            LocalDateTime dateTime = LocalDateTime.parse(value, ICALENDAR_DATE_TIME);
+            if (timeZoneId != null) {
+                return dateTime.atZone(ZoneId.of(timeZoneId)).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return dateTime;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(property + " \"" + value + "\" is not a date and time. All-day events cannot be imported.");
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException(property + " has an unknown time zone \"" + timeZoneId + "\".");
+        }
+    }
+
+    /**
+     * Removes the backslash escapes of an iCalendar TEXT value.
+     *
+     * @param value Escaped value.
+     * @return Unescaped value.
+     */
+    private static String unescapeICalendarTextARR(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int charIndex = 0; charIndex < value.length(); charIndex++) {
+            char valueChar = value.charAt(charIndex);
+            if (valueChar == '\\' && charIndex + 1 < value.length()) {
+                char escapedChar = value.charAt(++charIndex);
+                unescaped.append(escapedChar == 'n' || escapedChar == 'N' ? '\n' : escapedChar);
+            } else {
+                unescaped.append(valueChar);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * Builds an appointment from the values of a record.
+     *
+     * @param title Title
+     * @param description Description
+     * @param location Location
+     * @param type Type
+     * @param start Start Date Time
+     * @param end End Date Time
+     * @param customerId Customer ID text.
+     * @param userId User ID text.
+     * @param contactId Contact ID text.
+     * @return Appointment with ID NO_APPOINTMENT_ID.
+     * @throws IllegalArgumentException If an ID is missing or is not a number.
+     */
+    private static AppointmentModel buildAppointmentARR(String title, String description, String location, String type, LocalDateTime start, LocalDateTime end,
+                                                        String customerId, String userId, String contactId) {
+        return new AppointmentModel(AppointmentDAO.NO_APPOINTMENT_ID, title, description, location, type, start, end,
+                parseIdARR(customerId, "Customer ID"), parseIdARR(userId, "User ID"), parseIdARR(contactId, "Contact ID"));
+    }
+
+    /**
+     * Parses a customer, user, or contact ID.
+     *
+     * @param value ID text.
+     * @param idName Name of the ID for the error message.
+     * @return The ID.
+     * @throws IllegalArgumentException If the value is missing or is not a number.
+     */
+    private static int parseIdARR(String value, String idName) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(idName + " \"" + value + "\" is not a number.");
+        }
+    }
+}
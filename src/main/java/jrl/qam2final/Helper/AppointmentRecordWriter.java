@@ -0,0 +1,264 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes appointments to a CSV or iCalendar file one record at a time through a FileChannel. Each record is built in a
+ * reused StringBuilder and encoded as UTF-8 into a fixed direct ByteBuffer that is written to the channel whenever it
+ * fills, so a file of any size is written in constant memory. Files written here can be read back by the
+ * AppointmentRecordReader class. CSV times are local times; iCalendar times are converted from the system time zone to
+ * UTC. A writer is used by a single thread and closed with try-with-resources, which writes the end of the file.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentRecordWriter implements AutoCloseable {
+
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final int ICALENDAR_LINE_OCTETS = 75;
+    private static final String ICALENDAR_LINE_BREAK = "\r\n";
+    private static final DateTimeFormatter CSV_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter ICALENDAR_UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final FileChannel fileChannel;
+    private final AppointmentFileFormat fileFormat;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final CharsetEncoder utf8Encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder recordText = new StringBuilder(512);
+    private final String exportStamp;
+
+    /**
+     * Constructor for AppointmentRecordWriter objects.
+     *
+     * @param fileChannel Channel to write to.
+     * @param fileFormat Format of the file.
+     */
+    private AppointmentRecordWriter(FileChannel fileChannel, AppointmentFileFormat fileFormat) {
+        this.fileChannel = fileChannel;
+        this.fileFormat = fileFormat;
+        this.exportStamp = LocalDateTime.now(ZoneOffset.UTC).format(ICALENDAR_UTC_DATE_TIME);
+    }
+
+    /**
+     * Creates or replaces a file and writes the start of it, the header row of a CSV file or the VCALENDAR properties
+     * of an iCalendar file.
+     *
+     * @param file File to write.
+     * @param fileFormat Format to write.
+     * @return Writer positioned after the start of the file.
+     * @throws IOException If the file cannot be created or written.
+     */
+    public static AppointmentRecordWriter openARW(Path file, AppointmentFileFormat fileFormat) throws IOException {
+        AppointmentRecordWriter recordWriter = new AppointmentRecordWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), fileFormat);
+        try {
+            recordWriter.writeStartARW();
+        } catch (IOException e) {
+            recordWriter.fileChannel.close();
+            throw e;
+        }
+        return recordWriter;
+    }
+
+    /**
+     * Writes one appointment as a CSV record or a VEVENT.
+     *
+     * @param appointment Appointment to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeAppointmentARW(AppointmentModel appointment) throws IOException {
+        recordText.setLength(0);
+        if (fileFormat == AppointmentFileFormat.CSV) {
+            recordText.append(appointment.getAppID_IN());
+            for (String field : new String[]{appointment.getTitl_ST(), appointment.getDesc_ST(), appointment.getLoca_ST(), appointment.getType_ST(),
+                    appointment.getStaDT_LDT().format(CSV_DATE_TIME), appointment.getEndDT_LDT().format(CSV_DATE_TIME)}) {
+                recordText.append(',');
+                appendCsvFieldARW(field);
+            }
+            recordText.append(',').append(appointment.getCustID_IN()).append(',').append(appointment.getUserID_IN())
+                    .append(',').append(appointment.getContID_IN()).append('\n');
+        } else {
+            appendICalendarLineARW("BEGIN", "VEVENT");
+            appendICalendarLineARW("UID", "appointment-" + appointment.getAppID_IN() + "@client_schedule");
+            appendICalendarLineARW("DTSTAMP", exportStamp);
+            appendICalendarLineARW("DTSTART", toUtcTextARW(appointment.getStaDT_LDT()));
+            appendICalendarLineARW("DTEND", toUtcTextARW(appointment.getEndDT_LDT()));
+            appendICalendarLineARW("SUMMARY", escapeICalendarTextARW(appointment.getTitl_ST()));
+            appendICalendarLineARW("DESCRIPTION", escapeICalendarTextARW(appointment.getDesc_ST()));
+            appendICalendarLineARW("LOCATION", escapeICalendarTextARW(appointment.getLoca_ST()));
+            appendICalendarLineARW("CATEGORIES", escapeICalendarTextARW(appointment.getType_ST()));
+            appendICalendarLineARW(AppointmentFileFormat.ICALENDAR_CUSTOMER_ID, String.valueOf(appointment.getCustID_IN()));
+            appendICalendarLineARW(AppointmentFileFormat.ICALENDAR_USER_ID, String.valueOf(appointment.getUserID_IN()));
+            appendICalendarLineARW(AppointmentFileFormat.ICALENDAR_CONTACT_ID, String.valueOf(appointment.getContID_IN()));
+            appendICalendarLineARW("END", "VEVENT");
+        }
+        encodeRecordARW();
+    }
+
+    /**
+     * Writes the end of an iCalendar file, writes the bytes still buffered, and closes the file.
+     *
+     * @throws IOException If the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try (fileChannel) {
+            if (fileFormat == AppointmentFileFormat.ICALENDAR) {
+                recordText.setLength(0);
+                appendICalendarLineARW("END", "VCALENDAR");
+                encodeRecordARW();
+            }
+            drainBufferARW();
+        }
+    }
+
+    /**
+     * Writes the CSV header row, with Appointment_ID ahead of the CSV_COLUMNS, or the VCALENDAR properties.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeStartARW() throws IOException {
+        recordText.setLength(0);
+        if (fileFormat == AppointmentFileFormat.CSV) {
+            recordText.append("Appointment_ID,").append(String.join(",", AppointmentFileFormat.CSV_COLUMNS)).append('\n');
+        } else {
+            appendICalendarLineARW("BEGIN", "VCALENDAR");
+            appendICalendarLineARW("VERSION", "2.0");
+            appendICalendarLineARW("PRODID", "-//Jeffrey Robert Lynch//Customer Scheduling Management System//EN");
+            appendICalendarLineARW("CALSCALE", "GREGORIAN");
+        }
+        encodeRecordARW();
+    }
+
+    /**
+     * Appends a CSV field, quoting it when it holds a comma, quote, line break, or leading or trailing space.
+     *
+     * @param field Field value, or null for an empty field.
+     */
+    private void appendCsvFieldARW(String field) {
+        if (field == null) {
+            return;
+        }
+        boolean needsQuotes = !field.isEmpty() && (field.charAt(0) == ' ' || field.charAt(field.length() - 1) == ' ');
+        for (int charIndex = 0; charIndex < field.length() && !needsQuotes; charIndex++) {
+            char fieldChar = field.charAt(charIndex);
+            needsQuotes = fieldChar == ',' || fieldChar == '"' || fieldChar == '\n' || fieldChar == '\r';
+        }
+        if (!needsQuotes) {
+            recordText.append(field);
+            return;
+        }
+        recordText.append('"');
+        for (int charIndex = 0; charIndex < field.length(); charIndex++) {
+            char fieldChar = field.charAt(charIndex);
+            if (fieldChar == '"') {
+                recordText.append('"');
+            }
+            recordText.append(fieldChar);
+        }
+        recordText.append('"');
+    }
+
+    /**
+     * Appends an iCalendar content line, folding it so no line is longer than 75 octets of UTF-8. Continuation lines
+     * start with a space, and a character is never split across lines.
+     *
+     * @param propertyName Property name.
+     * @param value Property value, already escaped.
+     */
+    private void appendICalendarLineARW(String propertyName, String value) {
+        String contentLine = propertyName + ":" + value;
+        int lineOctets = 0;
+        for (int charIndex = 0; charIndex < contentLine.length(); charIndex++) {
+            char lineChar = contentLine.charAt(charIndex);
+            boolean surrogatePair = Character.isHighSurrogate(lineChar) && charIndex + 1 < contentLine.length();
+            int charOctets = surrogatePair ? 4 : lineChar < 0x80 ? 1 : lineChar < 0x800 ? 2 : 3;
+            if (lineOctets + charOctets > ICALENDAR_LINE_OCTETS) {
+                recordText.append(ICALENDAR_LINE_BREAK).append(' ');
+                lineOctets = 1;
+            }
+            recordText.append(lineChar);
+            if (surrogatePair) {
+                recordText.append(contentLine.charAt(++charIndex));
+            }
+            lineOctets += charOctets;
+        }
+        recordText.append(ICALENDAR_LINE_BREAK);
+    }
+
+    /**
+     * Escapes an iCalendar TEXT value.
+     *
+     * @param value Value to escape, or null for an empty value.
+     * @return Value with backslashes, semicolons, and commas escaped and line breaks written as "\n".
+     */
+    private static String escapeICalendarTextARW(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int charIndex = 0; charIndex < value.length(); charIndex++) {
+            char valueChar = value.charAt(charIndex);
+            if (valueChar == '\\' || valueChar == ';' || valueChar == ',') {
+                escaped.append('\\').append(valueChar);
+            } else if (valueChar == '\n') {
+                escaped.append("\\n");
+            } else if (valueChar != '\r') {
+                escaped.append(valueChar);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Converts a local date and time in the system time zone to iCalendar UTC text.
+     *
+     * @param localDateTime Local date and time.
+     * @return UTC DATE-TIME such as "20240105T193000Z".
+     */
+    private static String toUtcTextARW(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICALENDAR_UTC_DATE_TIME);
+    }
+
+    /**
+     * Encodes the record text into the write buffer, writing the buffer to the channel each time it fills.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    private void encodeRecordARW() throws IOException {
+        CharBuffer recordChars = CharBuffer.wrap(recordText);
+        CoderResult coderResult;
+        while ((coderResult = utf8Encoder.encode(recordChars, writeBuffer, true)).isOverflow()) {
+            drainBufferARW();
+        }
+        if (coderResult.isError()) {
+            coderResult.throwException();
+        }
+        utf8Encoder.reset();
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and empties the buffer.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    private void drainBufferARW() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            fileChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+}
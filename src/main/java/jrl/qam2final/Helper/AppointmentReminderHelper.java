@@ -0,0 +1,301 @@
+package jrl.qam2final.Helper;
+
+import javafx.scene.control.Alert;
+import jrl.qam2final.DAO.AppointmentDAOIMPL;
+import jrl.qam2final.Model.AppointmentModel;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A helper class that reminds the user of appointments for the whole session, not only at log-in. Only appointments
+ * that start within the next WINDOW_MINUTES are read from the database, using the indexed range query
+ * readAppointmentsBetweenAppDAO, and are held in a priority queue ordered by when their reminder falls due. A single
+ * background thread sleeps until the earliest reminder is due, raises it, and moves the window forward every
+ * REFRESH_INTERVAL_MINUTES. The appointment DAO records each create, update, and delete here so the queue stays
+ * current between refreshes, and each refresh picks up changes made by other clients.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class AppointmentReminderHelper {
+
+    /**
+     * Minutes before an appointment starts that its reminder is raised.
+     */
+    public static final int REMINDER_LEAD_MINUTES = 15;
+    private static final int WINDOW_MINUTES = 120;
+    private static final int REFRESH_INTERVAL_MINUTES = 15;
+    private static final Comparator<AppointmentModel> BY_START = Comparator.comparing(AppointmentModel::getStaDT_LDT)
+            .thenComparingInt(AppointmentModel::getAppID_IN);
+
+    private static final PriorityQueue<AppointmentModel> reminderQueue = new PriorityQueue<>(BY_START);
+    private static final Map<Integer, AppointmentModel> queuedById = new HashMap<>();
+    private static final Set<Integer> remindedIds = new HashSet<>();
+    private static ScheduledExecutorService reminderExecutor;
+    private static ScheduledFuture<?> nextWakeUp;
+    private static LocalDateTime windowEnd;
+
+    /**
+     * Starts the reminder service after a successful log-in. The first window is read in the background, so the
+     * log-in path does not wait for it. Appointments starting within REMINDER_LEAD_MINUTES of log-in are treated as
+     * already reminded, since the log-in check has just displayed them. Has no effect if the service is running.
+     *
+     * @param logInTime Time of log-in.
+     */
+    public static synchronized void startARH(LocalDateTime logInTime) {
+        if (reminderExecutor != null) {
+            return;
+        }
+        reminderExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "appointment-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reminderExecutor.execute(() -> {
+            refreshWindowARH();
+            markRemindedBeforeARH(logInTime.plusMinutes(REMINDER_LEAD_MINUTES));
+        });
+        reminderExecutor.scheduleWithFixedDelay(AppointmentReminderHelper::refreshWindowARH, REFRESH_INTERVAL_MINUTES, REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the reminder service and forgets every queued reminder. Called when the application exits.
+     */
+    public static synchronized void stopARH() {
+        if (reminderExecutor == null) {
+            return;
+        }
+        reminderExecutor.shutdownNow();
+        reminderExecutor = null;
+        nextWakeUp = null;
+        windowEnd = null;
+        reminderQueue.clear();
+        queuedById.clear();
+        remindedIds.clear();
+    }
+
+    /**
+     * Records a created or updated appointment. Any earlier reminder for the appointment is replaced, and an
+     * appointment moved to a new time is reminded again. Has no effect while the service is stopped or when the
+     * appointment starts outside the loaded window.
+     *
+     * @param appointment Appointment that was created or updated.
+     */
+    public static synchronized void recordAppointmentARH(AppointmentModel appointment) {
+        if (reminderExecutor == null) {
+            return;
+        }
+        AppointmentModel previous = dequeueARH(appointment.getAppID_IN());
+        if (previous == null || !previous.getStaDT_LDT().equals(appointment.getStaDT_LDT())) {
+            remindedIds.remove(appointment.getAppID_IN());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (windowEnd != null && appointment.getStaDT_LDT().isAfter(now) && appointment.getStaDT_LDT().isBefore(windowEnd)) {
+            enqueueARH(appointment);
+        }
+        rescheduleWakeUpARH();
+    }
+
+    /**
+     * Removes the reminder for a deleted appointment.
+     *
+     * @param appID Appointment ID
+     */
+    public static synchronized void removeAppointmentARH(int appID) {
+        if (reminderExecutor == null) {
+            return;
+        }
+        dequeueARH(appID);
+        remindedIds.remove(appID);
+        rescheduleWakeUpARH();
+    }
+
+    /**
+     * Removes the reminders for every appointment of a deleted customer.
+     *
+     * @param custID Customer ID
+     */
+    public static synchronized void removeCustomerAppointmentsARH(int custID) {
+        if (reminderExecutor == null) {
+            return;
+        }
+        List<Integer> customerAppIds = new ArrayList<>();
+        for (AppointmentModel queued : queuedById.values()) {
+            if (queued.getCustID_IN() == custID) {
+                customerAppIds.add(queued.getAppID_IN());
+            }
+        }
+        for (int appID : customerAppIds) {
+            dequeueARH(appID);
+        }
+        rescheduleWakeUpARH();
+    }
+
+    /**
+     * Reads the appointments that start within the next WINDOW_MINUTES and replaces the queue with them. Reminders
+     * already raised are remembered for appointments still in the window. If the read fails, the error is only
+     * printed to the console and the queue is kept as it is, still updated by the appointment DAO, until the next
+     * refresh; an empty queue would silently drop every pending reminder. Runs on the reminder thread.
+     */
+    static void refreshWindowARH() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime refreshedWindowEnd = now.plusMinutes(WINDOW_MINUTES);
+        List<AppointmentModel> upcomingAppointments;
+        try {
+            upcomingAppointments = AppointmentDAOIMPL.queryAppointmentsBetweenAppDAO(now, refreshedWindowEnd);
+        } catch (SQLException e) {
+            System.out.println("SQL Error: " + e.getMessage());
+            return;
+        }
+        synchronized (AppointmentReminderHelper.class) {
+            if (reminderExecutor == null) {
+                return;
+            }
+            reminderQueue.clear();
+            queuedById.clear();
+            Set<Integer> upcomingIds = new HashSet<>();
+            for (AppointmentModel upcoming : upcomingAppointments) {
+                enqueueARH(upcoming);
+                upcomingIds.add(upcoming.getAppID_IN());
+            }
+            remindedIds.retainAll(upcomingIds);
+            windowEnd = refreshedWindowEnd;
+            rescheduleWakeUpARH();
+        }
+    }
+
+    /**
+     * Marks every queued appointment that starts before a time as already reminded.
+     *
+     * @param remindedBefore Appointments starting before this time are marked.
+     */
+    private static synchronized void markRemindedBeforeARH(LocalDateTime remindedBefore) {
+        for (AppointmentModel queued : queuedById.values()) {
+            if (queued.getStaDT_LDT().isBefore(remindedBefore)) {
+                remindedIds.add(queued.getAppID_IN());
+            }
+        }
+    }
+
+    /**
+     * Raises every reminder that has fallen due and removes it from the queue. Appointments that have already started
+     * are dropped without a reminder. Runs on the reminder thread.
+     */
+    private static void raiseDueRemindersARH() {
+        List<AppointmentModel> dueAppointments = new ArrayList<>();
+        synchronized (AppointmentReminderHelper.class) {
+            if (reminderExecutor == null) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            while (!reminderQueue.isEmpty() && !dueAtARH(reminderQueue.peek()).isAfter(now)) {
+                AppointmentModel due = reminderQueue.poll();
+                queuedById.remove(due.getAppID_IN());
+                if (due.getStaDT_LDT().isAfter(now) && remindedIds.add(due.getAppID_IN())) {
+                    dueAppointments.add(due);
+                }
+            }
+            rescheduleWakeUpARH();
+        }
+        if (!dueAppointments.isEmpty()) {
+            displayReminderARH(dueAppointments);
+        }
+    }
+
+    /**
+     * Returns the IDs of the queued appointments in the order their reminders fall due. Used by tests.
+     *
+     * @return Appointment IDs in due order.
+     */
+    static synchronized List<Integer> readQueuedIdsARH() {
+        List<AppointmentModel> queued = new ArrayList<>(reminderQueue);
+        queued.sort(BY_START);
+        List<Integer> queuedIds = new ArrayList<>(queued.size());
+        for (AppointmentModel appointment : queued) {
+            queuedIds.add(appointment.getAppID_IN());
+        }
+        return queuedIds;
+    }
+
+    /**
+     * Schedules the reminder thread to wake when the earliest queued reminder falls due, replacing any earlier
+     * wake-up. The caller must hold the class lock.
+     */
+    private static void rescheduleWakeUpARH() {
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+            nextWakeUp = null;
+        }
+        if (reminderExecutor == null || reminderQueue.isEmpty()) {
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), dueAtARH(reminderQueue.peek())).toMillis());
+        nextWakeUp = reminderExecutor.schedule(AppointmentReminderHelper::raiseDueRemindersARH, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an appointment to the queue. The caller must hold the class lock.
+     *
+     * @param appointment Appointment to queue.
+     */
+    private static void enqueueARH(AppointmentModel appointment) {
+        reminderQueue.add(appointment);
+        queuedById.put(appointment.getAppID_IN(), appointment);
+    }
+
+    /**
+     * Removes an appointment from the queue. The caller must hold the class lock.
+     *
+     * @param appID Appointment ID
+     * @return The queued appointment, or null if it was not queued.
+     */
+    private static AppointmentModel dequeueARH(int appID) {
+        AppointmentModel queued = queuedById.remove(appID);
+        if (queued != null) {
+            reminderQueue.remove(queued);
+        }
+        return queued;
+    }
+
+    /**
+     * Returns when the reminder for an appointment falls due.
+     *
+     * @param appointment Appointment
+     * @return Start of the appointment less REMINDER_LEAD_MINUTES.
+     */
+    private static LocalDateTime dueAtARH(AppointmentModel appointment) {
+        return appointment.getStaDT_LDT().minusMinutes(REMINDER_LEAD_MINUTES);
+    }
+
+    /**
+     * Helper method to display a reminder for appointments about to start, with the same details as the log-in check.
+     *
+     * @param dueAppointments Appointments about to start.
+     */
+    private static void displayReminderARH(List<AppointmentModel> dueAppointments) {
+        StringBuilder alertText = new StringBuilder();
+        for (AppointmentModel dueAppointment : dueAppointments) {
+            alertText.append("Appointment with ID: ").append(dueAppointment.getAppID_IN()).append(" starting at Time: ").append(dueAppointment.getStaT_LT())
+                    .append(" and Date: ").append(dueAppointment.getStaD_LD()).append("\n");
+        }
+        AsyncTaskHelper.runOnFxThreadATH(() -> {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Imminent Appointments");
+            alert.setHeaderText("Details for appointments scheduled to start within " + REMINDER_LEAD_MINUTES + " minutes:");
+            alert.setContentText(alertText.toString());
+            alert.show();
+        });
+    }
+}
@@ -0,0 +1,239 @@
+package jrl.qam2final.Helper;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A helper class that runs database work off the JavaFX application thread. Tasks run on a small dedicated executor
+ * of daemon threads, sized below the connection pool so background work cannot starve the pool, and results are
+ * handed back to the JavaFX application thread with Platform.runLater. Cancelling a returned future interrupts the
+ * worker and guarantees its result is never applied to the GUI.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class AsyncTaskHelper {
+
+    /**
+     * Rows handed to the JavaFX application thread at a time by streamTableATH.
+     */
+    public static final int STREAM_BATCH_SIZE = 200;
+    private static final int STREAM_QUEUE_BATCHES = 4;
+    private static final int WORKER_THREADS = 4;
+    private static final AtomicInteger workerCount = new AtomicInteger();
+    private static final ExecutorService daoExecutor = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "dao-worker-" + workerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Runs a task on the DAO executor. Cancelling the returned future interrupts the worker thread, which stops a
+     * task that is still waiting for a pooled connection.
+     *
+     * @param task Task to run, usually a DAO call.
+     * @param <T> Result type.
+     * @return CompletableFuture completed with the task's result.
+     */
+    public static <T> CompletableFuture<T> supplyAsyncATH(Supplier<T> task) {
+        CompletableFuture<T> resultFuture = new CompletableFuture<>();
+        Future<?> workerFuture = daoExecutor.submit(() -> {
+            try {
+                resultFuture.complete(task.get());
+            } catch (Throwable t) {
+                resultFuture.completeExceptionally(t);
+            }
+        });
+        resultFuture.whenComplete((result, failure) -> {
+            if (resultFuture.isCancelled()) {
+                workerFuture.cancel(true);
+            }
+        });
+        return resultFuture;
+    }
+
+    /**
+     * Runs an action on the JavaFX application thread. The action runs immediately when called from that thread,
+     * otherwise it is queued with Platform.runLater. Used by DAO alert helpers so alerts can be raised from workers.
+     *
+     * @param action Action that touches the GUI.
+     */
+    public static void runOnFxThreadATH(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    /**
+     * Delivers the outcome of a future on the JavaFX application thread. Nothing is delivered for a cancelled future.
+     *
+     * @param future Future to observe.
+     * @param onSuccess Receives the result on the JavaFX application thread.
+     * @param onFailure Receives the cause of a failure on the JavaFX application thread.
+     * @param <T> Result type.
+     * @return The same future, so callers can keep it for cancellation.
+     */
+    public static <T> CompletableFuture<T> thenOnFxThreadATH(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        future.whenComplete((result, failure) -> runOnFxThreadATH(() -> {
+            if (future.isCancelled() || failure instanceof CancellationException) {
+                return;
+            }
+            if (failure == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Shows a progress indicator in the table while rows load, then sets the loaded rows as the table's items. The
+     * rows are copied into a list the table owns and wrapped in a SortedList bound to the table's comparator, since
+     * DAO results are read-only and clicking a column header would otherwise try to sort them in place. Owning the
+     * list lets removeRowsATH take deleted rows out of the table without reading them again. The default placeholder
+     * is restored when loading finishes, fails, or is cancelled.
+     *
+     * @param tableView Table to populate.
+     * @param rowsFuture Future that supplies the rows.
+     * @param onSuccess Runs on the JavaFX application thread after the rows are shown.
+     * @param onFailure Receives the cause of a failure on the JavaFX application thread.
+     * @param <S> Row type.
+     * @return The same future, so callers can keep it for cancellation.
+     */
+    public static <S> CompletableFuture<ObservableList<S>> populateTableATH(TableView<S> tableView, CompletableFuture<ObservableList<S>> rowsFuture,
+                                                                             Consumer<ObservableList<S>> onSuccess, Consumer<Throwable> onFailure) {
+        tableView.setPlaceholder(new ProgressIndicator());
+        rowsFuture.whenComplete((rows, failure) -> runOnFxThreadATH(() -> tableView.setPlaceholder(null)));
+        return thenOnFxThreadATH(rowsFuture, rows -> {
+            SortedList<S> sortedRows = new SortedList<>(FXCollections.observableArrayList(rows));
+            sortedRows.comparatorProperty().bind(tableView.comparatorProperty());
+            tableView.setItems(sortedRows);
+            onSuccess.accept(rows);
+        }, onFailure);
+    }
+
+    /**
+     * Streams rows into a table as they are read, instead of waiting for the whole result. The row streamer starts a
+     * background read that passes each row to the sink it is given, normally a DAO stream method run through the
+     * AsyncDAOFacade. The sink groups rows into batches of batchSize and hands each batch to the JavaFX application
+     * thread through a queue of at most STREAM_QUEUE_BATCHES batches, where it is appended to the table, so the first
+     * rows appear while the rest are still being read. When the GUI falls behind, the queue is full and the reading
+     * thread waits, so the rows in transit never exceed the queue and one batch being filled. Cancelling the returned
+     * future interrupts the reading thread and stops the stream; batches still queued are never shown.
+     *
+     * @param tableView Table to populate.
+     * @param rowStreamer Starts the background read with the given row sink and returns its future, completed with the
+     *                    number of rows read.
+     * @param batchSize Rows per batch.
+     * @param onComplete Receives the number of rows read on the JavaFX application thread, after every row is shown.
+     * @param onFailure Receives the cause of a failure on the JavaFX application thread.
+     * @param <S> Row type.
+     * @return The future returned by the row streamer, so callers can keep it for cancellation.
+     */
+    public static <S> CompletableFuture<Integer> streamTableATH(TableView<S> tableView, Function<Consumer<S>, CompletableFuture<Integer>> rowStreamer,
+                                                                int batchSize, Consumer<Integer> onComplete, Consumer<Throwable> onFailure) {
+        ObservableList<S> streamedRows = FXCollections.observableArrayList();
+        SortedList<S> sortedRows = new SortedList<>(streamedRows);
+        sortedRows.comparatorProperty().bind(tableView.comparatorProperty());
+        tableView.setItems(sortedRows);
+        tableView.setPlaceholder(new ProgressIndicator());
+        BlockingQueue<List<S>> batchQueue = new ArrayBlockingQueue<>(STREAM_QUEUE_BATCHES);
+        AtomicBoolean drainScheduled = new AtomicBoolean();
+        List<List<S>> fillingBatch = new ArrayList<>(1);
+        fillingBatch.add(new ArrayList<>(batchSize));
+        Runnable drainBatches = () -> {
+            drainScheduled.set(false);
+            List<S> batch;
+            while ((batch = batchQueue.poll()) != null) {
+                streamedRows.addAll(batch);
+            }
+        };
+        CompletableFuture<Integer> streamFuture = rowStreamer.apply(row -> {
+            List<S> batch = fillingBatch.get(0);
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                try {
+                    batchQueue.put(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Row stream cancelled.");
+                }
+                fillingBatch.set(0, new ArrayList<>(batchSize));
+                if (drainScheduled.compareAndSet(false, true)) {
+                    Platform.runLater(drainBatches);
+                }
+            }
+        });
+        streamFuture.whenComplete((rowCount, failure) -> runOnFxThreadATH(() -> tableView.setPlaceholder(null)));
+        return thenOnFxThreadATH(streamFuture, rowCount -> {
+            drainBatches.run();
+            streamedRows.addAll(fillingBatch.get(0));
+            onComplete.accept(rowCount);
+        }, onFailure);
+    }
+
+    /**
+     * Removes rows from a table in place, such as after they are deleted, so the table does not have to be read
+     * again. Rows are matched by identity, so the rows passed in must be the table's own, such as its selected items.
+     * Tables filled by populateTableATH, streamTableATH, or KeysetPageLoader show a SortedList, and the rows are
+     * removed from the list it sorts. Must be called on the JavaFX application thread.
+     *
+     * @param tableView Table to remove the rows from.
+     * @param removedRows Rows to remove.
+     * @param <S> Row type.
+     */
+    public static <S> void removeRowsATH(TableView<S> tableView, Collection<S> removedRows) {
+        Set<S> removedRowSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedRowSet.addAll(removedRows);
+        ObservableList<S> tableRows = tableView.getItems();
+        if (tableRows instanceof SortedList) {
+            ((SortedList<S>) tableRows).getSource().removeIf(removedRowSet::contains);
+        } else if (tableRows != null) {
+            tableRows.removeIf(removedRowSet::contains);
+        }
+    }
+
+    /**
+     * Cancels a pending future, if any. Safe to call with null or with a future that has already completed.
+     *
+     * @param future Future to cancel.
+     */
+    public static void cancelATH(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Stops the DAO executor. Queued tasks are discarded and running tasks are interrupted. Called when the
+     * application exits.
+     */
+    public static void shutdownATH() {
+        daoExecutor.shutdownNow();
+    }
+}
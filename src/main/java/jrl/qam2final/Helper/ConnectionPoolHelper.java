@@ -0,0 +1,298 @@
+package jrl.qam2final.Helper;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A helper class that manages a bounded pool of database connections. Connections are borrowed with
+ * borrowConnectionCPH and returned by closing the PooledConnection. Idle connections are validated on borrow, evicted
+ * after a period of inactivity, and connections held for too long are reported as possible leaks. Pool metrics are
+ * exposed so connection pressure and prepared statement cache effectiveness can be observed while the application
+ * runs.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ConnectionPoolHelper {
+
+    static final int MAX_POOL_SIZE = 8;
+    private static final int MIN_IDLE_CONNECTIONS = 1;
+    static final long BORROW_TIMEOUT_MILLIS = 10_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long EVICTION_INTERVAL_MILLIS = 30_000;
+    private static final long LEAK_THRESHOLD_MILLIS = 60_000;
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private static final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+    private static final Semaphore borrowPermits = new Semaphore(MAX_POOL_SIZE, true);
+    private static final AtomicLong borrowCount = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+    private static final AtomicLong createdCount = new AtomicLong();
+    private static final AtomicLong evictedCount = new AtomicLong();
+    private static final AtomicLong leakCount = new AtomicLong();
+    private static final AtomicLong statementCacheHits = new AtomicLong();
+    private static final AtomicLong statementCacheMisses = new AtomicLong();
+    private static ScheduledExecutorService evictionExecutor;
+    private static volatile boolean poolOpen;
+
+    /**
+     * Opens the pool, starts the background eviction task, and warms the pool with one connection so the first screen
+     * does not pay for the connection handshake. Calling this method on an open pool has no effect.
+     */
+    public static synchronized void openPoolCPH() {
+        if (poolOpen) {
+            return;
+        }
+        poolOpen = true;
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionExecutor.scheduleWithFixedDelay(ConnectionPoolHelper::evictAndDetectLeaksCPH,
+                EVICTION_INTERVAL_MILLIS, EVICTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            PooledConnection warmConnection = borrowConnectionCPH();
+            System.out.println("Connection pool opened. " + describePoolMetricsCPH());
+            warmConnection.close();
+        } catch (SQLException e) {
+            System.out.println("Error warming connection pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the pool. The eviction task is stopped and every idle physical connection is closed. Connections still
+     * borrowed may be in the middle of a statement on another thread, so they are left open and are closed when their
+     * borrower returns them, since returnConnectionCPH never keeps a connection once the pool is closed.
+     */
+    public static synchronized void closePoolCPH() {
+        if (!poolOpen) {
+            return;
+        }
+        poolOpen = false;
+        evictionExecutor.shutdownNow();
+        PooledConnection idleConnection;
+        while ((idleConnection = idleConnections.pollFirst()) != null) {
+            idleConnection.closePhysicalPC();
+        }
+        System.out.println("Connection pool closed. " + describePoolMetricsCPH());
+    }
+
+    /**
+     * Borrows a connection from the pool. The most recently returned idle connection is reused first, and it is
+     * validated before it is handed out unless it was returned moments ago. A new physical connection is opened only
+     * when no idle connection is available and the pool has not reached its maximum size. If the pool is exhausted,
+     * the caller waits until a connection is returned or the borrow timeout elapses.
+     *
+     * @return PooledConnection that must be closed to return it to the pool.
+     * @throws SQLException If the pool is closed, the wait times out, or a new connection cannot be opened.
+     */
+    public static PooledConnection borrowConnectionCPH() throws SQLException {
+        if (!poolOpen) {
+            throw new SQLException("Connection pool is not open.");
+        }
+        long waitStart = System.nanoTime();
+        try {
+            if (!borrowPermits.tryAcquire(BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + BORROW_TIMEOUT_MILLIS + " ms waiting for a database connection. " + describePoolMetricsCPH());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        recordWaitCPH(System.nanoTime() - waitStart);
+        try {
+            PooledConnection pooledConnection = takeValidIdleConnectionCPH();
+            if (pooledConnection == null) {
+                pooledConnection = new PooledConnection(JDBCHelper.openPhysicalConnectionJDBCH());
+                createdCount.incrementAndGet();
+            }
+            pooledConnection.markBorrowedPC(new Throwable("Connection borrowed by " + Thread.currentThread().getName()));
+            borrowedConnections.add(pooledConnection);
+            borrowCount.incrementAndGet();
+            return pooledConnection;
+        } catch (SQLException | RuntimeException e) {
+            borrowPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. Called by PooledConnection.close(). Connections that fail to reset are
+     * discarded rather than handed to the next borrower. Returning a connection twice has no effect.
+     *
+     * @param pooledConnection The connection being returned.
+     */
+    static void returnConnectionCPH(PooledConnection pooledConnection) {
+        if (!borrowedConnections.remove(pooledConnection)) {
+            return;
+        }
+        try {
+            if (poolOpen && pooledConnection.resetPC()) {
+                idleConnections.offerFirst(pooledConnection);
+            } else {
+                pooledConnection.closePhysicalPC();
+                evictedCount.incrementAndGet();
+            }
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    /**
+     * Takes the most recently used idle connection that passes validation. Connections that fail validation are closed
+     * and counted as evicted.
+     *
+     * @return A valid idle connection, or null if none is available.
+     */
+    private static PooledConnection takeValidIdleConnectionCPH() {
+        PooledConnection idleConnection;
+        while ((idleConnection = idleConnections.pollFirst()) != null) {
+            boolean recentlyReturned = System.currentTimeMillis() - idleConnection.getLastReturnedMillis() < VALIDATION_BYPASS_MILLIS;
+            if (recentlyReturned || idleConnection.isValidPC(VALIDATION_TIMEOUT_SECONDS)) {
+                return idleConnection;
+            }
+            idleConnection.closePhysicalPC();
+            evictedCount.incrementAndGet();
+        }
+        return null;
+    }
+
+    /**
+     * Background task that closes connections idle for longer than the idle timeout, keeping a minimum number of idle
+     * connections warm, and reports borrowed connections held longer than the leak threshold along with the stack of
+     * the code that borrowed them.
+     */
+    private static void evictAndDetectLeaksCPH() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+        while (oldestFirst.hasNext() && idleConnections.size() > MIN_IDLE_CONNECTIONS) {
+            PooledConnection idleConnection = oldestFirst.next();
+            if (now - idleConnection.getLastReturnedMillis() > IDLE_TIMEOUT_MILLIS && idleConnections.remove(idleConnection)) {
+                idleConnection.closePhysicalPC();
+                evictedCount.incrementAndGet();
+            }
+        }
+        for (PooledConnection borrowedConnection : borrowedConnections) {
+            if (!borrowedConnection.isLeakReported() && now - borrowedConnection.getBorrowedAtMillis() > LEAK_THRESHOLD_MILLIS) {
+                borrowedConnection.setLeakReported(true);
+                leakCount.incrementAndGet();
+                System.out.println("Possible connection leak: connection held for more than " + LEAK_THRESHOLD_MILLIS + " ms.");
+                Throwable borrowSite = borrowedConnection.getBorrowSite();
+                if (borrowSite != null) {
+                    borrowSite.printStackTrace(System.out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the time a borrower waited for a connection permit.
+     *
+     * @param waitNanos Wait time in nanoseconds.
+     */
+    private static void recordWaitCPH(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * Records a prepared statement cache hit on any pooled connection.
+     */
+    static void recordStatementCacheHitCPH() {
+        statementCacheHits.incrementAndGet();
+    }
+
+    /**
+     * Records a prepared statement cache miss on any pooled connection.
+     */
+    static void recordStatementCacheMissCPH() {
+        statementCacheMisses.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of prepared statement cache hits across all pooled connections.
+     *
+     * @return Statement cache hit count.
+     */
+    public static long getStatementCacheHitsCPH() {
+        return statementCacheHits.get();
+    }
+
+    /**
+     * Returns the number of prepared statement cache misses across all pooled connections.
+     *
+     * @return Statement cache miss count.
+     */
+    public static long getStatementCacheMissesCPH() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Returns the number of connections currently borrowed.
+     *
+     * @return Active connection count.
+     */
+    public static int getActiveConnectionsCPH() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * Returns the number of connections waiting in the pool.
+     *
+     * @return Idle connection count.
+     */
+    public static int getIdleConnectionsCPH() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Returns the average time borrowers waited for a connection.
+     *
+     * @return Average wait time in milliseconds.
+     */
+    public static double getAverageWaitMillisCPH() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0.0 : totalWaitNanos.get() / (borrows * 1_000_000.0);
+    }
+
+    /**
+     * Returns the longest time a borrower waited for a connection.
+     *
+     * @return Maximum wait time in milliseconds.
+     */
+    public static double getMaxWaitMillisCPH() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Returns the number of borrowed connections reported as possible leaks.
+     *
+     * @return Leak count.
+     */
+    public static long getLeakCountCPH() {
+        return leakCount.get();
+    }
+
+    /**
+     * Builds a one-line summary of the pool metrics for logging.
+     *
+     * @return Pool metrics summary.
+     */
+    public static String describePoolMetricsCPH() {
+        return String.format("Pool [active=%d, idle=%d, max=%d, borrows=%d, created=%d, evicted=%d, leaks=%d, avgWait=%.2f ms, maxWait=%.2f ms, stmtHits=%d, stmtMisses=%d]",
+                getActiveConnectionsCPH(), getIdleConnectionsCPH(), MAX_POOL_SIZE, borrowCount.get(), createdCount.get(),
+                evictedCount.get(), leakCount.get(), getAverageWaitMillisCPH(), getMaxWaitMillisCPH(),
+                statementCacheHits.get(), statementCacheMisses.get());
+    }
+}
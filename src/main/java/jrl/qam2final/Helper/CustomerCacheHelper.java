@@ -0,0 +1,177 @@
+package jrl.qam2final.Helper;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import jrl.qam2final.Model.CustomerModel;
+import jrl.qam2final.Model.DivisionModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A helper class that caches every customer keyed by Customer_ID. Only the customers table is read; the division
+ * name, country ID, and country name of each customer are filled in from the ReferenceDataCacheHelper dictionaries in
+ * memory instead of joining first_level_divisions and countries in SQL. The customer DAO records each create, update,
+ * and delete here, so the cache is kept current without rereading the table, and the table is reread after
+ * TTL_MILLIS to pick up changes made by other clients. Readers receive a read-only snapshot list in Customer_ID order,
+ * which is rebuilt only after the cache has changed.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class CustomerCacheHelper {
+
+    /**
+     * Column list read by queryCustomersCCH, in the order it maps the columns.
+     */
+    public static final String CUSTOMER_COLUMNS = "Customer_ID, Customer_Name, Address, Postal_Code, Phone, Division_ID";
+
+    private static final long TTL_MILLIS = 10 * 60_000;
+    private static final String CUSTOMER_SQL = "SELECT " + CUSTOMER_COLUMNS + " FROM customers";
+    private static final Map<Integer, CustomerModel> customersById = new TreeMap<>();
+    private static ObservableList<CustomerModel> customerSnapshot;
+    private static boolean cacheLoaded;
+    private static long loadedAtMillis;
+
+    /**
+     * Returns every customer in Customer_ID order, loading the cache first if it is not loaded or has expired.
+     *
+     * @return Read-only list of customers.
+     * @throws SQLException If the customers or the reference data cannot be read.
+     */
+    public static synchronized ObservableList<CustomerModel> readCustomersCCH() throws SQLException {
+        if (!cacheLoaded || System.currentTimeMillis() - loadedAtMillis >= TTL_MILLIS) {
+            loadCustomersCCH();
+        }
+        if (customerSnapshot == null) {
+            customerSnapshot = FXCollections.unmodifiableObservableList(FXCollections.observableList(new ArrayList<>(customersById.values())));
+        }
+        return customerSnapshot;
+    }
+
+    /**
+     * Records a created or updated customer. Has no effect while the cache is not loaded, since the next load reads
+     * the customer from the database. A division that is not in the reference data cache is looked up once more after
+     * reloading it. If the reference data cannot be read, the cache is discarded instead, so the next read reloads it
+     * and reports the error.
+     *
+     * @param custID_IN Customer ID
+     * @param custN_ST Customer Name
+     * @param addr_ST Address
+     * @param postC_ST Postal Code
+     * @param phone_ST Phone Number
+     * @param diviID_IN Division ID
+     */
+    public static synchronized void recordCustomerCCH(int custID_IN, String custN_ST, String addr_ST, String postC_ST, String phone_ST, int diviID_IN) {
+        if (!cacheLoaded) {
+            return;
+        }
+        try {
+            Map<Integer, DivisionModel> divisionsById = ReferenceDataCacheHelper.readDivisionsByIdRDCH();
+            if (!divisionsById.containsKey(diviID_IN)) {
+                divisionsById = reloadDivisionsCCH();
+            }
+            customersById.put(custID_IN, buildCustomerCCH(custID_IN, custN_ST, addr_ST, postC_ST, phone_ST, diviID_IN, divisionsById));
+            customerSnapshot = null;
+        } catch (SQLException e) {
+            System.out.println("SQL Error: " + e.getMessage());
+            invalidateCCH();
+        }
+    }
+
+    /**
+     * Removes a deleted customer.
+     *
+     * @param custID_IN Customer ID
+     */
+    public static synchronized void removeCustomerCCH(int custID_IN) {
+        if (customersById.remove(custID_IN) != null) {
+            customerSnapshot = null;
+        }
+    }
+
+    /**
+     * Discards the cache so the next read reloads it from the database.
+     */
+    public static synchronized void invalidateCCH() {
+        customersById.clear();
+        customerSnapshot = null;
+        cacheLoaded = false;
+    }
+
+    /**
+     * Runs a query that selects CUSTOMER_COLUMNS and maps each row to a CustomerModel. Divisions and countries are
+     * joined in memory against one reference data snapshot taken before the query, so no second connection is
+     * borrowed while the rows are read. If some customers' divisions are not in the snapshot, the reference data is
+     * reloaded once after the query, since the divisions may have been added since it was loaded, and only those
+     * customers are joined again.
+     *
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @return customers List of customers in ResultSet order, with division and country filled in where known.
+     * @throws SQLException If the customers or the reference data cannot be read.
+     */
+    public static List<CustomerModel> queryCustomersCCH(String queryName, String sql, StatementBinder statementBinder) throws SQLException {
+        Map<Integer, DivisionModel> divisionsById = ReferenceDataCacheHelper.readDivisionsByIdRDCH();
+        List<CustomerModel> customers = QueryExecutorHelper.queryListQEH(queryName, sql, statementBinder, queryReturn -> buildCustomerCCH(queryReturn.getInt(1),
+                queryReturn.getString(2), queryReturn.getString(3), queryReturn.getString(4), queryReturn.getString(5), queryReturn.getInt(6), divisionsById));
+        if (customers.stream().anyMatch(customer -> !divisionsById.containsKey(customer.getDiviID_IN()))) {
+            Map<Integer, DivisionModel> reloadedDivisionsById = reloadDivisionsCCH();
+            customers.replaceAll(customer -> divisionsById.containsKey(customer.getDiviID_IN()) ? customer : buildCustomerCCH(customer.getCustID_IN(),
+                    customer.getCustN_ST(), customer.getAddr_ST(), customer.getPostC_ST(), customer.getPhone_ST(), customer.getDiviID_IN(), reloadedDivisionsById));
+        }
+        return customers;
+    }
+
+    /**
+     * Reads every customer from the customers table and replaces the cache. The caller must hold the class lock.
+     *
+     * @throws SQLException If the customers or the reference data cannot be read.
+     */
+    private static void loadCustomersCCH() throws SQLException {
+        Map<Integer, CustomerModel> loadedCustomers = new TreeMap<>();
+        for (CustomerModel loadedCustomer : queryCustomersCCH("loadCustomersCCH", CUSTOMER_SQL, StatementBinder.NO_PARAMETERS)) {
+            loadedCustomers.put(loadedCustomer.getCustID_IN(), loadedCustomer);
+        }
+        customersById.clear();
+        customersById.putAll(loadedCustomers);
+        customerSnapshot = null;
+        cacheLoaded = true;
+        loadedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Discards the reference data cache and reads the divisions again.
+     *
+     * @return Read-only map of the reloaded divisions keyed by Division_ID.
+     * @throws SQLException If the reference data cannot be read.
+     */
+    private static Map<Integer, DivisionModel> reloadDivisionsCCH() throws SQLException {
+        ReferenceDataCacheHelper.invalidateRDCH();
+        return ReferenceDataCacheHelper.readDivisionsByIdRDCH();
+    }
+
+    /**
+     * Builds a CustomerModel, filling in the division and country from a map of divisions. No I/O is done, so it is
+     * safe to call while a query's connection is held.
+     *
+     * @param custID_IN Customer ID
+     * @param custN_ST Customer Name
+     * @param addr_ST Address
+     * @param postC_ST Postal Code
+     * @param phone_ST Phone Number
+     * @param diviID_IN Division ID
+     * @param divisionsById Divisions keyed by Division_ID.
+     * @return CustomerModel with division and country filled in where known.
+     */
+    private static CustomerModel buildCustomerCCH(int custID_IN, String custN_ST, String addr_ST, String postC_ST, String phone_ST, int diviID_IN,
+                                                  Map<Integer, DivisionModel> divisionsById) {
+        DivisionModel division = divisionsById.get(diviID_IN);
+        if (division == null) {
+            return new CustomerModel(custID_IN, diviID_IN, 0, custN_ST, addr_ST, postC_ST, phone_ST, null, null);
+        }
+        return new CustomerModel(custID_IN, diviID_IN, division.counID_IN(), custN_ST, addr_ST, postC_ST, phone_ST, division.getCounN_ST(), division.getDiviN_ST());
+    }
+}
@@ -0,0 +1,127 @@
+package jrl.qam2final.Helper;
+
+import java.util.Locale;
+
+/**
+ * The databases the application can connect to. MYSQL is the production client_schedule database. EMBEDDED_H2 is an
+ * in-memory H2 database in MySQL compatibility mode that the SchemaBootstrapHelper class creates and seeds at start-up,
+ * so the application and its DAO layer can run and be benchmarked on any machine without a MySQL server. The profile
+ * is chosen by the JDBCHelper class before the connection pool opens.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public enum DatabaseProfile {
+    MYSQL("com.mysql.cj.jdbc.Driver",
+            "jdbc:mysql://localhost/client_schedule?connectionTimeZone = SERVER&useServerPrepStmts=true&rewriteBatchedStatements=true",
+            "your_db_user_here", "your_password_here", false, true),
+    EMBEDDED_H2("org.h2.Driver",
+            "jdbc:h2:mem:client_schedule;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=END,YEAR,MONTH;DB_CLOSE_DELAY=-1",
+            "sa", "", true, false);
+
+    /**
+     * Fetch size used in place of QueryExecutorHelper.STREAMING_FETCH_SIZE by drivers that reject negative fetch sizes.
+     * Large enough that round trips do not dominate, small enough that memory stays bounded.
+     */
+    private static final int BOUNDED_FETCH_SIZE = 1_000;
+
+    private final String driverName;
+    private final String defaultUrl;
+    private final String defaultUserName;
+    private final String defaultPassword;
+    private final boolean bootstrapRequired;
+    private final boolean negativeFetchSizeStreams;
+
+    /**
+     * Constructor for DatabaseProfile constants.
+     *
+     * @param driverName Class name of the JDBC driver.
+     * @param defaultUrl JDBC URL used when none is configured.
+     * @param defaultUserName Database user used when none is configured.
+     * @param defaultPassword Database password used when none is configured.
+     * @param bootstrapRequired True if the schema must be created when the pool opens.
+     * @param negativeFetchSizeStreams True if the driver streams rows when the fetch size is Integer.MIN_VALUE.
+     */
+    DatabaseProfile(String driverName, String defaultUrl, String defaultUserName, String defaultPassword, boolean bootstrapRequired, boolean negativeFetchSizeStreams) {
+        this.driverName = driverName;
+        this.defaultUrl = defaultUrl;
+        this.defaultUserName = defaultUserName;
+        this.defaultPassword = defaultPassword;
+        this.bootstrapRequired = bootstrapRequired;
+        this.negativeFetchSizeStreams = negativeFetchSizeStreams;
+    }
+
+    /**
+     * Getter for driverName.
+     *
+     * @return driverName Class name of the JDBC driver.
+     */
+    public String getDriverName() {
+        return driverName;
+    }
+
+    /**
+     * Getter for defaultUrl.
+     *
+     * @return defaultUrl JDBC URL used when none is configured.
+     */
+    public String getDefaultUrl() {
+        return defaultUrl;
+    }
+
+    /**
+     * Getter for defaultUserName.
+     *
+     * @return defaultUserName Database user used when none is configured.
+     */
+    public String getDefaultUserName() {
+        return defaultUserName;
+    }
+
+    /**
+     * Getter for defaultPassword.
+     *
+     * @return defaultPassword Database password used when none is configured.
+     */
+    public String getDefaultPassword() {
+        return defaultPassword;
+    }
+
+    /**
+     * Getter for bootstrapRequired.
+     *
+     * @return bootstrapRequired True if the schema must be created when the pool opens.
+     */
+    public boolean isBootstrapRequired() {
+        return bootstrapRequired;
+    }
+
+    /**
+     * Translates a fetch size requested by the QueryExecutorHelper class into one the driver accepts. MySQL
+     * Connector/J streams rows only for Integer.MIN_VALUE, which other drivers reject, so they receive a bounded
+     * positive fetch size instead.
+     *
+     * @param requestedFetchSize Fetch size requested by the query.
+     * @return Fetch size to set on the statement.
+     */
+    public int driverFetchSizeDBP(int requestedFetchSize) {
+        if (requestedFetchSize == QueryExecutorHelper.STREAMING_FETCH_SIZE && !negativeFetchSizeStreams) {
+            return BOUNDED_FETCH_SIZE;
+        }
+        return requestedFetchSize;
+    }
+
+    /**
+     * Returns the profile named by a configuration value, ignoring case. "embedded" and "h2" both select EMBEDDED_H2.
+     *
+     * @param profileName Configured profile name.
+     * @return The profile.
+     * @throws IllegalArgumentException If the name does not match a profile.
+     */
+    public static DatabaseProfile fromNameDBP(String profileName) {
+        String normalizedName = profileName.trim().toUpperCase(Locale.ROOT);
+        if (normalizedName.equals("EMBEDDED") || normalizedName.equals("H2")) {
+            return EMBEDDED_H2;
+        }
+        return valueOf(normalizedName);
+    }
+}
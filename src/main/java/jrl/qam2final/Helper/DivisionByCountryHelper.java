@@ -1,7 +1,7 @@
 package jrl.qam2final.Helper;
 
 import jrl.qam2final.DAO.DivisionDAO;
-import jrl.qam2final.DAO.DivisionDAOIMPL;
+import jrl.qam2final.DAO.DAORegistry;
 import javafx.collections.ObservableList;
 import jrl.qam2final.Model.DivisionModel;
 
@@ -19,7 +19,7 @@ public class DivisionByCountryHelper {
      * @return List of divisions for the country.
      */
     public static ObservableList<DivisionModel> getFilteredDivisions(int counID_IN){
-        DivisionDAO newDivisionDAO = new DivisionDAOIMPL();
+        DivisionDAO newDivisionDAO = DAORegistry.getDivisionDAODR();
         return newDivisionDAO.readDivisionFromCountryDivDAO(counID_IN);
     }
 }
\ No newline at end of file
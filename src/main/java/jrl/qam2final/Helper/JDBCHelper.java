@@ -1,68 +1,111 @@
 package jrl.qam2final.Helper;
 
-import javafx.scene.control.Alert;
-
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
- * A helper class for managing JDBC connections to the database.
+ * A helper class for managing JDBC connections to the database. Physical connections are opened here and handed out to
+ * the rest of the application through the ConnectionPoolHelper class. The database is chosen by a DatabaseProfile,
+ * read from the client_schedule.db.profile, client_schedule.db.url, client_schedule.db.user, and
+ * client_schedule.db.password system properties, or set with configureJDBCH before the pool opens. Without any
+ * configuration the application connects to the MySQL client_schedule database.
  *
  *@author Jeffrey Robert Lynch
  */
 public abstract class JDBCHelper {
 
-    private static final String PROTOCOL_NAME = "jdbc";
-    private static final String VENDOR_NAME = ":mysql:";
-    private static final String LOCATION_NAME = "//localhost/";
-    private static final String DATABASE_NAME = "client_schedule";
-    private static final String JDBC_URL = PROTOCOL_NAME + VENDOR_NAME + LOCATION_NAME + DATABASE_NAME + "?connectionTimeZone = SERVER";
-    private static final String DRIVER_NAME = "com.mysql.cj.jdbc.Driver";
-    private static final String USER_NAME = "your_db_user_here";
-    private static final String PASSWORD = "your_password_here";
-    public static Connection connectDB;
+    private static final String PROFILE_PROPERTY = "client_schedule.db.profile";
+    private static final String URL_PROPERTY = "client_schedule.db.url";
+    private static final String USER_PROPERTY = "client_schedule.db.user";
+    private static final String PASSWORD_PROPERTY = "client_schedule.db.password";
+
+    private static volatile DatabaseProfile databaseProfile = DatabaseProfile.fromNameDBP(System.getProperty(PROFILE_PROPERTY, DatabaseProfile.MYSQL.name()));
+    private static volatile String jdbcUrl = System.getProperty(URL_PROPERTY, databaseProfile.getDefaultUrl());
+    private static volatile String userName = System.getProperty(USER_PROPERTY, databaseProfile.getDefaultUserName());
+    private static volatile String password = System.getProperty(PASSWORD_PROPERTY, databaseProfile.getDefaultPassword());
+    private static volatile List<String> missingMigrations = List.of();
+
+    /**
+     * Chooses the database to connect to, replacing the system property configuration. Must be called before
+     * startDBConnection, such as by a benchmark that runs against the embedded database.
+     *
+     * @param profile Database profile.
+     * @param url JDBC URL, or null for the profile's default URL.
+     * @param user Database user, or null for the profile's default user.
+     * @param userPassword Database password, or null for the profile's default password.
+     */
+    public static synchronized void configureJDBCH(DatabaseProfile profile, String url, String user, String userPassword) {
+        databaseProfile = profile;
+        jdbcUrl = url != null ? url : profile.getDefaultUrl();
+        userName = user != null ? user : profile.getDefaultUserName();
+        password = userPassword != null ? userPassword : profile.getDefaultPassword();
+    }
+
+    /**
+     * Returns the database profile in use.
+     *
+     * @return The configured DatabaseProfile.
+     */
+    public static DatabaseProfile getDatabaseProfileJDBCH() {
+        return databaseProfile;
+    }
+
+    /**
+     * Opens a new physical connection to the database. Only the ConnectionPoolHelper class should call this method,
+     * everything else borrows pooled connections.
+     *
+     * @return New physical connection.
+     * @throws SQLException If the driver cannot be loaded or the connection cannot be opened.
+     */
+    static Connection openPhysicalConnectionJDBCH() throws SQLException {
+        try {
+            Class.forName(databaseProfile.getDriverName());
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC driver not found: " + databaseProfile.getDriverName(), e);
+        }
+        return DriverManager.getConnection(jdbcUrl, userName, password);
+    }
 
     /**
-     * Handles SQL exception for JDBCHelper.
+     * Returns the report migrations found missing when the connection pool opened. Appointments cannot be saved until
+     * they are applied.
      *
-     * @param e SQL exception
+     * @return Names of the missing migration scripts, empty if the schema is up to date or was not checked.
      */
-    private static void handleSQLExceptionJDBCH(SQLException e) {
-        System.out.println("SQL Error: " + e.getMessage());
-        Alert alert = new Alert(Alert.AlertType.ERROR);
-        alert.setTitle("SQL Error");
-        alert.setHeaderText("An error occurred");
-        alert.setContentText("SQL Error: " + e.getMessage());
-        alert.showAndWait();
+    public static List<String> getMissingMigrationsJDBCH() {
+        return missingMigrations;
     }
 
     /**
-     * Database connection is established.
+     * Database connection pool is opened. Called once when the application launches. For a profile that requires it,
+     * the schema is created and seeded by the SchemaBootstrapHelper class before anything else reads from it. The
+     * schema is then checked for the report migrations, and each missing one is reported on the console and kept for
+     * getMissingMigrationsJDBCH, so it is found at launch instead of by the first save.
      */
     public static void startDBConnection(){
         try {
-            Class.forName(DRIVER_NAME);
-            connectDB = DriverManager.getConnection(JDBC_URL, USER_NAME, PASSWORD );
-            System.out.println("Start Database Connection.");
+            ConnectionPoolHelper.openPoolCPH();
+            if (databaseProfile.isBootstrapRequired()) {
+                SchemaBootstrapHelper.bootstrapSBH();
+            }
+            missingMigrations = List.copyOf(SchemaBootstrapHelper.findMissingMigrationsSBH());
+            for (String migrationScript : missingMigrations) {
+                System.out.println("Database is missing migration sql/" + migrationScript + ". Appointments cannot be saved until it is applied.");
+            }
+            System.out.println("Start Database Connection. Profile: " + databaseProfile);
         }catch(Exception e){
             System.out.println("Error starting connection: " + e.getMessage());
         }
     }
 
     /**
-     * Ends the database connection unless already null.
+     * Database connection pool is closed, along with every physical connection. Called once when the application
+     * exits.
      */
     public static void endDBConnection() {
-        try {
-            if (connectDB != null) {
-                connectDB.close();
-                System.out.println("End Database Connection.");
-            } else {
-                System.out.println("Connection is already null.");
-            }
-        } catch (SQLException e) {
-            handleSQLExceptionJDBCH(e);
-        }
+        ConnectionPoolHelper.closePoolCPH();
+        System.out.println("End Database Connection.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package jrl.qam2final.Helper;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Loads the rows of a TableView one keyset page at a time. Each page is read after the last row already shown, so
+ * opening a screen costs one page however large the table is. As soon as a page is shown, the next page is read in
+ * the background, so asking for more rows normally shows them without waiting for the database. A page shorter than
+ * the page size marks the end of the table. The rows are shown through a SortedList with no comparator, so they keep
+ * the order the database returned them in, and setting them as the table's items does not clear its sort order. All
+ * methods must be called on the JavaFX application thread.
+ *
+ * @param <S> Row type.
+ * @author Jeffrey Robert Lynch
+ */
+public class KeysetPageLoader<S> {
+
+    /**
+     * Reads one page of rows in the background.
+     *
+     * @param <S> Row type.
+     */
+    @FunctionalInterface
+    public interface PageReader<S> {
+
+        /**
+         * Starts reading the page after a row.
+         *
+         * @param afterRow Last row of the previous page, or null for the first page.
+         * @param limit Maximum number of rows on the page.
+         * @return CompletableFuture completed with the page.
+         */
+        CompletableFuture<ObservableList<S>> readPage(S afterRow, int limit);
+    }
+
+    /**
+     * Rows read per page by the main screens.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final TableView<S> tableView;
+    private final int pageSize;
+    private final Runnable onChange;
+    private final Consumer<Throwable> onFailure;
+    private final ObservableList<S> loadedRows = FXCollections.observableArrayList();
+    private final SortedList<S> shownRows = new SortedList<>(loadedRows);
+    private PageReader<S> pageReader;
+    private CompletableFuture<ObservableList<S>> pendingPage;
+    private ObservableList<S> prefetchedPage;
+    private boolean pageRequested;
+    private boolean lastPageLoaded = true;
+
+    /**
+     * Constructor for KeysetPageLoader objects.
+     *
+     * @param tableView Table the rows are shown in.
+     * @param pageSize Rows read per page.
+     * @param onChange Runs after rows are shown or the end of the table is reached, so a controller can update its
+     *                 row count and paging controls.
+     * @param onFailure Receives the cause of a failed page read.
+     */
+    public KeysetPageLoader(TableView<S> tableView, int pageSize, Runnable onChange, Consumer<Throwable> onFailure) {
+        this.tableView = tableView;
+        this.pageSize = pageSize;
+        this.onChange = onChange;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Clears the table and starts reading from the first page with a new reader, such as after the sort order has
+     * changed. A progress indicator is shown in the table until the first page arrives. Any page still being read by
+     * the previous reader is cancelled.
+     *
+     * @param newPageReader Reader for the new order.
+     */
+    public void startKPL(PageReader<S> newPageReader) {
+        cancelKPL();
+        pageReader = newPageReader;
+        loadedRows.clear();
+        lastPageLoaded = false;
+        if (tableView.getItems() != shownRows) {
+            tableView.setItems(shownRows);
+        }
+        tableView.setPlaceholder(new ProgressIndicator());
+        pageRequested = true;
+        readNextPageKPL();
+        onChange.run();
+    }
+
+    /**
+     * Shows the next page. A page that has already been prefetched is shown at once; otherwise it is shown when it
+     * arrives. Has no effect once the end of the table has been reached.
+     */
+    public void loadNextPageKPL() {
+        if (prefetchedPage != null) {
+            ObservableList<S> nextPage = prefetchedPage;
+            prefetchedPage = null;
+            showPageKPL(nextPage);
+        } else if (!lastPageLoaded) {
+            pageRequested = true;
+            if (pendingPage == null) {
+                readNextPageKPL();
+            }
+        }
+    }
+
+    /**
+     * Cancels any page still being read and discards a prefetched page. Called before navigating away from a screen.
+     */
+    public void cancelKPL() {
+        AsyncTaskHelper.cancelATH(pendingPage);
+        pendingPage = null;
+        prefetchedPage = null;
+        pageRequested = false;
+    }
+
+    /**
+     * Returns whether the table holds more rows than are shown.
+     *
+     * @return True if another page may follow, otherwise false.
+     */
+    public boolean hasMoreRowsKPL() {
+        return !lastPageLoaded;
+    }
+
+    /**
+     * Returns the number of rows shown.
+     *
+     * @return Number of rows shown.
+     */
+    public int loadedRowCountKPL() {
+        return loadedRows.size();
+    }
+
+    /**
+     * Starts reading the page after the last row shown. A result that arrives after the loader has been restarted or
+     * cancelled is ignored.
+     */
+    private void readNextPageKPL() {
+        S afterRow = loadedRows.isEmpty() ? null : loadedRows.get(loadedRows.size() - 1);
+        CompletableFuture<ObservableList<S>> pageFuture = pageReader.readPage(afterRow, pageSize);
+        pendingPage = pageFuture;
+        AsyncTaskHelper.thenOnFxThreadATH(pageFuture, page -> {
+            if (pageFuture != pendingPage) {
+                return;
+            }
+            pendingPage = null;
+            if (page.isEmpty()) {
+                prefetchedPage = null;
+                pageRequested = false;
+                tableView.setPlaceholder(null);
+                lastPageLoaded = true;
+                onChange.run();
+            } else if (pageRequested) {
+                showPageKPL(page);
+            } else {
+                prefetchedPage = page;
+            }
+        }, failure -> {
+            if (pageFuture != pendingPage) {
+                return;
+            }
+            pendingPage = null;
+            pageRequested = false;
+            tableView.setPlaceholder(null);
+            onFailure.accept(failure);
+        });
+    }
+
+    /**
+     * Appends a page to the table and prefetches the following page, unless this page was the last one.
+     *
+     * @param page Page to show.
+     */
+    private void showPageKPL(ObservableList<S> page) {
+        pageRequested = false;
+        tableView.setPlaceholder(null);
+        loadedRows.addAll(page);
+        if (page.size() < pageSize) {
+            lastPageLoaded = true;
+        } else {
+            readNextPageKPL();
+        }
+        onChange.run();
+    }
+}
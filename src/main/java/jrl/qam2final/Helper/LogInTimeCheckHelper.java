@@ -1,21 +1,17 @@
 package jrl.qam2final.Helper;
 
 import jrl.qam2final.Helper.TranslationManagerHelper;
-import java.sql.PreparedStatement;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Alert;
 import jrl.qam2final.DAO.AppointmentDAO;
-import jrl.qam2final.DAO.AppointmentDAOIMPL;
+import jrl.qam2final.DAO.DAORegistry;
 import jrl.qam2final.Model.AppointmentModel;
 import jrl.qam2final.Model.UserModel;
-import java.sql.ResultSet;
 import java.time.ZoneId;
 import java.time.LocalDateTime;
 import java.sql.SQLException;
 
-import static jrl.qam2final.Helper.JDBCHelper.connectDB;
-
 /**
  * Helper class for logging into the database, performing a check for upcoming appointments, and displaying upcoming
  * appointments at Log-In.
@@ -41,16 +37,17 @@ public class LogInTimeCheckHelper {
     /**
      * Performs a check to determine if there are any appointments within 15 minutes of log-in. If there are imminent
      * appointments, the method displays a message to the user. If there are no imminent appointments, it displays
-     * a different message to the user.
+     * a different message to the user. Only appointments starting within the next 15 minutes are read, using the
+     * indexed range query readAppointmentsBetweenAppDAO, so the check never scans the whole appointments table.
      *
      * @param localTimeDate LocalDateTime representing the current time
      */
     public static void checkImminentAppointmentLITCH(LocalDateTime localTimeDate) {
-        AppointmentDAO newAppointmentDAO = new AppointmentDAOIMPL();
-        ObservableList<AppointmentModel> allAppointments = newAppointmentDAO.readAppointmentAllAppDAO();
-        LocalDateTime appointmentStartCheck = localTimeDate.plusMinutes(15);
+        AppointmentDAO newAppointmentDAO = DAORegistry.getAppointmentDAODR();
+        LocalDateTime appointmentStartCheck = localTimeDate.plusMinutes(AppointmentReminderHelper.REMINDER_LEAD_MINUTES);
+        ObservableList<AppointmentModel> upcomingAppointments = newAppointmentDAO.readAppointmentsBetweenAppDAO(localTimeDate, appointmentStartCheck);
         ObservableList<AppointmentModel> appointmentImminent = FXCollections.observableArrayList();
-        for (AppointmentModel appointment : allAppointments) {
+        for (AppointmentModel appointment : upcomingAppointments) {
             LocalDateTime appointmentStart = appointment.getStaDT_LDT();
             if (appointmentStart.isAfter(localTimeDate) && appointmentStart.isBefore(appointmentStartCheck)) {
                 appointmentImminent.add(appointment);
@@ -113,18 +110,10 @@ public class LogInTimeCheckHelper {
                     "WHERE \n" +
                     "    User_Name IN (?) \n" +
                     "    AND Password IN (?)";
-            PreparedStatement passwordStatement = connectDB.prepareStatement(sql);
-            passwordStatement.setString(1, inputUserN);
-            passwordStatement.setString(2, inputPass);
-            ResultSet queryReturn = passwordStatement.executeQuery();
-            UserModel successFailResult = null;
-            if (queryReturn.next()) {
-                int userId = queryReturn.getInt("User_ID");
-                inputUserN = queryReturn.getString("User_Name");
-                inputPass = queryReturn.getString("Password");
-                successFailResult = new UserModel(userId, inputUserN, inputPass);
-            }
-            return successFailResult;
+            return QueryExecutorHelper.queryFirstQEH("queryUserNamePasswordLITCH", sql, passwordStatement -> {
+                passwordStatement.setString(1, inputUserN);
+                passwordStatement.setString(2, inputPass);
+            }, queryReturn -> new UserModel(queryReturn.getInt(1), queryReturn.getString(2), queryReturn.getString(3)));
         } catch (SQLException e) {
             handleSQLExceptionLITCH(e);
             return null;
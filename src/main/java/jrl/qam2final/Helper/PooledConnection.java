@@ -0,0 +1,311 @@
+package jrl.qam2final.Helper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A physical database connection managed by the ConnectionPoolHelper class. A PooledConnection is borrowed from the
+ * pool, used by a single thread, and returned to the pool by calling close(), ideally with a try-with-resources block.
+ * Closing a PooledConnection never closes the physical connection, so the next borrower does not pay for a new TCP and
+ * authentication handshake with the database. Each connection keeps an LRU cache of prepared statements keyed by SQL
+ * text, so statements executed repeatedly are parsed once per connection and closed only when evicted from the cache
+ * or when the physical connection is closed.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class PooledConnection implements AutoCloseable {
+
+    static final int STATEMENT_CACHE_SIZE = 32;
+    private static final String GENERATED_KEYS_PREFIX = "[keys] ";
+
+    private final Connection physicalConnection;
+    private final long createdAtMillis;
+    private final List<Statement> borrowedStatements = new ArrayList<>();
+    private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<>(STATEMENT_CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > STATEMENT_CACHE_SIZE) {
+                closeStatementPC(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    private long statementCacheHits;
+    private long statementCacheMisses;
+    private volatile long borrowedAtMillis;
+    private volatile long lastReturnedMillis;
+    private volatile Throwable borrowSite;
+    private volatile boolean leakReported;
+
+    /**
+     * Constructor for PooledConnection objects. Only the ConnectionPoolHelper class creates pooled connections.
+     *
+     * @param physicalConnection The physical connection to the database.
+     */
+    PooledConnection(Connection physicalConnection) {
+        this.physicalConnection = physicalConnection;
+        this.createdAtMillis = System.currentTimeMillis();
+        this.lastReturnedMillis = createdAtMillis;
+    }
+
+    /**
+     * Returns a prepared statement for the SQL text from the statement cache, preparing and caching it on a miss. The
+     * statement's parameters are cleared before it is returned. Cached statements belong to the connection, so callers
+     * must close their ResultSets but must not close the statement itself.
+     *
+     * @param sql SQL text for the statement.
+     * @return Cached PreparedStatement for the SQL text.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement cachedStatement = statementCache.get(sql);
+        if (cachedStatement != null && !cachedStatement.isClosed()) {
+            cachedStatement.clearParameters();
+            statementCacheHits++;
+            ConnectionPoolHelper.recordStatementCacheHitCPH();
+            return cachedStatement;
+        }
+        PreparedStatement preparedStatement = physicalConnection.prepareStatement(sql);
+        statementCache.put(sql, preparedStatement);
+        statementCacheMisses++;
+        ConnectionPoolHelper.recordStatementCacheMissCPH();
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a prepared statement that reports auto-generated keys, from the statement cache. Cached separately from
+     * prepareStatement(String) for the same SQL text, since the generated keys option is fixed when a statement is
+     * prepared.
+     *
+     * @param sql SQL text for the statement.
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS.
+     * @return Cached PreparedStatement for the SQL text.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        if (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS) {
+            return prepareStatement(sql);
+        }
+        String cacheKey = GENERATED_KEYS_PREFIX + sql;
+        PreparedStatement cachedStatement = statementCache.get(cacheKey);
+        if (cachedStatement != null && !cachedStatement.isClosed()) {
+            cachedStatement.clearParameters();
+            statementCacheHits++;
+            ConnectionPoolHelper.recordStatementCacheHitCPH();
+            return cachedStatement;
+        }
+        PreparedStatement preparedStatement = physicalConnection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        statementCache.put(cacheKey, preparedStatement);
+        statementCacheMisses++;
+        ConnectionPoolHelper.recordStatementCacheMissCPH();
+        return preparedStatement;
+    }
+
+    /**
+     * Prepares a statement that bypasses the statement cache. Used for one-off SQL text and for statements whose
+     * settings must not leak into later borrowers. The statement is closed when the connection is returned to the
+     * pool, so it must not be used after close() is called.
+     *
+     * @param sql SQL text for the statement.
+     * @return Uncached PreparedStatement for the SQL text.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement prepareUncachedStatement(String sql) throws SQLException {
+        PreparedStatement preparedStatement = physicalConnection.prepareStatement(sql);
+        borrowedStatements.add(preparedStatement);
+        return preparedStatement;
+    }
+
+    /**
+     * Returns the connection to the pool. The physical connection stays open for the next borrower.
+     */
+    @Override
+    public void close() {
+        ConnectionPoolHelper.returnConnectionCPH(this);
+    }
+
+    /**
+     * Records the time and call site of a borrow for wait time metrics and leak detection.
+     *
+     * @param borrowSite Throwable capturing the stack of the borrower, or null if leak detection is disabled.
+     */
+    void markBorrowedPC(Throwable borrowSite) {
+        this.borrowedAtMillis = System.currentTimeMillis();
+        this.borrowSite = borrowSite;
+        this.leakReported = false;
+    }
+
+    /**
+     * Closes the uncached statements prepared during the borrow and restores the default auto-commit mode, so the
+     * next borrower receives a clean connection. Cached statements stay open for the next borrower.
+     *
+     * @return True if the connection can be reused, otherwise false.
+     */
+    boolean resetPC() {
+        for (Statement statement : borrowedStatements) {
+            closeStatementPC(statement);
+        }
+        borrowedStatements.clear();
+        try {
+            if (physicalConnection.isClosed()) {
+                return false;
+            }
+            if (!physicalConnection.getAutoCommit()) {
+                physicalConnection.rollback();
+                physicalConnection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error resetting pooled connection: " + e.getMessage());
+            return false;
+        }
+        lastReturnedMillis = System.currentTimeMillis();
+        borrowSite = null;
+        return true;
+    }
+
+    /**
+     * Validates the physical connection with a round trip to the database.
+     *
+     * @param timeoutSeconds Seconds to wait for the database to respond.
+     * @return True if the connection is still usable, otherwise false.
+     */
+    boolean isValidPC(int timeoutSeconds) {
+        try {
+            return physicalConnection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Turns off auto-commit so the statements that follow run as one transaction. Only the QueryExecutorHelper class
+     * starts transactions. If the connection is returned without a commit, resetPC rolls the transaction back.
+     *
+     * @throws SQLException If auto-commit cannot be turned off.
+     */
+    void beginTransactionPC() throws SQLException {
+        physicalConnection.setAutoCommit(false);
+    }
+
+    /**
+     * Commits the current transaction and restores auto-commit.
+     *
+     * @throws SQLException If the commit fails.
+     */
+    void commitPC() throws SQLException {
+        physicalConnection.commit();
+        physicalConnection.setAutoCommit(true);
+    }
+
+    /**
+     * Rolls back the current transaction and restores auto-commit, logging rather than propagating any error so the
+     * failure that caused the rollback is the one reported. A connection that cannot be rolled back is discarded by
+     * resetPC when it is returned.
+     */
+    void rollbackPC() {
+        try {
+            physicalConnection.rollback();
+            physicalConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.out.println("Error rolling back pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the cached statements and the physical connection. Used when a connection is evicted or fails validation.
+     */
+    void closePhysicalPC() {
+        for (PreparedStatement cachedStatement : statementCache.values()) {
+            closeStatementPC(cachedStatement);
+        }
+        statementCache.clear();
+        try {
+            physicalConnection.close();
+        } catch (SQLException e) {
+            System.out.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes a statement owned by this connection, logging rather than propagating any error.
+     *
+     * @param statement Statement to close.
+     */
+    private static void closeStatementPC(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.out.println("Error closing pooled statement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Getter for statementCacheHits.
+     *
+     * @return statementCacheHits Number of statement cache hits on this connection.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Getter for statementCacheMisses.
+     *
+     * @return statementCacheMisses Number of statement cache misses on this connection.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Getter for borrowedAtMillis.
+     *
+     * @return borrowedAtMillis Time the connection was last borrowed.
+     */
+    long getBorrowedAtMillis() {
+        return borrowedAtMillis;
+    }
+
+    /**
+     * Getter for lastReturnedMillis.
+     *
+     * @return lastReturnedMillis Time the connection was last returned to the pool.
+     */
+    long getLastReturnedMillis() {
+        return lastReturnedMillis;
+    }
+
+    /**
+     * Getter for borrowSite.
+     *
+     * @return borrowSite Stack of the current borrower, or null if unknown.
+     */
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    /**
+     * Getter for leakReported.
+     *
+     * @return leakReported True if the current borrow has already been reported as a leak.
+     */
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    /**
+     * Setter for leakReported.
+     *
+     * @param leakReported True once the current borrow has been reported as a leak.
+     */
+    void setLeakReported(boolean leakReported) {
+        this.leakReported = leakReported;
+    }
+}
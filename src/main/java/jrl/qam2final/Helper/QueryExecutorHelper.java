@@ -0,0 +1,367 @@
+package jrl.qam2final.Helper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A helper class that executes SQL for the DAO layer. Every method borrows a pooled connection, uses the connection's
+ * cached prepared statement, closes the ResultSet, and returns the connection with try-with-resources, so DAO classes
+ * only supply SQL text, a StatementBinder, and a RowMapper. Statements that must succeed or fail together are run by
+ * inTransactionQEH on one connection. Each execution is reported to the query timing hook.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class QueryExecutorHelper {
+
+    /**
+     * Fetch size used when a query does not request one. Zero leaves the choice to the JDBC driver.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 0;
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream rows one at a time instead of reading the whole result into
+     * memory. The connection cannot run another statement until the streamed ResultSet is closed. Drivers that reject
+     * negative fetch sizes receive a bounded fetch size from the DatabaseProfile instead.
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * Returned by insertReturningKeyQEH when no row was inserted.
+     */
+    public static final int NO_GENERATED_KEY = -1;
+    private static final long SLOW_QUERY_NANOS = 250_000_000L;
+    private static volatile QueryTimingHook queryTimingHook = QueryExecutorHelper::logSlowQueryQEH;
+
+    /**
+     * Executes a query and maps every row with the default fetch size.
+     *
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @param rowMapper Maps each row to a model object.
+     * @param <T> Model type.
+     * @return List of mapped rows in ResultSet order.
+     * @throws SQLException If a connection cannot be borrowed or the query fails.
+     */
+    public static <T> List<T> queryListQEH(String queryName, String sql, StatementBinder statementBinder, RowMapper<T> rowMapper) throws SQLException {
+        return queryListQEH(queryName, sql, statementBinder, rowMapper, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Executes a query and maps every row.
+     *
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @param rowMapper Maps each row to a model object.
+     * @param fetchSize Rows the driver should fetch per round trip.
+     * @param <T> Model type.
+     * @return List of mapped rows in ResultSet order.
+     * @throws SQLException If a connection cannot be borrowed or the query fails.
+     */
+    public static <T> List<T> queryListQEH(String queryName, String sql, StatementBinder statementBinder, RowMapper<T> rowMapper, int fetchSize) throws SQLException {
+        long startNanos = System.nanoTime();
+        List<T> mappedRows = new ArrayList<>();
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            PreparedStatement queryStatement = pooledConnection.prepareStatement(sql);
+            queryStatement.setFetchSize(JDBCHelper.getDatabaseProfileJDBCH().driverFetchSizeDBP(fetchSize));
+            statementBinder.bindParameters(queryStatement);
+            try (ResultSet queryReturn = queryStatement.executeQuery()) {
+                while (queryReturn.next()) {
+                    mappedRows.add(rowMapper.mapRow(queryReturn));
+                }
+            }
+        } finally {
+            reportTimingQEH(queryName, startNanos, mappedRows.size());
+        }
+        return mappedRows;
+    }
+
+    /**
+     * Executes a query and passes every row to a handler as it is read, without collecting the rows.
+     *
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @param rowHandler Handles each row.
+     * @param fetchSize Rows the driver should fetch per round trip.
+     * @return Number of rows handled.
+     * @throws SQLException If a connection cannot be borrowed, the query fails, or the handler fails.
+     */
+    public static int queryForEachQEH(String queryName, String sql, StatementBinder statementBinder, RowHandler rowHandler, int fetchSize) throws SQLException {
+        long startNanos = System.nanoTime();
+        int handledRowCount = 0;
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            PreparedStatement queryStatement = pooledConnection.prepareStatement(sql);
+            queryStatement.setFetchSize(JDBCHelper.getDatabaseProfileJDBCH().driverFetchSizeDBP(fetchSize));
+            statementBinder.bindParameters(queryStatement);
+            try (ResultSet queryReturn = queryStatement.executeQuery()) {
+                while (queryReturn.next()) {
+                    rowHandler.handleRow(queryReturn);
+                    handledRowCount++;
+                }
+            }
+        } finally {
+            reportTimingQEH(queryName, startNanos, handledRowCount);
+        }
+        return handledRowCount;
+    }
+
+    /**
+     * Executes a query and maps the first row only.
+     *
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @param rowMapper Maps the row to a model object.
+     * @param <T> Model type.
+     * @return Mapped first row, or null if the query returned no rows.
+     * @throws SQLException If a connection cannot be borrowed or the query fails.
+     */
+    public static <T> T queryFirstQEH(String queryName, String sql, StatementBinder statementBinder, RowMapper<T> rowMapper) throws SQLException {
+        long startNanos = System.nanoTime();
+        T mappedRow = null;
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            PreparedStatement queryStatement = pooledConnection.prepareStatement(sql);
+            queryStatement.setFetchSize(DEFAULT_FETCH_SIZE);
+            queryStatement.setMaxRows(1);
+            statementBinder.bindParameters(queryStatement);
+            try (ResultSet queryReturn = queryStatement.executeQuery()) {
+                if (queryReturn.next()) {
+                    mappedRow = rowMapper.mapRow(queryReturn);
+                }
+            } finally {
+                queryStatement.setMaxRows(0);
+            }
+        } finally {
+            reportTimingQEH(queryName, startNanos, mappedRow == null ? 0 : 1);
+        }
+        return mappedRow;
+    }
+
+    /**
+     * Executes a query and maps the first row only, on a connection the caller already holds, such as the connection
+     * of a transaction started by inTransactionQEH.
+     *
+     * @param pooledConnection Connection to execute the query on.
+     * @param queryName Name of the query for timing.
+     * @param sql SQL text of the query.
+     * @param statementBinder Binds the query parameters.
+     * @param rowMapper Maps the row to a model object.
+     * @param <T> Model type.
+     * @return Mapped first row, or null if the query returned no rows.
+     * @throws SQLException If the query fails.
+     */
+    public static <T> T queryFirstQEH(PooledConnection pooledConnection, String queryName, String sql, StatementBinder statementBinder, RowMapper<T> rowMapper)
+            throws SQLException {
+        long startNanos = System.nanoTime();
+        T mappedRow = null;
+        try {
+            PreparedStatement queryStatement = pooledConnection.prepareStatement(sql);
+            queryStatement.setFetchSize(DEFAULT_FETCH_SIZE);
+            queryStatement.setMaxRows(1);
+            statementBinder.bindParameters(queryStatement);
+            try (ResultSet queryReturn = queryStatement.executeQuery()) {
+                if (queryReturn.next()) {
+                    mappedRow = rowMapper.mapRow(queryReturn);
+                }
+            } finally {
+                queryStatement.setMaxRows(0);
+            }
+        } finally {
+            reportTimingQEH(queryName, startNanos, mappedRow == null ? 0 : 1);
+        }
+        return mappedRow;
+    }
+
+    /**
+     * Executes an INSERT, UPDATE, or DELETE statement.
+     *
+     * @param queryName Name of the statement for timing.
+     * @param sql SQL text of the statement.
+     * @param statementBinder Binds the statement parameters.
+     * @return Number of rows modified.
+     * @throws SQLException If a connection cannot be borrowed or the statement fails.
+     */
+    public static int updateQEH(String queryName, String sql, StatementBinder statementBinder) throws SQLException {
+        long startNanos = System.nanoTime();
+        int modifiedRowCount = 0;
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            PreparedStatement updateStatement = pooledConnection.prepareStatement(sql);
+            statementBinder.bindParameters(updateStatement);
+            modifiedRowCount = updateStatement.executeUpdate();
+        } finally {
+            reportTimingQEH(queryName, startNanos, modifiedRowCount);
+        }
+        return modifiedRowCount;
+    }
+
+    /**
+     * Executes an INSERT, UPDATE, or DELETE statement on a connection the caller already holds, such as the connection
+     * of a transaction started by inTransactionQEH.
+     *
+     * @param pooledConnection Connection to execute the statement on.
+     * @param queryName Name of the statement for timing.
+     * @param sql SQL text of the statement.
+     * @param statementBinder Binds the statement parameters.
+     * @return Number of rows modified.
+     * @throws SQLException If the statement fails.
+     */
+    public static int updateQEH(PooledConnection pooledConnection, String queryName, String sql, StatementBinder statementBinder) throws SQLException {
+        long startNanos = System.nanoTime();
+        int modifiedRowCount = 0;
+        try {
+            PreparedStatement updateStatement = pooledConnection.prepareStatement(sql);
+            statementBinder.bindParameters(updateStatement);
+            modifiedRowCount = updateStatement.executeUpdate();
+        } finally {
+            reportTimingQEH(queryName, startNanos, modifiedRowCount);
+        }
+        return modifiedRowCount;
+    }
+
+    /**
+     * Runs several statements as one transaction on a single pooled connection. The work is committed if it returns
+     * and rolled back if it throws, so either every statement takes effect or none does. Row locks are held only from
+     * the first statement to the commit, so the work should execute its statements back to back and leave any alerts
+     * or cache updates until this method returns.
+     *
+     * @param transactionWork Statements to run.
+     * @param <T> Result type.
+     * @return Result of the work.
+     * @throws SQLException If a connection cannot be borrowed, a statement fails, or the commit fails.
+     */
+    public static <T> T inTransactionQEH(TransactionWork<T> transactionWork) throws SQLException {
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            pooledConnection.beginTransactionPC();
+            try {
+                T transactionResult = transactionWork.executeInTransaction(pooledConnection);
+                pooledConnection.commitPC();
+                return transactionResult;
+            } catch (SQLException | RuntimeException e) {
+                pooledConnection.rollbackPC();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Executes an INSERT statement and returns the key the database generated for the new row.
+     *
+     * @param queryName Name of the statement for timing.
+     * @param sql SQL text of the statement.
+     * @param statementBinder Binds the statement parameters.
+     * @return Generated key of the inserted row, or NO_GENERATED_KEY if no row was inserted.
+     * @throws SQLException If a connection cannot be borrowed or the statement fails.
+     */
+    public static int insertReturningKeyQEH(String queryName, String sql, StatementBinder statementBinder) throws SQLException {
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            return insertReturningKeyQEH(pooledConnection, queryName, sql, statementBinder);
+        }
+    }
+
+    /**
+     * Executes an INSERT statement on a connection the caller already holds, such as inside inTransactionQEH, and
+     * returns the key the database generated for the new row.
+     *
+     * @param pooledConnection Connection to execute the statement on.
+     * @param queryName Name of the statement for timing.
+     * @param sql SQL text of the statement.
+     * @param statementBinder Binds the statement parameters.
+     * @return Generated key of the inserted row, or NO_GENERATED_KEY if no row was inserted.
+     * @throws SQLException If the statement fails.
+     */
+    public static int insertReturningKeyQEH(PooledConnection pooledConnection, String queryName, String sql, StatementBinder statementBinder) throws SQLException {
+        long startNanos = System.nanoTime();
+        int modifiedRowCount = 0;
+        int generatedKey = NO_GENERATED_KEY;
+        try {
+            PreparedStatement insertStatement = pooledConnection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            statementBinder.bindParameters(insertStatement);
+            modifiedRowCount = insertStatement.executeUpdate();
+            try (ResultSet generatedKeys = insertStatement.getGeneratedKeys()) {
+                if (modifiedRowCount > 0 && generatedKeys.next()) {
+                    generatedKey = generatedKeys.getInt(1);
+                }
+            }
+        } finally {
+            reportTimingQEH(queryName, startNanos, modifiedRowCount);
+        }
+        return generatedKey;
+    }
+
+    /**
+     * Executes an INSERT statement once per row as a single JDBC batch on a connection the caller already holds, and
+     * returns the keys the database generated for the new rows. With rewriteBatchedStatements enabled, MySQL
+     * Connector/J sends the batch as multi-row INSERT statements instead of one round trip per row.
+     *
+     * @param pooledConnection Connection to execute the batch on, normally the connection of a transaction.
+     * @param queryName Name of the statement for timing.
+     * @param sql SQL text of the statement.
+     * @param rowBinders One binder per row, each binding the parameters of that row.
+     * @return Generated keys of the inserted rows, in row order.
+     * @throws SQLException If the batch fails.
+     */
+    public static List<Integer> batchInsertReturningKeysQEH(PooledConnection pooledConnection, String queryName, String sql, List<StatementBinder> rowBinders) throws SQLException {
+        long startNanos = System.nanoTime();
+        List<Integer> generatedKeys = new ArrayList<>(rowBinders.size());
+        PreparedStatement insertStatement = pooledConnection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        try {
+            for (StatementBinder rowBinder : rowBinders) {
+                rowBinder.bindParameters(insertStatement);
+                insertStatement.addBatch();
+            }
+            insertStatement.executeBatch();
+            try (ResultSet generatedKeyReturn = insertStatement.getGeneratedKeys()) {
+                while (generatedKeyReturn.next()) {
+                    generatedKeys.add(generatedKeyReturn.getInt(1));
+                }
+            }
+        } finally {
+            insertStatement.clearBatch();
+            reportTimingQEH(queryName, startNanos, generatedKeys.size());
+        }
+        return generatedKeys;
+    }
+
+    /**
+     * Replaces the query timing hook. Passing null restores the default hook, which logs slow queries.
+     *
+     * @param timingHook Hook that receives every query timing.
+     */
+    public static void setQueryTimingHookQEH(QueryTimingHook timingHook) {
+        queryTimingHook = timingHook == null ? QueryExecutorHelper::logSlowQueryQEH : timingHook;
+    }
+
+    /**
+     * Reports a query timing to the current hook. A failing hook never fails the query.
+     *
+     * @param queryName Name of the query.
+     * @param startNanos System.nanoTime() when the query started.
+     * @param rowCount Rows mapped or modified.
+     */
+    private static void reportTimingQEH(String queryName, long startNanos, int rowCount) {
+        try {
+            queryTimingHook.onQueryTimed(queryName, System.nanoTime() - startNanos, rowCount);
+        } catch (RuntimeException e) {
+            System.out.println("Query timing hook failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Default timing hook. Prints queries that take longer than the slow query threshold to the console.
+     *
+     * @param queryName Name of the query.
+     * @param elapsedNanos Time the query took.
+     * @param rowCount Rows mapped or modified.
+     */
+    private static void logSlowQueryQEH(String queryName, long elapsedNanos, int rowCount) {
+        if (elapsedNanos > SLOW_QUERY_NANOS) {
+            System.out.printf("Slow query: %s took %.1f ms for %d rows.%n", queryName, elapsedNanos / 1_000_000.0, rowCount);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package jrl.qam2final.Helper;
+
+/**
+ * Functional interface that receives the timing of every query executed by the QueryExecutorHelper class. Used to log
+ * slow queries or to collect timings while profiling the DAO layer.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+@FunctionalInterface
+public interface QueryTimingHook {
+
+    /**
+     * Called after a query completes, whether it succeeded or failed.
+     *
+     * @param queryName Name of the query, usually the DAO method that issued it.
+     * @param elapsedNanos Time spent borrowing a connection, executing the query, and mapping the rows.
+     * @param rowCount Rows mapped for reads or rows modified for writes.
+     */
+    void onQueryTimed(String queryName, long elapsedNanos, int rowCount);
+}
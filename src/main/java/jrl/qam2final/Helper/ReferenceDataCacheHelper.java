@@ -0,0 +1,240 @@
+package jrl.qam2final.Helper;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import jrl.qam2final.Model.ContactModel;
+import jrl.qam2final.Model.CountryModel;
+import jrl.qam2final.Model.DivisionModel;
+import jrl.qam2final.Model.UserModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A helper class that caches the reference data used by combo boxes: countries, first-level divisions, contacts, and
+ * users. All four tables are read in a single round trip with one UNION ALL query, and the result is kept as an
+ * immutable snapshot of read-only lists. Divisions are also grouped by Country_ID, so choosing a country fills the
+ * division combo box without any I/O. The snapshot is reloaded after TTL_MILLIS or after invalidateRDCH is called.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ReferenceDataCacheHelper {
+
+    /**
+     * One immutable load of the reference data.
+     */
+    private static final class ReferenceSnapshot {
+        private final ObservableList<CountryModel> countries;
+        private final ObservableList<ContactModel> contacts;
+        private final ObservableList<UserModel> users;
+        private final Map<Integer, ObservableList<DivisionModel>> divisionsByCountry;
+        private final Map<Integer, CountryModel> countriesById;
+        private final Map<Integer, DivisionModel> divisionsById;
+        private final long loadedAtMillis;
+
+        /**
+         * Constructor for ReferenceSnapshot objects. The lists and maps passed in must not be changed afterwards.
+         *
+         * @param countries Countries
+         * @param contacts Contacts
+         * @param users Users
+         * @param divisionsByCountry Divisions keyed by Country_ID.
+         * @param countriesById Countries keyed by Country_ID.
+         * @param divisionsById Divisions keyed by Division_ID.
+         */
+        private ReferenceSnapshot(List<CountryModel> countries, List<ContactModel> contacts, List<UserModel> users, Map<Integer, ObservableList<DivisionModel>> divisionsByCountry,
+                                  Map<Integer, CountryModel> countriesById, Map<Integer, DivisionModel> divisionsById) {
+            this.countries = FXCollections.unmodifiableObservableList(FXCollections.observableList(countries));
+            this.contacts = FXCollections.unmodifiableObservableList(FXCollections.observableList(contacts));
+            this.users = FXCollections.unmodifiableObservableList(FXCollections.observableList(users));
+            this.divisionsByCountry = Collections.unmodifiableMap(divisionsByCountry);
+            this.countriesById = Collections.unmodifiableMap(countriesById);
+            this.divisionsById = Collections.unmodifiableMap(divisionsById);
+            this.loadedAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    private static final long TTL_MILLIS = 30 * 60_000;
+    private static final String KIND_COUNTRY = "C";
+    private static final String KIND_DIVISION = "D";
+    private static final String KIND_CONTACT = "O";
+    private static final String KIND_USER = "U";
+    private static final String REFERENCE_SQL =
+            "SELECT 'C', Country_ID, Country, NULL, NULL FROM countries \n" +
+            "UNION ALL \n" +
+            "SELECT 'D', Division_ID, Division, Country_ID, NULL FROM first_level_divisions \n" +
+            "UNION ALL \n" +
+            "SELECT 'O', Contact_ID, Contact_Name, NULL, Email FROM contacts \n" +
+            "UNION ALL \n" +
+            "SELECT 'U', User_ID, User_Name, NULL, Password FROM users";
+    private static volatile ReferenceSnapshot snapshot;
+
+    /**
+     * Returns all countries.
+     *
+     * @return Read-only list of countries.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static ObservableList<CountryModel> readCountriesRDCH() throws SQLException {
+        return currentSnapshotRDCH().countries;
+    }
+
+    /**
+     * Returns the divisions of a country.
+     *
+     * @param counID_IN Country ID
+     * @return Read-only list of the country's divisions, empty for an unknown country.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static ObservableList<DivisionModel> readDivisionsByCountryRDCH(int counID_IN) throws SQLException {
+        ObservableList<DivisionModel> countryDivisions = currentSnapshotRDCH().divisionsByCountry.get(counID_IN);
+        return countryDivisions != null ? countryDivisions : FXCollections.emptyObservableList();
+    }
+
+    /**
+     * Returns all contacts.
+     *
+     * @return Read-only list of contacts.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static ObservableList<ContactModel> readContactsRDCH() throws SQLException {
+        return currentSnapshotRDCH().contacts;
+    }
+
+    /**
+     * Returns all users.
+     *
+     * @return Read-only list of users.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static ObservableList<UserModel> readUsersRDCH() throws SQLException {
+        return currentSnapshotRDCH().users;
+    }
+
+    /**
+     * Finds a country by ID.
+     *
+     * @param counID_IN Country ID
+     * @return The country, or null if there is no country with the ID.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static CountryModel findCountryRDCH(int counID_IN) throws SQLException {
+        return currentSnapshotRDCH().countriesById.get(counID_IN);
+    }
+
+    /**
+     * Finds a division by ID.
+     *
+     * @param diviID_IN Division ID
+     * @return The division, or null if there is no division with the ID.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static DivisionModel findDivisionRDCH(int diviID_IN) throws SQLException {
+        return currentSnapshotRDCH().divisionsById.get(diviID_IN);
+    }
+
+    /**
+     * Returns every division keyed by Division_ID, from one snapshot. Used to join many rows against the same
+     * reference data without looking each one up in the cache.
+     *
+     * @return Read-only map of divisions keyed by Division_ID.
+     * @throws SQLException If the cache has to be loaded and the reference data cannot be read.
+     */
+    public static Map<Integer, DivisionModel> readDivisionsByIdRDCH() throws SQLException {
+        return currentSnapshotRDCH().divisionsById;
+    }
+
+    /**
+     * Loads the snapshot in the background so the first create or update screen opens without waiting for it. A
+     * failure is only printed to the console, since the next read retries the load and reports the error.
+     */
+    public static void preloadRDCH() {
+        AsyncTaskHelper.supplyAsyncATH(() -> {
+            try {
+                return currentSnapshotRDCH();
+            } catch (SQLException e) {
+                System.out.println("SQL Error: " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Discards the cached snapshot so the next read reloads it. Used after reference data is changed.
+     */
+    public static void invalidateRDCH() {
+        snapshot = null;
+    }
+
+    /**
+     * Returns the cached snapshot, loading it first if there is none or it is older than TTL_MILLIS. Only one thread
+     * loads at a time, and readers of a current snapshot never wait.
+     *
+     * @return Current snapshot.
+     * @throws SQLException If the reference data cannot be read.
+     */
+    private static ReferenceSnapshot currentSnapshotRDCH() throws SQLException {
+        ReferenceSnapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAtMillis < TTL_MILLIS) {
+            return current;
+        }
+        synchronized (ReferenceDataCacheHelper.class) {
+            current = snapshot;
+            if (current == null || System.currentTimeMillis() - current.loadedAtMillis >= TTL_MILLIS) {
+                current = loadSnapshotRDCH();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Reads countries, divisions, contacts, and users with one query and builds a snapshot. Division rows only carry
+     * their Country_ID, so country names are filled in once every row has been read.
+     *
+     * @return New snapshot.
+     * @throws SQLException If the reference data cannot be read.
+     */
+    private static ReferenceSnapshot loadSnapshotRDCH() throws SQLException {
+        List<CountryModel> countries = new ArrayList<>();
+        List<ContactModel> contacts = new ArrayList<>();
+        List<UserModel> users = new ArrayList<>();
+        List<int[]> divisionRows = new ArrayList<>();
+        List<String> divisionNames = new ArrayList<>();
+        QueryExecutorHelper.queryForEachQEH("loadReferenceDataRDCH", REFERENCE_SQL, StatementBinder.NO_PARAMETERS, queryReturn -> {
+            String rowKind = queryReturn.getString(1);
+            if (KIND_COUNTRY.equals(rowKind)) {
+                countries.add(new CountryModel(queryReturn.getInt(2), queryReturn.getString(3)));
+            } else if (KIND_DIVISION.equals(rowKind)) {
+                divisionRows.add(new int[]{queryReturn.getInt(2), queryReturn.getInt(4)});
+                divisionNames.add(queryReturn.getString(3));
+            } else if (KIND_CONTACT.equals(rowKind)) {
+                contacts.add(new ContactModel(queryReturn.getInt(2), queryReturn.getString(3), queryReturn.getString(5)));
+            } else if (KIND_USER.equals(rowKind)) {
+                users.add(new UserModel(queryReturn.getInt(2), queryReturn.getString(3), queryReturn.getString(5)));
+            }
+        }, QueryExecutorHelper.DEFAULT_FETCH_SIZE);
+        Map<Integer, CountryModel> countriesById = new HashMap<>();
+        for (CountryModel country : countries) {
+            countriesById.put(country.getCounID_IN(), country);
+        }
+        Map<Integer, List<DivisionModel>> divisionListsByCountry = new HashMap<>();
+        Map<Integer, DivisionModel> divisionsById = new HashMap<>();
+        for (int rowIndex = 0; rowIndex < divisionRows.size(); rowIndex++) {
+            int diviID = divisionRows.get(rowIndex)[0];
+            int counID = divisionRows.get(rowIndex)[1];
+            CountryModel country = countriesById.get(counID);
+            DivisionModel division = new DivisionModel(diviID, counID, divisionNames.get(rowIndex), country != null ? country.getCounN_ST() : null);
+            divisionListsByCountry.computeIfAbsent(counID, id -> new ArrayList<>()).add(division);
+            divisionsById.put(diviID, division);
+        }
+        Map<Integer, ObservableList<DivisionModel>> divisionsByCountry = new HashMap<>();
+        for (Map.Entry<Integer, List<DivisionModel>> countryDivisions : divisionListsByCountry.entrySet()) {
+            divisionsByCountry.put(countryDivisions.getKey(), FXCollections.unmodifiableObservableList(FXCollections.observableList(countryDivisions.getValue())));
+        }
+        return new ReferenceSnapshot(countries, contacts, users, divisionsByCountry, countriesById, divisionsById);
+    }
+}
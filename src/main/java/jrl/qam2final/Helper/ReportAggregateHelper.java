@@ -0,0 +1,95 @@
+package jrl.qam2final.Helper;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A helper class that maintains the report aggregate tables, report_type_monthly, report_contact_monthly, and
+ * report_customer_monthly. Each table holds one appointment count per month key and type, contact, or customer, so
+ * the monthly reports read one row per group instead of grouping the whole appointments table. The appointment and
+ * customer DAOs apply every create, update, and delete to the counts as a delta on the same connection and in the same
+ * transaction as the write, so the counts commit or roll back with it. Deltas are computed by the database from the
+ * appointment rows themselves, keyed by the same Start_Month_Key column the tables were filled from by
+ * report_aggregates.sql. Counts that fall to zero are kept and skipped by the report queries. Appointments written by
+ * other programs are not counted until report_aggregates.sql is run again.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ReportAggregateHelper {
+
+    /**
+     * Appointment IDs applied by each statement of addAppointmentsRAH and subtractAppointmentsRAH.
+     */
+    private static final int AGGREGATE_CHUNK_SIZE = 100;
+    private static final String APPOINTMENT_ID_CONDITION = "Appointment_ID IN (" + String.join(", ", Collections.nCopies(AGGREGATE_CHUNK_SIZE, "?")) + ")";
+    private static final String[][] AGGREGATE_TABLES = {
+            {"report_type_monthly", "Type", "COALESCE(Type, '')"},
+            {"report_contact_monthly", "Contact_ID", "Contact_ID"},
+            {"report_customer_monthly", "Customer_ID", "Customer_ID"}};
+
+    /**
+     * Adds appointments to the counts. Called after the appointments are inserted or updated, in the same transaction.
+     *
+     * @param pooledConnection Connection of the transaction.
+     * @param appointmentIDs IDs of the appointments to count.
+     * @throws SQLException If a count cannot be updated.
+     */
+    public static void addAppointmentsRAH(PooledConnection pooledConnection, List<Integer> appointmentIDs) throws SQLException {
+        applyAppointmentIdsRAH(pooledConnection, appointmentIDs, true);
+    }
+
+    /**
+     * Subtracts appointments from the counts. Called before the appointments are updated or deleted, in the same
+     * transaction, so the counts are taken from the rows as they were.
+     *
+     * @param pooledConnection Connection of the transaction.
+     * @param appointmentIDs IDs of the appointments to stop counting.
+     * @throws SQLException If a count cannot be updated.
+     */
+    public static void subtractAppointmentsRAH(PooledConnection pooledConnection, List<Integer> appointmentIDs) throws SQLException {
+        applyAppointmentIdsRAH(pooledConnection, appointmentIDs, false);
+    }
+
+    /**
+     * Adds or subtracts the appointments matching a condition, once per aggregate table. Used directly when the
+     * appointments are selected by something other than their IDs, such as when a customer is deleted.
+     *
+     * @param pooledConnection Connection of the transaction.
+     * @param appointmentCondition WHERE condition on the appointments table.
+     * @param conditionBinder Binds the parameters of the condition.
+     * @param add True to add the appointments, false to subtract them.
+     * @throws SQLException If a count cannot be updated.
+     */
+    public static void applyDeltaRAH(PooledConnection pooledConnection, String appointmentCondition, StatementBinder conditionBinder, boolean add) throws SQLException {
+        for (String[] aggregateTable : AGGREGATE_TABLES) {
+            String sql = "INSERT INTO " + aggregateTable[0] + " (Report_Month_Key, " + aggregateTable[1] + ", Appointment_Count) \n" +
+                    "SELECT Start_Month_Key, " + aggregateTable[2] + ", " + (add ? "" : "-") + "COUNT(*) \n" +
+                    "FROM appointments \n" +
+                    "WHERE " + appointmentCondition + " \n" +
+                    "GROUP BY Start_Month_Key, " + aggregateTable[2] + " \n" +
+                    "ON DUPLICATE KEY UPDATE Appointment_Count = Appointment_Count + VALUES(Appointment_Count)";
+            QueryExecutorHelper.updateQEH(pooledConnection, "applyDeltaRAH " + aggregateTable[0], sql, conditionBinder);
+        }
+    }
+
+    /**
+     * Adds or subtracts appointments by ID, AGGREGATE_CHUNK_SIZE IDs per statement. The last chunk is padded by
+     * repeating its final ID, so every chunk uses the same cached statements.
+     *
+     * @param pooledConnection Connection of the transaction.
+     * @param appointmentIDs Appointment IDs.
+     * @param add True to add the appointments, false to subtract them.
+     * @throws SQLException If a count cannot be updated.
+     */
+    private static void applyAppointmentIdsRAH(PooledConnection pooledConnection, List<Integer> appointmentIDs, boolean add) throws SQLException {
+        for (int chunkStart = 0; chunkStart < appointmentIDs.size(); chunkStart += AGGREGATE_CHUNK_SIZE) {
+            List<Integer> chunk = appointmentIDs.subList(chunkStart, Math.min(chunkStart + AGGREGATE_CHUNK_SIZE, appointmentIDs.size()));
+            applyDeltaRAH(pooledConnection, APPOINTMENT_ID_CONDITION, aggregateStatement -> {
+                for (int parameterIndex = 1; parameterIndex <= AGGREGATE_CHUNK_SIZE; parameterIndex++) {
+                    aggregateStatement.setInt(parameterIndex, chunk.get(Math.min(parameterIndex, chunk.size()) - 1));
+                }
+            }, add);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A helper class that caches pivot reports built by the ReportEngineHelper class, keyed by their dimensions, period,
+ * subtotal choice, and filter. Reports are built on a small executor of REPORT_THREADS daemon threads, separate from
+ * the DAO executor of the AsyncTaskHelper class, so the monthly reports prefetched when the Reports Main Screen opens
+ * are built concurrently without holding up other screens. The cache holds the future of each report, so a report
+ * requested while it is still being built waits for that build instead of starting another. The appointment and
+ * customer DAOs call invalidateRCH after every committed write that can change a count or a label, and the cache is
+ * discarded after TTL_MILLIS to pick up changes made by other clients. A report still being built when the cache is
+ * invalidated is dropped from the cache, so a count read before a write is never kept after it.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ReportCacheHelper {
+
+    /**
+     * Dimensions of the monthly reports opened from the Reports Main Screen, which prefetchMonthlyReportsRCH builds.
+     */
+    public static final List<ReportDimension> MONTHLY_REPORT_DIMENSIONS = List.of(ReportDimension.TYPE, ReportDimension.CONTACT, ReportDimension.CUSTOMER);
+
+    private static final long TTL_MILLIS = 5 * 60_000;
+    private static final int REPORT_THREADS = 3;
+    private static final AtomicInteger reportWorkerCount = new AtomicInteger();
+    private static final ExecutorService reportExecutor = Executors.newFixedThreadPool(REPORT_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "report-worker-" + reportWorkerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<List<Object>, CompletableFuture<ReportPivotModel>> reportsByKey = new HashMap<>();
+    private static long cachedAtMillis;
+
+    /**
+     * Returns a pivot report from the cache, building it on the report executor if it is not cached. Waits
+     * for a build already in progress. A failed build is removed from the cache, so the next read tries again.
+     *
+     * @param dimensions Dimensions to group by, in column order.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count.
+     * @return The report.
+     * @throws SQLException If the report query fails.
+     * @throws CancellationException If the calling thread is interrupted while waiting for the report.
+     * @throws IllegalArgumentException If a dimension is listed twice.
+     */
+    public static ReportPivotModel readReportRCH(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals,
+                                                 AppointmentFilterModel appointmentFilter) throws SQLException {
+        CompletableFuture<ReportPivotModel> reportFuture = cachedReportRCH(dimensions, timeGrain, includeSubtotals, appointmentFilter);
+        try {
+            return reportFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the report.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Starts building the unfiltered appointments by type, contact, and customer by month reports concurrently, unless
+     * they are already cached or being built, and returns without waiting. Failures are printed to the console only;
+     * the report is built again, and the error shown, when it is opened.
+     */
+    public static void prefetchMonthlyReportsRCH() {
+        for (ReportDimension dimension : MONTHLY_REPORT_DIMENSIONS) {
+            cachedReportRCH(List.of(dimension), ReportTimeGrain.MONTH, false, AppointmentFilterModel.ALL_APPOINTMENTS).whenComplete((pivotReport, failure) -> {
+                if (failure != null) {
+                    System.out.println("Report prefetch failed: " + failure.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Discards every cached report, so the next read rebuilds it from the database. Reports still being built are
+     * left to finish but are no longer returned from the cache.
+     */
+    public static synchronized void invalidateRCH() {
+        reportsByKey.clear();
+    }
+
+    /**
+     * Returns the cached future of a report, submitting a build to the report executor if the report is not cached.
+     * The whole cache is discarded first if it has expired.
+     *
+     * @param dimensions Dimensions to group by, in column order.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count.
+     * @return Future completed with the report.
+     */
+    private static synchronized CompletableFuture<ReportPivotModel> cachedReportRCH(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals,
+                                                                                    AppointmentFilterModel appointmentFilter) {
+        if (System.currentTimeMillis() - cachedAtMillis >= TTL_MILLIS) {
+            reportsByKey.clear();
+        }
+        if (reportsByKey.isEmpty()) {
+            cachedAtMillis = System.currentTimeMillis();
+        }
+        List<ReportDimension> reportDimensions = List.copyOf(dimensions);
+        List<Object> reportKey = List.of(reportDimensions, timeGrain, includeSubtotals, appointmentFilter);
+        CompletableFuture<ReportPivotModel> reportFuture = reportsByKey.get(reportKey);
+        if (reportFuture == null) {
+            reportFuture = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ReportEngineHelper.buildReportREH(reportDimensions, timeGrain, includeSubtotals, appointmentFilter);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, reportExecutor);
+            reportsByKey.put(reportKey, reportFuture);
+            CompletableFuture<ReportPivotModel> builtFuture = reportFuture;
+            builtFuture.whenComplete((pivotReport, failure) -> {
+                if (failure != null) {
+                    removeReportRCH(reportKey, builtFuture);
+                }
+            });
+        }
+        return reportFuture;
+    }
+
+    /**
+     * Removes a failed report build from the cache, unless the cache has since been invalidated and the report is
+     * being built again.
+     *
+     * @param reportKey Key of the report.
+     * @param failedFuture Future of the failed build.
+     */
+    private static synchronized void removeReportRCH(List<Object> reportKey, CompletableFuture<ReportPivotModel> failedFuture) {
+        reportsByKey.remove(reportKey, failedFuture);
+    }
+}
@@ -0,0 +1,162 @@
+package jrl.qam2final.Helper;
+
+import java.util.List;
+
+/**
+ * The attributes appointments can be grouped by in a report built by the ReportEngineHelper class. Each dimension
+ * groups by a key expression, shows a label expression, and names the joins from the appointments table, aliased a,
+ * that both expressions need. Keys are IDs where the label is a name, so two customers with the same name are still
+ * counted apart. TYPE, CONTACT, and CUSTOMER also name the report aggregate table that counts them by month, and the
+ * column a report can be filtered on, which has the same name in the appointments table and in that aggregate table.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public enum ReportDimension {
+    TYPE("Type", "COALESCE(a.Type, '')", "COALESCE(a.Type, '')", List.of(),
+            "report_type_monthly", "r.Type", "r.Type", "", "Type"),
+    CONTACT("Contact", "a.Contact_ID", "co.Contact_Name", List.of(ReportDimension.CONTACTS_JOIN),
+            "report_contact_monthly", "r.Contact_ID", "co.Contact_Name", "JOIN contacts co ON r.Contact_ID = co.Contact_ID", "Contact_ID"),
+    CUSTOMER("Customer", "a.Customer_ID", "cu.Customer_Name", List.of(ReportDimension.CUSTOMERS_JOIN),
+            "report_customer_monthly", "r.Customer_ID", "cu.Customer_Name", "JOIN customers cu ON r.Customer_ID = cu.Customer_ID", "Customer_ID"),
+    USER("User", "a.User_ID", "u.User_Name", List.of(ReportDimension.USERS_JOIN),
+            null, null, null, null, null),
+    LOCATION("Location", "COALESCE(a.Location, '')", "COALESCE(a.Location, '')", List.of(),
+            null, null, null, null, null),
+    DIVISION("Division", "d.Division_ID", "d.Division", List.of(ReportDimension.CUSTOMERS_JOIN, ReportDimension.DIVISIONS_JOIN),
+            null, null, null, null, null),
+    COUNTRY("Country", "ct.Country_ID", "ct.Country", List.of(ReportDimension.CUSTOMERS_JOIN, ReportDimension.DIVISIONS_JOIN, ReportDimension.COUNTRIES_JOIN),
+            null, null, null, null, null);
+
+    private static final String CONTACTS_JOIN = "JOIN contacts co ON a.Contact_ID = co.Contact_ID";
+    private static final String CUSTOMERS_JOIN = "JOIN customers cu ON a.Customer_ID = cu.Customer_ID";
+    private static final String USERS_JOIN = "JOIN users u ON a.User_ID = u.User_ID";
+    private static final String DIVISIONS_JOIN = "JOIN first_level_divisions d ON cu.Division_ID = d.Division_ID";
+    private static final String COUNTRIES_JOIN = "JOIN countries ct ON d.Country_ID = ct.Country_ID";
+
+    private final String columnName;
+    private final String keyExpression;
+    private final String labelExpression;
+    private final List<String> joinClauses;
+    private final String aggregateTable;
+    private final String aggregateKeyExpression;
+    private final String aggregateLabelExpression;
+    private final String aggregateJoinClause;
+    private final String filterColumn;
+
+    /**
+     * Constructor for ReportDimension constants.
+     *
+     * @param columnName Report column heading.
+     * @param keyExpression Expression grouped by when scanning the appointments table.
+     * @param labelExpression Expression shown when scanning the appointments table.
+     * @param joinClauses Joins the expressions need, each after the joins it depends on.
+     * @param aggregateTable Report aggregate table counting the dimension by month, or null if there is none.
+     * @param aggregateKeyExpression Expression grouped by when reading the aggregate table, aliased r.
+     * @param aggregateLabelExpression Expression shown when reading the aggregate table.
+     * @param aggregateJoinClause Join the aggregate label needs, or an empty string.
+     * @param filterColumn Unqualified column a report filter compares, or null if reports are not filtered on it.
+     */
+    ReportDimension(String columnName, String keyExpression, String labelExpression, List<String> joinClauses,
+                    String aggregateTable, String aggregateKeyExpression, String aggregateLabelExpression, String aggregateJoinClause, String filterColumn) {
+        this.columnName = columnName;
+        this.keyExpression = keyExpression;
+        this.labelExpression = labelExpression;
+        this.joinClauses = joinClauses;
+        this.aggregateTable = aggregateTable;
+        this.aggregateKeyExpression = aggregateKeyExpression;
+        this.aggregateLabelExpression = aggregateLabelExpression;
+        this.aggregateJoinClause = aggregateJoinClause;
+        this.filterColumn = filterColumn;
+    }
+
+    /**
+     * Getter for columnName.
+     *
+     * @return columnName Report column heading.
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Getter for keyExpression.
+     *
+     * @return keyExpression Expression grouped by when scanning the appointments table.
+     */
+    public String getKeyExpression() {
+        return keyExpression;
+    }
+
+    /**
+     * Getter for labelExpression.
+     *
+     * @return labelExpression Expression shown when scanning the appointments table.
+     */
+    public String getLabelExpression() {
+        return labelExpression;
+    }
+
+    /**
+     * Getter for joinClauses.
+     *
+     * @return joinClauses Joins the expressions need, each after the joins it depends on.
+     */
+    public List<String> getJoinClauses() {
+        return joinClauses;
+    }
+
+    /**
+     * Getter for aggregateTable.
+     *
+     * @return aggregateTable Report aggregate table counting the dimension by month, or null if there is none.
+     */
+    public String getAggregateTable() {
+        return aggregateTable;
+    }
+
+    /**
+     * Getter for aggregateKeyExpression.
+     *
+     * @return aggregateKeyExpression Expression grouped by when reading the aggregate table.
+     */
+    public String getAggregateKeyExpression() {
+        return aggregateKeyExpression;
+    }
+
+    /**
+     * Getter for aggregateLabelExpression.
+     *
+     * @return aggregateLabelExpression Expression shown when reading the aggregate table.
+     */
+    public String getAggregateLabelExpression() {
+        return aggregateLabelExpression;
+    }
+
+    /**
+     * Getter for aggregateJoinClause.
+     *
+     * @return aggregateJoinClause Join the aggregate label needs, or an empty string.
+     */
+    public String getAggregateJoinClause() {
+        return aggregateJoinClause;
+    }
+
+    /**
+     * Getter for filterColumn.
+     *
+     * @return filterColumn Unqualified column a report filter compares, or null if reports are not filtered on it.
+     */
+    public String getFilterColumn() {
+        return filterColumn;
+    }
+
+    /**
+     * Returns the column heading, so the dimensions read well in a ComboBox.
+     *
+     * @return Report column heading.
+     */
+    @Override
+    public String toString() {
+        return columnName;
+    }
+}
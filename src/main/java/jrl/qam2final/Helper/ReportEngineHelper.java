@@ -0,0 +1,391 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import jrl.qam2final.Model.ReportPivotRowModel;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A helper class that builds pivot reports of appointment counts, grouped by any list of ReportDimension values and
+ * counted per ReportTimeGrain period, optionally filtered by an AppointmentFilterModel. Every report is read with one
+ * grouped query, with the filter in its WHERE clause. A report by month, quarter, or year over at most one dimension
+ * that has a report aggregate table reads that table, one row per month and group, provided its range covers whole
+ * months and it is filtered on no other dimension. Every other report scans the appointments table once, grouped by day
+ * for days and weeks or by month otherwise, and the rows are rolled up into periods as they arrive. Months are grouped
+ * by the integer month key, year * 100 + month, of the indexed Start_Month_Key column and the aggregate tables, never
+ * by month name or formatted date, and are named only when the report rows are built. Subtotals for each leading run of
+ * dimensions, and a grand total, are added from the grouped rows rather than queried again.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ReportEngineHelper {
+
+    /**
+     * Label of the first blank column of a subtotal row, and of the year column of the grand total row.
+     */
+    public static final String TOTAL_LABEL = "Total";
+
+    /**
+     * Report column heading of the year.
+     */
+    public static final String YEAR_COLUMN_NAME = "Year";
+
+    /**
+     * Builds a pivot report. The label columns are the year, the period within the year unless the grain is YEAR, and
+     * one column per dimension, in the order given. Rows are sorted by period and then by each label, with subtotal
+     * rows after the rows they total and the grand total last. Only appointments matching the filter are counted; the
+     * filter is pushed into the WHERE clause of the report query, as a range on Start and equality on Customer_ID,
+     * Contact_ID, and Type, so an index narrows the rows read.
+     *
+     * @param dimensions Dimensions to group by, in column order. May be empty to count appointments per period only.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to add subtotal rows and a grand total row.
+     * @param appointmentFilter Appointments to count, or AppointmentFilterModel.ALL_APPOINTMENTS.
+     * @return The report.
+     * @throws SQLException If the report query fails.
+     * @throws IllegalArgumentException If a dimension is listed twice.
+     */
+    public static ReportPivotModel buildReportREH(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals,
+                                                  AppointmentFilterModel appointmentFilter) throws SQLException {
+        if (new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new IllegalArgumentException("Each report dimension can only be chosen once.");
+        }
+        Map<ReportDimension, Object> filterValues = filterValuesREH(appointmentFilter);
+        ReportDimension aggregateDimension = aggregateDimensionREH(dimensions, timeGrain, appointmentFilter, filterValues.keySet());
+        boolean groupsByMonth = timeGrain.isMonthAligned();
+        int dimensionCount = dimensions.size();
+        List<Object> queryParameters = new ArrayList<>();
+        String sql = aggregateDimension != null
+                ? aggregateSqlREH(dimensions, aggregateDimension, appointmentFilter, filterValues, queryParameters)
+                : scanSqlREH(dimensions, groupsByMonth, appointmentFilter, filterValues, queryParameters);
+        Map<List<Object>, PivotGroup> pivotGroups = new HashMap<>();
+        QueryExecutorHelper.queryForEachQEH("buildReportREH", sql, reportStatement -> {
+                    for (int parameterIndex = 0; parameterIndex < queryParameters.size(); parameterIndex++) {
+                        reportStatement.setObject(parameterIndex + 1, queryParameters.get(parameterIndex));
+                    }
+                }, queryReturn -> {
+                    LocalDate periodStart = timeGrain.periodStartRTG(groupsByMonth
+                            ? monthKeyStartREH(queryReturn.getInt(1))
+                            : queryReturn.getDate(1).toLocalDate());
+                    Object[] dimensionKeys = new Object[dimensionCount];
+                    String[] dimensionLabels = new String[dimensionCount];
+                    for (int dimensionIndex = 0; dimensionIndex < dimensionCount; dimensionIndex++) {
+                        dimensionKeys[dimensionIndex] = queryReturn.getObject(2 * dimensionIndex + 2);
+                        dimensionLabels[dimensionIndex] = queryReturn.getString(2 * dimensionIndex + 3);
+                    }
+                    int groupCount = queryReturn.getInt(2 * dimensionCount + 2);
+                    addToGroupREH(pivotGroups, periodStart, dimensionKeys, dimensionLabels, dimensionCount, groupCount);
+                    if (includeSubtotals) {
+                        for (int subtotalDepth = dimensionCount - 1; subtotalDepth >= 0; subtotalDepth--) {
+                            addToGroupREH(pivotGroups, periodStart, dimensionKeys, dimensionLabels, subtotalDepth, groupCount);
+                        }
+                        addToGroupREH(pivotGroups, null, dimensionKeys, dimensionLabels, -1, groupCount);
+                    }
+                }, QueryExecutorHelper.STREAMING_FETCH_SIZE);
+        List<PivotGroup> sortedGroups = new ArrayList<>(pivotGroups.values());
+        sortedGroups.sort(pivotGroupComparatorREH(dimensionCount));
+        List<ReportPivotRowModel> pivotRows = new ArrayList<>(sortedGroups.size());
+        for (PivotGroup pivotGroup : sortedGroups) {
+            pivotRows.add(pivotGroup.toRowModel(timeGrain, dimensionCount));
+        }
+        return new ReportPivotModel(columnNamesREH(dimensions, timeGrain), pivotRows);
+    }
+
+    /**
+     * Returns the label column headings of a report, so a caller can lay out an empty report.
+     *
+     * @param dimensions Dimensions grouped by, in column order.
+     * @param timeGrain Period counted by.
+     * @return Year, the period column unless the grain is YEAR, and one heading per dimension.
+     */
+    public static List<String> columnNamesREH(List<ReportDimension> dimensions, ReportTimeGrain timeGrain) {
+        List<String> columnNames = new ArrayList<>(dimensions.size() + 2);
+        columnNames.add(YEAR_COLUMN_NAME);
+        if (timeGrain.getPeriodColumnName() != null) {
+            columnNames.add(timeGrain.getPeriodColumnName());
+        }
+        for (ReportDimension dimension : dimensions) {
+            columnNames.add(dimension.getColumnName());
+        }
+        return columnNames;
+    }
+
+    /**
+     * Builds the query that groups the appointments table. Each dimension adds a key column and a label column, and the
+     * joins of every dimension are added once, in the order the dimensions need them. The filter compares the Start,
+     * Customer_ID, Contact_ID, and Type columns directly, never through an expression, so the range and equality
+     * conditions can use the Start index and the customer, contact, and type indexes.
+     *
+     * @param dimensions Dimensions to group by.
+     * @param groupsByMonth True to group by month key, false to group by day.
+     * @param appointmentFilter Appointments to count.
+     * @param filterValues Filtered dimensions and the value each must equal.
+     * @param queryParameters Receives the values of the query's parameters, in order.
+     * @return SQL selecting the period, each dimension's key and label, and the appointment count.
+     */
+    private static String scanSqlREH(List<ReportDimension> dimensions, boolean groupsByMonth, AppointmentFilterModel appointmentFilter,
+                                     Map<ReportDimension, Object> filterValues, List<Object> queryParameters) {
+        Set<String> joinClauses = new LinkedHashSet<>();
+        StringBuilder groupColumns = new StringBuilder(groupsByMonth ? "a.Start_Month_Key" : "CAST(a.Start AS DATE)");
+        for (ReportDimension dimension : dimensions) {
+            joinClauses.addAll(dimension.getJoinClauses());
+            groupColumns.append(", ").append(dimension.getKeyExpression()).append(", ").append(dimension.getLabelExpression());
+        }
+        List<String> conditions = new ArrayList<>();
+        if (appointmentFilter.getRangeStart_LDT() != null) {
+            conditions.add("a.Start >= ?");
+            queryParameters.add(Timestamp.valueOf(appointmentFilter.getRangeStart_LDT()));
+        }
+        if (appointmentFilter.getRangeEnd_LDT() != null) {
+            conditions.add("a.Start < ?");
+            queryParameters.add(Timestamp.valueOf(appointmentFilter.getRangeEnd_LDT()));
+        }
+        for (Map.Entry<ReportDimension, Object> filterValue : filterValues.entrySet()) {
+            conditions.add("a." + filterValue.getKey().getFilterColumn() + " = ?");
+            queryParameters.add(filterValue.getValue());
+        }
+        return "SELECT " + groupColumns + ", COUNT(*) \n" +
+                "FROM appointments a " + String.join(" ", joinClauses) + " \n" +
+                (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " \n") +
+                "GROUP BY " + groupColumns;
+    }
+
+    /**
+     * Builds the query that reads a report aggregate table. Without a dimension the counts of the aggregate dimension
+     * are summed per month. The range is compared to the month key, which leads the table's primary key.
+     *
+     * @param dimensions No dimensions, or the aggregate dimension alone.
+     * @param aggregateDimension Dimension whose report aggregate table is read.
+     * @param appointmentFilter Appointments to count, with a range of whole months.
+     * @param filterValues Filtered dimensions and the value each must equal; only the aggregate dimension.
+     * @param queryParameters Receives the values of the query's parameters, in order.
+     * @return SQL selecting the month key, the dimension's key and label, and the appointment count.
+     */
+    private static String aggregateSqlREH(List<ReportDimension> dimensions, ReportDimension aggregateDimension, AppointmentFilterModel appointmentFilter,
+                                          Map<ReportDimension, Object> filterValues, List<Object> queryParameters) {
+        StringBuilder groupColumns = new StringBuilder("r.Report_Month_Key");
+        String joinClause = "";
+        if (!dimensions.isEmpty()) {
+            joinClause = aggregateDimension.getAggregateJoinClause();
+            groupColumns.append(", ").append(aggregateDimension.getAggregateKeyExpression()).append(", ").append(aggregateDimension.getAggregateLabelExpression());
+        }
+        List<String> conditions = new ArrayList<>();
+        conditions.add("r.Appointment_Count > 0");
+        if (appointmentFilter.getRangeStart_LDT() != null) {
+            conditions.add("r.Report_Month_Key >= ?");
+            queryParameters.add(monthKeyREH(appointmentFilter.getRangeStart_LDT()));
+        }
+        if (appointmentFilter.getRangeEnd_LDT() != null) {
+            conditions.add("r.Report_Month_Key < ?");
+            queryParameters.add(monthKeyREH(appointmentFilter.getRangeEnd_LDT()));
+        }
+        for (Map.Entry<ReportDimension, Object> filterValue : filterValues.entrySet()) {
+            conditions.add("r." + filterValue.getKey().getFilterColumn() + " = ?");
+            queryParameters.add(filterValue.getValue());
+        }
+        return "SELECT " + groupColumns + ", SUM(r.Appointment_Count) \n" +
+                "FROM " + aggregateDimension.getAggregateTable() + " r " + joinClause + " \n" +
+                "WHERE " + String.join(" AND ", conditions) + " \n" +
+                "GROUP BY " + groupColumns;
+    }
+
+    /**
+     * Chooses the report aggregate table a report can be read from. The table must hold every count the report needs:
+     * the grain must be a month or longer, the range must start and end on the first of a month, there must be no
+     * dimension or only the table's own dimension, and the filter may only compare that dimension. Without a dimension
+     * the type table is read, or the table of the single filtered dimension.
+     *
+     * @param dimensions Dimensions to group by.
+     * @param timeGrain Period to count by.
+     * @param appointmentFilter Appointments to count.
+     * @param filteredDimensions Dimensions the filter compares.
+     * @return Dimension whose aggregate table to read, or null to scan the appointments table.
+     */
+    private static ReportDimension aggregateDimensionREH(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, AppointmentFilterModel appointmentFilter,
+                                                         Set<ReportDimension> filteredDimensions) {
+        if (!timeGrain.isMonthAligned() || dimensions.size() > 1
+                || !isMonthStartREH(appointmentFilter.getRangeStart_LDT()) || !isMonthStartREH(appointmentFilter.getRangeEnd_LDT())) {
+            return null;
+        }
+        ReportDimension aggregateDimension = !dimensions.isEmpty() ? dimensions.get(0)
+                : filteredDimensions.isEmpty() ? ReportDimension.TYPE : filteredDimensions.iterator().next();
+        if (aggregateDimension.getAggregateTable() == null) {
+            return null;
+        }
+        for (ReportDimension filteredDimension : filteredDimensions) {
+            if (filteredDimension != aggregateDimension) {
+                return null;
+            }
+        }
+        return aggregateDimension;
+    }
+
+    /**
+     * Lists the dimensions a filter compares, in TYPE, CONTACT, CUSTOMER order, with the value each must equal.
+     *
+     * @param appointmentFilter Appointments to count.
+     * @return Filtered dimensions and their values.
+     */
+    private static Map<ReportDimension, Object> filterValuesREH(AppointmentFilterModel appointmentFilter) {
+        Map<ReportDimension, Object> filterValues = new EnumMap<>(ReportDimension.class);
+        if (appointmentFilter.getType_ST() != null) {
+            filterValues.put(ReportDimension.TYPE, appointmentFilter.getType_ST());
+        }
+        if (appointmentFilter.getContactID_IN() != AppointmentFilterModel.ANY_ID) {
+            filterValues.put(ReportDimension.CONTACT, appointmentFilter.getContactID_IN());
+        }
+        if (appointmentFilter.getCustomerID_IN() != AppointmentFilterModel.ANY_ID) {
+            filterValues.put(ReportDimension.CUSTOMER, appointmentFilter.getCustomerID_IN());
+        }
+        return filterValues;
+    }
+
+    /**
+     * Checks whether a range bound falls on a month boundary, so the range covers whole months of the aggregate tables.
+     *
+     * @param rangeBound Range bound, or null for an open side.
+     * @return True if the bound is null or midnight on the first of a month, otherwise false.
+     */
+    private static boolean isMonthStartREH(LocalDateTime rangeBound) {
+        return rangeBound == null || rangeBound.getDayOfMonth() == 1 && rangeBound.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * Returns the month key of a date and time.
+     *
+     * @param dateTime Any date and time.
+     * @return Month key, year * 100 + month.
+     */
+    private static int monthKeyREH(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
+
+    /**
+     * Returns the first day of the month a month key stands for.
+     *
+     * @param monthKey Month key, year * 100 + month, such as 202403 for March 2024.
+     * @return First day of the month.
+     */
+    private static LocalDate monthKeyStartREH(int monthKey) {
+        return LocalDate.of(monthKey / 100, monthKey % 100, 1);
+    }
+
+    /**
+     * Adds a grouped row's count to the report row it belongs to at a depth, creating the report row the first time.
+     *
+     * @param pivotGroups Report rows by period and leading dimension keys.
+     * @param periodStart First day of the period, or null for the grand total.
+     * @param dimensionKeys Dimension keys of the grouped row.
+     * @param dimensionLabels Dimension labels of the grouped row.
+     * @param depth Number of leading dimensions kept. The dimension count for a detail row, -1 for the grand total.
+     * @param groupCount Appointment count of the grouped row.
+     */
+    private static void addToGroupREH(Map<List<Object>, PivotGroup> pivotGroups, LocalDate periodStart, Object[] dimensionKeys, String[] dimensionLabels,
+                                      int depth, int groupCount) {
+        List<Object> groupKey = new ArrayList<>(Math.max(depth, 0) + 2);
+        groupKey.add(depth);
+        groupKey.add(periodStart);
+        groupKey.addAll(Arrays.asList(dimensionKeys).subList(0, Math.max(depth, 0)));
+        pivotGroups.computeIfAbsent(groupKey, newKey -> new PivotGroup(periodStart, Arrays.copyOf(dimensionLabels, Math.max(depth, 0)), depth)).count += groupCount;
+    }
+
+    /**
+     * Orders report rows by period, then by each dimension label, with subtotal rows after the rows they total and the
+     * grand total last.
+     *
+     * @param dimensionCount Number of dimensions grouped by.
+     * @return Comparator of report rows.
+     */
+    private static Comparator<PivotGroup> pivotGroupComparatorREH(int dimensionCount) {
+        return (first, second) -> {
+            if (first.periodStart == null || second.periodStart == null) {
+                return Boolean.compare(first.periodStart == null, second.periodStart == null);
+            }
+            int periodOrder = first.periodStart.compareTo(second.periodStart);
+            if (periodOrder != 0) {
+                return periodOrder;
+            }
+            for (int dimensionIndex = 0; dimensionIndex < dimensionCount; dimensionIndex++) {
+                boolean firstTotalled = first.depth <= dimensionIndex;
+                boolean secondTotalled = second.depth <= dimensionIndex;
+                if (firstTotalled || secondTotalled) {
+                    return Boolean.compare(firstTotalled, secondTotalled);
+                }
+                int labelOrder = String.valueOf(first.labels[dimensionIndex]).compareTo(String.valueOf(second.labels[dimensionIndex]));
+                if (labelOrder != 0) {
+                    return labelOrder;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * One row of a report while it is being counted.
+     */
+    private static final class PivotGroup {
+
+        private final LocalDate periodStart;
+        private final String[] labels;
+        private final int depth;
+        private int count;
+
+        /**
+         * Constructor for PivotGroup objects.
+         *
+         * @param periodStart First day of the period, or null for the grand total.
+         * @param labels Labels of the leading dimensions kept.
+         * @param depth Number of leading dimensions kept, or -1 for the grand total.
+         */
+        private PivotGroup(LocalDate periodStart, String[] labels, int depth) {
+            this.periodStart = periodStart;
+            this.labels = labels;
+            this.depth = depth;
+        }
+
+        /**
+         * Converts the row to its model, blanking the columns it totals.
+         *
+         * @param timeGrain Period counted by.
+         * @param dimensionCount Number of dimensions grouped by.
+         * @return The report row.
+         */
+        private ReportPivotRowModel toRowModel(ReportTimeGrain timeGrain, int dimensionCount) {
+            List<String> rowLabels = new ArrayList<>(dimensionCount + 2);
+            boolean hasPeriodColumn = timeGrain.getPeriodColumnName() != null;
+            if (periodStart == null) {
+                rowLabels.add(TOTAL_LABEL);
+                if (hasPeriodColumn) {
+                    rowLabels.add("");
+                }
+            } else {
+                rowLabels.add(String.valueOf(timeGrain.periodYearRTG(periodStart)));
+                if (hasPeriodColumn) {
+                    rowLabels.add(timeGrain.periodLabelRTG(periodStart));
+                }
+            }
+            for (int dimensionIndex = 0; dimensionIndex < dimensionCount; dimensionIndex++) {
+                if (dimensionIndex < depth) {
+                    rowLabels.add(labels[dimensionIndex] != null ? labels[dimensionIndex] : "");
+                } else {
+                    rowLabels.add(dimensionIndex == depth ? TOTAL_LABEL : "");
+                }
+            }
+            return new ReportPivotRowModel(rowLabels, count, depth < dimensionCount);
+        }
+    }
+}
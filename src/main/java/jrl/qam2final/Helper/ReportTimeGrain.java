@@ -0,0 +1,120 @@
+package jrl.qam2final.Helper;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The periods appointments can be counted by in a report built by the ReportEngineHelper class. Each period is
+ * identified by the date it starts on. Weeks are ISO weeks, starting on Monday and numbered within their week-based
+ * year, so the last days of December can belong to week 1 of the next year. Grains of a month or longer can be counted
+ * from the report aggregate tables, which hold one count per month.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public enum ReportTimeGrain {
+    DAY("Day", "Date", false),
+    WEEK("Week", "Week", false),
+    MONTH("Month", "Month", true),
+    QUARTER("Quarter", "Quarter", true),
+    YEAR("Year", null, true);
+
+    private final String displayName;
+    private final String periodColumnName;
+    private final boolean monthAligned;
+
+    /**
+     * Constructor for ReportTimeGrain constants.
+     *
+     * @param displayName Name shown to the user.
+     * @param periodColumnName Report column heading of the period within its year, or null if the year is the period.
+     * @param monthAligned True if every period starts on the first day of a month.
+     */
+    ReportTimeGrain(String displayName, String periodColumnName, boolean monthAligned) {
+        this.displayName = displayName;
+        this.periodColumnName = periodColumnName;
+        this.monthAligned = monthAligned;
+    }
+
+    /**
+     * Getter for periodColumnName.
+     *
+     * @return periodColumnName Report column heading of the period within its year, or null if the year is the period.
+     */
+    public String getPeriodColumnName() {
+        return periodColumnName;
+    }
+
+    /**
+     * Getter for monthAligned.
+     *
+     * @return monthAligned True if every period starts on the first day of a month, so counts by month can be used.
+     */
+    public boolean isMonthAligned() {
+        return monthAligned;
+    }
+
+    /**
+     * Returns the first day of the period containing a date.
+     *
+     * @param date Any date.
+     * @return First day of the date's period.
+     */
+    public LocalDate periodStartRTG(LocalDate date) {
+        switch (this) {
+            case DAY:
+                return date;
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            case QUARTER:
+                return LocalDate.of(date.getYear(), (date.get(IsoFields.QUARTER_OF_YEAR) - 1) * 3 + 1, 1);
+            default:
+                return LocalDate.of(date.getYear(), 1, 1);
+        }
+    }
+
+    /**
+     * Returns the year a period is reported under. Weeks are reported under their week-based year.
+     *
+     * @param periodStart First day of the period.
+     * @return Year of the period.
+     */
+    public int periodYearRTG(LocalDate periodStart) {
+        return this == WEEK ? periodStart.get(IsoFields.WEEK_BASED_YEAR) : periodStart.getYear();
+    }
+
+    /**
+     * Names a period within its year, such as "2024-03-05", "W10", "March", or "Q1". Month names are in the language
+     * of the TranslationManagerHelper class.
+     *
+     * @param periodStart First day of the period.
+     * @return Period name, or an empty string for YEAR.
+     */
+    public String periodLabelRTG(LocalDate periodStart) {
+        switch (this) {
+            case DAY:
+                return periodStart.toString();
+            case WEEK:
+                return String.format("W%02d", periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH:
+                return TranslationManagerHelper.getMonthName(periodStart.getMonth());
+            case QUARTER:
+                return "Q" + periodStart.get(IsoFields.QUARTER_OF_YEAR);
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Returns the name shown to the user, so the grains read well in a ComboBox.
+     *
+     * @return displayName Name shown to the user.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
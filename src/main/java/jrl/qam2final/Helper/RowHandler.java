@@ -0,0 +1,23 @@
+package jrl.qam2final.Helper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Functional interface that consumes the current row of a ResultSet without collecting it. Used with
+ * QueryExecutorHelper.queryForEachQEH when rows are folded into another structure as they arrive, so the full result
+ * is never held in a list.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * Handles the current row of the ResultSet. Implementations must not advance or close the ResultSet.
+     *
+     * @param queryReturn ResultSet positioned on the row to handle.
+     * @throws SQLException If a column cannot be read.
+     */
+    void handleRow(ResultSet queryReturn) throws SQLException;
+}
@@ -0,0 +1,25 @@
+package jrl.qam2final.Helper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Functional interface that converts the current row of a ResultSet into a model object. Mappers used with the
+ * QueryExecutorHelper class read columns by index, so the SELECT list of the query must match the order the mapper
+ * expects.
+ *
+ * @param <T> Model type produced for each row.
+ * @author Jeffrey Robert Lynch
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row of the ResultSet. Implementations must not advance or close the ResultSet.
+     *
+     * @param queryReturn ResultSet positioned on the row to map.
+     * @return Model object for the row.
+     * @throws SQLException If a column cannot be read.
+     */
+    T mapRow(ResultSet queryReturn) throws SQLException;
+}
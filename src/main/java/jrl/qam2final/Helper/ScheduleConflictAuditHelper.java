@@ -0,0 +1,219 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.ScheduleConflictModel;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * A helper class that audits the whole appointments table for double-booked customers, contacts, and users in a single
+ * pass. Appointments are streamed from the database in start order and a sweep line is run per resource: each
+ * customer, contact, and user keeps only the appointments still in progress at the current start, held in a queue
+ * ordered by end. A new appointment conflicts with every appointment still in progress for any of its resources.
+ * Finished appointments are dropped as the sweep moves on, so memory grows with the number of appointments in
+ * progress at the same time rather than with the size of the table. Conflicts are handed to a callback as they are
+ * found and are never collected by this class.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ScheduleConflictAuditHelper {
+
+    /**
+     * An appointment that is still in progress for one resource.
+     */
+    private static final class ActiveAppointment {
+        private final int appID;
+        private final long end;
+
+        /**
+         * Constructor for ActiveAppointment objects.
+         *
+         * @param appID Appointment ID
+         * @param end End in epoch seconds.
+         */
+        private ActiveAppointment(int appID, long end) {
+            this.appID = appID;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The sweep state for one kind of resource, keyed by customer, contact, or user ID.
+     */
+    private static final class ResourceSweep {
+        private final String resourceLabel;
+        private final Map<Integer, PriorityQueue<ActiveAppointment>> activeByResource = new HashMap<>();
+
+        /**
+         * Constructor for ResourceSweep objects.
+         *
+         * @param resourceLabel Name of the resource used in the conflict report.
+         */
+        private ResourceSweep(String resourceLabel) {
+            this.resourceLabel = resourceLabel;
+        }
+    }
+
+    private static final String AUDIT_SQL = "SELECT Appointment_ID, Customer_ID, User_ID, Contact_ID, Start, End FROM appointments ORDER BY Start, Appointment_ID";
+    private static final String REPORT_HEADER = "Resource,Resource_ID,First_Appointment_ID,Second_Appointment_ID,Overlap_Start,Overlap_End";
+    private static final Comparator<ActiveAppointment> BY_END = Comparator.comparingLong(activeAppointment -> activeAppointment.end);
+    private static final int PRUNE_INTERVAL_ROWS = 10_000;
+
+    /**
+     * Streams every appointment in start order and reports each pair of appointments that overlap for the same
+     * customer, contact, or user. A pair that shares more than one resource is reported once per shared resource.
+     *
+     * @param conflictHandler Receives each conflict as it is found, on the calling thread.
+     * @return conflictCount Number of conflicts reported.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    public static int auditScheduleSCAH(Consumer<ScheduleConflictModel> conflictHandler) throws SQLException {
+        ResourceSweep customerSweep = new ResourceSweep("Customer");
+        ResourceSweep contactSweep = new ResourceSweep("Contact");
+        ResourceSweep userSweep = new ResourceSweep("User");
+        int[] conflictCount = new int[1];
+        int[] rowsSincePrune = new int[1];
+        QueryExecutorHelper.queryForEachQEH("auditScheduleSCAH", AUDIT_SQL, StatementBinder.NO_PARAMETERS, queryReturn -> {
+            int appID = queryReturn.getInt(1);
+            long start = toEpochSecondsSCAH(queryReturn.getTimestamp(5).toLocalDateTime());
+            long end = toEpochSecondsSCAH(queryReturn.getTimestamp(6).toLocalDateTime());
+            conflictCount[0] += sweepSCAH(customerSweep, queryReturn.getInt(2), appID, start, end, conflictHandler);
+            conflictCount[0] += sweepSCAH(userSweep, queryReturn.getInt(3), appID, start, end, conflictHandler);
+            conflictCount[0] += sweepSCAH(contactSweep, queryReturn.getInt(4), appID, start, end, conflictHandler);
+            if (++rowsSincePrune[0] == PRUNE_INTERVAL_ROWS) {
+                rowsSincePrune[0] = 0;
+                pruneSCAH(customerSweep, start);
+                pruneSCAH(contactSweep, start);
+                pruneSCAH(userSweep, start);
+            }
+        }, QueryExecutorHelper.STREAMING_FETCH_SIZE);
+        return conflictCount[0];
+    }
+
+    /**
+     * Runs the audit and writes every conflict to a CSV report as it is found, so the report never has to fit in
+     * memory.
+     *
+     * @param reportPath File the report is written to. An existing file is replaced.
+     * @return Number of conflicts written.
+     * @throws SQLException If the appointments cannot be read.
+     * @throws IOException If the report cannot be written.
+     */
+    public static int writeConflictReportSCAH(Path reportPath) throws SQLException, IOException {
+        try (BufferedWriter reportWriter = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+            reportWriter.write(REPORT_HEADER);
+            reportWriter.newLine();
+            return auditScheduleSCAH(conflict -> {
+                try {
+                    reportWriter.write(conflict.getResource_ST() + "," + conflict.getResourceID_IN() + "," + conflict.getFirstAppID_IN() + "," +
+                            conflict.getSecondAppID_IN() + "," + conflict.getOverlapStaDT_LDT() + "," + conflict.getOverlapEndDT_LDT());
+                    reportWriter.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Runs the audit and keeps the first conflicts for display. Every conflict is still counted.
+     *
+     * @param sampleLimit Most conflicts to keep.
+     * @param sampledConflicts List the kept conflicts are added to.
+     * @return Number of conflicts found.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    public static int auditScheduleSampleSCAH(int sampleLimit, List<ScheduleConflictModel> sampledConflicts) throws SQLException {
+        return auditScheduleSCAH(conflict -> {
+            if (sampledConflicts.size() < sampleLimit) {
+                sampledConflicts.add(conflict);
+            }
+        });
+    }
+
+    /**
+     * Advances one resource's sweep line to a new appointment. Appointments that ended at or before the new start are
+     * dropped, every appointment left overlaps the new one, and the new appointment becomes active.
+     *
+     * @param resourceSweep Sweep state for the resource kind.
+     * @param resourceID ID of the customer, contact, or user.
+     * @param appID Appointment ID of the new appointment.
+     * @param start Start of the new appointment in epoch seconds.
+     * @param end End of the new appointment in epoch seconds.
+     * @param conflictHandler Receives each conflict found.
+     * @return Number of conflicts found.
+     */
+    private static int sweepSCAH(ResourceSweep resourceSweep, int resourceID, int appID, long start, long end, Consumer<ScheduleConflictModel> conflictHandler) {
+        PriorityQueue<ActiveAppointment> activeAppointments = resourceSweep.activeByResource.computeIfAbsent(resourceID, id -> new PriorityQueue<>(BY_END));
+        while (!activeAppointments.isEmpty() && activeAppointments.peek().end <= start) {
+            activeAppointments.poll();
+        }
+        int conflictCount = 0;
+        if (end > start) {
+            List<ActiveAppointment> overlapping = new ArrayList<>(activeAppointments);
+            for (ActiveAppointment activeAppointment : overlapping) {
+                conflictHandler.accept(new ScheduleConflictModel(resourceSweep.resourceLabel, resourceID, activeAppointment.appID, appID,
+                        fromEpochSecondsSCAH(start), fromEpochSecondsSCAH(Math.min(end, activeAppointment.end))));
+                conflictCount++;
+            }
+            activeAppointments.add(new ActiveAppointment(appID, end));
+        }
+        return conflictCount;
+    }
+
+    /**
+     * Drops finished appointments for every resource and forgets resources with nothing in progress. Run periodically
+     * so resources that stop appearing in the stream do not hold memory.
+     *
+     * @param resourceSweep Sweep state for the resource kind.
+     * @param sweepPosition Current start in epoch seconds. No later appointment starts before it.
+     */
+    private static void pruneSCAH(ResourceSweep resourceSweep, long sweepPosition) {
+        Iterator<PriorityQueue<ActiveAppointment>> activeIterator = resourceSweep.activeByResource.values().iterator();
+        while (activeIterator.hasNext()) {
+            PriorityQueue<ActiveAppointment> activeAppointments = activeIterator.next();
+            while (!activeAppointments.isEmpty() && activeAppointments.peek().end <= sweepPosition) {
+                activeAppointments.poll();
+            }
+            if (activeAppointments.isEmpty()) {
+                activeIterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Converts a date and time to epoch seconds. Only the ordering matters, so UTC is used as a fixed offset.
+     *
+     * @param dateTime Date and time to convert.
+     * @return Epoch seconds.
+     */
+    private static long toEpochSecondsSCAH(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts epoch seconds produced by toEpochSecondsSCAH back to a date and time.
+     *
+     * @param epochSeconds Epoch seconds.
+     * @return Date and time.
+     */
+    private static LocalDateTime fromEpochSecondsSCAH(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+}
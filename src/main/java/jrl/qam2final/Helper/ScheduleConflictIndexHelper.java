@@ -0,0 +1,120 @@
+package jrl.qam2final.Helper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A helper class that detects double-booking of customers, contacts, and users with the composite indexes on
+ * (Customer_ID, Start, End), (Contact_ID, Start, End), and (User_ID, Start, End). Each check is one range probe of the
+ * resource's index, so its cost does not grow with the resource's appointment history, and every check reads the
+ * database, so appointments saved by other clients are always seen. Nothing is held in memory between checks.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class ScheduleConflictIndexHelper {
+
+    /**
+     * The kinds of resource an appointment books.
+     */
+    public enum ResourceKind {
+        CUSTOMER("Customer_ID"),
+        CONTACT("Contact_ID"),
+        USER("User_ID");
+
+        private final String columnName;
+
+        /**
+         * Constructor for ResourceKind constants.
+         *
+         * @param columnName Name of the resource's column in the appointments table.
+         */
+        ResourceKind(String columnName) {
+            this.columnName = columnName;
+        }
+
+        /**
+         * Getter for the column name.
+         *
+         * @return columnName Name of the resource's column in the appointments table.
+         */
+        public String getColumnName() {
+            return columnName;
+        }
+    }
+
+    /**
+     * Checks whether any appointment of a customer, contact, or user overlaps a range. Two appointments overlap when
+     * each starts before the other ends, so appointments that only touch end to start do not overlap. EXISTS stops at
+     * the first conflicting row found in the index, and only one boolean crosses the network.
+     *
+     * @param resourceKind Kind of resource being checked.
+     * @param resourceID ID of the customer, contact, or user.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore, or 0 when checking a new appointment.
+     * @return True if an overlap exists, otherwise false
+     * @throws SQLException If the query fails.
+     */
+    public static boolean overlapExistsSCIH(ResourceKind resourceKind, int resourceID, LocalDateTime rangeStart, LocalDateTime rangeEnd, int excludedAppID) throws SQLException {
+        String sql = "SELECT EXISTS ( \n" +
+                "    SELECT 1 \n" +
+                "    FROM appointments \n" +
+                "    WHERE " + resourceKind.getColumnName() + " = ? \n" +
+                "        AND Start < ? \n" +
+                "        AND End > ? \n" +
+                "        AND Appointment_ID <> ? \n" +
+                ")";
+        Boolean overlapExists = QueryExecutorHelper.queryFirstQEH("overlapExistsSCIH", sql,
+                overlapStatement -> bindOverlapRangeSCIH(overlapStatement, resourceID, rangeStart, rangeEnd, excludedAppID),
+                queryReturn -> queryReturn.getBoolean(1));
+        return Boolean.TRUE.equals(overlapExists);
+    }
+
+    /**
+     * Finds the appointments of a customer, contact, or user that overlap a range, read from the resource's index.
+     *
+     * @param resourceKind Kind of resource being checked.
+     * @param resourceID ID of the customer, contact, or user.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore, or 0 when checking a new appointment.
+     * @return overlappingIds List of conflicting appointment IDs ordered by start and ID, empty if there is no overlap.
+     * @throws SQLException If the query fails.
+     */
+    public static List<Integer> findConflictsSCIH(ResourceKind resourceKind, int resourceID, LocalDateTime rangeStart, LocalDateTime rangeEnd, int excludedAppID) throws SQLException {
+        String sql = "SELECT Appointment_ID \n" +
+                "FROM \n" +
+                "    appointments \n" +
+                "WHERE \n" +
+                "    " + resourceKind.getColumnName() + " = ? \n" +
+                "    AND Start < ? \n" +
+                "    AND End > ? \n" +
+                "    AND Appointment_ID <> ? \n" +
+                "ORDER BY \n" +
+                "    Start, Appointment_ID";
+        return QueryExecutorHelper.queryListQEH("findConflictsSCIH", sql,
+                overlapStatement -> bindOverlapRangeSCIH(overlapStatement, resourceID, rangeStart, rangeEnd, excludedAppID),
+                queryReturn -> queryReturn.getInt(1));
+    }
+
+    /**
+     * Binds the resource, range, and excluded appointment parameters shared by the overlap queries.
+     *
+     * @param overlapStatement Statement for an overlap query.
+     * @param resourceID ID of the customer, contact, or user.
+     * @param rangeStart Start of the appointment being checked for overlap.
+     * @param rangeEnd End of the appointment being checked for overlap.
+     * @param excludedAppID Appointment ID to ignore.
+     * @throws SQLException If a parameter cannot be bound.
+     */
+    private static void bindOverlapRangeSCIH(PreparedStatement overlapStatement, int resourceID, LocalDateTime rangeStart, LocalDateTime rangeEnd, int excludedAppID)
+            throws SQLException {
+        overlapStatement.setInt(1, resourceID);
+        overlapStatement.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+        overlapStatement.setTimestamp(3, Timestamp.valueOf(rangeStart));
+        overlapStatement.setInt(4, excludedAppID);
+    }
+}
@@ -0,0 +1,138 @@
+package jrl.qam2final.Helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A helper class that creates the client_schedule schema in a new database, such as the embedded H2 database of the
+ * EMBEDDED_H2 profile. The SQL scripts under /sql are run in order: schema.sql creates the tables, indexes.sql adds the
+ * same indexes as production, report_month_key.sql adds the indexed month key column, report_filter_indexes.sql adds
+ * the indexes of the report filters, schedule_conflict_indexes.sql adds the indexes of the contact and user overlap
+ * checks, seed.sql inserts the reference data and sample rows, and report_aggregates.sql creates and fills the report
+ * aggregate tables. The scripts are skipped if the countries table already exists, so a database that outlives the
+ * application is never seeded twice. An existing database, such as the MySQL database, is never changed here;
+ * findMissingMigrationsSBH names the report migrations it still needs instead.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class SchemaBootstrapHelper {
+
+    private static final String[] BOOTSTRAP_SCRIPTS = {"/sql/schema.sql", "/sql/indexes.sql", "/sql/report_month_key.sql", "/sql/report_filter_indexes.sql",
+            "/sql/schedule_conflict_indexes.sql", "/sql/seed.sql", "/sql/report_aggregates.sql"};
+    private static final Map<String, List<String>> MIGRATION_PROBES = new LinkedHashMap<>();
+
+    static {
+        MIGRATION_PROBES.put("report_month_key.sql", List.of("SELECT Start_Month_Key FROM appointments WHERE 1 = 0"));
+        MIGRATION_PROBES.put("report_aggregates.sql", List.of("SELECT Report_Month_Key, Type, Appointment_Count FROM report_type_monthly WHERE 1 = 0",
+                "SELECT Report_Month_Key, Contact_ID, Appointment_Count FROM report_contact_monthly WHERE 1 = 0",
+                "SELECT Report_Month_Key, Customer_ID, Appointment_Count FROM report_customer_monthly WHERE 1 = 0"));
+    }
+
+    /**
+     * Creates and seeds the schema unless it already exists. Called by the JDBCHelper class after the connection pool
+     * opens.
+     *
+     * @throws SQLException If a script cannot be read or a statement fails.
+     */
+    public static void bootstrapSBH() throws SQLException {
+        long startNanos = System.nanoTime();
+        int executedCount = 0;
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            if (schemaExistsSBH(pooledConnection)) {
+                return;
+            }
+            for (String scriptName : BOOTSTRAP_SCRIPTS) {
+                for (String statementText : readScriptSBH(scriptName)) {
+                    pooledConnection.prepareUncachedStatement(statementText).executeUpdate();
+                    executedCount++;
+                }
+            }
+        }
+        System.out.println("Schema created with " + executedCount + " statements in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Returns the report migrations under /sql that have not been applied to the database, in the order they must be
+     * applied. Every appointment save writes the month key and the report aggregate tables, so a database without them
+     * can be read but rejects every save. Each migration is probed with a query that reads no rows and fails only if a
+     * column or table the migration adds is missing. Called by the JDBCHelper class after the connection pool opens.
+     *
+     * @return Names of the missing migration scripts, empty if the schema is up to date.
+     * @throws SQLException If no connection can be borrowed.
+     */
+    public static List<String> findMissingMigrationsSBH() throws SQLException {
+        List<String> missingMigrations = new ArrayList<>();
+        try (PooledConnection pooledConnection = ConnectionPoolHelper.borrowConnectionCPH()) {
+            for (Map.Entry<String, List<String>> migrationProbes : MIGRATION_PROBES.entrySet()) {
+                for (String probeSql : migrationProbes.getValue()) {
+                    try (ResultSet probeResult = pooledConnection.prepareUncachedStatement(probeSql).executeQuery()) {
+                        probeResult.next();
+                    } catch (SQLException e) {
+                        missingMigrations.add(migrationProbes.getKey());
+                        break;
+                    }
+                }
+            }
+        }
+        return missingMigrations;
+    }
+
+    /**
+     * Checks whether the schema has been created.
+     *
+     * @param pooledConnection Connection to check.
+     * @return True if the countries table exists.
+     * @throws SQLException If the database metadata cannot be read.
+     */
+    private static boolean schemaExistsSBH(PooledConnection pooledConnection) throws SQLException {
+        try (ResultSet countriesTable = pooledConnection.prepareUncachedStatement(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = 'countries'").executeQuery()) {
+            return countriesTable.next() && countriesTable.getInt(1) > 0;
+        }
+    }
+
+    /**
+     * Reads a SQL script from the classpath and splits it into statements. Lines starting with "--" are comments, and
+     * each statement ends with a semicolon at the end of a line.
+     *
+     * @param scriptName Classpath location of the script.
+     * @return Statements in script order, without their semicolons.
+     * @throws SQLException If the script is missing or cannot be read.
+     */
+    private static List<String> readScriptSBH(String scriptName) throws SQLException {
+        InputStream scriptStream = SchemaBootstrapHelper.class.getResourceAsStream(scriptName);
+        if (scriptStream == null) {
+            throw new SQLException("Bootstrap script not found: " + scriptName);
+        }
+        List<String> statements = new ArrayList<>();
+        try (BufferedReader scriptReader = new BufferedReader(new InputStreamReader(scriptStream, StandardCharsets.UTF_8))) {
+            StringBuilder statementText = new StringBuilder();
+            String scriptLine;
+            while ((scriptLine = scriptReader.readLine()) != null) {
+                String trimmedLine = scriptLine.trim();
+                if (trimmedLine.isEmpty() || trimmedLine.startsWith("--")) {
+                    continue;
+                }
+                if (trimmedLine.endsWith(";")) {
+                    statementText.append(trimmedLine, 0, trimmedLine.length() - 1);
+                    statements.add(statementText.toString());
+                    statementText.setLength(0);
+                } else {
+                    statementText.append(trimmedLine).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read bootstrap script " + scriptName + ": " + e.getMessage(), e);
+        }
+        return statements;
+    }
+}
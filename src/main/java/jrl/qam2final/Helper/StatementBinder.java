@@ -0,0 +1,27 @@
+package jrl.qam2final.Helper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Functional interface that binds parameter values to a PreparedStatement before the QueryExecutorHelper class
+ * executes it.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+@FunctionalInterface
+public interface StatementBinder {
+
+    /**
+     * Binder for statements without parameters.
+     */
+    StatementBinder NO_PARAMETERS = preparedStatement -> { };
+
+    /**
+     * Binds the parameter values for one execution of the statement.
+     *
+     * @param preparedStatement Statement to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    void bindParameters(PreparedStatement preparedStatement) throws SQLException;
+}
@@ -0,0 +1,24 @@
+package jrl.qam2final.Helper;
+
+import java.sql.SQLException;
+
+/**
+ * Functional interface for statements that must succeed or fail together. QueryExecutorHelper.inTransactionQEH runs
+ * the work on one pooled connection with auto-commit turned off, commits if it returns, and rolls back if it throws.
+ *
+ * @param <T> Result type.
+ * @author Jeffrey Robert Lynch
+ */
+@FunctionalInterface
+public interface TransactionWork<T> {
+
+    /**
+     * Executes the statements of the transaction. Implementations must run every statement on the connection passed
+     * in, with the QueryExecutorHelper overloads that accept a PooledConnection, and must not commit or close it.
+     *
+     * @param pooledConnection Connection the transaction runs on.
+     * @return Result of the work.
+     * @throws SQLException If a statement fails, which rolls back the transaction.
+     */
+    T executeInTransaction(PooledConnection pooledConnection) throws SQLException;
+}
@@ -1,5 +1,7 @@
 package jrl.qam2final.Helper;
 
+import java.time.Month;
+import java.time.format.TextStyle;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -30,11 +32,24 @@ public class TranslationManagerHelper {
     }
 
     /**
-     * Sets the application's language based on locale.
+     * Retrieves the name of a month in the language of the loaded bundle, such as "March" or "maaliskuu". Month names
+     * come from the Java locale data rather than the bundles, so every bundle language has them without new keys.
+     *
+     * @param month Month to name.
+     * @return Standalone month name in the current language.
+     */
+    public static String getMonthName(Month month) {
+        return month.getDisplayName(TextStyle.FULL_STANDALONE, resourceBundle.getLocale());
+    }
+
+    /**
+     * Sets the application's language based on locale. Cached reports are discarded, since their month names are in
+     * the previous language.
      *
      * @param locale The locale for the language setting.
      */
     public static void setLanguage(Locale locale) {
         resourceBundle = ResourceBundle.getBundle(BUNDLE_BASE_NAME, locale);
+        ReportCacheHelper.invalidateRCH();
     }
 }
\ No newline at end of file
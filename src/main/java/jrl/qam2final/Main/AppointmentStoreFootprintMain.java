@@ -0,0 +1,128 @@
+package jrl.qam2final.Main;
+
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.AppointmentStore;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Command line entry point that measures the heap retained by generated appointments held as a list of
+ * AppointmentModel objects and as an AppointmentStore, without starting the JavaFX application or opening a database.
+ * Each structure is built from its own generated strings, so neither shares title or description strings with the
+ * other, and the retained heap is taken as the used heap after garbage collection with the structure reachable, less
+ * the used heap before it was built. The store's own estimate from estimateSizeBytesAPS is printed beside its
+ * measurement. Appointments have TYPE_COUNT types and LOCATION_COUNT locations, as in the figures quoted by the
+ * AppointmentStore class.
+ * Usage: AppointmentStoreFootprintMain [--rows ROWS]
+ * The process exits with status 0 on success and 2 if the arguments are invalid.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentStoreFootprintMain {
+
+    private static final String USAGE = "Usage: AppointmentStoreFootprintMain [--rows ROWS]";
+    private static final int TYPE_COUNT = 10;
+    private static final int LOCATION_COUNT = 20;
+    private static final int GC_ROUNDS = 5;
+    private static final long GENERATION_SEED = 9;
+
+    /**
+     * Parses the arguments, builds each structure in turn, and prints its retained heap.
+     *
+     * @param args Optional --rows option.
+     */
+    public static void main(String[] args) {
+        int rowCount = 100_000;
+        try {
+            if (args.length == 2 && args[0].equals("--rows")) {
+                rowCount = Integer.parseInt(args[1]);
+            } else if (args.length != 0) {
+                throw new IllegalArgumentException("Expected no options or --rows ROWS.");
+            }
+            if (rowCount < 1) {
+                throw new IllegalArgumentException("--rows must be positive.");
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        long baselineBytes = usedHeapBytesASFM();
+        List<AppointmentModel> appointmentModels = buildModelListASFM(rowCount);
+        long modelListBytes = usedHeapBytesASFM() - baselineBytes;
+        System.out.printf("%-32s %,8d rows   retained %8.1f MB%n", "List<AppointmentModel>", appointmentModels.size(), modelListBytes / 1_048_576.0);
+        appointmentModels = null;
+        baselineBytes = usedHeapBytesASFM();
+        AppointmentStore appointmentStore = buildStoreASFM(rowCount);
+        long storeBytes = usedHeapBytesASFM() - baselineBytes;
+        System.out.printf("%-32s %,8d rows   retained %8.1f MB   estimated %8.1f MB%n", "AppointmentStore", appointmentStore.sizeAPS(), storeBytes / 1_048_576.0,
+                appointmentStore.estimateSizeBytesAPS() / 1_048_576.0);
+        System.exit(0);
+    }
+
+    /**
+     * Builds the generated appointments as a list of AppointmentModel objects.
+     *
+     * @param rowCount Number of appointments.
+     * @return List of appointments.
+     */
+    private static List<AppointmentModel> buildModelListASFM(int rowCount) {
+        Random generationRandom = new Random(GENERATION_SEED);
+        LocalDateTime firstStart = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<AppointmentModel> appointmentModels = new ArrayList<>(rowCount);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            LocalDateTime appointmentStart = firstStart.plusMinutes(15L * generationRandom.nextInt(365 * 96));
+            appointmentModels.add(new AppointmentModel(rowIndex + 1, "Appointment " + rowIndex, "Generated appointment number " + rowIndex,
+                    "Location " + generationRandom.nextInt(LOCATION_COUNT), "Type " + generationRandom.nextInt(TYPE_COUNT), appointmentStart,
+                    appointmentStart.plusMinutes(30), 1 + generationRandom.nextInt(100), 1 + generationRandom.nextInt(10), 1 + generationRandom.nextInt(10)));
+        }
+        return appointmentModels;
+    }
+
+    /**
+     * Builds the same generated appointments as buildModelListASFM in an AppointmentStore.
+     *
+     * @param rowCount Number of appointments.
+     * @return Store of appointments.
+     */
+    private static AppointmentStore buildStoreASFM(int rowCount) {
+        Random generationRandom = new Random(GENERATION_SEED);
+        LocalDateTime firstStart = LocalDateTime.of(2024, 1, 1, 8, 0);
+        AppointmentStore appointmentStore = new AppointmentStore(rowCount);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            LocalDateTime appointmentStart = firstStart.plusMinutes(15L * generationRandom.nextInt(365 * 96));
+            appointmentStore.addAPS(rowIndex + 1, "Appointment " + rowIndex, "Generated appointment number " + rowIndex,
+                    "Location " + generationRandom.nextInt(LOCATION_COUNT), "Type " + generationRandom.nextInt(TYPE_COUNT), appointmentStart,
+                    appointmentStart.plusMinutes(30), 1 + generationRandom.nextInt(100), 1 + generationRandom.nextInt(10), 1 + generationRandom.nextInt(10));
+        }
+        return appointmentStore;
+    }
+
+    /**
+     * Returns the used heap after requesting garbage collection GC_ROUNDS times, so unreachable objects are not
+     * counted.
+     *
+     * @return Used heap in bytes.
+     */
+    private static long usedHeapBytesASFM() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int gcRound = 0; gcRound < GC_ROUNDS; gcRound++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
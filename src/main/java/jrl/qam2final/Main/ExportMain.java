@@ -0,0 +1,105 @@
+package jrl.qam2final.Main;
+
+import jrl.qam2final.Helper.AppointmentExportHelper;
+import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command line entry point that exports appointments without starting the JavaFX application, for scheduled extracts
+ * such as a nightly export. Appointments are streamed to the file by the AppointmentExportHelper class, so ranges of
+ * millions of rows are exported in constant memory. The format is chosen by the file extension, and times are written
+ * in the time zone of the machine running the export.
+ * Usage: ExportMain FILE.csv|FILE.ics [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--customer ID] [--contact ID]
+ * The --from and --to dates are inclusive. The process exits with status 0 on success, 1 if the export fails, and 2 if
+ * the arguments are invalid.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ExportMain {
+
+    private static final String USAGE = "Usage: ExportMain FILE.csv|FILE.ics [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--customer ID] [--contact ID]";
+
+    /**
+     * Parses the arguments, opens the connection pool, runs the export, and closes the pool.
+     *
+     * @param args Export file followed by optional filter options.
+     */
+    public static void main(String[] args) {
+        Path exportFile;
+        AppointmentFilterModel appointmentFilter;
+        try {
+            if (args.length == 0 || args.length % 2 == 0) {
+                throw new IllegalArgumentException("Expected an export file followed by option and value pairs.");
+            }
+            exportFile = Path.of(args[0]);
+            appointmentFilter = parseFilterEM(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        JDBCHelper.startDBConnection();
+        int exitStatus = 0;
+        long startNanos = System.nanoTime();
+        try {
+            int exportedRowCount = AppointmentExportHelper.exportAppointmentsAEH(exportFile, appointmentFilter,
+                    writtenRowCount -> System.out.println("Exported " + writtenRowCount + " appointments..."));
+            System.out.println("Exported " + exportedRowCount + " appointments to " + exportFile + " in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+        } catch (IOException | SQLException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            exitStatus = 1;
+        } finally {
+            JDBCHelper.endDBConnection();
+        }
+        System.exit(exitStatus);
+    }
+
+    /**
+     * Builds the filter from the option and value pairs that follow the export file.
+     *
+     * @param args Command line arguments.
+     * @return Filter of the appointments to export.
+     * @throws IllegalArgumentException If an option is unknown or a value cannot be parsed.
+     */
+    private static AppointmentFilterModel parseFilterEM(String[] args) {
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        int customerID = AppointmentFilterModel.ANY_ID;
+        int contactID = AppointmentFilterModel.ANY_ID;
+        for (int argIndex = 1; argIndex < args.length; argIndex += 2) {
+            String option = args[argIndex];
+            String value = args[argIndex + 1];
+            try {
+                switch (option) {
+                    case "--from":
+                        rangeStart = LocalDate.parse(value).atStartOfDay();
+                        break;
+                    case "--to":
+                        rangeEnd = LocalDate.parse(value).plusDays(1).atStartOfDay();
+                        break;
+                    case "--customer":
+                        customerID = Integer.parseInt(value);
+                        break;
+                    case "--contact":
+                        contactID = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option + ".");
+                }
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value \"" + value + "\" for " + option + ".");
+            }
+        }
+        if (rangeStart != null && rangeEnd != null && !rangeStart.isBefore(rangeEnd)) {
+            throw new IllegalArgumentException("--from must not be after --to.");
+        }
+        return new AppointmentFilterModel(rangeStart, rangeEnd, customerID, contactID);
+    }
+}
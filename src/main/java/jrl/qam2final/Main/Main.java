@@ -1,9 +1,12 @@
 package jrl.qam2final.Main;
 
+import jrl.qam2final.Helper.AppointmentReminderHelper;
 import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.Helper.AsyncTaskHelper;
 import javafx.application.Application;
 import javafx.scene.control.Alert;
 import jrl.qam2final.Helper.TranslationManagerHelper;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 import javafx.scene.Scene;
@@ -45,11 +48,14 @@ public class Main extends Application {
         } catch (Exception e) {
             displayErrorMain("FailedToLoadFXMLKey");
         }
+        if (!JDBCHelper.getMissingMigrationsJDBCH().isEmpty()) {
+            displayMigrationErrorMain(JDBCHelper.getMissingMigrationsJDBCH());
+        }
     }
 
     /**
-     * The main method of the application. The database connection is initialized when launched and closed upon exiting
-     * the application.
+     * The main method of the application. The database connection pool is opened when launched. Upon exiting the
+     * application, background database tasks are stopped and the connection pool is closed.
      *
      * @param args Launch
      */
@@ -145,6 +151,8 @@ public class Main extends Application {
         // Locale.setDefault(new Locale("cy"));
         JDBCHelper.startDBConnection();
         launch(args);
+        AppointmentReminderHelper.stopARH();
+        AsyncTaskHelper.shutdownATH();
         JDBCHelper.endDBConnection();
     }
 
@@ -160,4 +168,19 @@ public class Main extends Application {
         alert.setContentText(TranslationManagerHelper.getString(messageKey));
         alert.showAndWait();
     }
+
+    /**
+     * This helper method displays an error alert naming the report migrations missing from the database, which must
+     * be applied in order before appointments can be saved.
+     *
+     * @param missingMigrations Names of the missing migration scripts.
+     */
+    private static void displayMigrationErrorMain(List<String> missingMigrations) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(TranslationManagerHelper.getString("errorTitleKey"));
+        alert.setHeaderText("Database Migration Required");
+        alert.setContentText("The database is missing " + String.join(" and ", missingMigrations)
+                + ". Apply the scripts from the sql folder in this order. Appointments cannot be saved until then.");
+        alert.showAndWait();
+    }
 }
\ No newline at end of file
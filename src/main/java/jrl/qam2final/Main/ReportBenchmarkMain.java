@@ -0,0 +1,222 @@
+package jrl.qam2final.Main;
+
+import jrl.qam2final.Helper.DatabaseProfile;
+import jrl.qam2final.Helper.JDBCHelper;
+import jrl.qam2final.Helper.QueryExecutorHelper;
+import jrl.qam2final.Helper.ReportAggregateHelper;
+import jrl.qam2final.Helper.ReportDimension;
+import jrl.qam2final.Helper.ReportEngineHelper;
+import jrl.qam2final.Helper.ReportTimeGrain;
+import jrl.qam2final.Helper.StatementBinder;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Command line entry point that measures report latency without starting the JavaFX application. Each report query is
+ * run a few times to warm up and then timed, and the fastest and median times are printed. The month name queries are
+ * the reports as they were grouped before the integer month key, so their times are the baseline for the month key
+ * and report aggregate table queries, and for the report engine reading either. The engine is also timed for the
+ * current quarter alone, with the range pushed into its query.
+ * Usage: ReportBenchmarkMain [--seed ROWS] [--runs RUNS]
+ * With --seed, that many generated appointments over the last three years are inserted before timing. Seeding is only
+ * allowed for the embedded database, so a benchmark never writes to the production schema. H2 returns the previous
+ * result when an unchanged query runs again on unchanged tables, so the embedded database is opened with
+ * OPTIMIZE_REUSE_RESULTS=FALSE and every run is measured in full. The process exits with status 0 on success, 1 if a
+ * query fails, and 2 if the arguments are invalid.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ReportBenchmarkMain {
+
+    private static final String USAGE = "Usage: ReportBenchmarkMain [--seed ROWS] [--runs RUNS]";
+    private static final String NO_RESULT_REUSE_SETTING = ";OPTIMIZE_REUSE_RESULTS=FALSE";
+    private static final int WARMUP_RUNS = 2;
+    private static final int SEED_CHUNK_SIZE = 1_000;
+    private static final String[] SEED_TYPES = {"Planning Session", "De-Briefing", "Review", "Follow-Up", "Training"};
+    private static final String[][] BENCHMARK_QUERIES = {
+            {"Type by month, MONTHNAME grouping (before)",
+                    "SELECT YEAR(Start), MONTHNAME(Start), Type, COUNT(*) FROM appointments " +
+                            "GROUP BY YEAR(Start), MONTHNAME(Start), Type ORDER BY YEAR(Start), MONTH(MIN(Start)), Type"},
+            {"Type by month, Start_Month_Key grouping",
+                    "SELECT Start_Month_Key, COALESCE(Type, ''), COUNT(*) FROM appointments " +
+                            "GROUP BY Start_Month_Key, COALESCE(Type, '') ORDER BY Start_Month_Key, COALESCE(Type, '')"},
+            {"Type by month, report aggregate table",
+                    "SELECT Report_Month_Key, Type, Appointment_Count FROM report_type_monthly " +
+                            "WHERE Appointment_Count > 0 ORDER BY Report_Month_Key, Type"},
+            {"Month totals, MONTHNAME grouping (before)",
+                    "SELECT YEAR(Start), MONTHNAME(Start), COUNT(*) FROM appointments " +
+                            "GROUP BY YEAR(Start), MONTHNAME(Start) ORDER BY YEAR(Start), MONTH(MIN(Start))"},
+            {"Month totals, Start_Month_Key index",
+                    "SELECT Start_Month_Key, COUNT(*) FROM appointments GROUP BY Start_Month_Key ORDER BY Start_Month_Key"}};
+
+    /**
+     * Parses the arguments, opens the connection pool, seeds and times the reports, and closes the pool.
+     *
+     * @param args Optional --seed and --runs options.
+     */
+    public static void main(String[] args) {
+        int seedRows = 0;
+        int timedRuns = 5;
+        try {
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("Expected option and value pairs.");
+            }
+            for (int argIndex = 0; argIndex < args.length; argIndex += 2) {
+                switch (args[argIndex]) {
+                    case "--seed":
+                        seedRows = Integer.parseInt(args[argIndex + 1]);
+                        break;
+                    case "--runs":
+                        timedRuns = Integer.parseInt(args[argIndex + 1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[argIndex] + ".");
+                }
+            }
+            if (seedRows < 0 || timedRuns < 1) {
+                throw new IllegalArgumentException("--seed must not be negative and --runs must be positive.");
+            }
+            if (seedRows > 0 && !JDBCHelper.getDatabaseProfileJDBCH().isBootstrapRequired()) {
+                throw new IllegalArgumentException("--seed is only allowed with -Dclient_schedule.db.profile=embedded.");
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        DatabaseProfile databaseProfile = JDBCHelper.getDatabaseProfileJDBCH();
+        if (databaseProfile == DatabaseProfile.EMBEDDED_H2) {
+            JDBCHelper.configureJDBCH(databaseProfile, databaseProfile.getDefaultUrl() + NO_RESULT_REUSE_SETTING, null, null);
+        }
+        JDBCHelper.startDBConnection();
+        int exitStatus = 0;
+        try {
+            if (seedRows > 0) {
+                seedAppointmentsRBM(seedRows);
+            }
+            for (String[] benchmarkQuery : BENCHMARK_QUERIES) {
+                timeReportRBM(benchmarkQuery[0], timedRuns,
+                        () -> QueryExecutorHelper.queryForEachQEH("ReportBenchmarkMain", benchmarkQuery[1], StatementBinder.NO_PARAMETERS, queryReturn -> {}, QueryExecutorHelper.DEFAULT_FETCH_SIZE));
+            }
+            timeReportRBM("Report engine, type by month", timedRuns,
+                    () -> ReportEngineHelper.buildReportREH(List.of(ReportDimension.TYPE), ReportTimeGrain.MONTH, false, AppointmentFilterModel.ALL_APPOINTMENTS).getRows_LS().size());
+            timeReportRBM("Report engine, type and contact by month", timedRuns,
+                    () -> ReportEngineHelper.buildReportREH(List.of(ReportDimension.TYPE, ReportDimension.CONTACT), ReportTimeGrain.MONTH, false, AppointmentFilterModel.ALL_APPOINTMENTS).getRows_LS().size());
+            AppointmentFilterModel quarterFilter = currentQuarterFilterRBM();
+            timeReportRBM("Report engine, type by month, this quarter", timedRuns,
+                    () -> ReportEngineHelper.buildReportREH(List.of(ReportDimension.TYPE), ReportTimeGrain.MONTH, false, quarterFilter).getRows_LS().size());
+            timeReportRBM("Report engine, type and contact, this quarter", timedRuns,
+                    () -> ReportEngineHelper.buildReportREH(List.of(ReportDimension.TYPE, ReportDimension.CONTACT), ReportTimeGrain.MONTH, false, quarterFilter).getRows_LS().size());
+        } catch (SQLException e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+            exitStatus = 1;
+        } finally {
+            JDBCHelper.endDBConnection();
+        }
+        System.exit(exitStatus);
+    }
+
+    /**
+     * Runs a report WARMUP_RUNS times untimed and then timedRuns times timed, and prints the row count and the fastest
+     * and median times.
+     *
+     * @param reportName Name printed with the times.
+     * @param timedRuns Number of timed runs.
+     * @param reportRun Runs the report once and returns its row count.
+     * @throws SQLException If the report fails.
+     */
+    private static void timeReportRBM(String reportName, int timedRuns, BenchmarkRun reportRun) throws SQLException {
+        int rowCount = 0;
+        for (int warmupRun = 0; warmupRun < WARMUP_RUNS; warmupRun++) {
+            rowCount = reportRun.runReport();
+        }
+        double[] runMillis = new double[timedRuns];
+        for (int timedRun = 0; timedRun < timedRuns; timedRun++) {
+            long startNanos = System.nanoTime();
+            reportRun.runReport();
+            runMillis[timedRun] = (System.nanoTime() - startNanos) / 1_000_000.0;
+        }
+        Arrays.sort(runMillis);
+        System.out.printf("%-45s %6d rows   min %9.2f ms   median %9.2f ms%n", reportName, rowCount, runMillis[0], runMillis[timedRuns / 2]);
+    }
+
+    /**
+     * Builds the filter of appointments starting in the current quarter, the range most reports are run for.
+     *
+     * @return Filter of the current quarter.
+     */
+    private static AppointmentFilterModel currentQuarterFilterRBM() {
+        LocalDate quarterStart = ReportTimeGrain.QUARTER.periodStartRTG(LocalDate.now());
+        return new AppointmentFilterModel(quarterStart.atStartOfDay(), quarterStart.plusMonths(3).atStartOfDay(), AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID);
+    }
+
+    /**
+     * Inserts generated appointments for the seeded customers, users, and contacts, SEED_CHUNK_SIZE per transaction,
+     * and adds them to the report aggregate tables as the appointment DAO would.
+     *
+     * @param seedRows Number of appointments to insert.
+     * @throws SQLException If an insert fails.
+     */
+    private static void seedAppointmentsRBM(int seedRows) throws SQLException {
+        long startNanos = System.nanoTime();
+        String sql = "INSERT INTO appointments (Customer_ID, User_ID, Contact_ID, Title, Description, Location, Type, Start, End) \n" +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Random seedRandom = new Random(seedRows);
+        LocalDateTime seedStart = LocalDateTime.now().withNano(0).minusYears(3);
+        for (int chunkStart = 0; chunkStart < seedRows; chunkStart += SEED_CHUNK_SIZE) {
+            List<StatementBinder> rowBinders = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int rowIndex = chunkStart; rowIndex < Math.min(chunkStart + SEED_CHUNK_SIZE, seedRows); rowIndex++) {
+                LocalDateTime appointmentStart = seedStart.plusMinutes(15L * seedRandom.nextInt(3 * 365 * 96));
+                int customerID = 1 + seedRandom.nextInt(3);
+                int userID = 1 + seedRandom.nextInt(2);
+                int contactID = 1 + seedRandom.nextInt(3);
+                String appointmentType = SEED_TYPES[seedRandom.nextInt(SEED_TYPES.length)];
+                rowBinders.add(seedStatement -> {
+                    seedStatement.setInt(1, customerID);
+                    seedStatement.setInt(2, userID);
+                    seedStatement.setInt(3, contactID);
+                    seedStatement.setString(4, "Benchmark");
+                    seedStatement.setString(5, "Generated by ReportBenchmarkMain");
+                    seedStatement.setString(6, "Online");
+                    seedStatement.setString(7, appointmentType);
+                    seedStatement.setTimestamp(8, Timestamp.valueOf(appointmentStart));
+                    seedStatement.setTimestamp(9, Timestamp.valueOf(appointmentStart.plusMinutes(30)));
+                });
+            }
+            QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+                List<Integer> generatedKeys = QueryExecutorHelper.batchInsertReturningKeysQEH(pooledConnection, "seedAppointmentsRBM", sql, rowBinders);
+                ReportAggregateHelper.addAppointmentsRAH(pooledConnection, generatedKeys);
+                return generatedKeys.size();
+            });
+        }
+        System.out.println("Seeded " + seedRows + " appointments in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * One run of a benchmarked report.
+     */
+    @FunctionalInterface
+    private interface BenchmarkRun {
+
+        /**
+         * Runs the report once.
+         *
+         * @return Number of report rows.
+         * @throws SQLException If the report fails.
+         */
+        int runReport() throws SQLException;
+    }
+}
@@ -0,0 +1,131 @@
+package jrl.qam2final.Model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Model class representing which appointments to select: a start range, a customer, a contact, and a type. Each part
+ * is optional; a null range bound leaves that side of the range open, an ID of ANY_ID matches every customer or
+ * contact, and a null type matches every type. Instances are immutable, so a filter can be handed to a background
+ * thread, and filters with the same parts are equal, so a filter can be part of a cache key.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentFilterModel {
+
+    /**
+     * Customer or contact ID that matches every customer or contact. Database IDs start at 1.
+     */
+    public static final int ANY_ID = 0;
+
+    /**
+     * Filter that selects every appointment.
+     */
+    public static final AppointmentFilterModel ALL_APPOINTMENTS = new AppointmentFilterModel(null, null, ANY_ID, ANY_ID);
+
+    private final LocalDateTime rangeStart_LDT;
+    private final LocalDateTime rangeEnd_LDT;
+    private final int customerID_IN;
+    private final int contactID_IN;
+    private final String type_ST;
+
+    /**
+     * Constructor for AppointmentFilterModel objects that match every type.
+     *
+     * @param rangeStart_LDT Earliest appointment start, inclusive, or null for no lower bound.
+     * @param rangeEnd_LDT   Latest appointment start, exclusive, or null for no upper bound.
+     * @param customerID_IN  Customer ID, or ANY_ID for every customer.
+     * @param contactID_IN   Contact ID, or ANY_ID for every contact.
+     */
+    public AppointmentFilterModel(LocalDateTime rangeStart_LDT, LocalDateTime rangeEnd_LDT, int customerID_IN, int contactID_IN) {
+        this(rangeStart_LDT, rangeEnd_LDT, customerID_IN, contactID_IN, null);
+    }
+
+    /**
+     * Constructor for AppointmentFilterModel objects.
+     *
+     * @param rangeStart_LDT Earliest appointment start, inclusive, or null for no lower bound.
+     * @param rangeEnd_LDT   Latest appointment start, exclusive, or null for no upper bound.
+     * @param customerID_IN  Customer ID, or ANY_ID for every customer.
+     * @param contactID_IN   Contact ID, or ANY_ID for every contact.
+     * @param type_ST        Appointment type, or null for every type.
+     */
+    public AppointmentFilterModel(LocalDateTime rangeStart_LDT, LocalDateTime rangeEnd_LDT, int customerID_IN, int contactID_IN, String type_ST) {
+        this.rangeStart_LDT = rangeStart_LDT;
+        this.rangeEnd_LDT = rangeEnd_LDT;
+        this.customerID_IN = customerID_IN;
+        this.contactID_IN = contactID_IN;
+        this.type_ST = type_ST;
+    }
+
+    /**
+     * Getter for rangeStart_LDT.
+     *
+     * @return rangeStart_LDT Earliest appointment start, inclusive, or null for no lower bound.
+     */
+    public LocalDateTime getRangeStart_LDT() {
+        return rangeStart_LDT;
+    }
+
+    /**
+     * Getter for rangeEnd_LDT.
+     *
+     * @return rangeEnd_LDT Latest appointment start, exclusive, or null for no upper bound.
+     */
+    public LocalDateTime getRangeEnd_LDT() {
+        return rangeEnd_LDT;
+    }
+
+    /**
+     * Getter for customerID_IN.
+     *
+     * @return customerID_IN Customer ID, or ANY_ID for every customer.
+     */
+    public int getCustomerID_IN() {
+        return customerID_IN;
+    }
+
+    /**
+     * Getter for contactID_IN.
+     *
+     * @return contactID_IN Contact ID, or ANY_ID for every contact.
+     */
+    public int getContactID_IN() {
+        return contactID_IN;
+    }
+
+    /**
+     * Getter for type_ST.
+     *
+     * @return type_ST Appointment type, or null for every type.
+     */
+    public String getType_ST() {
+        return type_ST;
+    }
+
+    /**
+     * Compares filters by their parts.
+     *
+     * @param other Object to compare with.
+     * @return True if other is a filter with the same range, customer, contact, and type, otherwise false.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof AppointmentFilterModel)) {
+            return false;
+        }
+        AppointmentFilterModel otherFilter = (AppointmentFilterModel) other;
+        return Objects.equals(rangeStart_LDT, otherFilter.rangeStart_LDT) && Objects.equals(rangeEnd_LDT, otherFilter.rangeEnd_LDT)
+                && customerID_IN == otherFilter.customerID_IN && contactID_IN == otherFilter.contactID_IN && Objects.equals(type_ST, otherFilter.type_ST);
+    }
+
+    /**
+     * Hash code consistent with equals.
+     *
+     * @return Hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(rangeStart_LDT, rangeEnd_LDT, customerID_IN, contactID_IN, type_ST);
+    }
+}
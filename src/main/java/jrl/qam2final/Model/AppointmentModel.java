@@ -57,6 +57,26 @@ public class AppointmentModel {
         this.appID_IN = appID_IN;
     }
 
+    /**
+     * Constructor for AppointmentModel objects read from the database. The start and end dates and times are taken
+     * from the start and end date times, which already hold them, so no additional objects are created per row.
+     *
+     * @param appID_IN      Appointment ID for appointment.
+     * @param titl_ST       Title of appointment.
+     * @param desc_ST       Description of appointment.
+     * @param loca_ST       Location of appointment.
+     * @param type_ST       Type of appointment.
+     * @param staDT_LDT     Start day and time of appointment.
+     * @param endDT_LDT     End day and time for appointment.
+     * @param custID_IN     Customer ID for appointment.
+     * @param userID_IN     User ID for appointment.
+     * @param contID_IN     Contact ID for appointment.
+     */
+    public AppointmentModel(int appID_IN, String titl_ST, String desc_ST, String loca_ST, String type_ST, LocalDateTime staDT_LDT, LocalDateTime endDT_LDT, int custID_IN, int userID_IN, int contID_IN) {
+        this(appID_IN, titl_ST, desc_ST, loca_ST, type_ST, staDT_LDT, endDT_LDT, staDT_LDT.toLocalDate(), endDT_LDT.toLocalDate(),
+                staDT_LDT.toLocalTime(), endDT_LDT.toLocalTime(), custID_IN, userID_IN, contID_IN);
+    }
+
     /**
      * Returns a string that represents the appointment and its associated attribute values.
      *
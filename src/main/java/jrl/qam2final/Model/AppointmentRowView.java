@@ -0,0 +1,200 @@
+package jrl.qam2final.Model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Flyweight view of one row of an AppointmentStore. The view holds only the store and the row index and reads every
+ * attribute from the store when asked. Getter names match AppointmentModel, so the same PropertyValueFactory names
+ * bind a TableView to either class.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentRowView {
+
+    private final AppointmentStore appointmentStore;
+    private final int rowIndex;
+
+    /**
+     * Constructor for AppointmentRowView objects. Views are created by AppointmentStore.
+     *
+     * @param appointmentStore Store holding the row.
+     * @param rowIndex Row index.
+     */
+    AppointmentRowView(AppointmentStore appointmentStore, int rowIndex) {
+        this.appointmentStore = appointmentStore;
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * Getter for appID_IN.
+     *
+     * @return appID_IN Appointment ID for appointment.
+     */
+    public int getAppID_IN() {
+        return appointmentStore.getAppID_IN(rowIndex);
+    }
+
+    /**
+     * Getter for titl_ST.
+     *
+     * @return titl_ST Title of appointment.
+     */
+    public String getTitl_ST() {
+        return appointmentStore.getTitl_ST(rowIndex);
+    }
+
+    /**
+     * Getter for desc_ST.
+     *
+     * @return desc_ST Description of appointment.
+     */
+    public String getDesc_ST() {
+        return appointmentStore.getDesc_ST(rowIndex);
+    }
+
+    /**
+     * Getter for loca_ST.
+     *
+     * @return loca_ST Location of appointment.
+     */
+    public String getLoca_ST() {
+        return appointmentStore.getLoca_ST(rowIndex);
+    }
+
+    /**
+     * Getter for type_ST.
+     *
+     * @return type_ST Type of appointment.
+     */
+    public String getType_ST() {
+        return appointmentStore.getType_ST(rowIndex);
+    }
+
+    /**
+     * Getter for staDT_LDT.
+     *
+     * @return staDT_LDT Start day and time of appointment.
+     */
+    public LocalDateTime getStaDT_LDT() {
+        return appointmentStore.getStaDT_LDT(rowIndex);
+    }
+
+    /**
+     * Getter for endDT_LDT.
+     *
+     * @return endDT_LDT End day and time of appointment.
+     */
+    public LocalDateTime getEndDT_LDT() {
+        return appointmentStore.getEndDT_LDT(rowIndex);
+    }
+
+    /**
+     * Getter for staD_LD.
+     *
+     * @return staD_LD Start day of appointment.
+     */
+    public LocalDate getStaD_LD() {
+        return getStaDT_LDT().toLocalDate();
+    }
+
+    /**
+     * Getter for endD_LD.
+     *
+     * @return endD_LD End day of appointment.
+     */
+    public LocalDate getEndD_LD() {
+        return getEndDT_LDT().toLocalDate();
+    }
+
+    /**
+     * Getter for staT_LT.
+     *
+     * @return staT_LT Start time of appointment.
+     */
+    public LocalTime getStaT_LT() {
+        return getStaDT_LDT().toLocalTime();
+    }
+
+    /**
+     * Getter for endT_LT.
+     *
+     * @return endT_LT End time of appointment.
+     */
+    public LocalTime getEndT_LT() {
+        return getEndDT_LDT().toLocalTime();
+    }
+
+    /**
+     * Getter for custID_IN.
+     *
+     * @return custID_IN Customer ID for appointment.
+     */
+    public int getCustID_IN() {
+        return appointmentStore.getCustID_IN(rowIndex);
+    }
+
+    /**
+     * Getter for userID_IN.
+     *
+     * @return userID_IN User ID for appointment.
+     */
+    public int getUserID_IN() {
+        return appointmentStore.getUserID_IN(rowIndex);
+    }
+
+    /**
+     * Getter for contID_IN.
+     *
+     * @return contID_IN Contact ID for appointment.
+     */
+    public int getContID_IN() {
+        return appointmentStore.getContID_IN(rowIndex);
+    }
+
+    /**
+     * Creates a full AppointmentModel for this row.
+     *
+     * @return AppointmentModel for the row.
+     */
+    public AppointmentModel toAppointmentModel() {
+        return appointmentStore.toAppointmentModelAPS(rowIndex);
+    }
+
+    /**
+     * Views are equal when they read the same row of the same store, so a TableView keeps its selection when views are
+     * recreated.
+     *
+     * @param other Object to compare.
+     * @return True if both views read the same row, otherwise false.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof AppointmentRowView)) {
+            return false;
+        }
+        AppointmentRowView otherView = (AppointmentRowView) other;
+        return appointmentStore == otherView.appointmentStore && rowIndex == otherView.rowIndex;
+    }
+
+    /**
+     * Hash code consistent with equals.
+     *
+     * @return Hash code.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(appointmentStore) * 31 + rowIndex;
+    }
+
+    /**
+     * Returns a string that represents the appointment and its associated attribute values.
+     *
+     * @return String representation of the appointment.
+     */
+    @Override
+    public String toString() {
+        return toAppointmentModel().toString();
+    }
+}
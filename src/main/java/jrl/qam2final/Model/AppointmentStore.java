@@ -0,0 +1,372 @@
+package jrl.qam2final.Model;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented store for large sets of appointments. Each attribute is kept in its own primitive array instead of
+ * one AppointmentModel object per row: IDs in int arrays, start and end as epoch seconds in long arrays, and type and
+ * location as int codes into a shared dictionary, since both repeat across many rows. Title and description are free
+ * text and are kept as they are. Dates and times are derived from the epoch seconds when a row is read, so they take
+ * no space at rest.
+ * <p>
+ * Rows are read through AppointmentRowView objects, which hold only the store and a row index. The list returned by
+ * asObservableListAPS creates views on demand, so a TableView only ever creates views for the rows it draws.
+ * <p>
+ * Measured by AppointmentStoreFootprintMain on a 64-bit JVM with compressed references, 100,000 appointments with 10
+ * types and 20 locations retain about 41 MB as a list of AppointmentModel objects and about 18 MB in this store, which
+ * estimateSizeBytesAPS puts at 17 MB. Title and description strings account for about 12 MB of the store; the other
+ * columns take under 50 bytes per row.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class AppointmentStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private int[] appIDs;
+    private long[] startSeconds;
+    private long[] endSeconds;
+    private int[] custIDs;
+    private int[] userIDs;
+    private int[] contIDs;
+    private int[] typeCodes;
+    private int[] locationCodes;
+    private String[] titles;
+    private String[] descriptions;
+    private final List<String> dictionaryValues = new ArrayList<>();
+    private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+    /**
+     * Constructor for an empty AppointmentStore.
+     */
+    public AppointmentStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor for an empty AppointmentStore sized for an expected number of appointments.
+     *
+     * @param expectedSize Number of appointments expected. The store still grows past it.
+     */
+    public AppointmentStore(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        appIDs = new int[capacity];
+        startSeconds = new long[capacity];
+        endSeconds = new long[capacity];
+        custIDs = new int[capacity];
+        userIDs = new int[capacity];
+        contIDs = new int[capacity];
+        typeCodes = new int[capacity];
+        locationCodes = new int[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+    }
+
+    /**
+     * Adds an appointment to the end of the store.
+     *
+     * @param appID_IN  Appointment ID for appointment.
+     * @param titl_ST   Title of appointment.
+     * @param desc_ST   Description of appointment.
+     * @param loca_ST   Location of appointment.
+     * @param type_ST   Type of appointment.
+     * @param staDT_LDT Start day and time of appointment.
+     * @param endDT_LDT End day and time for appointment.
+     * @param custID_IN Customer ID for appointment.
+     * @param userID_IN User ID for appointment.
+     * @param contID_IN Contact ID for appointment.
+     * @return Row index of the added appointment.
+     */
+    public int addAPS(int appID_IN, String titl_ST, String desc_ST, String loca_ST, String type_ST, LocalDateTime staDT_LDT, LocalDateTime endDT_LDT, int custID_IN, int userID_IN, int contID_IN) {
+        if (size == appIDs.length) {
+            growAPS();
+        }
+        appIDs[size] = appID_IN;
+        titles[size] = titl_ST;
+        descriptions[size] = desc_ST;
+        locationCodes[size] = encodeAPS(loca_ST);
+        typeCodes[size] = encodeAPS(type_ST);
+        startSeconds[size] = staDT_LDT.toEpochSecond(ZoneOffset.UTC);
+        endSeconds[size] = endDT_LDT.toEpochSecond(ZoneOffset.UTC);
+        custIDs[size] = custID_IN;
+        userIDs[size] = userID_IN;
+        contIDs[size] = contID_IN;
+        return size++;
+    }
+
+    /**
+     * Returns the number of appointments in the store.
+     *
+     * @return size Appointment count.
+     */
+    public int sizeAPS() {
+        return size;
+    }
+
+    /**
+     * Returns a flyweight view of one row.
+     *
+     * @param rowIndex Row index.
+     * @return View of the row.
+     */
+    public AppointmentRowView rowViewAPS(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return new AppointmentRowView(this, rowIndex);
+    }
+
+    /**
+     * Returns a read-only ObservableList of row views for binding to a TableView. Views are created when a row is
+     * read and are not retained by the list.
+     *
+     * @return Read-only list of row views.
+     */
+    public ObservableList<AppointmentRowView> asObservableListAPS() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(new AbstractList<AppointmentRowView>() {
+            @Override
+            public AppointmentRowView get(int rowIndex) {
+                return rowViewAPS(rowIndex);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }));
+    }
+
+    /**
+     * Estimates the heap retained by the store: its arrays, the dictionary, and the title and description strings.
+     * Assumes a 64-bit JVM with compressed references and Latin-1 compact strings.
+     *
+     * @return Estimated size in bytes.
+     */
+    public long estimateSizeBytesAPS() {
+        long capacity = appIDs.length;
+        long arrayBytes = 6 * arrayBytesAPS(capacity, 4) + 2 * arrayBytesAPS(capacity, 8) + 2 * arrayBytesAPS(capacity, 4);
+        long stringBytes = 0;
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            stringBytes += stringBytesAPS(titles[rowIndex]) + stringBytesAPS(descriptions[rowIndex]);
+        }
+        for (String dictionaryValue : dictionaryValues) {
+            stringBytes += stringBytesAPS(dictionaryValue) + 48;
+        }
+        return arrayBytes + stringBytes;
+    }
+
+    /**
+     * Getter for the appointment ID of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Appointment ID
+     */
+    public int getAppID_IN(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return appIDs[rowIndex];
+    }
+
+    /**
+     * Getter for the title of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Title
+     */
+    public String getTitl_ST(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return titles[rowIndex];
+    }
+
+    /**
+     * Getter for the description of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Description
+     */
+    public String getDesc_ST(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return descriptions[rowIndex];
+    }
+
+    /**
+     * Getter for the location of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Location
+     */
+    public String getLoca_ST(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return dictionaryValues.get(locationCodes[rowIndex]);
+    }
+
+    /**
+     * Getter for the type of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Type
+     */
+    public String getType_ST(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return dictionaryValues.get(typeCodes[rowIndex]);
+    }
+
+    /**
+     * Getter for the start of a row in epoch seconds.
+     *
+     * @param rowIndex Row index.
+     * @return Start in epoch seconds.
+     */
+    public long getStartSeconds(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return startSeconds[rowIndex];
+    }
+
+    /**
+     * Getter for the end of a row in epoch seconds.
+     *
+     * @param rowIndex Row index.
+     * @return End in epoch seconds.
+     */
+    public long getEndSeconds(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return endSeconds[rowIndex];
+    }
+
+    /**
+     * Getter for the start day and time of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Start day and time.
+     */
+    public LocalDateTime getStaDT_LDT(int rowIndex) {
+        return LocalDateTime.ofEpochSecond(getStartSeconds(rowIndex), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Getter for the end day and time of a row.
+     *
+     * @param rowIndex Row index.
+     * @return End day and time.
+     */
+    public LocalDateTime getEndDT_LDT(int rowIndex) {
+        return LocalDateTime.ofEpochSecond(getEndSeconds(rowIndex), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Getter for the customer ID of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Customer ID
+     */
+    public int getCustID_IN(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return custIDs[rowIndex];
+    }
+
+    /**
+     * Getter for the user ID of a row.
+     *
+     * @param rowIndex Row index.
+     * @return User ID
+     */
+    public int getUserID_IN(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return userIDs[rowIndex];
+    }
+
+    /**
+     * Getter for the contact ID of a row.
+     *
+     * @param rowIndex Row index.
+     * @return Contact ID
+     */
+    public int getContID_IN(int rowIndex) {
+        checkIndexAPS(rowIndex);
+        return contIDs[rowIndex];
+    }
+
+    /**
+     * Creates a full AppointmentModel for one row. Used when a screen needs a model object, such as the appointment
+     * update screen.
+     *
+     * @param rowIndex Row index.
+     * @return AppointmentModel for the row.
+     */
+    public AppointmentModel toAppointmentModelAPS(int rowIndex) {
+        return new AppointmentModel(getAppID_IN(rowIndex), getTitl_ST(rowIndex), getDesc_ST(rowIndex), getLoca_ST(rowIndex), getType_ST(rowIndex),
+                getStaDT_LDT(rowIndex), getEndDT_LDT(rowIndex), getCustID_IN(rowIndex), getUserID_IN(rowIndex), getContID_IN(rowIndex));
+    }
+
+    /**
+     * Returns the dictionary code for a type or location, adding the value if it is new.
+     *
+     * @param value Type or location.
+     * @return Dictionary code.
+     */
+    private int encodeAPS(String value) {
+        Integer code = dictionaryCodes.get(value);
+        if (code == null) {
+            code = dictionaryValues.size();
+            dictionaryValues.add(value);
+            dictionaryCodes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void growAPS() {
+        int capacity = appIDs.length * 2;
+        appIDs = Arrays.copyOf(appIDs, capacity);
+        startSeconds = Arrays.copyOf(startSeconds, capacity);
+        endSeconds = Arrays.copyOf(endSeconds, capacity);
+        custIDs = Arrays.copyOf(custIDs, capacity);
+        userIDs = Arrays.copyOf(userIDs, capacity);
+        contIDs = Arrays.copyOf(contIDs, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        locationCodes = Arrays.copyOf(locationCodes, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    /**
+     * Rejects row indexes outside the store, since the arrays are larger than the number of rows.
+     *
+     * @param rowIndex Row index.
+     */
+    private void checkIndexAPS(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= size) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " of " + size);
+        }
+    }
+
+    /**
+     * Estimated size of an array.
+     *
+     * @param length Array length.
+     * @param elementBytes Bytes per element.
+     * @return Estimated size in bytes.
+     */
+    private static long arrayBytesAPS(long length, int elementBytes) {
+        return 16 + length * elementBytes;
+    }
+
+    /**
+     * Estimated size of a string and its backing array, or zero for null.
+     *
+     * @param value String to measure.
+     * @return Estimated size in bytes.
+     */
+    private static long stringBytesAPS(String value) {
+        return value == null ? 0 : 24 + arrayBytesAPS(value.length(), 1);
+    }
+}
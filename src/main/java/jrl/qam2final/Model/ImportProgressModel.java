@@ -0,0 +1,89 @@
+package jrl.qam2final.Model;
+
+import java.util.List;
+
+/**
+ * Model class representing the progress of an appointment import. A new instance is reported after each chunk of
+ * appointments is committed, and the last instance summarizes the whole import, including the first rejections.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ImportProgressModel {
+
+    private final int rowsRead_IN;
+    private final int rowsImported_IN;
+    private final int rowsRejected_IN;
+    private final long elapsedMillis;
+    private final List<String> rejections_LS;
+
+    /**
+     * Constructor for ImportProgressModel objects.
+     *
+     * @param rowsRead_IN     Records read from the file so far.
+     * @param rowsImported_IN Appointments committed to the database so far.
+     * @param rowsRejected_IN Records rejected so far.
+     * @param elapsedMillis   Milliseconds since the import started.
+     * @param rejections_LS   Line numbers and reasons of the first rejected records.
+     */
+    public ImportProgressModel(int rowsRead_IN, int rowsImported_IN, int rowsRejected_IN, long elapsedMillis, List<String> rejections_LS) {
+        this.rowsRead_IN = rowsRead_IN;
+        this.rowsImported_IN = rowsImported_IN;
+        this.rowsRejected_IN = rowsRejected_IN;
+        this.elapsedMillis = elapsedMillis;
+        this.rejections_LS = List.copyOf(rejections_LS);
+    }
+
+    /**
+     * Getter for rowsRead_IN.
+     *
+     * @return rowsRead_IN Records read from the file so far.
+     */
+    public int getRowsRead_IN() {
+        return rowsRead_IN;
+    }
+
+    /**
+     * Getter for rowsImported_IN.
+     *
+     * @return rowsImported_IN Appointments committed to the database so far.
+     */
+    public int getRowsImported_IN() {
+        return rowsImported_IN;
+    }
+
+    /**
+     * Getter for rowsRejected_IN.
+     *
+     * @return rowsRejected_IN Records rejected so far.
+     */
+    public int getRowsRejected_IN() {
+        return rowsRejected_IN;
+    }
+
+    /**
+     * Getter for elapsedMillis.
+     *
+     * @return elapsedMillis Milliseconds since the import started.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Getter for rejections_LS.
+     *
+     * @return rejections_LS Read-only list of the line numbers and reasons of the first rejected records.
+     */
+    public List<String> getRejections_LS() {
+        return rejections_LS;
+    }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return Records read per second, or zero before any time has elapsed.
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowsRead_IN * 1000.0 / elapsedMillis : 0;
+    }
+}
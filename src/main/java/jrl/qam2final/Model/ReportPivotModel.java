@@ -0,0 +1,44 @@
+package jrl.qam2final.Model;
+
+import java.util.List;
+
+/**
+ * Model class representing a pivot report of appointment counts. The report has one label column per name in
+ * columnNames_LS followed by a count column, and one ReportPivotRowModel per row in display order.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ReportPivotModel {
+
+    private final List<String> columnNames_LS;
+    private final List<ReportPivotRowModel> rows_LS;
+
+    /**
+     * Constructor for ReportPivotModel objects.
+     *
+     * @param columnNames_LS Headings of the label columns, such as Year, Month, and Type.
+     * @param rows_LS        Rows of the report in display order.
+     */
+    public ReportPivotModel(List<String> columnNames_LS, List<ReportPivotRowModel> rows_LS) {
+        this.columnNames_LS = List.copyOf(columnNames_LS);
+        this.rows_LS = List.copyOf(rows_LS);
+    }
+
+    /**
+     * Getter for columnNames_LS.
+     *
+     * @return columnNames_LS Read-only list of the headings of the label columns.
+     */
+    public List<String> getColumnNames_LS() {
+        return columnNames_LS;
+    }
+
+    /**
+     * Getter for rows_LS.
+     *
+     * @return rows_LS Read-only list of the rows of the report in display order.
+     */
+    public List<ReportPivotRowModel> getRows_LS() {
+        return rows_LS;
+    }
+}
@@ -0,0 +1,67 @@
+package jrl.qam2final.Model;
+
+import java.util.List;
+
+/**
+ * Model class representing one row of a pivot report: the year, the period within the year, one label per grouped
+ * dimension, and the number of appointments. Subtotal rows leave the labels after the subtotalled dimension blank, and
+ * the grand total row leaves every label but the first blank.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ReportPivotRowModel {
+
+    private final List<String> labels_LS;
+    private final int count_IN;
+    private final boolean subtotal_BO;
+
+    /**
+     * Constructor for ReportPivotRowModel objects.
+     *
+     * @param labels_LS   Labels of the row, one per label column of the report.
+     * @param count_IN    Number of appointments counted in the row.
+     * @param subtotal_BO True for subtotal and grand total rows.
+     */
+    public ReportPivotRowModel(List<String> labels_LS, int count_IN, boolean subtotal_BO) {
+        this.labels_LS = List.copyOf(labels_LS);
+        this.count_IN = count_IN;
+        this.subtotal_BO = subtotal_BO;
+    }
+
+    /**
+     * Getter for labels_LS.
+     *
+     * @return labels_LS Read-only list of the labels of the row, one per label column of the report.
+     */
+    public List<String> getLabels_LS() {
+        return labels_LS;
+    }
+
+    /**
+     * Getter for count_IN.
+     *
+     * @return count_IN Number of appointments counted in the row.
+     */
+    public int getCount_IN() {
+        return count_IN;
+    }
+
+    /**
+     * Getter for subtotal_BO.
+     *
+     * @return subtotal_BO True for subtotal and grand total rows.
+     */
+    public boolean isSubtotal_BO() {
+        return subtotal_BO;
+    }
+
+    /**
+     * Returns a string representation of the row.
+     *
+     * @return String of row values.
+     */
+    @Override
+    public String toString() {
+        return "Report{labels=" + labels_LS + ", count=" + count_IN + (subtotal_BO ? ", subtotal" : "") + "}";
+    }
+}
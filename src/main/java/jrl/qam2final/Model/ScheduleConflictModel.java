@@ -0,0 +1,103 @@
+package jrl.qam2final.Model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Model class representing a pair of overlapping appointments found by the schedule conflict audit. The pair shares a
+ * customer, contact, or user, and the overlap is the period both appointments cover.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public class ScheduleConflictModel {
+
+    private final String resource_ST;
+    private final int resourceID_IN;
+    private final int firstAppID_IN;
+    private final int secondAppID_IN;
+    private final LocalDateTime overlapStaDT_LDT;
+    private final LocalDateTime overlapEndDT_LDT;
+
+    /**
+     * Constructor for ScheduleConflictModel objects.
+     *
+     * @param resource_ST      Kind of resource both appointments book: Customer, Contact, or User.
+     * @param resourceID_IN    ID of the customer, contact, or user.
+     * @param firstAppID_IN    Appointment ID of the appointment that starts first.
+     * @param secondAppID_IN   Appointment ID of the appointment that starts second.
+     * @param overlapStaDT_LDT Start of the overlap.
+     * @param overlapEndDT_LDT End of the overlap.
+     */
+    public ScheduleConflictModel(String resource_ST, int resourceID_IN, int firstAppID_IN, int secondAppID_IN, LocalDateTime overlapStaDT_LDT, LocalDateTime overlapEndDT_LDT) {
+        this.resource_ST = resource_ST;
+        this.resourceID_IN = resourceID_IN;
+        this.firstAppID_IN = firstAppID_IN;
+        this.secondAppID_IN = secondAppID_IN;
+        this.overlapStaDT_LDT = overlapStaDT_LDT;
+        this.overlapEndDT_LDT = overlapEndDT_LDT;
+    }
+
+    /**
+     * Getter for resource_ST.
+     *
+     * @return resource_ST Kind of resource both appointments book.
+     */
+    public String getResource_ST() {
+        return resource_ST;
+    }
+
+    /**
+     * Getter for resourceID_IN.
+     *
+     * @return resourceID_IN ID of the customer, contact, or user.
+     */
+    public int getResourceID_IN() {
+        return resourceID_IN;
+    }
+
+    /**
+     * Getter for firstAppID_IN.
+     *
+     * @return firstAppID_IN Appointment ID of the appointment that starts first.
+     */
+    public int getFirstAppID_IN() {
+        return firstAppID_IN;
+    }
+
+    /**
+     * Getter for secondAppID_IN.
+     *
+     * @return secondAppID_IN Appointment ID of the appointment that starts second.
+     */
+    public int getSecondAppID_IN() {
+        return secondAppID_IN;
+    }
+
+    /**
+     * Getter for overlapStaDT_LDT.
+     *
+     * @return overlapStaDT_LDT Start of the overlap.
+     */
+    public LocalDateTime getOverlapStaDT_LDT() {
+        return overlapStaDT_LDT;
+    }
+
+    /**
+     * Getter for overlapEndDT_LDT.
+     *
+     * @return overlapEndDT_LDT End of the overlap.
+     */
+    public LocalDateTime getOverlapEndDT_LDT() {
+        return overlapEndDT_LDT;
+    }
+
+    /**
+     * Returns a string that represents the conflict and its associated attribute values.
+     *
+     * @return String representation of the conflict.
+     */
+    @Override
+    public String toString() {
+        return resource_ST + " " + resourceID_IN + ": Appointments " + firstAppID_IN + " and " + secondAppID_IN +
+                " overlap from " + overlapStaDT_LDT + " to " + overlapEndDT_LDT;
+    }
+}
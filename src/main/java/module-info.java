@@ -3,6 +3,7 @@ module jrl.qam2final {
     requires javafx.fxml;
     requires java.sql;
     requires mysql.connector.java;
+    requires com.h2database;
 
 
     opens jrl.qam2final to javafx.fxml;
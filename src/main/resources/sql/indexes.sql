@@ -0,0 +1,14 @@
+-- Indexes used by the appointment queries in AppointmentDAOIMPL. Apply once to an existing schema.
+
+-- Week and month views: readAppointmentsBetweenAppDAO filters on "Start >= ? AND Start < ?".
+-- The schedule conflict audit streams "ORDER BY Start, Appointment_ID" in this index order without a sort.
+CREATE INDEX idx_appointments_start ON appointments (Start);
+
+-- Overlap checks: "Customer_ID = ? AND Start < ? AND End > ?" is answered from the index alone.
+CREATE INDEX idx_appointments_customer_start_end ON appointments (Customer_ID, Start, End);
+
+-- Keyset pages of the customer grid sorted by name: "Customer_Name > ? OR (Customer_Name = ? AND Customer_ID > ?)
+-- ORDER BY Customer_Name, Customer_ID LIMIT ?". InnoDB appends the primary key to the index, so it is in page order.
+-- The appointment grid sorts on Start, Appointment_ID, and the Customer_ID, User_ID, and Contact_ID foreign key
+-- indexes the same way, so it needs no further index.
+CREATE INDEX idx_customers_name ON customers (Customer_Name);
@@ -0,0 +1,46 @@
+-- Report aggregate tables read by ReportEngineHelper and kept up to date by ReportAggregateHelper. Apply once to an
+-- existing schema after report_month_key.sql, and again to recount if appointments were changed by another program.
+-- Each run recreates the tables and rebuilds the counts from the appointments table. Months are keyed by the integer
+-- Start_Month_Key, year * 100 + month.
+
+DROP TABLE IF EXISTS report_type_monthly;
+
+CREATE TABLE report_type_monthly (
+    Report_Month_Key INT NOT NULL,
+    Type VARCHAR(50) NOT NULL,
+    Appointment_Count INT NOT NULL,
+    PRIMARY KEY (Report_Month_Key, Type)
+);
+
+DROP TABLE IF EXISTS report_contact_monthly;
+
+CREATE TABLE report_contact_monthly (
+    Report_Month_Key INT NOT NULL,
+    Contact_ID INT NOT NULL,
+    Appointment_Count INT NOT NULL,
+    PRIMARY KEY (Report_Month_Key, Contact_ID)
+);
+
+DROP TABLE IF EXISTS report_customer_monthly;
+
+CREATE TABLE report_customer_monthly (
+    Report_Month_Key INT NOT NULL,
+    Customer_ID INT NOT NULL,
+    Appointment_Count INT NOT NULL,
+    PRIMARY KEY (Report_Month_Key, Customer_ID)
+);
+
+INSERT INTO report_type_monthly (Report_Month_Key, Type, Appointment_Count)
+SELECT Start_Month_Key, COALESCE(Type, ''), COUNT(*)
+FROM appointments
+GROUP BY Start_Month_Key, COALESCE(Type, '');
+
+INSERT INTO report_contact_monthly (Report_Month_Key, Contact_ID, Appointment_Count)
+SELECT Start_Month_Key, Contact_ID, COUNT(*)
+FROM appointments
+GROUP BY Start_Month_Key, Contact_ID;
+
+INSERT INTO report_customer_monthly (Report_Month_Key, Customer_ID, Appointment_Count)
+SELECT Start_Month_Key, Customer_ID, COUNT(*)
+FROM appointments
+GROUP BY Start_Month_Key, Customer_ID;
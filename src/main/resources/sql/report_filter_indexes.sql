@@ -0,0 +1,8 @@
+-- Indexes for the report filters of ReportEngineHelper. Apply once to an existing schema. A date range alone is read
+-- through idx_appointments_start, and a customer filter through idx_appointments_customer_start_end from indexes.sql.
+
+-- Contact filter: "a.Contact_ID = ? AND a.Start >= ? AND a.Start < ?" reads only that contact's range.
+CREATE INDEX idx_appointments_contact_start ON appointments (Contact_ID, Start);
+
+-- Type filter: "a.Type = ? AND a.Start >= ? AND a.Start < ?" reads only that type's range.
+CREATE INDEX idx_appointments_type_start ON appointments (Type, Start);
@@ -0,0 +1,9 @@
+-- Integer month key of each appointment, YEAR(Start) * 100 + MONTH(Start), so March 2024 is 202403. The report engine
+-- and the report aggregate tables group and sort on it instead of on month names or dates. Apply once to an existing
+-- schema, before report_aggregates.sql. The column is generated, so nothing writes it: MySQL keeps it virtual and
+-- stores the keys in its index, and H2 computes it as rows are written.
+
+ALTER TABLE appointments ADD COLUMN Start_Month_Key INT GENERATED ALWAYS AS (YEAR(Start) * 100 + MONTH(Start));
+
+-- Month reports without a dimension are counted from this index alone, in key order, without a sort.
+CREATE INDEX idx_appointments_start_month_key ON appointments (Start_Month_Key);
@@ -0,0 +1,8 @@
+-- Indexes for the contact and user double-booking checks of ScheduleConflictIndexHelper. Apply once to an existing
+-- schema. Customer checks use idx_appointments_customer_start_end from indexes.sql.
+
+-- Contact overlap checks: "Contact_ID = ? AND Start < ? AND End > ?" is answered from the index alone.
+CREATE INDEX idx_appointments_contact_start_end ON appointments (Contact_ID, Start, End);
+
+-- User overlap checks: "User_ID = ? AND Start < ? AND End > ?" is answered from the index alone.
+CREATE INDEX idx_appointments_user_start_end ON appointments (User_ID, Start, End);
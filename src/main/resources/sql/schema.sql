@@ -0,0 +1,80 @@
+-- The client_schedule schema. Runs on MySQL and on H2 in MySQL compatibility mode, where SchemaBootstrapHelper
+-- applies it, then indexes.sql, report_month_key.sql, report_filter_indexes.sql, seed.sql, and report_aggregates.sql,
+-- to a new embedded database.
+
+CREATE TABLE IF NOT EXISTS countries (
+    Country_ID INT NOT NULL AUTO_INCREMENT,
+    Country VARCHAR(50),
+    Create_Date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    PRIMARY KEY (Country_ID)
+);
+
+CREATE TABLE IF NOT EXISTS first_level_divisions (
+    Division_ID INT NOT NULL AUTO_INCREMENT,
+    Division VARCHAR(50),
+    Create_Date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Country_ID INT NOT NULL,
+    PRIMARY KEY (Division_ID),
+    CONSTRAINT fk_country_id FOREIGN KEY (Country_ID) REFERENCES countries (Country_ID)
+);
+
+CREATE TABLE IF NOT EXISTS customers (
+    Customer_ID INT NOT NULL AUTO_INCREMENT,
+    Customer_Name VARCHAR(50),
+    Address VARCHAR(100),
+    Postal_Code VARCHAR(50),
+    Phone VARCHAR(50),
+    Create_Date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Division_ID INT NOT NULL,
+    PRIMARY KEY (Customer_ID),
+    CONSTRAINT fk_division_id FOREIGN KEY (Division_ID) REFERENCES first_level_divisions (Division_ID)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    User_ID INT NOT NULL AUTO_INCREMENT,
+    User_Name VARCHAR(50),
+    Password VARCHAR(255),
+    Create_Date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    PRIMARY KEY (User_ID),
+    CONSTRAINT uq_user_name UNIQUE (User_Name)
+);
+
+CREATE TABLE IF NOT EXISTS contacts (
+    Contact_ID INT NOT NULL AUTO_INCREMENT,
+    Contact_Name VARCHAR(50),
+    Email VARCHAR(50),
+    PRIMARY KEY (Contact_ID)
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    Appointment_ID INT NOT NULL AUTO_INCREMENT,
+    Title VARCHAR(50),
+    Description VARCHAR(50),
+    Location VARCHAR(50),
+    Type VARCHAR(50),
+    Start DATETIME,
+    End DATETIME,
+    Create_Date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Created_By VARCHAR(50),
+    Last_Update TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50),
+    Customer_ID INT NOT NULL,
+    User_ID INT NOT NULL,
+    Contact_ID INT NOT NULL,
+    PRIMARY KEY (Appointment_ID),
+    CONSTRAINT fk_customer_id FOREIGN KEY (Customer_ID) REFERENCES customers (Customer_ID),
+    CONSTRAINT fk_user_id FOREIGN KEY (User_ID) REFERENCES users (User_ID),
+    CONSTRAINT fk_contact_id FOREIGN KEY (Contact_ID) REFERENCES contacts (Contact_ID)
+);
@@ -0,0 +1,94 @@
+-- Reference data and sample rows for a new database. Log in as test/test or admin/admin.
+
+INSERT INTO countries (Country_ID, Country, Created_By, Last_Updated_By) VALUES
+    (1, 'U.S', 'script', 'script'),
+    (2, 'UK', 'script', 'script'),
+    (3, 'Canada', 'script', 'script');
+
+INSERT INTO first_level_divisions (Division_ID, Division, Created_By, Last_Updated_By, Country_ID) VALUES
+    (1, 'Alabama', 'script', 'script', 1),
+    (2, 'Arizona', 'script', 'script', 1),
+    (3, 'Arkansas', 'script', 'script', 1),
+    (4, 'California', 'script', 'script', 1),
+    (5, 'Colorado', 'script', 'script', 1),
+    (6, 'Connecticut', 'script', 'script', 1),
+    (7, 'Delaware', 'script', 'script', 1),
+    (8, 'District of Columbia', 'script', 'script', 1),
+    (9, 'Florida', 'script', 'script', 1),
+    (10, 'Georgia', 'script', 'script', 1),
+    (11, 'Idaho', 'script', 'script', 1),
+    (12, 'Illinois', 'script', 'script', 1),
+    (13, 'Indiana', 'script', 'script', 1),
+    (14, 'Iowa', 'script', 'script', 1),
+    (15, 'Kansas', 'script', 'script', 1),
+    (16, 'Kentucky', 'script', 'script', 1),
+    (17, 'Louisiana', 'script', 'script', 1),
+    (18, 'Maine', 'script', 'script', 1),
+    (19, 'Maryland', 'script', 'script', 1),
+    (20, 'Massachusetts', 'script', 'script', 1),
+    (21, 'Michigan', 'script', 'script', 1),
+    (22, 'Minnesota', 'script', 'script', 1),
+    (23, 'Mississippi', 'script', 'script', 1),
+    (24, 'Missouri', 'script', 'script', 1),
+    (25, 'Montana', 'script', 'script', 1),
+    (26, 'Nebraska', 'script', 'script', 1),
+    (27, 'Nevada', 'script', 'script', 1),
+    (28, 'New Hampshire', 'script', 'script', 1),
+    (29, 'New Jersey', 'script', 'script', 1),
+    (30, 'New Mexico', 'script', 'script', 1),
+    (31, 'New York', 'script', 'script', 1),
+    (32, 'North Carolina', 'script', 'script', 1),
+    (33, 'North Dakota', 'script', 'script', 1),
+    (34, 'Ohio', 'script', 'script', 1),
+    (35, 'Oklahoma', 'script', 'script', 1),
+    (36, 'Oregon', 'script', 'script', 1),
+    (37, 'Pennsylvania', 'script', 'script', 1),
+    (38, 'Rhode Island', 'script', 'script', 1),
+    (39, 'South Carolina', 'script', 'script', 1),
+    (40, 'South Dakota', 'script', 'script', 1),
+    (41, 'Tennessee', 'script', 'script', 1),
+    (42, 'Texas', 'script', 'script', 1),
+    (43, 'Utah', 'script', 'script', 1),
+    (44, 'Vermont', 'script', 'script', 1),
+    (45, 'Virginia', 'script', 'script', 1),
+    (46, 'Washington', 'script', 'script', 1),
+    (47, 'West Virginia', 'script', 'script', 1),
+    (48, 'Wisconsin', 'script', 'script', 1),
+    (49, 'Wyoming', 'script', 'script', 1),
+    (52, 'Hawaii', 'script', 'script', 1),
+    (54, 'Alaska', 'script', 'script', 1),
+    (60, 'Northwest Territories', 'script', 'script', 3),
+    (61, 'Alberta', 'script', 'script', 3),
+    (62, 'British Columbia', 'script', 'script', 3),
+    (63, 'Manitoba', 'script', 'script', 3),
+    (64, 'New Brunswick', 'script', 'script', 3),
+    (65, 'Nova Scotia', 'script', 'script', 3),
+    (66, 'Prince Edward Island', 'script', 'script', 3),
+    (67, 'Ontario', 'script', 'script', 3),
+    (68, 'Québec', 'script', 'script', 3),
+    (69, 'Saskatchewan', 'script', 'script', 3),
+    (70, 'Nunavut', 'script', 'script', 3),
+    (71, 'Yukon', 'script', 'script', 3),
+    (72, 'Newfoundland and Labrador', 'script', 'script', 3),
+    (101, 'England', 'script', 'script', 2),
+    (102, 'Wales', 'script', 'script', 2),
+    (103, 'Scotland', 'script', 'script', 2),
+    (104, 'Northern Ireland', 'script', 'script', 2);
+
+INSERT INTO users (User_ID, User_Name, Password, Created_By, Last_Updated_By) VALUES
+    (1, 'test', 'test', 'script', 'script'),
+    (2, 'admin', 'admin', 'script', 'script');
+
+INSERT INTO contacts (Contact_ID, Contact_Name, Email) VALUES
+    (1, 'Anika Costa', 'acoasta@company.com'),
+    (2, 'Daniel Garcia', 'dgarcia@company.com'),
+    (3, 'Li Lee', 'llee@company.com');
+
+INSERT INTO customers (Customer_ID, Customer_Name, Address, Postal_Code, Phone, Created_By, Last_Updated_By, Division_ID) VALUES
+    (1, 'Daddy Warbucks', '1919 Boardwalk', '01291', '869-908-1875', 'script', 'script', 29),
+    (2, 'Lady McAnderson', '2 Wonder Way', 'AF19B', '11-445-910-2135', 'script', 'script', 103),
+    (3, 'Dudley Do-Right', '48 Horse Manor', '28198', '874-916-2671', 'script', 'script', 60);
+
+INSERT INTO appointments (Appointment_ID, Title, Description, Location, Type, Start, End, Created_By, Last_Updated_By, Customer_ID, User_ID, Contact_ID) VALUES
+    (1, 'title', 'description', 'location', 'Planning Session', '2020-05-28 12:00:00', '2020-05-28 13:00:00', 'script', 'script', 1, 1, 3),
+    (2, 'title', 'description', 'location', 'De-Briefing', '2020-05-29 12:00:00', '2020-05-29 13:00:00', 'script', 'script', 2, 2, 2);
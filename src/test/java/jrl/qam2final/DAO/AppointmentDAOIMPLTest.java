@@ -0,0 +1,174 @@
+package jrl.qam2final.DAO;
+
+import jrl.qam2final.Helper.EmbeddedDatabaseSupport;
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the keyset paging, range streaming, and overlap queries of the AppointmentDAOIMPL class against every
+ * appointment in the embedded database, sorted or searched in memory. The random appointments share starts,
+ * customers, users, and contacts, so most pages end inside a run of equal sort values and resume on the
+ * Appointment_ID tie-breaker.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentDAOIMPLTest {
+
+    private static final int PAGE_SIZE = 7;
+
+    /**
+     * Adds random appointments to the embedded database.
+     */
+    @BeforeAll
+    static void createAppointments() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(14), 300));
+    }
+
+    /**
+     * Paging through every sort column in both directions returns each appointment once, in the order of the sort
+     * column and then Appointment_ID.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void pagesMatchSortedAppointmentsForEverySortColumn() throws SQLException {
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        AppointmentDAO appointmentDao = DAORegistry.getAppointmentDAODR();
+        for (AppointmentDAO.AppointmentSortColumn sortColumn : AppointmentDAO.AppointmentSortColumn.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                List<Integer> pagedIDs = new ArrayList<>();
+                AppointmentModel lastAppointment = null;
+                List<AppointmentModel> appointmentPage;
+                do {
+                    appointmentPage = appointmentDao.readAppointmentPageAppDAO(sortColumn, descending, lastAppointment, PAGE_SIZE);
+                    assertTrue(appointmentPage.size() <= PAGE_SIZE, sortColumn + " returned a page longer than the limit.");
+                    for (AppointmentModel appointment : appointmentPage) {
+                        pagedIDs.add(appointment.getAppID_IN());
+                        lastAppointment = appointment;
+                    }
+                } while (appointmentPage.size() == PAGE_SIZE);
+                assertEquals(sortedIDs(appointments, sortColumn, descending), pagedIDs, sortColumn + (descending ? " descending" : " ascending"));
+            }
+        }
+    }
+
+    /**
+     * Paging in start order by start and Appointment_ID matches paging by the START sort column.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void startPagesMatchSortedAppointments() throws SQLException {
+        AppointmentDAO appointmentDao = DAORegistry.getAppointmentDAODR();
+        List<Integer> pagedIDs = new ArrayList<>();
+        AppointmentModel lastAppointment = null;
+        List<AppointmentModel> appointmentPage;
+        do {
+            appointmentPage = lastAppointment == null
+                    ? appointmentDao.readAppointmentPageAppDAO(null, 0, PAGE_SIZE)
+                    : appointmentDao.readAppointmentPageAppDAO(lastAppointment.getStaDT_LDT(), lastAppointment.getAppID_IN(), PAGE_SIZE);
+            for (AppointmentModel appointment : appointmentPage) {
+                pagedIDs.add(appointment.getAppID_IN());
+                lastAppointment = appointment;
+            }
+        } while (appointmentPage.size() == PAGE_SIZE);
+        assertEquals(sortedIDs(EmbeddedDatabaseSupport.readAllAppointmentsEDS(), AppointmentDAO.AppointmentSortColumn.START, false), pagedIDs);
+    }
+
+    /**
+     * The customer overlap query returns exactly the appointments of the customer, other than the excluded one, that
+     * start before the range ends and end after it starts, in start and ID order.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void overlappingIdsMatchBruteForceSearch() throws SQLException {
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        appointments.sort(Comparator.comparing(AppointmentModel::getStaDT_LDT).thenComparingInt(AppointmentModel::getAppID_IN));
+        AppointmentDAO appointmentDao = DAORegistry.getAppointmentDAODR();
+        Random testRandom = new Random(6);
+        for (int check = 0; check < 200; check++) {
+            int custID = 1 + testRandom.nextInt(3);
+            LocalDateTime rangeStart = LocalDateTime.of(2024, 11, 1, 8, 0).plusDays(testRandom.nextInt(150)).plusMinutes(30L * testRandom.nextInt(24));
+            LocalDateTime rangeEnd = rangeStart.plusMinutes(30L * testRandom.nextInt(5));
+            int excludedAppID = check % 2 == 0 ? AppointmentDAO.NO_APPOINTMENT_ID : appointments.get(testRandom.nextInt(appointments.size())).getAppID_IN();
+            List<Integer> expectedIds = new ArrayList<>();
+            for (AppointmentModel appointment : appointments) {
+                if (appointment.getCustID_IN() == custID && appointment.getStaDT_LDT().isBefore(rangeEnd) && appointment.getEndDT_LDT().isAfter(rangeStart)
+                        && appointment.getAppID_IN() != excludedAppID) {
+                    expectedIds.add(appointment.getAppID_IN());
+                }
+            }
+            assertEquals(expectedIds, appointmentDao.readOverlappingAppointmentIdsAppDAO(custID, rangeStart, rangeEnd, excludedAppID),
+                    "Customer " + custID + " from " + rangeStart + " to " + rangeEnd);
+        }
+    }
+
+    /**
+     * Streaming a range passes the sink the same appointments, in the same order, as reading the range into a list,
+     * and returns their count.
+     */
+    @Test
+    void streamedRangeMatchesReadRange() {
+        AppointmentDAO appointmentDao = DAORegistry.getAppointmentDAODR();
+        LocalDateTime rangeStart = LocalDateTime.of(2024, 12, 1, 0, 0);
+        LocalDateTime rangeEnd = LocalDateTime.of(2025, 1, 15, 0, 0);
+        List<Integer> streamedIDs = new ArrayList<>();
+        int streamedCount = appointmentDao.streamAppointmentsBetweenAppDAO(rangeStart, rangeEnd, appointment -> streamedIDs.add(appointment.getAppID_IN()));
+        List<Integer> readIDs = new ArrayList<>();
+        for (AppointmentModel appointment : appointmentDao.readAppointmentsBetweenAppDAO(rangeStart, rangeEnd)) {
+            readIDs.add(appointment.getAppID_IN());
+        }
+        assertTrue(readIDs.size() > PAGE_SIZE);
+        assertEquals(readIDs, streamedIDs);
+        assertEquals(readIDs.size(), streamedCount);
+    }
+
+    /**
+     * Sorts appointments by a sort column and then Appointment_ID, both in the same direction.
+     *
+     * @param appointments Every appointment.
+     * @param sortColumn Column to sort by.
+     * @param descending True to sort in descending order.
+     * @return Appointment IDs in sorted order.
+     */
+    private static List<Integer> sortedIDs(List<AppointmentModel> appointments, AppointmentDAO.AppointmentSortColumn sortColumn, boolean descending) {
+        Comparator<AppointmentModel> sortOrder;
+        switch (sortColumn) {
+            case START:
+                sortOrder = Comparator.comparing(AppointmentModel::getStaDT_LDT);
+                break;
+            case CUSTOMER_ID:
+                sortOrder = Comparator.comparingInt(AppointmentModel::getCustID_IN);
+                break;
+            case USER_ID:
+                sortOrder = Comparator.comparingInt(AppointmentModel::getUserID_IN);
+                break;
+            case CONTACT_ID:
+                sortOrder = Comparator.comparingInt(AppointmentModel::getContID_IN);
+                break;
+            default:
+                sortOrder = (first, second) -> 0;
+                break;
+        }
+        sortOrder = sortOrder.thenComparingInt(AppointmentModel::getAppID_IN);
+        List<AppointmentModel> sortedAppointments = new ArrayList<>(appointments);
+        sortedAppointments.sort(descending ? sortOrder.reversed() : sortOrder);
+        List<Integer> ids = new ArrayList<>(sortedAppointments.size());
+        for (AppointmentModel appointment : sortedAppointments) {
+            ids.add(appointment.getAppID_IN());
+        }
+        return ids;
+    }
+}
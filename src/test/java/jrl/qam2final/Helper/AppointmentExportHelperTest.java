@@ -0,0 +1,90 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests of the export of the AppointmentExportHelper class, reading each exported file back with the
+ * AppointmentRecordReader class and comparing it to the matching appointments filtered in memory.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentExportHelperTest {
+
+    /**
+     * Adds random appointments to the embedded database.
+     */
+    @BeforeAll
+    static void createAppointments() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(19), 200));
+    }
+
+    /**
+     * In both file formats, a filtered export holds exactly the matching appointments, every field intact, in start
+     * and ID order, and leaves no partial file behind. Appointment_ID is not compared, since files are read back
+     * without it so that imported appointments are given new IDs.
+     *
+     * @param fileDirectory Directory for the exported files.
+     * @throws IOException If a file cannot be written or read.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void exportedFileMatchesFilteredAppointments(@TempDir Path fileDirectory) throws IOException, SQLException {
+        AppointmentFilterModel appointmentFilter = new AppointmentFilterModel(LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0), 2,
+                AppointmentFilterModel.ANY_ID);
+        List<String> expectedRecords = new ArrayList<>();
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        appointments.sort(Comparator.comparing(AppointmentModel::getStaDT_LDT).thenComparingInt(AppointmentModel::getAppID_IN));
+        for (AppointmentModel appointment : appointments) {
+            if (!appointment.getStaDT_LDT().isBefore(appointmentFilter.getRangeStart_LDT()) && appointment.getStaDT_LDT().isBefore(appointmentFilter.getRangeEnd_LDT())
+                    && appointment.getCustID_IN() == appointmentFilter.getCustomerID_IN()) {
+                expectedRecords.add(describeAppointment(appointment));
+            }
+        }
+        for (AppointmentFileFormat fileFormat : AppointmentFileFormat.values()) {
+            Path exportFile = fileDirectory.resolve("export" + fileFormat.getExtension());
+            assertEquals(expectedRecords.size(), AppointmentExportHelper.exportAppointmentsAEH(exportFile, appointmentFilter, exportedRowCount -> {}));
+            List<String> exportedRecords = new ArrayList<>();
+            try (AppointmentRecordReader recordReader = AppointmentRecordReader.openARR(exportFile)) {
+                AppointmentRecordReader.ReadRecord readRecord;
+                while ((readRecord = recordReader.readNextARR()) != null) {
+                    assertNotNull(readRecord.getAppointment(), readRecord.getRejection());
+                    exportedRecords.add(describeAppointment(readRecord.getAppointment()));
+                }
+            }
+            assertEquals(expectedRecords, exportedRecords, fileFormat.toString());
+            try (Stream<Path> exportedFiles = Files.list(fileDirectory)) {
+                assertEquals(0, exportedFiles.filter(path -> path.getFileName().toString().endsWith(".part")).count());
+            }
+        }
+    }
+
+    /**
+     * Describes every field of an appointment except Appointment_ID.
+     *
+     * @param appointment Appointment
+     * @return Description of the appointment.
+     */
+    private static String describeAppointment(AppointmentModel appointment) {
+        return String.join("|", appointment.getTitl_ST(), appointment.getDesc_ST(), appointment.getLoca_ST(),
+                appointment.getType_ST(), appointment.getStaDT_LDT().toString(), appointment.getEndDT_LDT().toString(), String.valueOf(appointment.getCustID_IN()),
+                String.valueOf(appointment.getUserID_IN()), String.valueOf(appointment.getContID_IN()));
+    }
+}
@@ -0,0 +1,179 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.ImportProgressModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the chunked import of the AppointmentImportHelper class against a sequential pass over the same file. The
+ * random records book three customers, two users, and three contacts over a few weeks, so most of them overlap an
+ * earlier record, and some name a customer that does not exist.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentImportHelperTest {
+
+    private static final int RECORD_COUNT = 2500;
+    private static final ZoneId BUSINESS_ZONE = ZoneId.of("US/Eastern");
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * The import saves exactly the records a sequential pass accepts, counts every record read as imported or
+     * rejected, reports progress once per chunk, and keeps only the first hundred rejection reasons.
+     *
+     * @param fileDirectory Directory for the import file.
+     * @throws IOException If the file cannot be written or read.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void importSavesRecordsAcceptedBySequentialPass(@TempDir Path fileDirectory) throws IOException, SQLException {
+        List<AppointmentModel> records = generateRecords(new Random(18), "Imported", LocalDate.of(2033, 1, 3));
+        List<AppointmentModel> savedAppointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        Set<String> expectedTitles = new HashSet<>();
+        List<AppointmentModel> acceptedRecords = new ArrayList<>();
+        for (AppointmentModel appointment : records) {
+            if (appointment.getCustID_IN() <= 3 && !overlapsAny(appointment, savedAppointments) && !overlapsAny(appointment, acceptedRecords)) {
+                acceptedRecords.add(appointment);
+                expectedTitles.add(appointment.getTitl_ST());
+            }
+        }
+        List<ImportProgressModel> progressReports = new ArrayList<>();
+        ImportProgressModel importProgress = AppointmentImportHelper.importAppointmentsAIH(writeFile(fileDirectory, records), progressReports::add);
+
+        assertEquals(RECORD_COUNT, importProgress.getRowsRead_IN());
+        assertEquals(expectedTitles.size(), importProgress.getRowsImported_IN());
+        assertEquals(RECORD_COUNT - expectedTitles.size(), importProgress.getRowsRejected_IN());
+        assertEquals(Math.min(100, importProgress.getRowsRejected_IN()), importProgress.getRejections_LS().size());
+        assertEquals((RECORD_COUNT + AppointmentImportHelper.IMPORT_CHUNK_SIZE - 1) / AppointmentImportHelper.IMPORT_CHUNK_SIZE, progressReports.size());
+        assertEquals(expectedTitles, savedTitles("Imported"));
+    }
+
+    /**
+     * Interrupting the importing thread after the first chunk stops the import with a CancellationException, once the
+     * chunk being read in the background has stopped, and keeps the first chunk saved.
+     *
+     * @param fileDirectory Directory for the import file.
+     * @throws IOException If the file cannot be written.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void cancelledImportKeepsEarlierChunks(@TempDir Path fileDirectory) throws IOException, SQLException {
+        Path importFile = writeFile(fileDirectory, generateRecords(new Random(81), "Cancelled", LocalDate.of(2034, 1, 2)));
+        List<ImportProgressModel> progressReports = new ArrayList<>();
+        try {
+            assertThrows(CancellationException.class, () -> AppointmentImportHelper.importAppointmentsAIH(importFile, importProgress -> {
+                progressReports.add(importProgress);
+                Thread.currentThread().interrupt();
+            }));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, progressReports.size());
+        assertEquals(AppointmentImportHelper.IMPORT_CHUNK_SIZE, progressReports.get(0).getRowsRead_IN());
+        assertFalse(savedTitles("Cancelled").isEmpty());
+        assertEquals(progressReports.get(0).getRowsImported_IN(), savedTitles("Cancelled").size());
+    }
+
+    /**
+     * Generates records inside business hours with unique titles. One record in thirty names a customer that does not
+     * exist.
+     *
+     * @param testRandom Source of random values.
+     * @param titlePrefix Prefix of every title.
+     * @param firstDay First day an appointment can fall on.
+     * @return Records in file order.
+     */
+    private static List<AppointmentModel> generateRecords(Random testRandom, String titlePrefix, LocalDate firstDay) {
+        List<AppointmentModel> records = new ArrayList<>(RECORD_COUNT);
+        for (int recordIndex = 1; recordIndex <= RECORD_COUNT; recordIndex++) {
+            LocalDateTime start = ZonedDateTime.of(firstDay.plusDays(testRandom.nextInt(40)), LocalTime.of(9, 0).plusMinutes(30L * testRandom.nextInt(20)), BUSINESS_ZONE)
+                    .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            int custID = testRandom.nextInt(30) == 0 ? 9 : 1 + testRandom.nextInt(3);
+            records.add(new AppointmentModel(recordIndex, titlePrefix + " " + recordIndex, "Import test",
+                    EmbeddedDatabaseSupport.LOCATIONS[testRandom.nextInt(EmbeddedDatabaseSupport.LOCATIONS.length)],
+                    EmbeddedDatabaseSupport.TYPES[testRandom.nextInt(EmbeddedDatabaseSupport.TYPES.length)],
+                    start, start.plusMinutes(15L * testRandom.nextInt(9)), custID, 1 + testRandom.nextInt(2), 1 + testRandom.nextInt(3)));
+        }
+        return records;
+    }
+
+    /**
+     * Writes records to a CSV file.
+     *
+     * @param fileDirectory Directory for the file.
+     * @param records Records to write.
+     * @return Path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static Path writeFile(Path fileDirectory, List<AppointmentModel> records) throws IOException {
+        Path importFile = fileDirectory.resolve("import" + AppointmentFileFormat.CSV.getExtension());
+        try (AppointmentRecordWriter recordWriter = AppointmentRecordWriter.openARW(importFile, AppointmentFileFormat.CSV)) {
+            for (AppointmentModel appointment : records) {
+                recordWriter.writeAppointmentARW(appointment);
+            }
+        }
+        return importFile;
+    }
+
+    /**
+     * Checks whether an appointment overlaps any appointment of the same customer, contact, or user in a list.
+     *
+     * @param appointment Appointment to check.
+     * @param otherAppointments Appointments to check against.
+     * @return True if an overlap exists, otherwise false
+     */
+    private static boolean overlapsAny(AppointmentModel appointment, List<AppointmentModel> otherAppointments) {
+        for (AppointmentModel otherAppointment : otherAppointments) {
+            boolean sharesResource = otherAppointment.getCustID_IN() == appointment.getCustID_IN() || otherAppointment.getContID_IN() == appointment.getContID_IN()
+                    || otherAppointment.getUserID_IN() == appointment.getUserID_IN();
+            if (sharesResource && otherAppointment.getStaDT_LDT().isBefore(appointment.getEndDT_LDT()) && otherAppointment.getEndDT_LDT().isAfter(appointment.getStaDT_LDT())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the titles of the saved appointments whose titles start with a prefix.
+     *
+     * @param titlePrefix Prefix of the titles.
+     * @return Saved titles.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    private static Set<String> savedTitles(String titlePrefix) throws SQLException {
+        Set<String> titles = new HashSet<>();
+        for (AppointmentModel appointment : EmbeddedDatabaseSupport.readAllAppointmentsEDS()) {
+            if (appointment.getTitl_ST().startsWith(titlePrefix + " ")) {
+                titles.add(appointment.getTitl_ST());
+            }
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,159 @@
+package jrl.qam2final.Helper;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the AppointmentIntervalTree class against a list of the same ranges searched by brute force.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentIntervalTreeTest {
+
+    /**
+     * One range held by the reference list.
+     */
+    private static final class Range {
+        private final int appID;
+        private final long start;
+        private final long end;
+
+        /**
+         * Constructor for Range objects.
+         *
+         * @param appID Appointment ID
+         * @param start Start in epoch seconds.
+         * @param end End in epoch seconds.
+         */
+        private Range(int appID, long start, long end) {
+            this.appID = appID;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final Comparator<Range> BY_START_AND_ID = Comparator.<Range>comparingLong(range -> range.start).thenComparingInt(range -> range.appID);
+
+    /**
+     * Random inserts and removals, including removals of ranges that are not in the tree, keep the tree ordered,
+     * balanced, and with correct latest ends, and every overlap query matches a brute-force search.
+     */
+    @Test
+    void randomInsertsAndRemovalsMatchBruteForce() {
+        Random testRandom = new Random(7);
+        AppointmentIntervalTree intervalTree = new AppointmentIntervalTree();
+        List<Range> ranges = new ArrayList<>();
+        int nextAppID = 1;
+        for (int step = 0; step < 4000; step++) {
+            if (ranges.isEmpty() || testRandom.nextInt(5) < 3) {
+                long start = 900L * testRandom.nextInt(400);
+                Range added = new Range(nextAppID++, start, start + 900L * testRandom.nextInt(8));
+                intervalTree.insert(added.appID, added.start, added.end);
+                ranges.add(added);
+            } else if (testRandom.nextInt(10) == 0) {
+                assertFalse(intervalTree.remove(nextAppID + 1, 0), "A range that was never inserted was removed.");
+            } else {
+                Range removed = ranges.remove(testRandom.nextInt(ranges.size()));
+                assertTrue(intervalTree.remove(removed.appID, removed.start), "Appointment ID " + removed.appID + " was not removed.");
+                assertFalse(intervalTree.remove(removed.appID, removed.start), "Appointment ID " + removed.appID + " was removed twice.");
+            }
+            intervalTree.checkInvariants();
+            assertEquals(ranges.size(), intervalTree.size());
+            if (step % 10 == 0) {
+                long rangeStart = 900L * testRandom.nextInt(400);
+                long rangeEnd = rangeStart + 900L * testRandom.nextInt(12);
+                int excludedAppID = ranges.isEmpty() ? 0 : ranges.get(testRandom.nextInt(ranges.size())).appID;
+                assertEquals(bruteForceOverlaps(ranges, rangeStart, rangeEnd, excludedAppID), treeOverlaps(intervalTree, rangeStart, rangeEnd, excludedAppID));
+            }
+        }
+        while (!ranges.isEmpty()) {
+            Range removed = ranges.remove(ranges.size() - 1);
+            assertTrue(intervalTree.remove(removed.appID, removed.start));
+            intervalTree.checkInvariants();
+        }
+        assertTrue(intervalTree.isEmpty());
+    }
+
+    /**
+     * Inserting ranges in start order, the worst case for an unbalanced tree, keeps the height within the AVL bound of
+     * 1.44 log2(n + 2), and removing every other range keeps the latest ends correct.
+     */
+    @Test
+    void sortedInsertsStayBalanced() {
+        AppointmentIntervalTree intervalTree = new AppointmentIntervalTree();
+        List<Range> ranges = new ArrayList<>();
+        int rangeCount = 10_000;
+        for (int appID = 1; appID <= rangeCount; appID++) {
+            Range added = new Range(appID, 60L * appID, 60L * appID + (appID % 97 == 0 ? 100_000 : 30));
+            intervalTree.insert(added.appID, added.start, added.end);
+            ranges.add(added);
+        }
+        assertTrue(intervalTree.checkInvariants() <= 1.44 * Math.log(rangeCount + 2) / Math.log(2), "The tree is taller than an AVL tree can be.");
+        for (int rangeIndex = ranges.size() - 1; rangeIndex >= 0; rangeIndex -= 2) {
+            Range removed = ranges.remove(rangeIndex);
+            assertTrue(intervalTree.remove(removed.appID, removed.start));
+        }
+        intervalTree.checkInvariants();
+        for (long rangeStart = 0; rangeStart < 60L * rangeCount; rangeStart += 60L * 331) {
+            assertEquals(bruteForceOverlaps(ranges, rangeStart, rangeStart + 90, 0), treeOverlaps(intervalTree, rangeStart, rangeStart + 90, 0));
+        }
+    }
+
+    /**
+     * Ranges that only touch end to start do not overlap, and the excluded appointment is never returned.
+     */
+    @Test
+    void touchingRangesDoNotOverlap() {
+        AppointmentIntervalTree intervalTree = new AppointmentIntervalTree();
+        intervalTree.insert(1, 100, 200);
+        intervalTree.insert(2, 200, 300);
+        intervalTree.insert(3, 150, 250);
+        assertEquals(List.of(1, 3), treeOverlaps(intervalTree, 100, 200, 0));
+        assertEquals(List.of(3, 2), treeOverlaps(intervalTree, 200, 300, 0));
+        assertEquals(List.of(1, 2), treeOverlaps(intervalTree, 100, 300, 3));
+        assertEquals(List.of(), treeOverlaps(intervalTree, 300, 400, 0));
+    }
+
+    /**
+     * Runs an overlap query on the tree.
+     *
+     * @param intervalTree Tree to search.
+     * @param rangeStart Start of the range.
+     * @param rangeEnd End of the range.
+     * @param excludedAppID Appointment ID to ignore.
+     * @return Overlapping appointment IDs, in start order.
+     */
+    private static List<Integer> treeOverlaps(AppointmentIntervalTree intervalTree, long rangeStart, long rangeEnd, int excludedAppID) {
+        List<Integer> overlappingIds = new ArrayList<>();
+        intervalTree.collectOverlaps(rangeStart, rangeEnd, excludedAppID, overlappingIds);
+        return overlappingIds;
+    }
+
+    /**
+     * Checks every range for an overlap.
+     *
+     * @param ranges Ranges to search.
+     * @param rangeStart Start of the range.
+     * @param rangeEnd End of the range.
+     * @param excludedAppID Appointment ID to ignore.
+     * @return Overlapping appointment IDs, in start and ID order.
+     */
+    private static List<Integer> bruteForceOverlaps(List<Range> ranges, long rangeStart, long rangeEnd, int excludedAppID) {
+        List<Range> sortedRanges = new ArrayList<>(ranges);
+        sortedRanges.sort(BY_START_AND_ID);
+        List<Integer> overlappingIds = new ArrayList<>();
+        for (Range range : sortedRanges) {
+            if (range.start < rangeEnd && range.end > rangeStart && range.appID != excludedAppID) {
+                overlappingIds.add(range.appID);
+            }
+        }
+        return overlappingIds;
+    }
+}
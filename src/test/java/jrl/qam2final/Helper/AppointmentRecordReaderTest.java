@@ -0,0 +1,228 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the CSV and iCalendar parsing of the AppointmentRecordReader class, on hand-written files and on random
+ * appointments written by the AppointmentRecordWriter class and read back.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentRecordReaderTest {
+
+    private static final String CSV_HEADER = "Title,Description,Location,Type,Start,End,Customer_ID,User_ID,Contact_ID\n";
+    private static final String[] AWKWARD_TEXT = {"plain", "comma, inside", "\"quoted\"", "say \"\"hi\"\"", "two\nlines", "semi;colon", "back\\slash",
+            "café", "漢字の予定", "a,\"b\",\nc;\\d"};
+
+    /**
+     * Quoted CSV fields keep their commas, doubled quotes, and line breaks, and each record reports the line it starts
+     * on, counting the line breaks inside quoted fields.
+     *
+     * @param fileDirectory Temporary directory for the file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void csvQuotedFieldsAndLineNumbers(@TempDir Path fileDirectory) throws IOException {
+        Path csvFile = writeFile(fileDirectory, "quoted.csv", CSV_HEADER
+                + "\"Kick-off, phase 1\",\"He said \"\"go\"\"\",Phoenix,Planning Session,2024-03-04 09:00,2024-03-04 10:00,1,1,2\r\n"
+                + "\n"
+                + "Review,\"first line\nsecond line\",\"London\",Review,2024-03-05T14:30:00,2024-03-05 15:00,2,2,3\n"
+                + "Broken,x,y,z,2024-03-06 09:00,2024-03-06 10:00,one,1,1\n"
+                + "Last,d,l,t,2024-03-07 09:00,2024-03-07 10:00,3,1,1");
+        List<AppointmentRecordReader.ReadRecord> readRecords = readAll(csvFile);
+        assertEquals(4, readRecords.size());
+        assertAppointment(readRecords.get(0), 2, "Kick-off, phase 1", "He said \"go\"", "Phoenix", "Planning Session", LocalDateTime.of(2024, 3, 4, 9, 0), 1, 1, 2);
+        assertAppointment(readRecords.get(1), 4, "Review", "first line\nsecond line", "London", "Review", LocalDateTime.of(2024, 3, 5, 14, 30), 2, 2, 3);
+        assertEquals(6, readRecords.get(2).getLineNumber());
+        assertNull(readRecords.get(2).getAppointment());
+        assertEquals("Customer ID \"one\" is not a number.", readRecords.get(2).getRejection());
+        assertAppointment(readRecords.get(3), 7, "Last", "d", "l", "t", LocalDateTime.of(2024, 3, 7, 9, 0), 3, 1, 1);
+    }
+
+    /**
+     * A UTF-8 byte order mark before the header, as written by spreadsheet programs, does not hide the first column.
+     *
+     * @param fileDirectory Temporary directory for the file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void csvByteOrderMarkIsIgnored(@TempDir Path fileDirectory) throws IOException {
+        Path csvFile = writeFile(fileDirectory, "excel.csv", "\uFEFF" + CSV_HEADER + "Title,d,l,t,2024-03-04 09:00,2024-03-04 10:00,1,1,2\n");
+        List<AppointmentRecordReader.ReadRecord> readRecords = readAll(csvFile);
+        assertEquals(1, readRecords.size());
+        assertAppointment(readRecords.get(0), 2, "Title", "d", "l", "t", LocalDateTime.of(2024, 3, 4, 9, 0), 1, 1, 2);
+    }
+
+    /**
+     * Folded iCalendar lines, continued with a space or a tab, are joined before they are parsed, escaped text is
+     * unescaped, components other than VEVENT are skipped, and each event reports the line of its BEGIN.
+     *
+     * @param fileDirectory Temporary directory for the file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void iCalendarFoldedLinesAreUnfolded(@TempDir Path fileDirectory) throws IOException {
+        Path icsFile = writeFile(fileDirectory, "folded.ics", "BEGIN:VCALENDAR\r\n"
+                + "VERSION:2.0\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:Not an appointment\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Quarterly pla\r\n"
+                + " nning\r\n"
+                + "DESCRIPTION:Agenda\\, notes\\; and\\nnext steps with a very long description th\r\n"
+                + "\tat is folded twice and conti\r\n"
+                + " nues here\r\n"
+                + "LOCATION:White Plains\r\n"
+                + "CATEGORIES:Planning Session\r\n"
+                + "DTSTART:20240304T090000\r\n"
+                + "DTEND:20240304T100000\r\n"
+                + "X-CUSTOMER-ID:1\r\n"
+                + "X-USER-ID:2\r\n"
+                + "X-CONTACT-ID:\r\n"
+                + " 3\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:All day\r\n"
+                + "DTSTART;VALUE=DATE:20240305\r\n"
+                + "DTEND;VALUE=DATE:20240306\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n");
+        List<AppointmentRecordReader.ReadRecord> readRecords = readAll(icsFile);
+        assertEquals(2, readRecords.size());
+        assertAppointment(readRecords.get(0), 6, "Quarterly planning", "Agenda, notes; and\nnext steps with a very long description that is folded twice and continues here",
+                "White Plains", "Planning Session", LocalDateTime.of(2024, 3, 4, 9, 0), 1, 2, 3);
+        assertEquals(21, readRecords.get(1).getLineNumber());
+        assertNull(readRecords.get(1).getAppointment());
+        assertTrue(readRecords.get(1).getRejection().contains("All-day events cannot be imported"));
+    }
+
+    /**
+     * Random appointments with commas, quotes, line breaks, backslashes, and multi-byte characters in every text field
+     * read back unchanged from CSV and from iCalendar, where long lines are folded by the writer.
+     *
+     * @param fileDirectory Temporary directory for the files.
+     * @throws IOException If a file cannot be written or read.
+     */
+    @Test
+    void writtenAppointmentsReadBackUnchanged(@TempDir Path fileDirectory) throws IOException {
+        Random testRandom = new Random(18);
+        List<AppointmentModel> appointments = new ArrayList<>();
+        for (int appointmentIndex = 1; appointmentIndex <= 300; appointmentIndex++) {
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0).plusDays(testRandom.nextInt(700)).plusMinutes(15L * testRandom.nextInt(48));
+            appointments.add(new AppointmentModel(appointmentIndex, randomText(testRandom), randomText(testRandom), randomText(testRandom), randomText(testRandom),
+                    start, start.plusMinutes(15L * (1 + testRandom.nextInt(8))), 1 + testRandom.nextInt(3), 1 + testRandom.nextInt(2), 1 + testRandom.nextInt(3)));
+        }
+        for (AppointmentFileFormat fileFormat : AppointmentFileFormat.values()) {
+            Path appointmentFile = fileDirectory.resolve("round-trip" + fileFormat.getExtension());
+            try (AppointmentRecordWriter recordWriter = AppointmentRecordWriter.openARW(appointmentFile, fileFormat)) {
+                for (AppointmentModel appointment : appointments) {
+                    recordWriter.writeAppointmentARW(appointment);
+                }
+            }
+            if (fileFormat == AppointmentFileFormat.ICALENDAR) {
+                for (String fileLine : Files.readAllLines(appointmentFile, StandardCharsets.UTF_8)) {
+                    assertTrue(fileLine.getBytes(StandardCharsets.UTF_8).length <= 75, "Line longer than 75 octets: " + fileLine);
+                }
+            }
+            List<AppointmentRecordReader.ReadRecord> readRecords = readAll(appointmentFile);
+            assertEquals(appointments.size(), readRecords.size(), fileFormat + " record count");
+            for (int appointmentIndex = 0; appointmentIndex < appointments.size(); appointmentIndex++) {
+                AppointmentModel written = appointments.get(appointmentIndex);
+                assertAppointment(readRecords.get(appointmentIndex), readRecords.get(appointmentIndex).getLineNumber(), written.getTitl_ST(), written.getDesc_ST(),
+                        written.getLoca_ST(), written.getType_ST(), written.getStaDT_LDT(), written.getCustID_IN(), written.getUserID_IN(), written.getContID_IN());
+                assertEquals(written.getEndDT_LDT(), readRecords.get(appointmentIndex).getAppointment().getEndDT_LDT());
+            }
+        }
+    }
+
+    /**
+     * Joins one to three pieces of awkward text, so values are sometimes long enough to be folded.
+     *
+     * @param testRandom Source of the random values.
+     * @return Text that does not start or end with white space.
+     */
+    private static String randomText(Random testRandom) {
+        StringBuilder text = new StringBuilder(AWKWARD_TEXT[testRandom.nextInt(AWKWARD_TEXT.length)]);
+        for (int pieceCount = testRandom.nextInt(3); pieceCount > 0; pieceCount--) {
+            text.append(" - ").append(AWKWARD_TEXT[testRandom.nextInt(AWKWARD_TEXT.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes a file in UTF-8.
+     *
+     * @param fileDirectory Directory of the file.
+     * @param fileName File name, whose extension chooses the format.
+     * @param fileText File contents.
+     * @return Path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static Path writeFile(Path fileDirectory, String fileName, String fileText) throws IOException {
+        return Files.writeString(fileDirectory.resolve(fileName), fileText, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads every record of a file.
+     *
+     * @param file File to read.
+     * @return Records in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<AppointmentRecordReader.ReadRecord> readAll(Path file) throws IOException {
+        List<AppointmentRecordReader.ReadRecord> readRecords = new ArrayList<>();
+        try (AppointmentRecordReader recordReader = AppointmentRecordReader.openARR(file)) {
+            AppointmentRecordReader.ReadRecord readRecord;
+            while ((readRecord = recordReader.readNextARR()) != null) {
+                readRecords.add(readRecord);
+            }
+        }
+        return readRecords;
+    }
+
+    /**
+     * Checks that a record was read as an appointment with the given values.
+     *
+     * @param readRecord Record to check.
+     * @param lineNumber Expected line number.
+     * @param title Expected title.
+     * @param description Expected description.
+     * @param location Expected location.
+     * @param type Expected type.
+     * @param start Expected start.
+     * @param custID Expected customer ID.
+     * @param userID Expected user ID.
+     * @param contID Expected contact ID.
+     */
+    private static void assertAppointment(AppointmentRecordReader.ReadRecord readRecord, int lineNumber, String title, String description, String location, String type,
+                                          LocalDateTime start, int custID, int userID, int contID) {
+        assertNull(readRecord.getRejection(), "Line " + readRecord.getLineNumber() + " was rejected.");
+        AppointmentModel appointment = readRecord.getAppointment();
+        assertNotNull(appointment);
+        assertEquals(lineNumber, readRecord.getLineNumber());
+        assertEquals(title, appointment.getTitl_ST());
+        assertEquals(description, appointment.getDesc_ST());
+        assertEquals(location, appointment.getLoca_ST());
+        assertEquals(type, appointment.getType_ST());
+        assertEquals(start, appointment.getStaDT_LDT());
+        assertEquals(custID, appointment.getCustID_IN());
+        assertEquals(userID, appointment.getUserID_IN());
+        assertEquals(contID, appointment.getContID_IN());
+    }
+}
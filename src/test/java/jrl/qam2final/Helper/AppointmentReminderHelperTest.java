@@ -0,0 +1,122 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the reminder queue of the AppointmentReminderHelper class on the embedded database. Every appointment
+ * written starts at least half an hour from now, so no reminder falls due and no alert is shown while a test runs,
+ * and every appointment is deleted again.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentReminderHelperTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * The first refresh queues the appointments inside the window in start order, recorded changes update the queue,
+     * a refresh whose read fails keeps the queue as it was, and the next good refresh reloads it from the table.
+     *
+     * @throws SQLException If the appointments table cannot be renamed.
+     * @throws InterruptedException If the test is interrupted while waiting for the first refresh.
+     */
+    @Test
+    void queueFollowsWindowAndSurvivesFailedRefresh() throws SQLException, InterruptedException {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        AppointmentModel laterAppointment = createAppointment("Reminder Later", now.plusMinutes(90));
+        AppointmentModel earlierAppointment = createAppointment("Reminder Earlier", now.plusMinutes(45));
+        AppointmentModel middleAppointment = createAppointment("Reminder Middle", now.plusMinutes(60));
+        AppointmentModel outsideAppointment = createAppointment("Reminder Outside", now.plusMinutes(300));
+        List<AppointmentModel> appointments = List.of(laterAppointment, earlierAppointment, middleAppointment, outsideAppointment);
+        try {
+            AppointmentReminderHelper.startARH(LocalDateTime.now());
+            List<Integer> windowIds = List.of(earlierAppointment.getAppID_IN(), middleAppointment.getAppID_IN(), laterAppointment.getAppID_IN());
+            waitForQueue(windowIds);
+
+            AppointmentModel movedAppointment = new AppointmentModel(outsideAppointment.getAppID_IN(), outsideAppointment.getTitl_ST(), outsideAppointment.getDesc_ST(),
+                    outsideAppointment.getLoca_ST(), outsideAppointment.getType_ST(), now.plusMinutes(75), now.plusMinutes(105), outsideAppointment.getCustID_IN(),
+                    outsideAppointment.getUserID_IN(), outsideAppointment.getContID_IN());
+            AppointmentReminderHelper.recordAppointmentARH(movedAppointment);
+            AppointmentReminderHelper.removeAppointmentARH(earlierAppointment.getAppID_IN());
+            List<Integer> recordedIds = List.of(middleAppointment.getAppID_IN(), movedAppointment.getAppID_IN(), laterAppointment.getAppID_IN());
+            assertEquals(recordedIds, AppointmentReminderHelper.readQueuedIdsARH());
+
+            renameAppointmentsTable("appointments", "appointments_hidden");
+            try {
+                AppointmentReminderHelper.refreshWindowARH();
+            } finally {
+                renameAppointmentsTable("appointments_hidden", "appointments");
+            }
+            assertEquals(recordedIds, AppointmentReminderHelper.readQueuedIdsARH());
+
+            AppointmentReminderHelper.refreshWindowARH();
+            assertEquals(windowIds, AppointmentReminderHelper.readQueuedIdsARH());
+        } finally {
+            AppointmentReminderHelper.stopARH();
+            List<Integer> appointmentIds = new ArrayList<>();
+            for (AppointmentModel appointment : appointments) {
+                appointmentIds.add(appointment.getAppID_IN());
+            }
+            assertEquals(appointmentIds.size(), DAORegistry.getAppointmentDAODR().deleteAppointmentsAppDAO(appointmentIds));
+        }
+    }
+
+    /**
+     * Creates a half-hour appointment through the appointment DAO.
+     *
+     * @param title Title of the appointment.
+     * @param start Start of the appointment.
+     * @return The appointment, with its appointment ID set.
+     */
+    private static AppointmentModel createAppointment(String title, LocalDateTime start) {
+        AppointmentModel appointment = new AppointmentModel(AppointmentDAO.NO_APPOINTMENT_ID, title, "Reminder test", EmbeddedDatabaseSupport.LOCATIONS[0],
+                EmbeddedDatabaseSupport.TYPES[0], start, start.plusMinutes(30), 1, 1, 1);
+        EmbeddedDatabaseSupport.createAppointmentsEDS(List.of(appointment));
+        return appointment;
+    }
+
+    /**
+     * Waits for the first refresh on the reminder thread to queue the expected appointments.
+     *
+     * @param expectedIds Appointment IDs in due order.
+     * @throws InterruptedException If the test is interrupted while waiting.
+     */
+    private static void waitForQueue(List<Integer> expectedIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!expectedIds.equals(AppointmentReminderHelper.readQueuedIdsARH()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expectedIds, AppointmentReminderHelper.readQueuedIdsARH());
+    }
+
+    /**
+     * Renames the appointments table, so that reads of it fail until it is renamed back.
+     *
+     * @param fromName Current name of the table.
+     * @param toName New name of the table.
+     * @throws SQLException If the table cannot be renamed.
+     */
+    private static void renameAppointmentsTable(String fromName, String toName) throws SQLException {
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> QueryExecutorHelper.updateQEH(pooledConnection, "renameAppointmentsARHT",
+                "ALTER TABLE " + fromName + " RENAME TO " + toName, StatementBinder.NO_PARAMETERS));
+    }
+}
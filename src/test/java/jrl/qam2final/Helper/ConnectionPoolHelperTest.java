@@ -0,0 +1,122 @@
+package jrl.qam2final.Helper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of borrowing and returning connections with the ConnectionPoolHelper class on the embedded database. Each test
+ * borrows every connection in the pool and returns them all before it ends.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ConnectionPoolHelperTest {
+
+    private static final long WAIT_CHECK_MILLIS = 300;
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * A borrower of an exhausted pool waits, and is handed the connection the next borrower returns.
+     *
+     * @throws Exception If a connection cannot be borrowed or the waiting borrower fails.
+     */
+    @Test
+    void waitingBorrowerGetsReturnedConnection() throws Exception {
+        List<PooledConnection> borrowedConnections = borrowAllConnections();
+        try {
+            CompletableFuture<PooledConnection> waitingBorrow = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ConnectionPoolHelper.borrowConnectionCPH();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(WAIT_CHECK_MILLIS);
+            assertFalse(waitingBorrow.isDone());
+
+            PooledConnection returnedConnection = borrowedConnections.remove(0);
+            returnedConnection.close();
+            PooledConnection handedConnection = waitingBorrow.get(ConnectionPoolHelper.BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            borrowedConnections.add(handedConnection);
+            assertSame(returnedConnection, handedConnection);
+            assertEquals(ConnectionPoolHelper.MAX_POOL_SIZE, ConnectionPoolHelper.getActiveConnectionsCPH());
+        } finally {
+            returnAllConnections(borrowedConnections);
+        }
+        assertEquals(0, ConnectionPoolHelper.getActiveConnectionsCPH());
+    }
+
+    /**
+     * Returning a connection twice frees one place in the pool, not two, so once the pool is full again the next
+     * borrower times out after BORROW_TIMEOUT_MILLIS.
+     *
+     * @throws SQLException If a connection cannot be borrowed before the pool is full.
+     */
+    @Test
+    void borrowTimesOutWhenPoolStaysExhausted() throws SQLException {
+        List<PooledConnection> borrowedConnections = borrowAllConnections();
+        try {
+            PooledConnection returnedConnection = borrowedConnections.remove(0);
+            returnedConnection.close();
+            returnedConnection.close();
+            borrowedConnections.add(ConnectionPoolHelper.borrowConnectionCPH());
+
+            long waitStart = System.nanoTime();
+            SQLException timeout = assertThrows(SQLException.class, ConnectionPoolHelper::borrowConnectionCPH);
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart);
+            assertTrue(timeout.getMessage().startsWith("Timed out"), timeout.getMessage());
+            assertTrue(waitMillis >= ConnectionPoolHelper.BORROW_TIMEOUT_MILLIS - 50, waitMillis + " ms");
+            assertEquals(ConnectionPoolHelper.MAX_POOL_SIZE, ConnectionPoolHelper.getActiveConnectionsCPH());
+        } finally {
+            returnAllConnections(borrowedConnections);
+        }
+        assertEquals(0, ConnectionPoolHelper.getActiveConnectionsCPH());
+    }
+
+    /**
+     * Borrows every connection in the pool.
+     *
+     * @return The borrowed connections.
+     * @throws SQLException If a connection cannot be borrowed.
+     */
+    private static List<PooledConnection> borrowAllConnections() throws SQLException {
+        List<PooledConnection> borrowedConnections = new ArrayList<>();
+        try {
+            while (borrowedConnections.size() < ConnectionPoolHelper.MAX_POOL_SIZE) {
+                borrowedConnections.add(ConnectionPoolHelper.borrowConnectionCPH());
+            }
+        } catch (SQLException e) {
+            returnAllConnections(borrowedConnections);
+            throw e;
+        }
+        return borrowedConnections;
+    }
+
+    /**
+     * Returns connections to the pool.
+     *
+     * @param borrowedConnections Connections to return.
+     */
+    private static void returnAllConnections(List<PooledConnection> borrowedConnections) {
+        for (PooledConnection borrowedConnection : borrowedConnections) {
+            borrowedConnection.close();
+        }
+    }
+}
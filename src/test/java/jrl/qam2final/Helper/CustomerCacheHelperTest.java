@@ -0,0 +1,151 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.CustomerModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Tests of the customer cache of the CustomerCacheHelper class on the embedded database. Customers written here bypass
+ * the customer DAO, which shows alerts, and are recorded in the cache the same way the DAO records them. Every row
+ * written is deleted again.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class CustomerCacheHelperTest {
+
+    private static final String JOINED_SQL = "SELECT c.Customer_ID, c.Customer_Name, d.Division, co.Country \n" +
+            "FROM customers c \n" +
+            "JOIN first_level_divisions d ON d.Division_ID = c.Division_ID \n" +
+            "JOIN countries co ON co.Country_ID = d.Country_ID \n" +
+            "ORDER BY c.Customer_ID";
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * Customers joined to their divisions and countries in memory match the same join done in SQL.
+     *
+     * @throws SQLException If the customers cannot be read.
+     */
+    @Test
+    void cachedCustomersMatchSqlJoin() throws SQLException {
+        CustomerCacheHelper.invalidateCCH();
+        assertEquals(readJoinedCustomers(), describeCustomers(CustomerCacheHelper.readCustomersCCH()));
+    }
+
+    /**
+     * A customer in a division added after the reference data was loaded is joined to it after the one reload that
+     * follows the customer query.
+     *
+     * @throws SQLException If the rows cannot be written, read, or deleted.
+     */
+    @Test
+    void divisionAddedAfterReferenceLoadIsJoined() throws SQLException {
+        ReferenceDataCacheHelper.readDivisionsByIdRDCH();
+        int diviID = QueryExecutorHelper.insertReturningKeyQEH("insertDivisionCCHT", "INSERT INTO first_level_divisions (Division, Country_ID) VALUES ('Cache Test Division', 1)",
+                StatementBinder.NO_PARAMETERS);
+        int custID = QueryExecutorHelper.insertReturningKeyQEH("insertCustomerCCHT", "INSERT INTO customers (Customer_Name, Address, Postal_Code, Phone, Division_ID) "
+                + "VALUES ('Cache Test Customer', '1 Test Road', '00000', '555-0100', ?)", insertStatement -> insertStatement.setInt(1, diviID));
+        try {
+            CustomerCacheHelper.invalidateCCH();
+            CustomerModel customer = findCustomer(CustomerCacheHelper.readCustomersCCH(), custID);
+            assertEquals("Cache Test Division", customer.getDiviN_ST());
+            assertEquals(ReferenceDataCacheHelper.findCountryRDCH(1).getCounN_ST(), customer.getCounN_ST());
+            assertEquals(readJoinedCustomers(), describeCustomers(CustomerCacheHelper.readCustomersCCH()));
+        } finally {
+            deleteRows("DELETE FROM customers WHERE Customer_ID = ?", custID);
+            deleteRows("DELETE FROM first_level_divisions WHERE Division_ID = ?", diviID);
+            CustomerCacheHelper.invalidateCCH();
+            ReferenceDataCacheHelper.invalidateRDCH();
+        }
+    }
+
+    /**
+     * A loaded cache reflects recorded creates, updates, and deletes without rereading the table, and each change
+     * hands readers a new snapshot list.
+     *
+     * @throws SQLException If the rows cannot be written, read, or deleted.
+     */
+    @Test
+    void recordedWritesUpdateLoadedCache() throws SQLException {
+        List<CustomerModel> loadedCustomers = CustomerCacheHelper.readCustomersCCH();
+        int custID = QueryExecutorHelper.insertReturningKeyQEH("insertCustomerCCHT", "INSERT INTO customers (Customer_Name, Address, Postal_Code, Phone, Division_ID) "
+                + "VALUES ('Recorded Customer', '2 Test Road', '00000', '555-0101', 2)", StatementBinder.NO_PARAMETERS);
+        try {
+            CustomerCacheHelper.recordCustomerCCH(custID, "Recorded Customer", "2 Test Road", "00000", "555-0101", 2);
+            List<CustomerModel> createdCustomers = CustomerCacheHelper.readCustomersCCH();
+            assertNotSame(loadedCustomers, createdCustomers);
+            assertEquals(loadedCustomers.size() + 1, createdCustomers.size());
+            assertEquals(ReferenceDataCacheHelper.findDivisionRDCH(2).getDiviN_ST(), findCustomer(createdCustomers, custID).getDiviN_ST());
+
+            CustomerCacheHelper.recordCustomerCCH(custID, "Renamed Customer", "2 Test Road", "00000", "555-0101", 2);
+            assertEquals("Renamed Customer", findCustomer(CustomerCacheHelper.readCustomersCCH(), custID).getCustN_ST());
+        } finally {
+            deleteRows("DELETE FROM customers WHERE Customer_ID = ?", custID);
+            CustomerCacheHelper.removeCustomerCCH(custID);
+        }
+        List<CustomerModel> deletedCustomers = CustomerCacheHelper.readCustomersCCH();
+        assertFalse(deletedCustomers.stream().anyMatch(customer -> customer.getCustID_IN() == custID));
+        assertEquals(describeCustomers(loadedCustomers), describeCustomers(deletedCustomers));
+    }
+
+    /**
+     * Reads every customer joined to its division and country in SQL.
+     *
+     * @return One description per customer in Customer_ID order.
+     * @throws SQLException If the customers cannot be read.
+     */
+    private static List<String> readJoinedCustomers() throws SQLException {
+        return QueryExecutorHelper.queryListQEH("readJoinedCustomersCCHT", JOINED_SQL, StatementBinder.NO_PARAMETERS,
+                queryReturn -> queryReturn.getInt(1) + " " + queryReturn.getString(2) + " " + queryReturn.getString(3) + " " + queryReturn.getString(4));
+    }
+
+    /**
+     * Describes customers the way readJoinedCustomers does.
+     *
+     * @param customers Customers in Customer_ID order.
+     * @return One description per customer.
+     */
+    private static List<String> describeCustomers(List<CustomerModel> customers) {
+        List<String> descriptions = new ArrayList<>();
+        for (CustomerModel customer : customers) {
+            descriptions.add(customer.getCustID_IN() + " " + customer.getCustN_ST() + " " + customer.getDiviN_ST() + " " + customer.getCounN_ST());
+        }
+        return descriptions;
+    }
+
+    /**
+     * Finds a customer by ID, failing the test if it is missing.
+     *
+     * @param customers Customers to search.
+     * @param custID Customer ID
+     * @return The customer.
+     */
+    private static CustomerModel findCustomer(List<CustomerModel> customers, int custID) {
+        return customers.stream().filter(customer -> customer.getCustID_IN() == custID).findFirst().orElseThrow();
+    }
+
+    /**
+     * Deletes the rows matching one ID.
+     *
+     * @param sql DELETE statement with one ID parameter.
+     * @param rowID ID of the rows to delete.
+     * @throws SQLException If the rows cannot be deleted.
+     */
+    private static void deleteRows(String sql, int rowID) throws SQLException {
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> QueryExecutorHelper.updateQEH(pooledConnection, "deleteRowsCCHT", sql,
+                deleteStatement -> deleteStatement.setInt(1, rowID)));
+    }
+}
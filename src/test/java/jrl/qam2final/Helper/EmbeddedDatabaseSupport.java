@@ -0,0 +1,97 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Model.AppointmentModel;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shared set-up for the tests that run against the embedded H2 database of the EMBEDDED_H2 profile. The database is
+ * created, seeded, and checked for missing migrations once per test run, and every test class adds its own random
+ * appointments through the DAO, so the report aggregate tables stay in step with the appointments table. Tests
+ * compare what they read with a brute-force answer computed from every appointment in the table, so appointments
+ * added by other test classes never change the outcome. The seed data has customers, contacts, and users 1 to 3, 1 to
+ * 3, and 1 to 2.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+public abstract class EmbeddedDatabaseSupport {
+
+    /**
+     * Appointment types used by the generated appointments.
+     */
+    public static final String[] TYPES = {"Planning Session", "De-Briefing", "Follow-Up", "Review"};
+
+    /**
+     * Locations used by the generated appointments.
+     */
+    public static final String[] LOCATIONS = {"Phoenix", "White Plains", "Montreal", "London"};
+
+    private static final String ALL_APPOINTMENTS_SQL = "SELECT Appointment_ID, Title, Description, Location, Type, Start, End, Customer_ID, User_ID, Contact_ID "
+            + "FROM appointments ORDER BY Appointment_ID";
+    private static boolean databaseStarted;
+
+    /**
+     * Opens the connection pool on the embedded database, unless an earlier test class already did.
+     */
+    public static synchronized void startDatabaseEDS() {
+        if (databaseStarted) {
+            return;
+        }
+        JDBCHelper.configureJDBCH(DatabaseProfile.EMBEDDED_H2, null, null, null);
+        JDBCHelper.startDBConnection();
+        assertEquals(List.of(), JDBCHelper.getMissingMigrationsJDBCH(), "The embedded schema is missing a migration.");
+        databaseStarted = true;
+    }
+
+    /**
+     * Generates appointments on a coarse grid of starts and lengths, so many of them share a start or overlap for the
+     * same customer, contact, or user. Some last no time at all.
+     *
+     * @param generationRandom Source of the random values.
+     * @param appointmentCount Number of appointments.
+     * @return Appointments without appointment IDs.
+     */
+    public static List<AppointmentModel> generateAppointmentsEDS(Random generationRandom, int appointmentCount) {
+        LocalDateTime firstStart = LocalDateTime.of(2024, 11, 1, 8, 0);
+        List<AppointmentModel> appointments = new ArrayList<>(appointmentCount);
+        for (int appointmentIndex = 0; appointmentIndex < appointmentCount; appointmentIndex++) {
+            LocalDateTime start = firstStart.plusDays(generationRandom.nextInt(150)).plusMinutes(30L * generationRandom.nextInt(24));
+            appointments.add(new AppointmentModel(AppointmentDAO.NO_APPOINTMENT_ID, "Generated " + appointmentIndex, "Generated for tests",
+                    LOCATIONS[generationRandom.nextInt(LOCATIONS.length)], TYPES[generationRandom.nextInt(TYPES.length)], start,
+                    start.plusMinutes(30L * generationRandom.nextInt(5)), 1 + generationRandom.nextInt(3), 1 + generationRandom.nextInt(2),
+                    1 + generationRandom.nextInt(3)));
+        }
+        return appointments;
+    }
+
+    /**
+     * Inserts appointments with the batch insert of the appointment DAO, which also updates the report aggregate
+     * tables, and sets their appointment IDs.
+     *
+     * @param appointments Appointments to insert.
+     */
+    public static void createAppointmentsEDS(List<AppointmentModel> appointments) {
+        assertTrue(DAORegistry.getAppointmentDAODR().createAppointmentsAppDAO(appointments), "The appointments were not created.");
+    }
+
+    /**
+     * Reads every appointment in the table, in appointment ID order.
+     *
+     * @return Every appointment.
+     * @throws SQLException If the appointments cannot be read.
+     */
+    public static List<AppointmentModel> readAllAppointmentsEDS() throws SQLException {
+        return QueryExecutorHelper.queryListQEH("readAllAppointmentsEDS", ALL_APPOINTMENTS_SQL, StatementBinder.NO_PARAMETERS, queryReturn -> new AppointmentModel(
+                queryReturn.getInt(1), queryReturn.getString(2), queryReturn.getString(3), queryReturn.getString(4), queryReturn.getString(5),
+                queryReturn.getTimestamp(6).toLocalDateTime(), queryReturn.getTimestamp(7).toLocalDateTime(), queryReturn.getInt(8), queryReturn.getInt(9),
+                queryReturn.getInt(10)));
+    }
+}
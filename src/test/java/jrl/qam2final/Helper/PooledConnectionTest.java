@@ -0,0 +1,102 @@
+package jrl.qam2final.Helper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the prepared statement cache of the PooledConnection class. Each test uses its own physical connection to
+ * the embedded database, outside the pool, so the cache starts empty, and closes it when it ends.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class PooledConnectionTest {
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * A full cache evicts and closes the least recently used statement, not the least recently prepared one, and keeps
+     * every other statement open and cached.
+     *
+     * @throws SQLException If a statement cannot be prepared.
+     */
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedStatement() throws SQLException {
+        PooledConnection pooledConnection = new PooledConnection(JDBCHelper.openPhysicalConnectionJDBCH());
+        try {
+            List<PreparedStatement> preparedStatements = new ArrayList<>();
+            for (int statementIndex = 0; statementIndex < PooledConnection.STATEMENT_CACHE_SIZE; statementIndex++) {
+                preparedStatements.add(pooledConnection.prepareStatement(selectSql(statementIndex)));
+            }
+            assertSame(preparedStatements.get(0), pooledConnection.prepareStatement(selectSql(0)));
+            assertEquals(1, pooledConnection.getStatementCacheHits());
+
+            pooledConnection.prepareStatement(selectSql(PooledConnection.STATEMENT_CACHE_SIZE));
+            assertTrue(preparedStatements.get(1).isClosed());
+            for (int statementIndex = 0; statementIndex < PooledConnection.STATEMENT_CACHE_SIZE; statementIndex++) {
+                if (statementIndex != 1) {
+                    assertFalse(preparedStatements.get(statementIndex).isClosed(), selectSql(statementIndex));
+                    assertSame(preparedStatements.get(statementIndex), pooledConnection.prepareStatement(selectSql(statementIndex)));
+                }
+            }
+            assertEquals(PooledConnection.STATEMENT_CACHE_SIZE, pooledConnection.getStatementCacheHits());
+            assertEquals(PooledConnection.STATEMENT_CACHE_SIZE + 1, pooledConnection.getStatementCacheMisses());
+        } finally {
+            pooledConnection.closePhysicalPC();
+        }
+    }
+
+    /**
+     * A statement that reports generated keys is cached apart from the plain statement for the same SQL text, and an
+     * evicted statement is prepared again on its next use.
+     *
+     * @throws SQLException If a statement cannot be prepared.
+     */
+    @Test
+    void generatedKeysStatementIsCachedSeparately() throws SQLException {
+        PooledConnection pooledConnection = new PooledConnection(JDBCHelper.openPhysicalConnectionJDBCH());
+        try {
+            PreparedStatement plainStatement = pooledConnection.prepareStatement(selectSql(0));
+            PreparedStatement keysStatement = pooledConnection.prepareStatement(selectSql(0), Statement.RETURN_GENERATED_KEYS);
+            assertNotSame(plainStatement, keysStatement);
+            assertSame(plainStatement, pooledConnection.prepareStatement(selectSql(0), Statement.NO_GENERATED_KEYS));
+            assertSame(keysStatement, pooledConnection.prepareStatement(selectSql(0), Statement.RETURN_GENERATED_KEYS));
+
+            for (int statementIndex = 1; statementIndex <= PooledConnection.STATEMENT_CACHE_SIZE; statementIndex++) {
+                pooledConnection.prepareStatement(selectSql(statementIndex));
+            }
+            assertTrue(plainStatement.isClosed());
+            PreparedStatement preparedAgain = pooledConnection.prepareStatement(selectSql(0));
+            assertNotSame(plainStatement, preparedAgain);
+            assertFalse(preparedAgain.isClosed());
+        } finally {
+            pooledConnection.closePhysicalPC();
+        }
+    }
+
+    /**
+     * Builds a distinct SQL text for each statement index.
+     *
+     * @param statementIndex Index of the statement.
+     * @return SQL text selecting the index.
+     */
+    private static String selectSql(int statementIndex) {
+        return "SELECT " + statementIndex + " FROM countries WHERE Country_ID = ?";
+    }
+}
@@ -0,0 +1,121 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.ContactModel;
+import jrl.qam2final.Model.DivisionModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the reference data snapshot of the ReferenceDataCacheHelper class on the embedded database. Reference rows
+ * written here are deleted again, and the snapshot is invalidated afterwards so later tests read the seed data.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ReferenceDataCacheHelperTest {
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * A fresh snapshot holds every contact and every division of a country as read from their tables, and the lists
+     * it hands out are read-only.
+     *
+     * @throws SQLException If the reference data cannot be read.
+     */
+    @Test
+    void snapshotMatchesReferenceTables() throws SQLException {
+        ReferenceDataCacheHelper.invalidateRDCH();
+        List<String> contacts = QueryExecutorHelper.queryListQEH("readContactsRDCHT", "SELECT Contact_ID, Contact_Name, Email FROM contacts ORDER BY Contact_ID",
+                StatementBinder.NO_PARAMETERS, queryReturn -> queryReturn.getInt(1) + " " + queryReturn.getString(2) + " " + queryReturn.getString(3));
+        List<String> cachedContacts = new ArrayList<>();
+        for (ContactModel contact : ReferenceDataCacheHelper.readContactsRDCH()) {
+            cachedContacts.add(contact.getContID_IN() + " " + contact.getContN_ST() + " " + contact.getEmail_ST());
+        }
+        assertEquals(contacts, cachedContacts);
+
+        List<Integer> divisionIds = QueryExecutorHelper.queryListQEH("readDivisionsRDCHT", "SELECT Division_ID FROM first_level_divisions WHERE Country_ID = 1 ORDER BY Division_ID",
+                StatementBinder.NO_PARAMETERS, queryReturn -> queryReturn.getInt(1));
+        assertEquals(divisionIds, describeDivisionIds(ReferenceDataCacheHelper.readDivisionsByCountryRDCH(1)));
+        assertThrows(UnsupportedOperationException.class, () -> ReferenceDataCacheHelper.readContactsRDCH().clear());
+    }
+
+    /**
+     * Reference rows written after the snapshot was loaded are not seen, and the same lists are handed out, until the
+     * snapshot is invalidated. The next read then reloads the snapshot with the written rows.
+     *
+     * @throws SQLException If the rows cannot be written, read, or deleted.
+     */
+    @Test
+    void writesAreSeenAfterInvalidation() throws SQLException {
+        List<ContactModel> loadedContacts = ReferenceDataCacheHelper.readContactsRDCH();
+        List<DivisionModel> loadedDivisions = ReferenceDataCacheHelper.readDivisionsByCountryRDCH(1);
+        int contID = QueryExecutorHelper.insertReturningKeyQEH("insertContactRDCHT", "INSERT INTO contacts (Contact_Name, Email) VALUES ('Cache Test Contact', 'cache@test.com')",
+                StatementBinder.NO_PARAMETERS);
+        int diviID = QueryExecutorHelper.insertReturningKeyQEH("insertDivisionRDCHT", "INSERT INTO first_level_divisions (Division, Country_ID) VALUES ('Cache Test Region', 1)",
+                StatementBinder.NO_PARAMETERS);
+        try {
+            assertSame(loadedContacts, ReferenceDataCacheHelper.readContactsRDCH());
+            assertSame(loadedDivisions, ReferenceDataCacheHelper.readDivisionsByCountryRDCH(1));
+            assertNull(ReferenceDataCacheHelper.findDivisionRDCH(diviID));
+
+            ReferenceDataCacheHelper.invalidateRDCH();
+            List<ContactModel> reloadedContacts = ReferenceDataCacheHelper.readContactsRDCH();
+            assertNotSame(loadedContacts, reloadedContacts);
+            assertTrue(reloadedContacts.stream().anyMatch(contact -> contact.getContID_IN() == contID && "Cache Test Contact".equals(contact.getContN_ST())));
+            assertTrue(describeDivisionIds(ReferenceDataCacheHelper.readDivisionsByCountryRDCH(1)).contains(diviID));
+            DivisionModel division = ReferenceDataCacheHelper.findDivisionRDCH(diviID);
+            assertEquals("Cache Test Region", division.getDiviN_ST());
+            assertEquals(ReferenceDataCacheHelper.findCountryRDCH(1).getCounN_ST(), division.getCounN_ST());
+        } finally {
+            deleteRows("DELETE FROM first_level_divisions WHERE Division_ID = ?", diviID);
+            deleteRows("DELETE FROM contacts WHERE Contact_ID = ?", contID);
+            ReferenceDataCacheHelper.invalidateRDCH();
+        }
+        assertFalse(ReferenceDataCacheHelper.readContactsRDCH().stream().anyMatch(contact -> contact.getContID_IN() == contID));
+        assertNull(ReferenceDataCacheHelper.findDivisionRDCH(diviID));
+    }
+
+    /**
+     * Lists the IDs of divisions in ascending order, since the snapshot keeps divisions in the order they were read.
+     *
+     * @param divisions Divisions
+     * @return Sorted division IDs.
+     */
+    private static List<Integer> describeDivisionIds(List<DivisionModel> divisions) {
+        List<Integer> divisionIds = new ArrayList<>();
+        for (DivisionModel division : divisions) {
+            divisionIds.add(division.getDiviID_IN());
+        }
+        Collections.sort(divisionIds);
+        return divisionIds;
+    }
+
+    /**
+     * Deletes the rows matching one ID.
+     *
+     * @param sql DELETE statement with one ID parameter.
+     * @param rowID ID of the rows to delete.
+     * @throws SQLException If the rows cannot be deleted.
+     */
+    private static void deleteRows(String sql, int rowID) throws SQLException {
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> QueryExecutorHelper.updateQEH(pooledConnection, "deleteRowsRDCHT", sql,
+                deleteStatement -> deleteStatement.setInt(1, rowID)));
+    }
+}
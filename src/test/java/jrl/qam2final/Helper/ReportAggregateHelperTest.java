@@ -0,0 +1,166 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that the deltas applied by the ReportAggregateHelper class on create, update, and delete keep the report
+ * aggregate tables equal to a recount of the appointments table. Creates and deletes go through the appointment DAO;
+ * updates and deletes by condition repeat the transactions of the appointment and customer DAOs, whose single-row
+ * versions display an alert on success.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ReportAggregateHelperTest {
+
+    private static final String UPDATE_SQL = "UPDATE appointments SET Type = ?, Start = ?, End = ?, Customer_ID = ?, Contact_ID = ? WHERE Appointment_ID = ?";
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * Counts stay equal to a recount after a batch create, an update of more appointments than one aggregate statement
+     * applies, a batch delete, and a delete by condition.
+     *
+     * @throws SQLException If the database cannot be read or written.
+     */
+    @Test
+    void deltasMatchRecountAfterEveryWrite() throws SQLException {
+        Random testRandom = new Random(21);
+        assertAggregatesMatchRecount();
+        List<AppointmentModel> created = EmbeddedDatabaseSupport.generateAppointmentsEDS(testRandom, 500);
+        EmbeddedDatabaseSupport.createAppointmentsEDS(created);
+        assertAggregatesMatchRecount();
+
+        List<AppointmentModel> updated = new ArrayList<>(created.subList(0, 250));
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+            List<Integer> updatedIDs = appointmentIDs(updated);
+            ReportAggregateHelper.subtractAppointmentsRAH(pooledConnection, updatedIDs);
+            for (AppointmentModel appointment : updated) {
+                LocalDateTime start = appointment.getStaDT_LDT().plusDays(testRandom.nextInt(90) - 45);
+                QueryExecutorHelper.updateQEH(pooledConnection, "updateAppointmentRAHT", UPDATE_SQL, updateStatement -> {
+                    updateStatement.setString(1, EmbeddedDatabaseSupport.TYPES[testRandom.nextInt(EmbeddedDatabaseSupport.TYPES.length)]);
+                    updateStatement.setTimestamp(2, Timestamp.valueOf(start));
+                    updateStatement.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(30)));
+                    updateStatement.setInt(4, 1 + testRandom.nextInt(3));
+                    updateStatement.setInt(5, 1 + testRandom.nextInt(3));
+                    updateStatement.setInt(6, appointment.getAppID_IN());
+                });
+            }
+            ReportAggregateHelper.addAppointmentsRAH(pooledConnection, updatedIDs);
+            return null;
+        });
+        assertAggregatesMatchRecount();
+
+        List<Integer> deletedIDs = appointmentIDs(created.subList(100, 330));
+        assertEquals(deletedIDs.size(), DAORegistry.getAppointmentDAODR().deleteAppointmentsAppDAO(deletedIDs));
+        assertAggregatesMatchRecount();
+
+        String condition = "Customer_ID = ? AND Type = ?";
+        StatementBinder conditionBinder = conditionStatement -> {
+            conditionStatement.setInt(1, 2);
+            conditionStatement.setString(2, EmbeddedDatabaseSupport.TYPES[0]);
+        };
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+            ReportAggregateHelper.applyDeltaRAH(pooledConnection, condition, conditionBinder, false);
+            return QueryExecutorHelper.updateQEH(pooledConnection, "deleteByConditionRAHT", "DELETE FROM appointments WHERE " + condition, conditionBinder);
+        });
+        assertAggregatesMatchRecount();
+    }
+
+    /**
+     * A delta applied in a transaction that fails is rolled back with it.
+     *
+     * @throws SQLException If the database cannot be read.
+     */
+    @Test
+    void deltaRollsBackWithTransaction() throws SQLException {
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(22), 50));
+        Map<String, Integer> countsBefore = readAggregates(new String[]{"report_type_monthly", "Type"});
+        List<Integer> allIDs = appointmentIDs(EmbeddedDatabaseSupport.readAllAppointmentsEDS());
+        assertThrows(SQLException.class, () -> QueryExecutorHelper.inTransactionQEH(pooledConnection -> {
+            ReportAggregateHelper.subtractAppointmentsRAH(pooledConnection, allIDs);
+            throw new SQLException("Write failed after the delta.");
+        }));
+        assertEquals(countsBefore, readAggregates(new String[]{"report_type_monthly", "Type"}));
+        assertAggregatesMatchRecount();
+    }
+
+    /**
+     * Compares the non-zero counts of every aggregate table with a recount of the appointments.
+     *
+     * @throws SQLException If the database cannot be read.
+     */
+    private static void assertAggregatesMatchRecount() throws SQLException {
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        assertEquals(recount(appointments, AppointmentModel::getType_ST), readAggregates(new String[]{"report_type_monthly", "Type"}), "report_type_monthly");
+        assertEquals(recount(appointments, AppointmentModel::getContID_IN), readAggregates(new String[]{"report_contact_monthly", "Contact_ID"}), "report_contact_monthly");
+        assertEquals(recount(appointments, AppointmentModel::getCustID_IN), readAggregates(new String[]{"report_customer_monthly", "Customer_ID"}), "report_customer_monthly");
+    }
+
+    /**
+     * Counts appointments per month key and dimension value.
+     *
+     * @param appointments Every appointment.
+     * @param dimensionValue Dimension value of an appointment.
+     * @return Counts keyed by "month key|value".
+     */
+    private static Map<String, Integer> recount(List<AppointmentModel> appointments, Function<AppointmentModel, Object> dimensionValue) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (AppointmentModel appointment : appointments) {
+            int monthKey = appointment.getStaDT_LDT().getYear() * 100 + appointment.getStaDT_LDT().getMonthValue();
+            counts.merge(monthKey + "|" + dimensionValue.apply(appointment), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Reads the non-zero counts of an aggregate table.
+     *
+     * @param aggregateTable Table name and dimension column.
+     * @return Counts keyed by "month key|value".
+     * @throws SQLException If the table cannot be read.
+     */
+    private static Map<String, Integer> readAggregates(String[] aggregateTable) throws SQLException {
+        Map<String, Integer> counts = new HashMap<>();
+        QueryExecutorHelper.queryForEachQEH("readAggregatesRAHT", "SELECT Report_Month_Key, " + aggregateTable[1] + ", Appointment_Count FROM " + aggregateTable[0]
+                + " WHERE Appointment_Count <> 0", StatementBinder.NO_PARAMETERS, queryReturn -> counts.put(queryReturn.getInt(1) + "|" + queryReturn.getString(2),
+                queryReturn.getInt(3)), QueryExecutorHelper.DEFAULT_FETCH_SIZE);
+        return counts;
+    }
+
+    /**
+     * Returns the appointment IDs of appointments, shuffled so the chunks of an aggregate statement are not ranges.
+     *
+     * @param appointments Appointments
+     * @return Appointment IDs.
+     */
+    private static List<Integer> appointmentIDs(List<AppointmentModel> appointments) {
+        List<Integer> ids = new ArrayList<>(appointments.size());
+        for (AppointmentModel appointment : appointments) {
+            ids.add(appointment.getAppID_IN());
+        }
+        Collections.shuffle(ids, new Random(ids.size()));
+        return ids;
+    }
+}
@@ -0,0 +1,89 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.DAO.DAORegistry;
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import jrl.qam2final.Model.ReportPivotRowModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests of the report cache of the ReportCacheHelper class on the embedded database. The appointment written here is
+ * deleted again through the appointment DAO, which keeps the report aggregate tables in step.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ReportCacheHelperTest {
+
+    private static final List<ReportDimension> TYPE_DIMENSION = List.of(ReportDimension.TYPE);
+    private static final AppointmentFilterModel MAY_2031 = new AppointmentFilterModel(LocalDateTime.of(2031, 5, 1, 0, 0), LocalDateTime.of(2031, 6, 1, 0, 0),
+            AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID);
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * A report read twice is served from the cache, and each appointment create and delete through the DAO discards
+     * it, so the next read counts the change.
+     *
+     * @throws SQLException If a report query fails.
+     */
+    @Test
+    void appointmentWritesInvalidateCachedReports() throws SQLException {
+        ReportPivotModel cachedReport = readReport();
+        assertSame(cachedReport, readReport());
+        int cachedCount = countAppointments(cachedReport);
+
+        LocalDateTime start = LocalDateTime.of(2031, 5, 14, 10, 0);
+        AppointmentModel appointment = new AppointmentModel(AppointmentDAO.NO_APPOINTMENT_ID, "Report Cache Test", "Report cache test", EmbeddedDatabaseSupport.LOCATIONS[0],
+                EmbeddedDatabaseSupport.TYPES[0], start, start.plusMinutes(30), 1, 1, 1);
+        EmbeddedDatabaseSupport.createAppointmentsEDS(List.of(appointment));
+        try {
+            ReportPivotModel createdReport = readReport();
+            assertNotSame(cachedReport, createdReport);
+            assertEquals(cachedCount + 1, countAppointments(createdReport));
+            assertSame(createdReport, readReport());
+        } finally {
+            assertEquals(1, DAORegistry.getAppointmentDAODR().deleteAppointmentsAppDAO(List.of(appointment.getAppID_IN())));
+        }
+        assertEquals(cachedCount, countAppointments(readReport()));
+    }
+
+    /**
+     * Reads the May 2031 appointments by type and month report from the cache.
+     *
+     * @return The report.
+     * @throws SQLException If the report query fails.
+     */
+    private static ReportPivotModel readReport() throws SQLException {
+        return ReportCacheHelper.readReportRCH(TYPE_DIMENSION, ReportTimeGrain.MONTH, false, MAY_2031);
+    }
+
+    /**
+     * Adds up the counts of every row of a report without subtotals.
+     *
+     * @param pivotReport Report to read.
+     * @return Number of appointments counted.
+     */
+    private static int countAppointments(ReportPivotModel pivotReport) {
+        int appointmentCount = 0;
+        for (ReportPivotRowModel pivotRow : pivotReport.getRows_LS()) {
+            appointmentCount += pivotRow.getCount_IN();
+        }
+        return appointmentCount;
+    }
+}
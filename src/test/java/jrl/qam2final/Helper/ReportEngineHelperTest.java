@@ -0,0 +1,245 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentFilterModel;
+import jrl.qam2final.Model.ReportPivotModel;
+import jrl.qam2final.Model.ReportPivotRowModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the pivot reports of the ReportEngineHelper class against counts taken from every appointment in the
+ * embedded database. The dimensions, grains, and filters cover both the scan of the appointments table and the reads
+ * of the report aggregate tables.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ReportEngineHelperTest {
+
+    /**
+     * One appointment with the label of every dimension and the columns a filter compares.
+     */
+    private static final class LabelledAppointment {
+        private final LocalDateTime start;
+        private final String type;
+        private final int customerID;
+        private final int contactID;
+        private final Map<ReportDimension, String> labels = new EnumMap<>(ReportDimension.class);
+
+        /**
+         * Constructor for LabelledAppointment objects.
+         *
+         * @param start Appointment start.
+         * @param type Appointment type.
+         * @param customerID Customer ID
+         * @param contactID Contact ID
+         */
+        private LabelledAppointment(LocalDateTime start, String type, int customerID, int contactID) {
+            this.start = start;
+            this.type = type;
+            this.customerID = customerID;
+            this.contactID = contactID;
+        }
+    }
+
+    private static final String LABELLED_APPOINTMENTS_SQL = "SELECT a.Start, COALESCE(a.Type, ''), a.Customer_ID, a.Contact_ID, COALESCE(a.Location, ''), "
+            + "cu.Customer_Name, co.Contact_Name, u.User_Name, d.Division, ct.Country FROM appointments a "
+            + "JOIN customers cu ON a.Customer_ID = cu.Customer_ID JOIN contacts co ON a.Contact_ID = co.Contact_ID JOIN users u ON a.User_ID = u.User_ID "
+            + "JOIN first_level_divisions d ON cu.Division_ID = d.Division_ID JOIN countries ct ON d.Country_ID = ct.Country_ID";
+    private static final List<List<ReportDimension>> DIMENSION_LISTS = List.of(List.of(), List.of(ReportDimension.TYPE), List.of(ReportDimension.CONTACT),
+            List.of(ReportDimension.CUSTOMER), List.of(ReportDimension.USER), List.of(ReportDimension.LOCATION, ReportDimension.TYPE),
+            List.of(ReportDimension.CONTACT, ReportDimension.TYPE), List.of(ReportDimension.COUNTRY, ReportDimension.DIVISION, ReportDimension.CUSTOMER));
+    private static final List<AppointmentFilterModel> FILTERS = List.of(AppointmentFilterModel.ALL_APPOINTMENTS,
+            new AppointmentFilterModel(LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0), AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID),
+            new AppointmentFilterModel(LocalDateTime.of(2024, 12, 15, 10, 0), LocalDateTime.of(2025, 2, 10, 0, 0), AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID),
+            new AppointmentFilterModel(null, null, 2, AppointmentFilterModel.ANY_ID),
+            new AppointmentFilterModel(LocalDateTime.of(2025, 1, 1, 0, 0), null, AppointmentFilterModel.ANY_ID, 3),
+            new AppointmentFilterModel(null, null, AppointmentFilterModel.ANY_ID, AppointmentFilterModel.ANY_ID, "Review"),
+            new AppointmentFilterModel(null, LocalDateTime.of(2025, 2, 1, 0, 0), 1, 2, "Follow-Up"));
+
+    private static List<LabelledAppointment> labelledAppointments;
+
+    /**
+     * Adds random appointments to the embedded database and reads every appointment with its labels.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @BeforeAll
+    static void createAppointments() throws SQLException {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(25), 800));
+        labelledAppointments = QueryExecutorHelper.queryListQEH("readLabelledAppointmentsREHT", LABELLED_APPOINTMENTS_SQL, StatementBinder.NO_PARAMETERS, queryReturn -> {
+            LabelledAppointment labelledAppointment = new LabelledAppointment(queryReturn.getTimestamp(1).toLocalDateTime(), queryReturn.getString(2),
+                    queryReturn.getInt(3), queryReturn.getInt(4));
+            labelledAppointment.labels.put(ReportDimension.TYPE, queryReturn.getString(2));
+            labelledAppointment.labels.put(ReportDimension.LOCATION, queryReturn.getString(5));
+            labelledAppointment.labels.put(ReportDimension.CUSTOMER, queryReturn.getString(6));
+            labelledAppointment.labels.put(ReportDimension.CONTACT, queryReturn.getString(7));
+            labelledAppointment.labels.put(ReportDimension.USER, queryReturn.getString(8));
+            labelledAppointment.labels.put(ReportDimension.DIVISION, queryReturn.getString(9));
+            labelledAppointment.labels.put(ReportDimension.COUNTRY, queryReturn.getString(10));
+            return labelledAppointment;
+        });
+    }
+
+    /**
+     * Every combination of dimensions, grain, filter, and subtotals has the same rows and counts as a brute-force
+     * count, with subtotal rows after the rows they total and the grand total last.
+     *
+     * @throws SQLException If a report query fails.
+     */
+    @Test
+    void reportsMatchBruteForceCounts() throws SQLException {
+        for (List<ReportDimension> dimensions : DIMENSION_LISTS) {
+            for (ReportTimeGrain timeGrain : ReportTimeGrain.values()) {
+                for (AppointmentFilterModel appointmentFilter : FILTERS) {
+                    for (boolean includeSubtotals : new boolean[]{false, true}) {
+                        String reportName = dimensions + " by " + timeGrain + (includeSubtotals ? " with subtotals" : "") + " filtered on " + describe(appointmentFilter);
+                        ReportPivotModel pivotReport = ReportEngineHelper.buildReportREH(dimensions, timeGrain, includeSubtotals, appointmentFilter);
+                        assertEquals(ReportEngineHelper.columnNamesREH(dimensions, timeGrain), pivotReport.getColumnNames_LS(), reportName);
+                        assertEquals(bruteForceRows(dimensions, timeGrain, includeSubtotals, appointmentFilter), reportRows(pivotReport), reportName);
+                        assertRowOrder(pivotReport, includeSubtotals, reportName);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A dimension listed twice is rejected.
+     */
+    @Test
+    void repeatedDimensionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ReportEngineHelper.buildReportREH(List.of(ReportDimension.TYPE, ReportDimension.TYPE),
+                ReportTimeGrain.MONTH, false, AppointmentFilterModel.ALL_APPOINTMENTS));
+    }
+
+    /**
+     * Counts the matching appointments into detail rows, subtotal rows, and the grand total, keyed by their labels.
+     *
+     * @param dimensions Dimensions to group by.
+     * @param timeGrain Period to count by.
+     * @param includeSubtotals True to count subtotal rows and the grand total.
+     * @param appointmentFilter Appointments to count.
+     * @return Counts keyed by row labels.
+     */
+    private static Map<List<String>, Integer> bruteForceRows(List<ReportDimension> dimensions, ReportTimeGrain timeGrain, boolean includeSubtotals,
+                                                             AppointmentFilterModel appointmentFilter) {
+        Map<List<String>, Integer> rowCounts = new HashMap<>();
+        boolean hasPeriodColumn = timeGrain.getPeriodColumnName() != null;
+        for (LabelledAppointment appointment : labelledAppointments) {
+            if (!matches(appointment, appointmentFilter)) {
+                continue;
+            }
+            LocalDate periodStart = timeGrain.periodStartRTG(appointment.start.toLocalDate());
+            List<String> periodLabels = new ArrayList<>();
+            periodLabels.add(String.valueOf(timeGrain.periodYearRTG(periodStart)));
+            if (hasPeriodColumn) {
+                periodLabels.add(timeGrain.periodLabelRTG(periodStart));
+            }
+            for (int depth = dimensions.size(); depth >= (includeSubtotals ? 0 : dimensions.size()); depth--) {
+                List<String> rowLabels = new ArrayList<>(periodLabels);
+                for (int dimensionIndex = 0; dimensionIndex < dimensions.size(); dimensionIndex++) {
+                    rowLabels.add(dimensionIndex < depth ? appointment.labels.get(dimensions.get(dimensionIndex))
+                            : dimensionIndex == depth ? ReportEngineHelper.TOTAL_LABEL : "");
+                }
+                rowCounts.merge(rowLabels, 1, Integer::sum);
+            }
+            if (includeSubtotals) {
+                List<String> totalLabels = new ArrayList<>();
+                totalLabels.add(ReportEngineHelper.TOTAL_LABEL);
+                if (hasPeriodColumn) {
+                    totalLabels.add("");
+                }
+                totalLabels.addAll(Collections.nCopies(dimensions.size(), ""));
+                rowCounts.merge(totalLabels, 1, Integer::sum);
+            }
+        }
+        return rowCounts;
+    }
+
+    /**
+     * Checks an appointment against a filter, with the range inclusive of its start and exclusive of its end.
+     *
+     * @param appointment Appointment to check.
+     * @param appointmentFilter Filter to apply.
+     * @return True if the appointment is counted.
+     */
+    private static boolean matches(LabelledAppointment appointment, AppointmentFilterModel appointmentFilter) {
+        return (appointmentFilter.getRangeStart_LDT() == null || !appointment.start.isBefore(appointmentFilter.getRangeStart_LDT()))
+                && (appointmentFilter.getRangeEnd_LDT() == null || appointment.start.isBefore(appointmentFilter.getRangeEnd_LDT()))
+                && (appointmentFilter.getCustomerID_IN() == AppointmentFilterModel.ANY_ID || appointment.customerID == appointmentFilter.getCustomerID_IN())
+                && (appointmentFilter.getContactID_IN() == AppointmentFilterModel.ANY_ID || appointment.contactID == appointmentFilter.getContactID_IN())
+                && (appointmentFilter.getType_ST() == null || appointment.type.equals(appointmentFilter.getType_ST()));
+    }
+
+    /**
+     * Sums a report's counts by row labels. Two groups can share labels, such as two customers with the same name, so
+     * counts with the same labels are added together as they are in the brute-force count.
+     *
+     * @param pivotReport Report to read.
+     * @return Counts keyed by row labels.
+     */
+    private static Map<List<String>, Integer> reportRows(ReportPivotModel pivotReport) {
+        Map<List<String>, Integer> rowCounts = new HashMap<>();
+        for (ReportPivotRowModel pivotRow : pivotReport.getRows_LS()) {
+            assertTrue(pivotRow.getCount_IN() > 0, "Row " + pivotRow + " has no appointments.");
+            rowCounts.merge(pivotRow.getLabels_LS(), pivotRow.getCount_IN(), Integer::sum);
+        }
+        return rowCounts;
+    }
+
+    /**
+     * Checks that subtotal rows are marked and that each follows the rows it totals, so no detail row of the same
+     * period and leading labels comes after it, and that the grand total row is last.
+     *
+     * @param pivotReport Report to check.
+     * @param includeSubtotals True if the report has subtotal rows.
+     * @param reportName Report description for failure messages.
+     */
+    private static void assertRowOrder(ReportPivotModel pivotReport, boolean includeSubtotals, String reportName) {
+        List<ReportPivotRowModel> pivotRows = pivotReport.getRows_LS();
+        for (int rowIndex = 0; rowIndex < pivotRows.size(); rowIndex++) {
+            ReportPivotRowModel pivotRow = pivotRows.get(rowIndex);
+            List<String> rowLabels = pivotRow.getLabels_LS();
+            int totalIndex = rowLabels.indexOf(ReportEngineHelper.TOTAL_LABEL);
+            assertEquals(totalIndex >= 0, pivotRow.isSubtotal_BO(), reportName + ": row " + rowLabels);
+            if (totalIndex == 0) {
+                assertEquals(pivotRows.size() - 1, rowIndex, reportName + ": the grand total is not last.");
+            } else if (totalIndex > 0) {
+                List<String> totalledLabels = rowLabels.subList(0, totalIndex);
+                for (ReportPivotRowModel laterRow : pivotRows.subList(rowIndex + 1, pivotRows.size())) {
+                    assertFalse(!laterRow.isSubtotal_BO() && laterRow.getLabels_LS().subList(0, totalIndex).equals(totalledLabels),
+                            reportName + ": " + laterRow + " comes after its subtotal " + pivotRow);
+                }
+            }
+        }
+        assertEquals(includeSubtotals && !pivotRows.isEmpty(), !pivotRows.isEmpty() && pivotRows.get(pivotRows.size() - 1).getLabels_LS().get(0).equals(ReportEngineHelper.TOTAL_LABEL),
+                reportName + ": grand total row");
+    }
+
+    /**
+     * Describes a filter for failure messages.
+     *
+     * @param appointmentFilter Filter to describe.
+     * @return Description of the filter.
+     */
+    private static String describe(AppointmentFilterModel appointmentFilter) {
+        return "[" + appointmentFilter.getRangeStart_LDT() + ", " + appointmentFilter.getRangeEnd_LDT() + ") customer " + appointmentFilter.getCustomerID_IN()
+                + " contact " + appointmentFilter.getContactID_IN() + " type " + appointmentFilter.getType_ST();
+    }
+}
@@ -0,0 +1,112 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.Model.AppointmentModel;
+import jrl.qam2final.Model.ScheduleConflictModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the sweep-line audit of the ScheduleConflictAuditHelper class against a comparison of every pair of
+ * appointments in the embedded database.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ScheduleConflictAuditHelperTest {
+
+    /**
+     * Adds random appointments, many of them overlapping, to the embedded database.
+     */
+    @BeforeAll
+    static void createAppointments() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(8), 600));
+    }
+
+    /**
+     * The audit reports exactly the pairs of appointments that overlap for the same customer, contact, or user, with
+     * the later appointment second and the shared time as the overlap.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void auditFindsEveryOverlappingPair() throws SQLException {
+        List<String> auditedConflicts = new ArrayList<>();
+        int conflictCount = ScheduleConflictAuditHelper.auditScheduleSCAH(conflict -> auditedConflicts.add(conflict.getResource_ST() + "," + conflict.getResourceID_IN()
+                + "," + conflict.getFirstAppID_IN() + "," + conflict.getSecondAppID_IN() + "," + conflict.getOverlapStaDT_LDT() + "," + conflict.getOverlapEndDT_LDT()));
+        List<String> expectedConflicts = bruteForceConflicts(EmbeddedDatabaseSupport.readAllAppointmentsEDS());
+        Collections.sort(auditedConflicts);
+        assertEquals(expectedConflicts.size(), conflictCount);
+        assertEquals(expectedConflicts, auditedConflicts);
+    }
+
+    /**
+     * The conflict report holds the header and one line per conflict, and the sample keeps only the first conflicts.
+     *
+     * @param reportDirectory Temporary directory for the report.
+     * @throws SQLException If the appointments cannot be read.
+     * @throws IOException If the report cannot be written or read.
+     */
+    @Test
+    void reportAndSampleHoldEveryConflict(@TempDir Path reportDirectory) throws SQLException, IOException {
+        Path reportPath = reportDirectory.resolve("conflicts.csv");
+        int conflictCount = ScheduleConflictAuditHelper.writeConflictReportSCAH(reportPath);
+        List<String> reportLines = Files.readAllLines(reportPath, StandardCharsets.UTF_8);
+        assertEquals("Resource,Resource_ID,First_Appointment_ID,Second_Appointment_ID,Overlap_Start,Overlap_End", reportLines.get(0));
+        assertEquals(conflictCount + 1, reportLines.size());
+        List<String> reportConflicts = new ArrayList<>(reportLines.subList(1, reportLines.size()));
+        Collections.sort(reportConflicts);
+        assertEquals(bruteForceConflicts(EmbeddedDatabaseSupport.readAllAppointmentsEDS()), reportConflicts);
+        List<ScheduleConflictModel> sampledConflicts = new ArrayList<>();
+        assertEquals(conflictCount, ScheduleConflictAuditHelper.auditScheduleSampleSCAH(10, sampledConflicts));
+        assertEquals(Math.min(10, conflictCount), sampledConflicts.size());
+    }
+
+    /**
+     * Compares every pair of appointments. Appointments are ordered by start and then ID, an appointment that lasts no
+     * time overlaps nothing, and a pair that shares several resources is listed once per shared resource.
+     *
+     * @param appointments Every appointment.
+     * @return Conflicts as report lines, sorted.
+     */
+    private static List<String> bruteForceConflicts(List<AppointmentModel> appointments) {
+        List<AppointmentModel> sortedAppointments = new ArrayList<>(appointments);
+        sortedAppointments.sort(Comparator.comparing(AppointmentModel::getStaDT_LDT).thenComparingInt(AppointmentModel::getAppID_IN));
+        List<String> conflicts = new ArrayList<>();
+        for (int firstIndex = 0; firstIndex < sortedAppointments.size(); firstIndex++) {
+            AppointmentModel first = sortedAppointments.get(firstIndex);
+            for (int secondIndex = firstIndex + 1; secondIndex < sortedAppointments.size(); secondIndex++) {
+                AppointmentModel second = sortedAppointments.get(secondIndex);
+                if (!first.getEndDT_LDT().isAfter(first.getStaDT_LDT()) || !second.getEndDT_LDT().isAfter(second.getStaDT_LDT())
+                        || !first.getEndDT_LDT().isAfter(second.getStaDT_LDT())) {
+                    continue;
+                }
+                String overlap = "," + first.getAppID_IN() + "," + second.getAppID_IN() + "," + second.getStaDT_LDT() + ","
+                        + (first.getEndDT_LDT().isBefore(second.getEndDT_LDT()) ? first.getEndDT_LDT() : second.getEndDT_LDT());
+                if (first.getCustID_IN() == second.getCustID_IN()) {
+                    conflicts.add("Customer," + first.getCustID_IN() + overlap);
+                }
+                if (first.getContID_IN() == second.getContID_IN()) {
+                    conflicts.add("Contact," + first.getContID_IN() + overlap);
+                }
+                if (first.getUserID_IN() == second.getUserID_IN()) {
+                    conflicts.add("User," + first.getUserID_IN() + overlap);
+                }
+            }
+        }
+        Collections.sort(conflicts);
+        return conflicts;
+    }
+}
@@ -0,0 +1,115 @@
+package jrl.qam2final.Helper;
+
+import jrl.qam2final.DAO.AppointmentDAO;
+import jrl.qam2final.Model.AppointmentModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the overlap queries of the ScheduleConflictIndexHelper class against a search of every appointment in the
+ * embedded database.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class ScheduleConflictIndexHelperTest {
+
+    private static final String INSERT_SQL = "INSERT INTO appointments (Title, Description, Location, Type, Start, End, Customer_ID, User_ID, Contact_ID) "
+            + "VALUES ('Other client', 'Saved by another client', 'London', 'Review', ?, ?, 3, 2, 3)";
+    private static final String DELETE_SQL = "DELETE FROM appointments WHERE Title = 'Other client'";
+
+    /**
+     * Adds random appointments, many of them overlapping, to the embedded database.
+     */
+    @BeforeAll
+    static void createAppointments() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+        EmbeddedDatabaseSupport.createAppointmentsEDS(EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(7), 400));
+    }
+
+    /**
+     * For every resource kind, the conflicts found and the EXISTS check agree with a brute-force search, with and
+     * without an excluded appointment.
+     *
+     * @throws SQLException If the appointments cannot be read.
+     */
+    @Test
+    void conflictsMatchBruteForceSearch() throws SQLException {
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.readAllAppointmentsEDS();
+        appointments.sort(Comparator.comparing(AppointmentModel::getStaDT_LDT).thenComparingInt(AppointmentModel::getAppID_IN));
+        Random testRandom = new Random(70);
+        for (int check = 0; check < 300; check++) {
+            ScheduleConflictIndexHelper.ResourceKind resourceKind = ScheduleConflictIndexHelper.ResourceKind.values()[check % 3];
+            int resourceID = 1 + testRandom.nextInt(resourceKind == ScheduleConflictIndexHelper.ResourceKind.USER ? 2 : 3);
+            LocalDateTime rangeStart = LocalDateTime.of(2024, 11, 1, 8, 0).plusDays(testRandom.nextInt(150)).plusMinutes(30L * testRandom.nextInt(24));
+            LocalDateTime rangeEnd = rangeStart.plusMinutes(30L * testRandom.nextInt(5));
+            int excludedAppID = check % 2 == 0 ? AppointmentDAO.NO_APPOINTMENT_ID : appointments.get(testRandom.nextInt(appointments.size())).getAppID_IN();
+            List<Integer> expectedIds = new ArrayList<>();
+            for (AppointmentModel appointment : appointments) {
+                if (resourceId(resourceKind, appointment) == resourceID && appointment.getStaDT_LDT().isBefore(rangeEnd) && appointment.getEndDT_LDT().isAfter(rangeStart)
+                        && appointment.getAppID_IN() != excludedAppID) {
+                    expectedIds.add(appointment.getAppID_IN());
+                }
+            }
+            String checkName = resourceKind + " " + resourceID + " from " + rangeStart + " to " + rangeEnd;
+            assertEquals(expectedIds, ScheduleConflictIndexHelper.findConflictsSCIH(resourceKind, resourceID, rangeStart, rangeEnd, excludedAppID), checkName);
+            assertEquals(!expectedIds.isEmpty(), ScheduleConflictIndexHelper.overlapExistsSCIH(resourceKind, resourceID, rangeStart, rangeEnd, excludedAppID), checkName);
+        }
+    }
+
+    /**
+     * An appointment written to the database by another client, without the appointment DAO, is seen by the very next
+     * check of its customer, contact, and user. The appointment is deleted again, since it bypassed the report
+     * aggregate tables the other test classes recount.
+     *
+     * @throws SQLException If the appointment cannot be written or deleted.
+     */
+    @Test
+    void appointmentSavedElsewhereIsSeenImmediately() throws SQLException {
+        LocalDateTime start = LocalDateTime.of(2031, 6, 2, 9, 0);
+        for (ScheduleConflictIndexHelper.ResourceKind resourceKind : ScheduleConflictIndexHelper.ResourceKind.values()) {
+            assertTrue(ScheduleConflictIndexHelper.findConflictsSCIH(resourceKind, resourceKind == ScheduleConflictIndexHelper.ResourceKind.USER ? 2 : 3, start,
+                    start.plusHours(1), AppointmentDAO.NO_APPOINTMENT_ID).isEmpty());
+        }
+        QueryExecutorHelper.inTransactionQEH(pooledConnection -> QueryExecutorHelper.updateQEH(pooledConnection, "insertElsewhereSCIHT", INSERT_SQL, insertStatement -> {
+            insertStatement.setTimestamp(1, Timestamp.valueOf(start));
+            insertStatement.setTimestamp(2, Timestamp.valueOf(start.plusHours(1)));
+        }));
+        try {
+            for (ScheduleConflictIndexHelper.ResourceKind resourceKind : ScheduleConflictIndexHelper.ResourceKind.values()) {
+                assertTrue(ScheduleConflictIndexHelper.overlapExistsSCIH(resourceKind, resourceKind == ScheduleConflictIndexHelper.ResourceKind.USER ? 2 : 3,
+                        start.plusMinutes(30), start.plusMinutes(90), AppointmentDAO.NO_APPOINTMENT_ID), resourceKind.toString());
+            }
+        } finally {
+            QueryExecutorHelper.inTransactionQEH(pooledConnection -> QueryExecutorHelper.updateQEH(pooledConnection, "deleteElsewhereSCIHT", DELETE_SQL,
+                    StatementBinder.NO_PARAMETERS));
+        }
+    }
+
+    /**
+     * Returns the ID of the customer, contact, or user an appointment books.
+     *
+     * @param resourceKind Kind of resource.
+     * @param appointment Appointment
+     * @return Customer, contact, or user ID.
+     */
+    private static int resourceId(ScheduleConflictIndexHelper.ResourceKind resourceKind, AppointmentModel appointment) {
+        switch (resourceKind) {
+            case CONTACT:
+                return appointment.getContID_IN();
+            case USER:
+                return appointment.getUserID_IN();
+            default:
+                return appointment.getCustID_IN();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package jrl.qam2final.Helper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the schema bootstrap of the SchemaBootstrapHelper class on the embedded database.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class SchemaBootstrapHelperTest {
+
+    /**
+     * Opens the embedded database.
+     */
+    @BeforeAll
+    static void startDatabase() {
+        EmbeddedDatabaseSupport.startDatabaseEDS();
+    }
+
+    /**
+     * The new database holds the seeded reference data and every report migration.
+     *
+     * @throws SQLException If the database cannot be read.
+     */
+    @Test
+    void bootstrapSeedsReferenceDataAndMigrations() throws SQLException {
+        assertEquals(3, countRows("countries"));
+        assertEquals(3, countRows("contacts"));
+        assertEquals(2, countRows("users"));
+        assertEquals(List.of(), SchemaBootstrapHelper.findMissingMigrationsSBH());
+    }
+
+    /**
+     * Bootstrapping a database that already has the schema changes nothing, so it is never seeded twice.
+     *
+     * @throws SQLException If the database cannot be read.
+     */
+    @Test
+    void bootstrapSkipsExistingSchema() throws SQLException {
+        int countryCount = countRows("countries");
+        int divisionCount = countRows("first_level_divisions");
+        SchemaBootstrapHelper.bootstrapSBH();
+        assertEquals(countryCount, countRows("countries"));
+        assertEquals(divisionCount, countRows("first_level_divisions"));
+    }
+
+    /**
+     * Counts the rows of a table.
+     *
+     * @param tableName Table to count.
+     * @return Number of rows.
+     * @throws SQLException If the table cannot be read.
+     */
+    private static int countRows(String tableName) throws SQLException {
+        return QueryExecutorHelper.queryFirstQEH("countRowsSBHT", "SELECT COUNT(*) FROM " + tableName, StatementBinder.NO_PARAMETERS, queryReturn -> queryReturn.getInt(1));
+    }
+}
@@ -0,0 +1,92 @@
+package jrl.qam2final.Model;
+
+import javafx.collections.ObservableList;
+import jrl.qam2final.Helper.EmbeddedDatabaseSupport;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the AppointmentStore class and its AppointmentRowView objects against the AppointmentModel objects they
+ * were filled from. No database is used.
+ *
+ * @author Jeffrey Robert Lynch
+ */
+class AppointmentStoreTest {
+
+    /**
+     * Every field of every row reads back as it was added, through the store, its row views, and the models it
+     * creates, after the store has grown well past its initial capacity. Seconds survive and free text may be null.
+     */
+    @Test
+    void rowsReadBackAsAdded() {
+        List<AppointmentModel> appointments = EmbeddedDatabaseSupport.generateAppointmentsEDS(new Random(9), 1000);
+        AppointmentStore appointmentStore = new AppointmentStore();
+        for (int rowIndex = 0; rowIndex < appointments.size(); rowIndex++) {
+            AppointmentModel generated = appointments.get(rowIndex);
+            AppointmentModel appointment = new AppointmentModel(rowIndex + 1, rowIndex % 7 == 0 ? null : generated.getTitl_ST(),
+                    rowIndex % 5 == 0 ? null : generated.getDesc_ST(), generated.getLoca_ST(), generated.getType_ST(), generated.getStaDT_LDT().plusSeconds(rowIndex % 60),
+                    generated.getEndDT_LDT(), generated.getCustID_IN(), generated.getUserID_IN(), generated.getContID_IN());
+            appointments.set(rowIndex, appointment);
+            assertEquals(rowIndex, appointmentStore.addAPS(appointment.getAppID_IN(), appointment.getTitl_ST(), appointment.getDesc_ST(), appointment.getLoca_ST(),
+                    appointment.getType_ST(), appointment.getStaDT_LDT(), appointment.getEndDT_LDT(), appointment.getCustID_IN(), appointment.getUserID_IN(),
+                    appointment.getContID_IN()));
+        }
+        assertEquals(appointments.size(), appointmentStore.sizeAPS());
+        for (int rowIndex = 0; rowIndex < appointments.size(); rowIndex++) {
+            AppointmentModel appointment = appointments.get(rowIndex);
+            AppointmentRowView rowView = appointmentStore.rowViewAPS(rowIndex);
+            assertEquals(describeAppointment(appointment), describeAppointment(appointmentStore.toAppointmentModelAPS(rowIndex)));
+            assertEquals(describeAppointment(appointment), describeAppointment(rowView.toAppointmentModel()));
+            assertEquals(appointment.getStaDT_LDT(), rowView.getStaDT_LDT());
+            assertEquals(appointment.getStaDT_LDT().toLocalDate(), rowView.getStaD_LD());
+            assertEquals(appointment.getEndDT_LDT().toLocalTime(), rowView.getEndT_LT());
+            assertEquals(appointment.getType_ST(), rowView.getType_ST());
+            assertEquals(appointment.getLoca_ST(), appointmentStore.getLoca_ST(rowIndex));
+        }
+        assertNull(appointmentStore.getTitl_ST(0));
+    }
+
+    /**
+     * The observable list is read-only and follows rows added after it was created, views of the same row are equal
+     * though not the same object, and rows past the last one are rejected even where the arrays have room.
+     */
+    @Test
+    void observableListFollowsStore() {
+        AppointmentStore appointmentStore = new AppointmentStore(4);
+        ObservableList<AppointmentRowView> rowViews = appointmentStore.asObservableListAPS();
+        LocalDateTime start = LocalDateTime.of(2025, 3, 4, 9, 30);
+        appointmentStore.addAPS(11, "First", "Store test", "Phoenix, Arizona", "Review", start, start.plusMinutes(30), 1, 1, 1);
+        appointmentStore.addAPS(12, "Second", "Store test", "Phoenix, Arizona", "Review", start.plusHours(1), start.plusHours(2), 2, 2, 2);
+        assertEquals(2, rowViews.size());
+        assertEquals(12, rowViews.get(1).getAppID_IN());
+        assertEquals(rowViews.get(0), appointmentStore.rowViewAPS(0));
+        assertEquals(rowViews.get(0).hashCode(), appointmentStore.rowViewAPS(0).hashCode());
+        assertNotSame(rowViews.get(0), rowViews.get(0));
+        assertNotEquals(rowViews.get(0), rowViews.get(1));
+
+        assertThrows(UnsupportedOperationException.class, () -> rowViews.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> appointmentStore.rowViewAPS(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> appointmentStore.getAppID_IN(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> appointmentStore.getAppID_IN(-1));
+    }
+
+    /**
+     * Describes every field of an appointment.
+     *
+     * @param appointment Appointment
+     * @return Description of the appointment.
+     */
+    private static String describeAppointment(AppointmentModel appointment) {
+        return String.join("|", String.valueOf(appointment.getAppID_IN()), appointment.getTitl_ST(), appointment.getDesc_ST(), appointment.getLoca_ST(),
+                appointment.getType_ST(), appointment.getStaDT_LDT().toString(), appointment.getEndDT_LDT().toString(), String.valueOf(appointment.getCustID_IN()),
+                String.valueOf(appointment.getUserID_IN()), String.valueOf(appointment.getContID_IN()));
+    }
+}